@@ -0,0 +1,30 @@
+package com.platform.logaggregator.config;
+
+import com.platform.common.wire.LogEntryWireCodec;
+import com.platform.common.wire.WireCodecRegistry;
+import com.platform.common.wire.WireDeserializer;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaConsumerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+/**
+ * Log consumers accept both the binary wire format and JSON, so workers can
+ * switch their log encoding independently.
+ */
+@Configuration
+public class KafkaCodecConfig {
+
+    @Bean
+    public WireCodecRegistry wireCodecRegistry() {
+        return new WireCodecRegistry(new LogEntryWireCodec());
+    }
+
+    @Bean
+    @SuppressWarnings("unchecked")
+    public DefaultKafkaConsumerFactoryCustomizer wireDeserializerCustomizer(WireCodecRegistry registry) {
+        return factory -> ((DefaultKafkaConsumerFactory<Object, Object>) factory)
+            .setValueDeserializer(new WireDeserializer(registry, new JsonDeserializer<>()));
+    }
+}
@@ -4,10 +4,15 @@ import com.platform.common.model.LogEntry;
 import com.platform.logaggregator.service.LogIngestionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 @Component
 @Slf4j
 @RequiredArgsConstructor
@@ -15,24 +20,38 @@ public class LogConsumer {
 
     private final LogIngestionService ingestionService;
 
+    @Value("${clickhouse.ack-timeout:30000}")
+    private long ackTimeoutMs;
+
+    @Value("${clickhouse.redelivery-delay:1000}")
+    private long redeliveryDelayMs;
+
+    /**
+     * Consume a whole poll of logs at once.
+     * <p>
+     * Offsets are acknowledged only after every log of the batch has been
+     * inserted into ClickHouse or spilled to the WAL. If that does not happen
+     * in time, the batch is redelivered (at-least-once delivery).
+     */
     @KafkaListener(
         topics = "job.logs",
         groupId = "log-aggregator-group",
-        concurrency = "5"
+        concurrency = "5",
+        batch = "true"
     )
-    public void consumeLog(LogEntry logEntry, Acknowledgment acknowledgment) {
-        try {
-            log.trace("Received log: jobId={}, level={}", logEntry.getJobId(), logEntry.getLevel());
-
-            // Ingest log
-            ingestionService.ingest(logEntry);
+    public void consumeLogs(List<LogEntry> logEntries, Acknowledgment acknowledgment) {
+        log.trace("Received log batch: count={}", logEntries.size());
 
-            // Acknowledge
+        try {
+            ingestionService.ingestBatch(logEntries).get(ackTimeoutMs, TimeUnit.MILLISECONDS);
             acknowledgment.acknowledge();
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acknowledgment.nack(0, Duration.ofMillis(redeliveryDelayMs));
         } catch (Exception e) {
-            log.error("Error consuming log from Kafka", e);
-            acknowledgment.acknowledge();  // Ack anyway to prevent redelivery loop
+            log.error("Log batch not stored durably, redelivering: count={}", logEntries.size(), e);
+            acknowledgment.nack(0, Duration.ofMillis(redeliveryDelayMs));
         }
     }
 }
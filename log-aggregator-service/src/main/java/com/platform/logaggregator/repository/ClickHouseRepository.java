@@ -1,27 +1,102 @@
 package com.platform.logaggregator.repository;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.platform.common.model.LogEntry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.time.ZoneOffset;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 @Slf4j
 @RequiredArgsConstructor
 public class ClickHouseRepository {
 
+    /**
+     * How batches are sent to ClickHouse.
+     */
+    public enum InsertFormat {
+        /** Compressed RowBinary body POSTed over the HTTP interface. */
+        ROW_BINARY,
+        /** JDBC prepared statement batch. */
+        JDBC
+    }
+
     private final DataSource clickHouseDataSource;
+    private final ObjectMapper objectMapper;
+    private final RowEnrichment rowEnrichment;
+
+    @Value("${clickhouse.url}")
+    private String jdbcUrl;
+
+    @Value("${clickhouse.username}")
+    private String username;
+
+    @Value("${clickhouse.password}")
+    private String password;
+
+    @Value("${clickhouse.insert-format:ROW_BINARY}")
+    private InsertFormat insertFormat;
+
+    @Value("${clickhouse.compression-level:1}")
+    private int compressionLevel;
+
+    @Value("${clickhouse.http-timeout:30000}")
+    private long httpTimeoutMs;
 
     private static final String INSERT_SQL =
-        "INSERT INTO job_logs (timestamp, job_id, worker_id, level, message, metadata, service_name) " +
-        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        "INSERT INTO job_logs (timestamp, job_id, worker_id, level, message, metadata, service_name, " +
+        "thread_name, stack_trace, environment) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String ROW_BINARY_INSERT =
+        "INSERT INTO job_logs (" + LogRowEncoder.COLUMNS + ") FORMAT RowBinary";
+
+    private static final String PING_QUERY = "SELECT 1";
+
+    private HttpClient httpClient;
+    private URI insertUri;
+    private URI pingUri;
+
+    // Each writer thread keeps its own encoder, so buffers are reused across flushes
+    private ThreadLocal<LogRowEncoder> encoders;
+
+    @PostConstruct
+    public void init() {
+        // jdbc:clickhouse://host:port/database -> http://host:port/?database=database&query=...
+        URI jdbc = URI.create(jdbcUrl.substring("jdbc:".length()));
+        String database = jdbc.getPath() != null && jdbc.getPath().length() > 1
+            ? jdbc.getPath().substring(1) : "default";
+        int port = jdbc.getPort() > 0 ? jdbc.getPort() : 8123;
+
+        String base = "http://" + jdbc.getHost() + ":" + port + "/"
+            + "?database=" + URLEncoder.encode(database, StandardCharsets.UTF_8) + "&query=";
+        insertUri = URI.create(base + URLEncoder.encode(ROW_BINARY_INSERT, StandardCharsets.UTF_8));
+        pingUri = URI.create(base + URLEncoder.encode(PING_QUERY, StandardCharsets.UTF_8));
+        encoders = ThreadLocal.withInitial(() -> new LogRowEncoder(compressionLevel, rowEnrichment));
+        httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(httpTimeoutMs))
+            .build();
+
+        log.info("ClickHouse insert path configured: format={}", insertFormat);
+    }
 
     /**
      * Batch insert logs into ClickHouse.
@@ -31,6 +106,48 @@ public class ClickHouseRepository {
             return;
         }
 
+        if (insertFormat == InsertFormat.ROW_BINARY) {
+            insertRowBinary(logs);
+        } else {
+            insertJdbc(logs);
+        }
+    }
+
+    /**
+     * Stream a batch as deflate-compressed RowBinary over the HTTP interface.
+     */
+    private void insertRowBinary(List<LogEntry> logs) {
+        LogRowEncoder encoder = encoders.get();
+        RowBinaryBuffer body = encoder.encode(logs);
+
+        HttpRequest request = HttpRequest.newBuilder(insertUri)
+            .timeout(Duration.ofMillis(httpTimeoutMs))
+            .header("Content-Type", "application/octet-stream")
+            .header("Content-Encoding", "deflate")
+            .header("X-ClickHouse-User", username)
+            .header("X-ClickHouse-Key", password)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body.array(), 0, body.size()))
+            .build();
+
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("ClickHouse insert failed: status=" + response.statusCode()
+                    + ", body=" + response.body());
+            }
+            log.debug("Batch inserted {} logs to ClickHouse: bytes={}, compressedBytes={}",
+                logs.size(), encoder.uncompressedSize(), body.size());
+
+        } catch (IOException e) {
+            log.error("Failed to batch insert logs to ClickHouse", e);
+            throw new RuntimeException("ClickHouse batch insert failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("ClickHouse batch insert interrupted", e);
+        }
+    }
+
+    private void insertJdbc(List<LogEntry> logs) {
         try (Connection conn = clickHouseDataSource.getConnection();
              PreparedStatement stmt = conn.prepareStatement(INSERT_SQL)) {
 
@@ -40,13 +157,16 @@ public class ClickHouseRepository {
                 stmt.setString(3, log.getWorkerId());
                 stmt.setString(4, log.getLevel());
                 stmt.setString(5, log.getMessage());
-                stmt.setString(6, log.getMetadata() != null ? log.getMetadata().toString() : "{}");
+                stmt.setString(6, toJson(log));
                 stmt.setString(7, log.getServiceName());
+                stmt.setString(8, log.getThreadName() != null ? log.getThreadName() : "");
+                stmt.setString(9, log.getStackTrace() != null ? log.getStackTrace() : "");
+                stmt.setString(10, rowEnrichment.getEnvironment());
                 stmt.addBatch();
             }
 
             stmt.executeBatch();
-            log.info("Batch inserted {} logs to ClickHouse", logs.size());
+            log.debug("Batch inserted {} logs to ClickHouse", logs.size());
 
         } catch (SQLException e) {
             log.error("Failed to batch insert logs to ClickHouse", e);
@@ -54,10 +174,51 @@ public class ClickHouseRepository {
         }
     }
 
+    private String toJson(LogEntry log) {
+        // The JDBC path is a fallback, so it simply collects enrichment fields into a copy
+        Map<String, String> metadata = log.getMetadata() != null ? new HashMap<>(log.getMetadata()) : new HashMap<>();
+        rowEnrichment.enrich(log, (key, value) -> metadata.put(key, value != null ? value.toString() : null));
+        try {
+            return objectMapper.writeValueAsString(metadata);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unserializable log metadata", e);
+        }
+    }
+
     /**
-     * Test connection to ClickHouse.
+     * Test connection to ClickHouse over the same transport inserts use, so a
+     * reachable JDBC endpoint does not hide a broken HTTP insert path.
      */
     public boolean testConnection() {
+        return insertFormat == InsertFormat.ROW_BINARY ? testHttpConnection() : testJdbcConnection();
+    }
+
+    private boolean testHttpConnection() {
+        HttpRequest request = HttpRequest.newBuilder(pingUri)
+            .timeout(Duration.ofSeconds(5))
+            .header("X-ClickHouse-User", username)
+            .header("X-ClickHouse-Key", password)
+            .GET()
+            .build();
+
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                log.error("ClickHouse connection test failed: status={}, body={}",
+                    response.statusCode(), response.body());
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            log.error("ClickHouse connection test failed", e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean testJdbcConnection() {
         try (Connection conn = clickHouseDataSource.getConnection()) {
             return conn.isValid(5);
         } catch (SQLException e) {
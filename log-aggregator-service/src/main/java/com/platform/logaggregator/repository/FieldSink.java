@@ -0,0 +1,12 @@
+package com.platform.logaggregator.repository;
+
+/**
+ * Receives extra metadata fields from a {@link RowEnrichment}.
+ * <p>
+ * Implementations write the field straight into the encoded row, so values
+ * may be any {@link CharSequence} and are not retained after the call.
+ */
+public interface FieldSink {
+
+    void field(String key, CharSequence value);
+}
@@ -0,0 +1,149 @@
+package com.platform.logaggregator.repository;
+
+import com.platform.common.model.LogEntry;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Encodes log batches into a compressed ClickHouse RowBinary body.
+ * <p>
+ * Enrichment happens here, while each row is written: the environment and
+ * ingestion time fill their own columns and enricher fields are appended to
+ * the metadata JSON, so no per-entry maps are built.
+ * <p>
+ * Holds its buffers and deflater across batches, so an encoder must only be
+ * used by one thread at a time.
+ */
+public class LogRowEncoder implements FieldSink {
+
+    /**
+     * Column list matching the order in which {@link #encode} writes each row.
+     */
+    public static final String COLUMNS =
+        "timestamp, job_id, worker_id, service_name, level, message, metadata, thread_name, stack_trace, "
+        + "environment, ingested_at";
+
+    private final RowBinaryBuffer rows = new RowBinaryBuffer(1 << 20);
+    private final RowBinaryBuffer compressed = new RowBinaryBuffer(1 << 18);
+    private final RowBinaryBuffer json = new RowBinaryBuffer(1024);
+    private final Deflater deflater;
+    private final RowEnrichment enrichment;
+    private final Clock clock;
+
+    // Whether the metadata object being written has no fields yet
+    private boolean firstField;
+
+    public LogRowEncoder(int compressionLevel, RowEnrichment enrichment) {
+        this(compressionLevel, enrichment, Clock.systemUTC());
+    }
+
+    LogRowEncoder(int compressionLevel, RowEnrichment enrichment, Clock clock) {
+        this.deflater = new Deflater(compressionLevel);
+        this.enrichment = enrichment;
+        this.clock = clock;
+    }
+
+    /**
+     * Encode and compress a batch. The result stays valid until the next call.
+     */
+    public RowBinaryBuffer encode(List<LogEntry> logs) {
+        rows.reset();
+        String environment = enrichment.getEnvironment();
+        // DateTime column: seconds, so one value covers the whole batch
+        long now = clock.millis();
+        long ingestedAt = now / 1000;
+
+        for (LogEntry log : logs) {
+            rows.writeInt64(log.getTimestamp() != null ? log.getTimestamp().toEpochMilli() : now);
+            rows.writeUuid(log.getJobId());
+            rows.writeString(log.getWorkerId());
+            rows.writeString(log.getServiceName());
+            rows.writeString(log.getLevel());
+            rows.writeString(log.getMessage());
+            writeMetadata(log);
+            rows.writeString(log.getThreadName());
+            rows.writeString(log.getStackTrace());
+            rows.writeString(environment);
+            rows.writeUInt32(ingestedAt);
+        }
+
+        rows.deflateTo(compressed, deflater);
+        return compressed;
+    }
+
+    /**
+     * Size of the last batch before compression.
+     */
+    public int uncompressedSize() {
+        return rows.size();
+    }
+
+    /**
+     * Metadata plus enrichment fields as a JSON object string.
+     */
+    private void writeMetadata(LogEntry log) {
+        json.reset();
+        json.writeByte('{');
+        firstField = true;
+
+        Map<String, String> metadata = log.getMetadata();
+        if (metadata != null) {
+            for (Map.Entry<String, String> entry : metadata.entrySet()) {
+                field(entry.getKey(), entry.getValue());
+            }
+        }
+        enrichment.enrich(log, this);
+
+        json.writeByte('}');
+        rows.writeString(json);
+    }
+
+    /**
+     * Append a field to the metadata object being written.
+     */
+    @Override
+    public void field(String key, CharSequence value) {
+        if (!firstField) {
+            json.writeByte(',');
+        }
+        firstField = false;
+        writeJsonString(key);
+        json.writeByte(':');
+        if (value == null) {
+            json.writeUtf8("null");
+        } else {
+            writeJsonString(value);
+        }
+    }
+
+    private void writeJsonString(CharSequence value) {
+        json.writeByte('"');
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c != '"' && c != '\\' && c >= 0x20) {
+                continue;
+            }
+            json.writeUtf8(value, start, i);
+            switch (c) {
+                case '"' -> json.writeUtf8("\\\"");
+                case '\\' -> json.writeUtf8("\\\\");
+                case '\n' -> json.writeUtf8("\\n");
+                case '\r' -> json.writeUtf8("\\r");
+                case '\t' -> json.writeUtf8("\\t");
+                default -> {
+                    json.writeUtf8("\\u00");
+                    json.writeByte(Character.forDigit(c >> 4, 16));
+                    json.writeByte(Character.forDigit(c & 0xF, 16));
+                }
+            }
+            start = i + 1;
+        }
+        json.writeUtf8(value, start, length);
+        json.writeByte('"');
+    }
+}
@@ -0,0 +1,188 @@
+package com.platform.logaggregator.repository;
+
+import java.util.UUID;
+import java.util.zip.Deflater;
+
+/**
+ * Growable byte buffer with ClickHouse RowBinary primitives.
+ * <p>
+ * Meant to be reused: {@link #reset()} keeps the backing array, so once a
+ * writer has seen its largest batch no further allocation happens.
+ * All numbers are little-endian, as RowBinary requires.
+ */
+public final class RowBinaryBuffer {
+
+    private byte[] bytes;
+    private int size;
+
+    public RowBinaryBuffer(int initialCapacity) {
+        this.bytes = new byte[Math.max(initialCapacity, 64)];
+    }
+
+    public void reset() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Backing array; only the first {@link #size()} bytes are valid.
+     */
+    public byte[] array() {
+        return bytes;
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        bytes[size++] = (byte) value;
+    }
+
+    public void writeUInt32(long value) {
+        ensureCapacity(4);
+        for (int i = 0; i < 4; i++) {
+            bytes[size++] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    public void writeInt64(long value) {
+        ensureCapacity(8);
+        for (int i = 0; i < 8; i++) {
+            bytes[size++] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    /**
+     * LEB128 unsigned varint, used as the length prefix of strings.
+     */
+    public void writeVarUInt(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    /**
+     * UUID as two little-endian UInt64, high half first. {@code null} is written as the nil UUID.
+     */
+    public void writeUuid(UUID value) {
+        writeInt64(value != null ? value.getMostSignificantBits() : 0);
+        writeInt64(value != null ? value.getLeastSignificantBits() : 0);
+    }
+
+    /**
+     * Length-prefixed UTF-8 string. {@code null} is written as the empty string.
+     */
+    public void writeString(CharSequence value) {
+        if (value == null) {
+            writeVarUInt(0);
+            return;
+        }
+        writeVarUInt(utf8Length(value));
+        writeUtf8(value);
+    }
+
+    /**
+     * Length-prefixed copy of another buffer's contents.
+     */
+    public void writeString(RowBinaryBuffer value) {
+        writeVarUInt(value.size);
+        writeBytes(value.bytes, 0, value.size);
+    }
+
+    public void writeBytes(byte[] source, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(source, offset, bytes, size, length);
+        size += length;
+    }
+
+    /**
+     * UTF-8 bytes of {@code value} without a length prefix.
+     * Unpaired surrogates are written as '?', like {@link String#getBytes}.
+     */
+    public void writeUtf8(CharSequence value) {
+        writeUtf8(value, 0, value.length());
+    }
+
+    /**
+     * UTF-8 bytes of {@code value[start, end)} without a length prefix.
+     */
+    public void writeUtf8(CharSequence value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                ensureCapacity(1);
+                bytes[size++] = (byte) c;
+            } else if (c < 0x800) {
+                ensureCapacity(2);
+                bytes[size++] = (byte) (0xC0 | (c >> 6));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                ensureCapacity(4);
+                bytes[size++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                ensureCapacity(1);
+                bytes[size++] = (byte) '?';
+            } else {
+                ensureCapacity(3);
+                bytes[size++] = (byte) (0xE0 | (c >> 12));
+                bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * Compress this buffer's contents into {@code target} (zlib format, for
+     * {@code Content-Encoding: deflate}). The deflater is reset and reused.
+     */
+    public void deflateTo(RowBinaryBuffer target, Deflater deflater) {
+        target.reset();
+        deflater.reset();
+        deflater.setInput(bytes, 0, size);
+        deflater.finish();
+        while (!deflater.finished()) {
+            target.ensureCapacity(8192);
+            target.size += deflater.deflate(target.bytes, target.size, target.bytes.length - target.size);
+        }
+    }
+
+    static int utf8Length(CharSequence value) {
+        int length = value.length();
+        int utf8 = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                utf8 += 1;
+            } else if (c < 0x800) {
+                utf8 += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                utf8 += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                utf8 += 1;
+            } else {
+                utf8 += 3;
+            }
+        }
+        return utf8;
+    }
+
+    private void ensureCapacity(int additional) {
+        int required = size + additional;
+        if (required > bytes.length) {
+            byte[] grown = new byte[Math.max(required, bytes.length * 2)];
+            System.arraycopy(bytes, 0, grown, 0, size);
+            bytes = grown;
+        }
+    }
+}
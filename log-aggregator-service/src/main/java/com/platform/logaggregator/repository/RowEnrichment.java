@@ -0,0 +1,22 @@
+package com.platform.logaggregator.repository;
+
+import com.platform.common.model.LogEntry;
+
+/**
+ * Values the repository adds to each row as it is encoded.
+ * <p>
+ * Implemented by the service layer, so the repository only sees this hook and
+ * not where the values come from.
+ */
+public interface RowEnrichment {
+
+    /**
+     * Value of the {@code environment} column.
+     */
+    String getEnvironment();
+
+    /**
+     * Write extra metadata fields for a log entry.
+     */
+    void enrich(LogEntry log, FieldSink sink);
+}
@@ -0,0 +1,16 @@
+package com.platform.logaggregator.service;
+
+import com.platform.common.model.LogEntry;
+import com.platform.logaggregator.repository.FieldSink;
+
+/**
+ * Adds fields to a log entry's metadata as it is written to ClickHouse.
+ * <p>
+ * Enrichers are Spring beans picked up by {@link LogEnrichmentService}. They
+ * run on the writer thread for every row, so they must not block and should
+ * avoid allocating per entry.
+ */
+public interface LogEnricher {
+
+    void enrich(LogEntry log, FieldSink sink);
+}
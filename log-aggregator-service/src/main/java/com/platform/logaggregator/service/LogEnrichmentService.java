@@ -1,44 +1,53 @@
 package com.platform.logaggregator.service;
 
 import com.platform.common.model.LogEntry;
+import com.platform.logaggregator.repository.FieldSink;
+import com.platform.logaggregator.repository.RowEnrichment;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.util.HashMap;
-import java.util.Map;
 
+/**
+ * Enrichment applied while log rows are encoded.
+ * <p>
+ * Log entries are never copied or modified: the environment and ingestion
+ * time go into their own ClickHouse columns, and the aggregator hostname plus
+ * any {@link LogEnricher} beans write extra metadata fields directly into the
+ * row being encoded.
+ */
 @Service
 @Slf4j
-public class LogEnrichmentService {
+public class LogEnrichmentService implements RowEnrichment {
+
+    private static final String HOSTNAME_FIELD = "aggregator_hostname";
 
     private final String hostname;
+    private final String environment;
+    private final LogEnricher[] enrichers;
 
-    public LogEnrichmentService() {
+    public LogEnrichmentService(@Value("${enrichment.environment:development}") String environment,
+                                ObjectProvider<LogEnricher> enrichers) {
         this.hostname = getHostname();
+        this.environment = environment;
+        this.enrichers = enrichers.orderedStream().toArray(LogEnricher[]::new);
+        log.info("Log enrichment configured: environment={}, enrichers={}", environment, this.enrichers.length);
     }
 
-    /**
-     * Enrich log entry with additional metadata.
-     */
-    public LogEntry enrich(LogEntry log) {
-        Map<String, String> metadata = new HashMap<>();
+    @Override
+    public String getEnvironment() {
+        return environment;
+    }
 
-        // Add existing metadata
-        if (log.getMetadata() != null) {
-            metadata.putAll(log.getMetadata());
+    @Override
+    public void enrich(LogEntry log, FieldSink sink) {
+        sink.field(HOSTNAME_FIELD, hostname);
+        for (LogEnricher enricher : enrichers) {
+            enricher.enrich(log, sink);
         }
-
-        // Add enrichment fields
-        metadata.put("aggregator_hostname", hostname);
-        metadata.put("ingestion_time", String.valueOf(System.currentTimeMillis()));
-
-        // Add environment (could come from config)
-        metadata.put("environment", "development");
-
-        log.setMetadata(metadata);
-        return log;
     }
 
     private String getHostname() {
@@ -5,6 +5,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @Slf4j
 @RequiredArgsConstructor
@@ -31,4 +34,21 @@ public class LogIngestionService {
                 logEntry != null ? logEntry.getJobId() : "null", e);
         }
     }
+
+    /**
+     * Process a batch of incoming log entries.
+     * Invalid entries are skipped; the returned future completes once all
+     * valid entries are durably stored.
+     */
+    public CompletableFuture<Void> ingestBatch(List<LogEntry> logEntries) {
+        List<LogEntry> valid = logEntries.stream()
+            .filter(entry -> entry != null && entry.getMessage() != null)
+            .toList();
+
+        if (valid.size() < logEntries.size()) {
+            log.warn("Skipping invalid log entries: count={}", logEntries.size() - valid.size());
+        }
+
+        return storageService.storeBatch(valid);
+    }
 }
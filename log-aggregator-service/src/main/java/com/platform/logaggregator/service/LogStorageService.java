@@ -2,84 +2,193 @@ package com.platform.logaggregator.service;
 
 import com.platform.common.model.LogEntry;
 import com.platform.logaggregator.repository.ClickHouseRepository;
+import com.platform.logaggregator.wal.WalReplayer;
+import com.platform.logaggregator.wal.WriteAheadLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Buffers logs in memory and writes them to ClickHouse in batches.
+ * <p>
+ * Logs are sharded by job id across {@code clickhouse.lanes.count} writer
+ * lanes, so all logs of one job stay in order. Each lane has its own lock-free
+ * ring buffer and writer thread and sizes its batches adaptively (see
+ * {@link WriterLane}); a shared semaphore bounds how many inserts run at once.
+ * Producers only wait when their lane's ring is full, never on an insert.
+ * Batches that cannot be inserted are spilled to the {@link WriteAheadLog} and
+ * replayed once ClickHouse is back.
+ * <p>
+ * Callers that need to know when their logs are durable use {@link #storeBatch}.
+ * While anyone is waiting, a lane flushes whatever it has instead of waiting
+ * for a full batch, so concurrent waiters share one insert.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class LogStorageService {
 
     private final ClickHouseRepository repository;
-    private final LogEnrichmentService enrichmentService;
+    private final WriteAheadLog wal;
+    private final WalReplayer walReplayer;
+    private final MeterRegistry meterRegistry;
 
     @Value("${clickhouse.batch-size}")
     private int batchSize;
 
-    private final List<LogEntry> buffer = new ArrayList<>();
-    private final Lock lock = new ReentrantLock();
+    @Value("${clickhouse.flush-interval}")
+    private long flushIntervalMs;
+
+    @Value("${clickhouse.buffer-capacity:65536}")
+    private int bufferCapacity;
+
+    @Value("${clickhouse.lanes.count:4}")
+    private int laneCount;
+
+    @Value("${clickhouse.lanes.max-concurrent-inserts:2}")
+    private int maxConcurrentInserts;
+
+    @Value("${clickhouse.batch.min-bytes:1048576}")
+    private int minBatchBytes;
+
+    @Value("${clickhouse.batch.initial-bytes:4194304}")
+    private int initialBatchBytes;
+
+    @Value("${clickhouse.batch.max-bytes:67108864}")
+    private int maxBatchBytes;
+
+    @Value("${clickhouse.batch.target-insert-latency:2000}")
+    private long targetInsertLatencyMs;
+
+    private WriterLane[] lanes;
+
+    @PostConstruct
+    public void start() {
+        WriterLane.Settings settings = new WriterLane.Settings(
+            batchSize,
+            TimeUnit.MILLISECONDS.toNanos(flushIntervalMs),
+            minBatchBytes,
+            initialBatchBytes,
+            maxBatchBytes,
+            TimeUnit.MILLISECONDS.toNanos(targetInsertLatencyMs));
+        Semaphore insertPermits = new Semaphore(maxConcurrentInserts);
+
+        lanes = new WriterLane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new WriterLane(i, Math.max(bufferCapacity / laneCount, 2), settings, insertPermits,
+                this::flush, meterRegistry);
+        }
+        meterRegistry.gauge("log_buffer_size", this, LogStorageService::getBufferedCount);
+
+        for (WriterLane lane : lanes) {
+            lane.start();
+        }
+        log.info("Log writer lanes started: lanes={}, maxConcurrentInserts={}", laneCount, maxConcurrentInserts);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        for (WriterLane lane : lanes) {
+            lane.stop(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
 
     /**
-     * Add log to buffer. Will auto-flush when batch size reached.
+     * Add log to its lane's buffer. The lane flushes it once a batch is full
+     * or the log has waited for the flush interval.
      */
     public void storeLog(LogEntry log) {
-        lock.lock();
-        try {
-            // Enrich log
-            LogEntry enriched = enrichmentService.enrich(log);
+        lanes[laneFor(log)].enqueue(log);
+    }
+
+    /**
+     * Add logs to the buffer and return a future that completes once all of
+     * them have been inserted into ClickHouse or spilled to the WAL. The future
+     * fails if any of them had to be dropped.
+     */
+    public CompletableFuture<Void> storeBatch(List<LogEntry> logs) {
+        if (logs.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
 
-            // Add to buffer
-            buffer.add(enriched);
+        WriterLane.Waiter[] waiters = new WriterLane.Waiter[lanes.length];
+        long[] first = new long[lanes.length];
+        long[] last = new long[lanes.length];
+        Arrays.fill(first, -1);
+        for (LogEntry entry : logs) {
+            int lane = laneFor(entry);
+            if (waiters[lane] == null) {
+                waiters[lane] = lanes[lane].openWaiter();
+            }
+            long position = lanes[lane].enqueue(entry);
+            if (first[lane] < 0) {
+                first[lane] = position;
+            }
+            last[lane] = Math.max(last[lane], position);
+        }
 
-            // Flush if batch size reached
-            if (buffer.size() >= batchSize) {
-                flush();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            if (waiters[i] != null) {
+                futures.add(lanes[i].awaitDurable(waiters[i], first[i], last[i]));
             }
-        } finally {
-            lock.unlock();
         }
+        return futures.size() == 1
+            ? futures.get(0)
+            : CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
     }
 
     /**
-     * Scheduled flush - runs every 5 seconds.
+     * Number of logs buffered across all lanes.
      */
-    @Scheduled(fixedDelayString = "${clickhouse.flush-interval}")
-    public void scheduledFlush() {
-        if (!buffer.isEmpty()) {
-            lock.lock();
-            try {
-                flush();
-            } finally {
-                lock.unlock();
-            }
+    public int getBufferedCount() {
+        int count = 0;
+        for (WriterLane lane : lanes) {
+            count += lane.size();
+        }
+        return count;
+    }
+
+    int laneFor(LogEntry entry) {
+        if (entry.getJobId() != null) {
+            return (entry.getJobId().hashCode() & Integer.MAX_VALUE) % lanes.length;
         }
+        // No job to keep in order: spread by consumer thread so each thread's logs stay ordered
+        return (int) (Thread.currentThread().getId() % lanes.length);
     }
 
     /**
-     * Flush buffer to ClickHouse.
+     * Flush a batch to ClickHouse, or to the WAL while ClickHouse is unavailable.
+     *
+     * @return {@code false} if the batch was dropped
      */
-    private void flush() {
-        if (buffer.isEmpty()) {
-            return;
+    private boolean flush(List<LogEntry> toWrite) {
+        if (walReplayer.isClickHouseAvailable()) {
+            try {
+                repository.batchInsert(toWrite);
+                log.debug("Flushed {} logs to ClickHouse", toWrite.size());
+                return true;
+            } catch (Exception e) {
+                log.error("Failed to flush logs to ClickHouse, spilling to WAL: count={}", toWrite.size(), e);
+                walReplayer.markUnavailable();
+            }
         }
 
-        List<LogEntry> toWrite = new ArrayList<>(buffer);
-        buffer.clear();
-
-        try {
-            repository.batchInsert(toWrite);
-            log.debug("Flushed {} logs to ClickHouse", toWrite.size());
-        } catch (Exception e) {
-            log.error("Failed to flush logs to ClickHouse: count={}", toWrite.size(), e);
-            // In production, you might want to write to a dead letter queue
+        if (!wal.append(toWrite)) {
+            log.error("Failed to spill logs to WAL, dropping batch: count={}", toWrite.size());
+            return false;
         }
+        return true;
     }
 }
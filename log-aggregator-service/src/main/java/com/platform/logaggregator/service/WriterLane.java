@@ -0,0 +1,349 @@
+package com.platform.logaggregator.service;
+
+import com.platform.common.concurrent.MpscRingBuffer;
+import com.platform.common.model.LogEntry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * One ring buffer plus the writer thread that drains it into ClickHouse.
+ * <p>
+ * A batch is closed once its estimated size reaches the lane's byte target,
+ * it holds the maximum number of rows or its oldest log has waited for the
+ * maximum delay. Durability waiters do not close it early: under steady load
+ * they ride along in full batches, and otherwise wait at most the maximum
+ * delay. The byte target adapts to insert latency: it grows while full
+ * batches are inserted well within the target latency and is halved when an
+ * insert is slow.
+ */
+@Slf4j
+final class WriterLane {
+
+    private static final long FULL_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long PUBLISH_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    // Rough RowBinary size of the fixed-width columns plus length prefixes
+    private static final int ROW_OVERHEAD_BYTES = 64;
+    private static final int METADATA_FIELD_BYTES = 32;
+    private static final double ROW_SIZE_SMOOTHING = 0.2;
+
+    private final int index;
+    private final Settings settings;
+    private final Semaphore insertPermits;
+    private final Predicate<List<LogEntry>> flusher;
+    private final MpscRingBuffer<LogEntry> buffer;
+    private final Timer insertTimer;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+    private volatile boolean writerParked;
+
+    // Ring positions below this are durable (inserted or spilled)
+    private volatile long durablePosition;
+    // Ring ranges [start, end) of dropped batches, keyed by start; kept while a waiter may cover them
+    private final ConcurrentNavigableMap<Long, Long> failedRanges = new ConcurrentSkipListMap<>();
+    // Durability waiters, open ones included
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+
+    private volatile int targetBytes;
+    private volatile double averageRowBytes = 256;
+    // Queued rows at which producers wake a parked writer
+    private volatile int wakeupRows;
+
+    // Writer thread state
+    private final List<LogEntry> batch = new ArrayList<>();
+    private final Consumer<LogEntry> addToBatch = this::addToBatch;
+    private long batchBytes;
+    private long batchOpened;
+    private long batchStart;
+
+    WriterLane(int index, int capacity, Settings settings, Semaphore insertPermits,
+               Predicate<List<LogEntry>> flusher, MeterRegistry meterRegistry) {
+        this.index = index;
+        this.settings = settings;
+        this.insertPermits = insertPermits;
+        this.flusher = flusher;
+        this.buffer = new MpscRingBuffer<>(capacity);
+        this.targetBytes = settings.initialBytes();
+        this.wakeupRows = rowsFor(targetBytes);
+
+        String lane = String.valueOf(index);
+        Gauge.builder("log_lane_queue_size", buffer, MpscRingBuffer::size)
+            .tag("lane", lane)
+            .register(meterRegistry);
+        Gauge.builder("log_lane_batch_target_bytes", this, current -> current.targetBytes)
+            .tag("lane", lane)
+            .register(meterRegistry);
+        this.insertTimer = Timer.builder("log_lane_insert_latency")
+            .tag("lane", lane)
+            .register(meterRegistry);
+
+        this.writer = new Thread(this::writeLoop, "log-writer-" + index);
+        this.writer.setDaemon(true);
+    }
+
+    void start() {
+        writer.start();
+    }
+
+    void stop(long timeoutMs) throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(timeoutMs);
+    }
+
+    int size() {
+        return buffer.size();
+    }
+
+    /**
+     * Publish a log into the ring, backing off while it is full.
+     *
+     * @return the log's position in this lane
+     */
+    long enqueue(LogEntry entry) {
+        long position;
+        while ((position = buffer.offerAndGetPosition(entry)) < 0) {
+            // Ring is full: make sure the writer is draining and back off briefly
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(FULL_BACKOFF_NANOS);
+        }
+
+        if (writerParked && buffer.size() >= wakeupRows) {
+            LockSupport.unpark(writer);
+        }
+        return position;
+    }
+
+    /**
+     * Start waiting for logs that are about to be enqueued. Must be called
+     * before the first of them is enqueued, so a failure of their batch is
+     * remembered even if it is flushed before {@link #awaitDurable}.
+     */
+    Waiter openWaiter() {
+        Waiter waiter = new Waiter();
+        waiters.add(waiter);
+        return waiter;
+    }
+
+    /**
+     * Future that completes once positions {@code first..last} are durable.
+     * It fails if any of them had to be dropped.
+     */
+    CompletableFuture<Void> awaitDurable(Waiter waiter, long first, long last) {
+        waiter.seal(first, last);
+
+        // The writer may already have flushed past this batch
+        if (durablePosition > last) {
+            completeWaiters(durablePosition);
+        }
+        LockSupport.unpark(writer);
+        return waiter.future;
+    }
+
+    private void writeLoop() {
+        while (running || !buffer.isEmpty()) {
+            try {
+                fillBatch();
+
+                long now = System.nanoTime();
+                long waitedNanos = now - batchOpened;
+                boolean full = batch.size() >= settings.maxRows() || batchBytes >= targetBytes;
+                if (!batch.isEmpty() && (full || waitedNanos >= settings.maxDelayNanos() || !running)) {
+                    flushBatch(full);
+                    continue;
+                }
+
+                writerParked = true;
+                if (batch.isEmpty() && !buffer.isEmpty()) {
+                    // The next entry is claimed but not yet published; check again shortly
+                    LockSupport.parkNanos(PUBLISH_WAIT_NANOS);
+                } else if (running && buffer.size() < wakeupRows) {
+                    // Sleep until producers fill a batch or the oldest log reaches the max delay
+                    long sleepNanos = batch.isEmpty() ? settings.maxDelayNanos() : settings.maxDelayNanos() - waitedNanos;
+                    LockSupport.parkNanos(Math.max(sleepNanos, 1));
+                }
+                writerParked = false;
+            } catch (Exception e) {
+                log.error("Error in log writer: lane={}", index, e);
+            }
+        }
+
+        log.info("Log writer stopped: lane={}", index);
+    }
+
+    /**
+     * Move queued logs into the batch until it holds the maximum number of
+     * rows or reaches the byte target. Drains one log at a time, since the
+     * size of the next log is only known once it is taken.
+     */
+    private void fillBatch() {
+        while (batch.size() < settings.maxRows() && batchBytes < targetBytes) {
+            if (buffer.drain(addToBatch, 1) == 0) {
+                return;
+            }
+        }
+    }
+
+    private void addToBatch(LogEntry entry) {
+        if (batch.isEmpty()) {
+            batchOpened = System.nanoTime();
+        }
+        batch.add(entry);
+        batchBytes += estimateSize(entry);
+    }
+
+    private void flushBatch(boolean full) {
+        long batchEnd = batchStart + batch.size();
+        averageRowBytes = ROW_SIZE_SMOOTHING * ((double) batchBytes / batch.size())
+            + (1 - ROW_SIZE_SMOOTHING) * averageRowBytes;
+
+        boolean stored;
+        long elapsed;
+        insertPermits.acquireUninterruptibly();
+        try {
+            long started = System.nanoTime();
+            stored = flusher.test(batch);
+            elapsed = System.nanoTime() - started;
+        } finally {
+            insertPermits.release();
+        }
+
+        if (stored) {
+            insertTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            adjustTarget(full, elapsed);
+        } else {
+            failedRanges.put(batchStart, batchEnd);
+        }
+        durablePosition = batchEnd;
+        completeWaiters(batchEnd);
+        pruneFailedRanges();
+
+        batch.clear();
+        batchBytes = 0;
+        batchStart = batchEnd;
+    }
+
+    private void adjustTarget(boolean full, long elapsedNanos) {
+        int next = targetBytes;
+        if (elapsedNanos > settings.targetLatencyNanos()) {
+            next = targetBytes / 2;
+        } else if (full && elapsedNanos < settings.targetLatencyNanos() / 2) {
+            next = targetBytes + Math.max(settings.minBytes(), targetBytes / 4);
+        }
+
+        next = Math.max(settings.minBytes(), Math.min(settings.maxBytes(), next));
+        if (next != targetBytes) {
+            log.debug("Log lane batch target adjusted: lane={}, {} -> {} bytes (insertMs={})",
+                index, targetBytes, next, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            targetBytes = next;
+        }
+        wakeupRows = rowsFor(targetBytes);
+    }
+
+    private int rowsFor(int bytes) {
+        return (int) Math.max(1, Math.min(settings.maxRows(), bytes / averageRowBytes));
+    }
+
+    /**
+     * Complete every sealed waiter whose entries all lie below {@code durableEnd}.
+     */
+    private void completeWaiters(long durableEnd) {
+        for (Waiter waiter : waiters) {
+            long last = waiter.last;
+            // Open waiters have no last position yet and never match
+            if (last >= durableEnd) {
+                continue;
+            }
+            // remove() decides which thread completes a waiter when two threads race here
+            if (!waiters.remove(waiter)) {
+                continue;
+            }
+            if (overlapsFailure(waiter.first, last)) {
+                waiter.future.completeExceptionally(
+                    new IllegalStateException("Logs could not be stored in ClickHouse or the WAL"));
+            } else {
+                waiter.future.complete(null);
+            }
+        }
+    }
+
+    private boolean overlapsFailure(long first, long last) {
+        // Ranges are disjoint, so only the last one starting at or before last can reach first
+        Map.Entry<Long, Long> range = failedRanges.floorEntry(last);
+        return range != null && range.getValue() > first;
+    }
+
+    /**
+     * Forget failed ranges no current or future waiter can cover: future
+     * waiters only cover positions at or above the durable position.
+     */
+    private void pruneFailedRanges() {
+        if (failedRanges.isEmpty()) {
+            return;
+        }
+        long oldestFirst = durablePosition;
+        for (Waiter waiter : waiters) {
+            oldestFirst = Math.min(oldestFirst, waiter.first);
+        }
+        long horizon = oldestFirst;
+        failedRanges.headMap(horizon).values().removeIf(end -> end <= horizon);
+    }
+
+    private static int estimateSize(LogEntry entry) {
+        int size = ROW_OVERHEAD_BYTES
+            + length(entry.getWorkerId())
+            + length(entry.getServiceName())
+            + length(entry.getMessage())
+            + length(entry.getThreadName())
+            + length(entry.getStackTrace());
+        if (entry.getMetadata() != null) {
+            size += entry.getMetadata().size() * METADATA_FIELD_BYTES;
+        }
+        return size;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    /**
+     * Batching limits shared by all lanes.
+     */
+    record Settings(int maxRows, long maxDelayNanos, int minBytes, int initialBytes, int maxBytes,
+                    long targetLatencyNanos) {
+    }
+
+    /**
+     * Durability waiter for a run of positions in one lane.
+     */
+    static final class Waiter {
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        // Until sealed, first keeps every failed range alive and last matches no flush
+        private volatile long first = Long.MIN_VALUE;
+        private volatile long last = Long.MAX_VALUE;
+
+        private void seal(long first, long last) {
+            this.first = first;
+            // Written last: a reader that sees it also sees first
+            this.last = last;
+        }
+    }
+}
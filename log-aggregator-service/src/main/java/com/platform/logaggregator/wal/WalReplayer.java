@@ -0,0 +1,74 @@
+package com.platform.logaggregator.wal;
+
+import com.platform.logaggregator.repository.ClickHouseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the write-ahead log back into ClickHouse once it is reachable again.
+ * <p>
+ * Also tracks whether ClickHouse is considered available: while it is not,
+ * the storage writer spills batches straight to the WAL instead of waiting
+ * on inserts that are bound to fail.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class WalReplayer {
+
+    private final WriteAheadLog wal;
+    private final ClickHouseRepository repository;
+
+    private volatile boolean clickHouseAvailable = true;
+
+    public boolean isClickHouseAvailable() {
+        return clickHouseAvailable;
+    }
+
+    /**
+     * Record a failed insert; new batches go to the WAL until a replay succeeds.
+     */
+    public void markUnavailable() {
+        if (clickHouseAvailable) {
+            log.warn("ClickHouse unavailable, spilling logs to WAL");
+        }
+        clickHouseAvailable = false;
+    }
+
+    /**
+     * Replay pending WAL batches.
+     * Runs every 5 seconds by default (configured in application.yml).
+     */
+    @Scheduled(fixedDelayString = "${clickhouse.wal.replay-interval:5000}")
+    public void replay() {
+        if (!wal.hasPending() && clickHouseAvailable) {
+            return;
+        }
+        if (!repository.testConnection()) {
+            return;
+        }
+
+        long replayed = 0;
+        try {
+            WriteAheadLog.WalBatch batch;
+            while ((batch = wal.readNext()) != null) {
+                repository.batchInsert(batch.entries());
+                wal.commit(batch);
+                replayed += batch.entries().size();
+            }
+
+            if (!clickHouseAvailable) {
+                log.info("ClickHouse available again, resuming direct inserts");
+            }
+            clickHouseAvailable = true;
+        } catch (Exception e) {
+            log.warn("WAL replay interrupted, will retry: replayed={}", replayed, e);
+        }
+
+        if (replayed > 0) {
+            log.info("Replayed logs from WAL: count={}", replayed);
+        }
+    }
+}
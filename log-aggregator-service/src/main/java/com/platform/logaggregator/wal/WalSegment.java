@@ -0,0 +1,134 @@
+package com.platform.logaggregator.wal;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * One memory-mapped WAL segment file.
+ * <p>
+ * Records are laid out as {@code [int length][int crc32][payload]}. The length is
+ * written last, so a record torn by a crash reads as length 0 (end of segment)
+ * or fails its checksum; either way reading stops there.
+ */
+final class WalSegment implements AutoCloseable {
+
+    static final int RECORD_HEADER_BYTES = 8;
+
+    @Getter
+    private final long id;
+
+    @Getter
+    private final Path path;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    @Getter
+    private int position;
+
+    private WalSegment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.id = id;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Create and map a new, empty segment for writing.
+     */
+    static WalSegment create(long id, Path path, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new WalSegment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Map an existing segment for reading.
+     */
+    static WalSegment openReadOnly(long id, Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new WalSegment(id, path, channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Whether a payload of the given length still fits, leaving room for the end marker.
+     */
+    boolean hasRoom(int payloadLength) {
+        return (long) position + RECORD_HEADER_BYTES + payloadLength + Integer.BYTES <= buffer.capacity();
+    }
+
+    /**
+     * Append a record and force it to disk.
+     */
+    void append(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+        buffer.put(position + RECORD_HEADER_BYTES, payload);
+        // Length last: it is what makes the record visible to readers after a crash
+        buffer.putInt(position, payload.length);
+        buffer.force(position, RECORD_HEADER_BYTES + payload.length);
+
+        position += RECORD_HEADER_BYTES + payload.length;
+    }
+
+    /**
+     * Read the record at {@code offset}.
+     *
+     * @return the payload, or {@code null} at the end of the segment
+     * @throws CorruptRecordException if the record fails its checksum
+     */
+    byte[] read(int offset) {
+        if (offset + RECORD_HEADER_BYTES > buffer.capacity()) {
+            return null;
+        }
+
+        int length = buffer.getInt(offset);
+        if (length <= 0 || (long) offset + RECORD_HEADER_BYTES + length > buffer.capacity()) {
+            return null;
+        }
+
+        byte[] payload = new byte[length];
+        buffer.get(offset + RECORD_HEADER_BYTES, payload);
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != buffer.getInt(offset + Integer.BYTES)) {
+            throw new CorruptRecordException("Checksum mismatch in " + path + " at offset " + offset);
+        }
+        return payload;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The mapping itself is released when the buffer is garbage collected
+        channel.close();
+    }
+
+    static final class CorruptRecordException extends RuntimeException {
+        CorruptRecordException(String message) {
+            super(message);
+        }
+    }
+}
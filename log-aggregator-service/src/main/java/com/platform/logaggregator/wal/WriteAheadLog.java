@@ -0,0 +1,294 @@
+package com.platform.logaggregator.wal;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.platform.common.model.LogEntry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Segment-based write-ahead log for log batches that could not be written to ClickHouse.
+ * <p>
+ * Batches are appended to a memory-mapped active segment and forced to disk
+ * before {@link #append} returns. Full segments are sealed and replayed oldest
+ * first by {@link WalReplayer}; the replay position is kept in a checkpoint file
+ * so a restart does not replay records twice. Disk usage is capped at
+ * {@code clickhouse.wal.max-disk-bytes}: once reached, appends are refused.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class WriteAheadLog {
+
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final TypeReference<List<LogEntry>> BATCH_TYPE = new TypeReference<>() { };
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${clickhouse.wal.directory:./data/log-wal}")
+    private String directory;
+
+    @Value("${clickhouse.wal.segment-size:67108864}")
+    private int segmentSize;
+
+    @Value("${clickhouse.wal.max-disk-bytes:2147483648}")
+    private long maxDiskBytes;
+
+    private Path walDirectory;
+    private FileChannel checkpointChannel;
+    // Derived getters such as LogEntry.isError() are written but are not properties
+    private ObjectReader batchReader;
+
+    // Sealed segment ids awaiting replay, oldest first
+    private final Deque<Long> sealed = new ArrayDeque<>();
+    private WalSegment active;
+    private WalSegment replaying;
+    private long nextSegmentId;
+
+    private long checkpointSegment;
+    private int checkpointOffset;
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        batchReader = objectMapper.readerFor(BATCH_TYPE)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        walDirectory = Paths.get(directory);
+        Files.createDirectories(walDirectory);
+
+        checkpointChannel = FileChannel.open(walDirectory.resolve(CHECKPOINT_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        loadCheckpoint();
+        // Never reuse an id below the checkpoint: such segments count as replayed
+        nextSegmentId = checkpointSegment;
+
+        List<Long> existing;
+        try (Stream<Path> files = Files.list(walDirectory)) {
+            existing = files
+                .map(path -> path.getFileName().toString())
+                .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                .sorted()
+                .toList();
+        }
+
+        for (long id : existing) {
+            if (id < checkpointSegment) {
+                // Fully replayed before the last shutdown
+                Files.deleteIfExists(segmentPath(id));
+            } else {
+                // Segments written before a restart are sealed; new appends start a new segment
+                sealed.addLast(id);
+            }
+            nextSegmentId = Math.max(nextSegmentId, id + 1);
+        }
+
+        meterRegistry.gauge("log_wal_segments", this, WriteAheadLog::getSegmentCount);
+
+        if (!sealed.isEmpty()) {
+            log.info("WAL opened with pending segments: directory={}, segments={}", walDirectory, sealed.size());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        closeQuietly(active);
+        closeQuietly(replaying);
+        checkpointChannel.close();
+    }
+
+    /**
+     * Durably append a batch.
+     *
+     * @return {@code false} if the batch could not be stored (disk limit reached or I/O error)
+     */
+    public synchronized boolean append(List<LogEntry> entries) {
+        if (entries.isEmpty()) {
+            return true;
+        }
+
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(entries);
+        } catch (IOException e) {
+            log.error("Failed to serialize logs for WAL: count={}", entries.size(), e);
+            return false;
+        }
+
+        if (payload.length + WalSegment.RECORD_HEADER_BYTES + Integer.BYTES > segmentSize) {
+            if (entries.size() == 1) {
+                log.error("Log entry too large for WAL segment: bytes={}", payload.length);
+                return false;
+            }
+            // Split oversized batches until each half fits in a segment
+            int half = entries.size() / 2;
+            return append(entries.subList(0, half)) & append(entries.subList(half, entries.size()));
+        }
+
+        try {
+            if (active == null || !active.hasRoom(payload.length)) {
+                if (active != null) {
+                    sealActive();
+                }
+                if ((long) (sealed.size() + 1) * segmentSize > maxDiskBytes) {
+                    log.error("WAL disk limit reached, refusing logs: segments={}, maxDiskBytes={}",
+                        sealed.size(), maxDiskBytes);
+                    return false;
+                }
+                long id = nextSegmentId++;
+                active = WalSegment.create(id, segmentPath(id), segmentSize);
+            }
+
+            active.append(payload);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to append logs to WAL: count={}", entries.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Whether any appended batch has not been replayed yet.
+     */
+    public synchronized boolean hasPending() {
+        return !sealed.isEmpty() || (active != null && active.getPosition() > 0);
+    }
+
+    /**
+     * Read the oldest batch not yet replayed. The position only advances on {@link #commit}.
+     *
+     * @return the batch, or {@code null} if the WAL is empty
+     */
+    public synchronized WalBatch readNext() throws IOException {
+        while (true) {
+            if (sealed.isEmpty()) {
+                if (active == null || active.getPosition() == 0) {
+                    return null;
+                }
+                // Replay only ever reads sealed segments
+                sealActive();
+            }
+
+            long segmentId = sealed.peekFirst();
+            if (checkpointSegment != segmentId) {
+                saveCheckpoint(segmentId, 0);
+            }
+            if (replaying == null || replaying.getId() != segmentId) {
+                closeQuietly(replaying);
+                replaying = WalSegment.openReadOnly(segmentId, segmentPath(segmentId));
+            }
+
+            byte[] payload;
+            try {
+                payload = replaying.read(checkpointOffset);
+            } catch (WalSegment.CorruptRecordException e) {
+                log.error("Corrupt WAL record, skipping rest of segment: {}", e.getMessage());
+                payload = null;
+            }
+
+            if (payload == null) {
+                finishSegment(segmentId);
+                continue;
+            }
+
+            int nextOffset = checkpointOffset + WalSegment.RECORD_HEADER_BYTES + payload.length;
+            try {
+                return new WalBatch(segmentId, nextOffset, batchReader.readValue(payload));
+            } catch (IOException e) {
+                log.error("Unreadable WAL record, skipping: segment={}, offset={}", segmentId, checkpointOffset, e);
+                saveCheckpoint(segmentId, nextOffset);
+            }
+        }
+    }
+
+    /**
+     * Mark a batch returned by {@link #readNext} as replayed.
+     */
+    public synchronized void commit(WalBatch batch) {
+        saveCheckpoint(batch.segmentId(), batch.nextOffset());
+    }
+
+    public synchronized int getSegmentCount() {
+        return sealed.size() + (active != null ? 1 : 0);
+    }
+
+    private void sealActive() throws IOException {
+        active.close();
+        sealed.addLast(active.getId());
+        active = null;
+    }
+
+    private void finishSegment(long segmentId) throws IOException {
+        closeQuietly(replaying);
+        replaying = null;
+        sealed.pollFirst();
+        Files.deleteIfExists(segmentPath(segmentId));
+        saveCheckpoint(segmentId + 1, 0);
+        log.debug("WAL segment replayed and deleted: segment={}", segmentId);
+    }
+
+    private void loadCheckpoint() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+        if (checkpointChannel.read(buffer, 0) == buffer.capacity()) {
+            buffer.flip();
+            checkpointSegment = buffer.getLong();
+            checkpointOffset = buffer.getInt();
+        }
+    }
+
+    private void saveCheckpoint(long segmentId, int offset) {
+        checkpointSegment = segmentId;
+        checkpointOffset = offset;
+
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+        buffer.putLong(segmentId).putInt(offset).flip();
+        try {
+            checkpointChannel.write(buffer, 0);
+            checkpointChannel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write WAL checkpoint", e);
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return walDirectory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX));
+    }
+
+    private static void closeQuietly(WalSegment segment) {
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.close();
+        } catch (IOException e) {
+            log.warn("Failed to close WAL segment: {}", segment.getPath(), e);
+        }
+    }
+
+    /**
+     * A batch read back from the WAL, with the position just after it.
+     */
+    public record WalBatch(long segmentId, int nextOffset, List<LogEntry> entries) {
+    }
+}
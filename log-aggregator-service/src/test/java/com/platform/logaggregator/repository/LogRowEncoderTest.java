@@ -0,0 +1,152 @@
+package com.platform.logaggregator.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.common.model.LogEntry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.platform.logaggregator.repository.RowBinaryBufferTest.hex;
+import static com.platform.logaggregator.repository.RowBinaryBufferTest.inflate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRowEncoderTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-05-01T12:00:05.999Z"), ZoneOffset.UTC);
+
+    private static final RowEnrichment ENRICHMENT = new RowEnrichment() {
+        @Override
+        public String getEnvironment() {
+            return "test";
+        }
+
+        @Override
+        public void enrich(LogEntry log, FieldSink sink) {
+            sink.field("host", "h1");
+        }
+    };
+
+    private final LogRowEncoder encoder = new LogRowEncoder(1, ENRICHMENT, CLOCK);
+
+    @Test
+    void encode_FullRow_MatchesGoldenBytes() throws Exception {
+        LogEntry entry = LogEntry.builder()
+            .timestamp(Instant.parse("2024-05-01T12:00:00.123Z"))
+            .jobId(UUID.fromString("0190a4b2-7c3e-7d1a-9f00-000000000001"))
+            .workerId("w1")
+            .serviceName("svc")
+            .level("INFO")
+            .message("hi")
+            .metadata(Map.of("k", "v"))
+            .build();
+
+        byte[] row = inflate(encoder.encode(List.of(entry)));
+
+        assertThat(row).isEqualTo(concat(
+            // timestamp DateTime64(3): Int64 epoch millis
+            "7b 9e 06 34 8f 01 00 00",
+            // job_id UUID
+            "1a 7d 3e 7c b2 a4 90 01 01 00 00 00 00 00 00 9f",
+            // worker_id, service_name, level, message
+            "02 77 31", "03 73 76 63", "04 49 4e 46 4f", "02 68 69",
+            // metadata: {"k":"v","host":"h1"}
+            "15 7b 22 6b 22 3a 22 76 22 2c 22 68 6f 73 74 22 3a 22 68 31 22 7d",
+            // thread_name, stack_trace
+            "00", "00",
+            // environment
+            "04 74 65 73 74",
+            // ingested_at DateTime: UInt32 epoch seconds
+            "c5 2e 32 66"));
+        assertThat(encoder.uncompressedSize()).isEqualTo(row.length);
+    }
+
+    @Test
+    void encode_NullFields_WritesNilUuidEmptyStringsAndClockTimestamp() throws Exception {
+        LogEntry entry = new LogEntry();
+        entry.setTimestamp(null);
+        entry.setLevel(null);
+        entry.setMetadata(null);
+
+        byte[] row = inflate(encoder.encode(List.of(entry)));
+
+        assertThat(row).isEqualTo(concat(
+            // timestamp falls back to the encoder clock
+            "6f b5 06 34 8f 01 00 00",
+            "00 00 00 00 00 00 00 00 00 00 00 00 00 00 00 00",
+            "00", "00", "00", "00",
+            // metadata: {"host":"h1"}
+            "0d 7b 22 68 6f 73 74 22 3a 22 68 31 22 7d",
+            "00", "00",
+            "04 74 65 73 74",
+            "c5 2e 32 66"));
+    }
+
+    @Test
+    void encode_MetadataNeedingEscapes_WritesValidJson() throws Exception {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("quote\"key", "a\"b\\c");
+        metadata.put("control", "line\nbreak\ttab\u0001end");
+        metadata.put("unicode", "\u00e9\u20ac\uD83D\uDE00");
+        metadata.put("missing", null);
+        LogEntry entry = LogEntry.builder().message("m").serviceName("s").metadata(metadata).build();
+
+        JsonNode json = new ObjectMapper().readTree(metadataOf(inflate(encoder.encode(List.of(entry)))));
+
+        assertThat(json.get("quote\"key").asText()).isEqualTo("a\"b\\c");
+        assertThat(json.get("control").asText()).isEqualTo("line\nbreak\ttab\u0001end");
+        assertThat(json.get("unicode").asText()).isEqualTo("\u00e9\u20ac\uD83D\uDE00");
+        assertThat(json.get("missing").isNull()).isTrue();
+        assertThat(json.get("host").asText()).isEqualTo("h1");
+    }
+
+    @Test
+    void encode_SecondBatch_ReusesEncoderWithoutLeftovers() throws Exception {
+        LogEntry first = LogEntry.builder().message("first").serviceName("s").metadata(Map.of("a", "1")).build();
+        LogEntry second = LogEntry.builder().message("second").serviceName("s").build();
+
+        encoder.encode(List.of(first, first, first));
+        byte[] reused = inflate(encoder.encode(List.of(second)));
+
+        byte[] fresh = inflate(new LogRowEncoder(1, ENRICHMENT, CLOCK).encode(List.of(second)));
+        assertThat(reused).isEqualTo(fresh);
+    }
+
+    /**
+     * Metadata column of a single encoded row: skips the fixed-width and
+     * string columns before it.
+     */
+    private static String metadataOf(byte[] row) {
+        int offset = 8 + 16;
+        for (int column = 0; column < 4; column++) {
+            offset += 1 + row[offset];
+        }
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = row[offset++];
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return new String(row, offset, length, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] concat(String... parts) {
+        byte[] result = new byte[0];
+        for (String part : parts) {
+            byte[] bytes = hex(part);
+            result = Arrays.copyOf(result, result.length + bytes.length);
+            System.arraycopy(bytes, 0, result, result.length - bytes.length, bytes.length);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,128 @@
+package com.platform.logaggregator.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RowBinaryBufferTest {
+
+    private final RowBinaryBuffer buffer = new RowBinaryBuffer(16);
+
+    @Test
+    void writeVarUInt_SevenBitBoundaries_EncodesLeb128() {
+        assertThat(varUInt(0)).isEqualTo(hex("00"));
+        assertThat(varUInt(127)).isEqualTo(hex("7f"));
+        assertThat(varUInt(128)).isEqualTo(hex("80 01"));
+        assertThat(varUInt(300)).isEqualTo(hex("ac 02"));
+        assertThat(varUInt(16383)).isEqualTo(hex("ff 7f"));
+        assertThat(varUInt(16384)).isEqualTo(hex("80 80 01"));
+        assertThat(varUInt(0xFFFFFFFFL)).isEqualTo(hex("ff ff ff ff 0f"));
+    }
+
+    @Test
+    void writeString_Ascii_PrefixesLength() {
+        buffer.writeString("INFO");
+
+        assertThat(written()).isEqualTo(hex("04 49 4e 46 4f"));
+    }
+
+    @Test
+    void writeString_LongerThan127Bytes_UsesTwoByteLength() {
+        buffer.writeString("x".repeat(200));
+
+        byte[] bytes = written();
+        assertThat(bytes.length).isEqualTo(202);
+        assertThat(Arrays.copyOf(bytes, 2)).isEqualTo(hex("c8 01"));
+    }
+
+    @Test
+    void writeString_MultiByteCharacters_PrefixesUtf8ByteLength() {
+        buffer.writeString("\u00e9\u20ac\uD83D\uDE00");
+
+        assertThat(written()).isEqualTo(hex("09 c3 a9 e2 82 ac f0 9f 98 80"));
+    }
+
+    @Test
+    void writeString_UnpairedSurrogate_WritesQuestionMark() {
+        buffer.writeString("a\uD800b");
+
+        assertThat(written()).isEqualTo(hex("03 61 3f 62"));
+    }
+
+    @Test
+    void writeString_Null_WritesEmptyString() {
+        buffer.writeString((CharSequence) null);
+
+        assertThat(written()).isEqualTo(hex("00"));
+    }
+
+    @Test
+    void writeUuid_Value_WritesHighThenLowHalfLittleEndian() {
+        buffer.writeUuid(UUID.fromString("00112233-4455-6677-8899-aabbccddeeff"));
+
+        assertThat(written()).isEqualTo(hex("77 66 55 44 33 22 11 00 ff ee dd cc bb aa 99 88"));
+    }
+
+    @Test
+    void writeUuid_Null_WritesNilUuid() {
+        buffer.writeUuid(null);
+
+        assertThat(written()).isEqualTo(new byte[16]);
+    }
+
+    @Test
+    void writeFixedWidth_Numbers_WritesLittleEndian() {
+        buffer.writeInt64(1714564800123L);
+        buffer.writeUInt32(1714564805L);
+
+        assertThat(written()).isEqualTo(hex("7b 9e 06 34 8f 01 00 00 c5 2e 32 66"));
+    }
+
+    @Test
+    void deflateTo_AnyContent_InflatesBackToOriginal() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            buffer.writeString("row-" + i);
+        }
+        RowBinaryBuffer compressed = new RowBinaryBuffer(16);
+
+        buffer.deflateTo(compressed, new Deflater(1));
+
+        assertThat(compressed.size()).isLessThan(buffer.size());
+        assertThat(inflate(compressed)).isEqualTo(written());
+    }
+
+    private byte[] varUInt(long value) {
+        buffer.reset();
+        buffer.writeVarUInt(value);
+        return written();
+    }
+
+    private byte[] written() {
+        return Arrays.copyOf(buffer.array(), buffer.size());
+    }
+
+    static byte[] hex(String bytes) {
+        return HexFormat.ofDelimiter(" ").parseHex(bytes);
+    }
+
+    static byte[] inflate(RowBinaryBuffer compressed) throws Exception {
+        Inflater inflater = new Inflater();
+        inflater.setInput(compressed.array(), 0, compressed.size());
+        byte[] out = new byte[1 << 16];
+        int length = 0;
+        while (!inflater.finished()) {
+            if (length == out.length) {
+                out = Arrays.copyOf(out, out.length * 2);
+            }
+            length += inflater.inflate(out, length, out.length - length);
+        }
+        inflater.end();
+        return Arrays.copyOf(out, length);
+    }
+}
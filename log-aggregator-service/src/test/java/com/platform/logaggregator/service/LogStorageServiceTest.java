@@ -0,0 +1,152 @@
+package com.platform.logaggregator.service;
+
+import com.platform.common.model.LogEntry;
+import com.platform.logaggregator.repository.ClickHouseRepository;
+import com.platform.logaggregator.wal.WalReplayer;
+import com.platform.logaggregator.wal.WriteAheadLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LogStorageServiceTest {
+
+    private static final int LANES = 4;
+
+    @Mock
+    private ClickHouseRepository repository;
+
+    @Mock
+    private WriteAheadLog wal;
+
+    @Mock
+    private WalReplayer walReplayer;
+
+    private LogStorageService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LogStorageService(repository, wal, walReplayer, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "batchSize", 100);
+        ReflectionTestUtils.setField(service, "flushIntervalMs", 20L);
+        ReflectionTestUtils.setField(service, "bufferCapacity", 1024);
+        ReflectionTestUtils.setField(service, "laneCount", LANES);
+        ReflectionTestUtils.setField(service, "maxConcurrentInserts", 2);
+        ReflectionTestUtils.setField(service, "minBatchBytes", 1024);
+        ReflectionTestUtils.setField(service, "initialBatchBytes", 1 << 20);
+        ReflectionTestUtils.setField(service, "maxBatchBytes", 1 << 20);
+        ReflectionTestUtils.setField(service, "targetInsertLatencyMs", 2000L);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.stop();
+    }
+
+    @Test
+    void laneFor_SameJob_AlwaysSameLane() {
+        UUID jobId = UUID.randomUUID();
+
+        int lane = service.laneFor(jobLog(jobId));
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(service.laneFor(jobLog(jobId))).isEqualTo(lane);
+        }
+    }
+
+    @Test
+    void laneFor_ManyJobs_SpreadsOverAllLanes() {
+        int[] counts = new int[LANES];
+        for (int i = 0; i < 4000; i++) {
+            counts[service.laneFor(jobLog(UUID.randomUUID()))]++;
+        }
+
+        for (int count : counts) {
+            assertThat(count).isGreaterThan(800);
+        }
+    }
+
+    @Test
+    void laneFor_NoJob_UsesTheCallingThreadsLane() throws Exception {
+        LogEntry entry = LogEntry.forService("INFO", "system", "worker-service");
+
+        int lane = service.laneFor(entry);
+
+        assertThat(lane).isBetween(0, LANES - 1);
+        assertThat(service.laneFor(entry)).isEqualTo(lane);
+        CompletableFuture<Integer> otherThread = CompletableFuture.supplyAsync(() -> service.laneFor(entry));
+        assertThat(otherThread.get(5, TimeUnit.SECONDS)).isBetween(0, LANES - 1);
+    }
+
+    @Test
+    void storeBatch_LogsOfSeveralLanes_CompletesOnceAllInserted() throws Exception {
+        List<String> inserted = new CopyOnWriteArrayList<>();
+        when(walReplayer.isClickHouseAvailable()).thenReturn(true);
+        doAnswer(invocation -> {
+            List<LogEntry> batch = invocation.getArgument(0);
+            batch.forEach(entry -> inserted.add(entry.getMessage()));
+            return null;
+        }).when(repository).batchInsert(anyList());
+
+        List<LogEntry> logs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            LogEntry entry = jobLog(UUID.randomUUID());
+            entry.setMessage("log-" + i);
+            logs.add(entry);
+        }
+
+        service.storeBatch(logs).get(5, TimeUnit.SECONDS);
+
+        assertThat(inserted).containsExactlyInAnyOrder(
+            logs.stream().map(LogEntry::getMessage).toArray(String[]::new));
+    }
+
+    @Test
+    void storeBatch_InsertFailsAndWalFull_FailsFuture() {
+        when(walReplayer.isClickHouseAvailable()).thenReturn(true);
+        doThrow(new RuntimeException("ClickHouse down")).when(repository).batchInsert(anyList());
+        when(wal.append(anyList())).thenReturn(false);
+
+        CompletableFuture<Void> durable = service.storeBatch(List.of(jobLog(UUID.randomUUID())));
+
+        assertThatThrownBy(() -> durable.get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(IllegalStateException.class);
+        verify(walReplayer).markUnavailable();
+    }
+
+    @Test
+    void storeBatch_InsertFailsButSpilledToWal_Completes() throws Exception {
+        when(walReplayer.isClickHouseAvailable()).thenReturn(true);
+        doThrow(new RuntimeException("ClickHouse down")).when(repository).batchInsert(anyList());
+        when(wal.append(anyList())).thenReturn(true);
+
+        service.storeBatch(List.of(jobLog(UUID.randomUUID()))).get(5, TimeUnit.SECONDS);
+
+        verify(wal).append(anyList());
+    }
+
+    private static LogEntry jobLog(UUID jobId) {
+        return LogEntry.forJob(jobId, "INFO", "message", "worker-service");
+    }
+}
@@ -0,0 +1,233 @@
+package com.platform.logaggregator.service;
+
+import com.platform.common.model.LogEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WriterLaneTest {
+
+    private static final int LARGE_TARGET_BYTES = 1 << 20;
+
+    private final List<List<String>> flushed = new CopyOnWriteArrayList<>();
+    private final Set<String> failing = ConcurrentHashMap.newKeySet();
+    private final List<WriterLane> lanes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (WriterLane lane : lanes) {
+            lane.stop(1000);
+        }
+    }
+
+    @Test
+    void fillBatch_ByteTargetReached_ClosesBatch() throws Exception {
+        // Each entry is estimated at 100 bytes, so 250 bytes close a batch after three rows
+        WriterLane lane = lane(100, 250);
+        for (int i = 0; i < 7; i++) {
+            lane.enqueue(entry(sized(i)));
+        }
+
+        lane.start();
+        await(() -> flushed.size() == 3);
+
+        assertThat(flushed.stream().map(List::size).toList()).containsExactly(3, 3, 1);
+    }
+
+    @Test
+    void fillBatch_MaxRowsReached_ClosesBatch() throws Exception {
+        WriterLane lane = lane(2, LARGE_TARGET_BYTES);
+        for (int i = 0; i < 5; i++) {
+            lane.enqueue(entry("m" + i));
+        }
+
+        lane.start();
+        await(() -> flushed.size() == 3);
+
+        assertThat(flushed).containsExactly(List.of("m0", "m1"), List.of("m2", "m3"), List.of("m4"));
+    }
+
+    @Test
+    void awaitDurable_BatchStored_CompletesWaiter() throws Exception {
+        WriterLane lane = lane(100, LARGE_TARGET_BYTES);
+        lane.start();
+
+        CompletableFuture<Void> durable = store(lane, "a", "b");
+
+        durable.get(5, TimeUnit.SECONDS);
+        assertThat(flushed.stream().flatMap(List::stream).toList()).containsExactly("a", "b");
+    }
+
+    @Test
+    void awaitDurable_BatchDropped_FailsWaiter() {
+        WriterLane lane = lane(100, LARGE_TARGET_BYTES);
+        failing.add("bad");
+        lane.start();
+
+        CompletableFuture<Void> durable = store(lane, "ok", "bad");
+
+        assertThatThrownBy(() -> durable.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void awaitDurable_LaterBatchDropped_CompletesEarlierWaiter() throws Exception {
+        WriterLane lane = lane(2, LARGE_TARGET_BYTES);
+        failing.add("b2");
+        WriterLane.Waiter first = lane.openWaiter();
+        long a1 = lane.enqueue(entry("a1"));
+        long a2 = lane.enqueue(entry("a2"));
+        WriterLane.Waiter second = lane.openWaiter();
+        long b1 = lane.enqueue(entry("b1"));
+        long b2 = lane.enqueue(entry("b2"));
+
+        lane.start();
+        await(() -> flushed.size() == 2);
+
+        // Both batches are flushed before anyone seals: only the dropped one may fail
+        lane.awaitDurable(first, a1, a2).get(5, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> lane.awaitDurable(second, b1, b2).get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(flushed).containsExactly(List.of("a1", "a2"), List.of("b1", "b2"));
+    }
+
+    @Test
+    void awaitDurable_SealedAfterLaterBatchStored_StillFails() throws Exception {
+        WriterLane lane = lane(2, LARGE_TARGET_BYTES);
+        failing.add("bad1");
+        WriterLane.Waiter waiter = lane.openWaiter();
+        long first = lane.enqueue(entry("bad1"));
+        long last = lane.enqueue(entry("bad2"));
+        lane.enqueue(entry("c1"));
+        lane.enqueue(entry("c2"));
+
+        lane.start();
+        await(() -> flushed.size() == 2);
+
+        // The failed range outlives the successful flush after it while the waiter is open
+        assertThatThrownBy(() -> lane.awaitDurable(waiter, first, last).get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void awaitDurable_ManyWaitersAcrossBatches_EachSeesOnlyItsOwnBatch() throws Exception {
+        WriterLane lane = lane(1, LARGE_TARGET_BYTES);
+        failing.add("m3");
+        lane.start();
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(store(lane, "m" + i));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            CompletableFuture<Void> future = futures.get(i);
+            if (i == 3) {
+                assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+            } else {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    void writeLoop_SteadyLoadWithWaiters_GrowsBatchesToByteTarget() throws Exception {
+        // 100-byte entries and a target adapting from 200 to 2000 bytes, i.e. 2 to 20 rows
+        WriterLane lane = lane(1000, 200, 200, 2000);
+        lane.start();
+
+        // A steady trickle, slower than the writer, with every log waited on
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            futures.add(store(lane, sized(i)));
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        // Waiters do not cut batches short, so full batches push the target up to its maximum
+        assertThat(flushed.stream().mapToInt(List::size).max()).hasValue(20);
+        assertThat(flushed.stream().filter(batch -> batch.size() == 20).count()).isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    void awaitDurable_QuietLane_FlushesWithinMaxDelay() throws Exception {
+        WriterLane lane = lane(100, LARGE_TARGET_BYTES);
+        lane.start();
+
+        CompletableFuture<Void> durable = store(lane, "a");
+        Thread.sleep(5);
+        CompletableFuture<Void> later = store(lane, "b");
+
+        CompletableFuture.allOf(durable, later).get(5, TimeUnit.SECONDS);
+        // Both rode in the batch opened by the first, instead of one flush each
+        assertThat(flushed).containsExactly(List.of("a", "b"));
+    }
+
+    private WriterLane lane(int maxRows, int targetBytes) {
+        return lane(maxRows, targetBytes, targetBytes, targetBytes);
+    }
+
+    private WriterLane lane(int maxRows, int minBytes, int initialBytes, int maxBytes) {
+        WriterLane.Settings settings = new WriterLane.Settings(maxRows, TimeUnit.MILLISECONDS.toNanos(20),
+            minBytes, initialBytes, maxBytes, TimeUnit.SECONDS.toNanos(10));
+        WriterLane lane = new WriterLane(0, 64, settings, new Semaphore(1), this::flush, new SimpleMeterRegistry());
+        lanes.add(lane);
+        return lane;
+    }
+
+    private boolean flush(List<LogEntry> batch) {
+        List<String> messages = batch.stream().map(LogEntry::getMessage).toList();
+        flushed.add(messages);
+        return messages.stream().noneMatch(failing::contains);
+    }
+
+    private static CompletableFuture<Void> store(WriterLane lane, String... messages) {
+        WriterLane.Waiter waiter = lane.openWaiter();
+        long first = -1;
+        long last = -1;
+        for (String message : messages) {
+            last = lane.enqueue(entry(message));
+            if (first < 0) {
+                first = last;
+            }
+        }
+        return lane.awaitDurable(waiter, first, last);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    /**
+     * Message that makes the entry's estimated row size exactly 100 bytes.
+     */
+    private static String sized(int index) {
+        String prefix = "m" + index + "-";
+        return prefix + "x".repeat(100 - 64 - "worker-service".length() - prefix.length());
+    }
+
+    private static LogEntry entry(String message) {
+        return LogEntry.forService("INFO", message, "worker-service");
+    }
+}
@@ -0,0 +1,125 @@
+package com.platform.logaggregator.wal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.common.model.LogEntry;
+import com.platform.logaggregator.repository.ClickHouseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WalReplayerTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private ClickHouseRepository repository;
+
+    private WriteAheadLog wal;
+    private WalReplayer replayer;
+    private final List<String> inserted = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        wal = new WriteAheadLog(new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(wal, "directory", directory.toString());
+        ReflectionTestUtils.setField(wal, "segmentSize", 4096);
+        ReflectionTestUtils.setField(wal, "maxDiskBytes", Long.MAX_VALUE);
+        wal.open();
+        replayer = new WalReplayer(wal, repository);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        wal.close();
+    }
+
+    @Test
+    void replay_NothingPendingAndAvailable_SkipsConnectionTest() {
+        replayer.replay();
+
+        verify(repository, never()).testConnection();
+    }
+
+    @Test
+    void replay_ConnectionTestFails_KeepsBatchesAndStaysUnavailable() {
+        wal.append(List.of(entry("a")));
+        replayer.markUnavailable();
+        when(repository.testConnection()).thenReturn(false);
+
+        replayer.replay();
+
+        verify(repository, never()).batchInsert(anyList());
+        assertThat(wal.hasPending()).isTrue();
+        assertThat(replayer.isClickHouseAvailable()).isFalse();
+    }
+
+    @Test
+    void replay_InsertFails_RetriesSameBatchNextRun() {
+        wal.append(List.of(entry("a")));
+        wal.append(List.of(entry("b")));
+        replayer.markUnavailable();
+        when(repository.testConnection()).thenReturn(true);
+        doThrow(new RuntimeException("insert failed")).when(repository).batchInsert(anyList());
+
+        replayer.replay();
+
+        assertThat(inserted).isEmpty();
+        assertThat(wal.hasPending()).isTrue();
+        assertThat(replayer.isClickHouseAvailable()).isFalse();
+
+        recordInserts();
+        replayer.replay();
+
+        assertThat(inserted).containsExactly("a", "b");
+        assertThat(wal.hasPending()).isFalse();
+        assertThat(replayer.isClickHouseAvailable()).isTrue();
+    }
+
+    @Test
+    void replay_AllBatchesInserted_MarksClickHouseAvailable() {
+        wal.append(List.of(entry("a")));
+        replayer.markUnavailable();
+        when(repository.testConnection()).thenReturn(true);
+        recordInserts();
+
+        replayer.replay();
+
+        assertThat(inserted).containsExactly("a");
+        assertThat(wal.hasPending()).isFalse();
+        assertThat(replayer.isClickHouseAvailable()).isTrue();
+    }
+
+    private void recordInserts() {
+        doAnswer(invocation -> inserted.add(messageOf(invocation.getArgument(0))))
+            .when(repository).batchInsert(anyList());
+    }
+
+    private static String messageOf(List<LogEntry> batch) {
+        return batch.get(0).getMessage();
+    }
+
+    private static LogEntry entry(String message) {
+        return LogEntry.forService("INFO", message, "worker-service");
+    }
+}
@@ -0,0 +1,190 @@
+package com.platform.logaggregator.wal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.common.model.LogEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteAheadLogTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<WriteAheadLog> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (WriteAheadLog wal : opened) {
+            wal.close();
+        }
+    }
+
+    @Test
+    void readNext_AppendedBatches_ReturnsThemInOrder() throws IOException {
+        WriteAheadLog wal = open(SEGMENT_SIZE, Long.MAX_VALUE);
+
+        assertThat(wal.append(List.of(entry("a"), entry("b")))).isTrue();
+        assertThat(wal.append(List.of(entry("c")))).isTrue();
+
+        assertThat(replayAll(wal)).containsExactly("a", "b", "c");
+        assertThat(wal.hasPending()).isFalse();
+        assertThat(segmentFiles()).isEmpty();
+    }
+
+    @Test
+    void append_SegmentFull_RollsToNewSegment() throws IOException {
+        WriteAheadLog wal = open(SEGMENT_SIZE, Long.MAX_VALUE);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(wal.append(List.of(entry("message-" + i)))).isTrue();
+        }
+
+        assertThat(wal.getSegmentCount()).isGreaterThan(1);
+        assertThat(segmentFiles()).hasSize(wal.getSegmentCount());
+        assertThat(replayAll(wal)).containsExactly("message-0", "message-1", "message-2", "message-3",
+            "message-4", "message-5", "message-6", "message-7", "message-8", "message-9");
+        assertThat(segmentFiles()).isEmpty();
+    }
+
+    @Test
+    void append_DiskLimitReached_RefusesBatch() {
+        WriteAheadLog wal = open(SEGMENT_SIZE, 2L * SEGMENT_SIZE);
+
+        boolean stored = true;
+        for (int i = 0; i < 20 && stored; i++) {
+            stored = wal.append(List.of(entry("message-" + i)));
+        }
+
+        assertThat(stored).isFalse();
+        assertThat(segmentFiles()).hasSize(2);
+    }
+
+    @Test
+    void readNext_TornRecordAtTail_StopsAfterLastCompleteRecord() throws IOException {
+        WriteAheadLog wal = open(SEGMENT_SIZE, Long.MAX_VALUE);
+        wal.append(List.of(entry("a")));
+        wal.append(List.of(entry("b")));
+        wal.close();
+
+        // Crash mid-append: the length made it to disk, the payload did not match its checksum
+        Path segment = segmentFiles().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int tail = endOfRecords(channel);
+            ByteBuffer torn = ByteBuffer.allocate(WalSegment.RECORD_HEADER_BYTES + 16);
+            torn.putInt(16).putInt(0xCAFEBABE).put(new byte[] {1, 2, 3}).rewind();
+            channel.write(torn, tail);
+        }
+
+        WriteAheadLog reopened = open(SEGMENT_SIZE, Long.MAX_VALUE);
+
+        assertThat(reopened.hasPending()).isTrue();
+        assertThat(replayAll(reopened)).containsExactly("a", "b");
+        assertThat(reopened.hasPending()).isFalse();
+        assertThat(segmentFiles()).isEmpty();
+    }
+
+    @Test
+    void open_AfterRestart_ResumesFromCheckpoint() throws IOException {
+        WriteAheadLog wal = open(SEGMENT_SIZE, Long.MAX_VALUE);
+        wal.append(List.of(entry("a")));
+        wal.append(List.of(entry("b")));
+        wal.append(List.of(entry("c")));
+        wal.commit(wal.readNext());
+        // Read but not committed: must be replayed again
+        wal.readNext();
+        wal.close();
+
+        WriteAheadLog reopened = open(SEGMENT_SIZE, Long.MAX_VALUE);
+
+        assertThat(replayAll(reopened)).containsExactly("b", "c");
+    }
+
+    @Test
+    void append_AfterRestart_StartsNewSegmentBehindPendingOnes() throws IOException {
+        WriteAheadLog wal = open(SEGMENT_SIZE, Long.MAX_VALUE);
+        wal.append(List.of(entry("before")));
+        wal.close();
+
+        WriteAheadLog reopened = open(SEGMENT_SIZE, Long.MAX_VALUE);
+        reopened.append(List.of(entry("after")));
+
+        assertThat(segmentFiles()).hasSize(2);
+        assertThat(replayAll(reopened)).containsExactly("before", "after");
+    }
+
+    private WriteAheadLog open(int segmentSize, long maxDiskBytes) {
+        WriteAheadLog wal = new WriteAheadLog(objectMapper, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(wal, "directory", directory.toString());
+        ReflectionTestUtils.setField(wal, "segmentSize", segmentSize);
+        ReflectionTestUtils.setField(wal, "maxDiskBytes", maxDiskBytes);
+        try {
+            wal.open();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        opened.add(wal);
+        return wal;
+    }
+
+    private static List<String> replayAll(WriteAheadLog wal) throws IOException {
+        List<String> messages = new ArrayList<>();
+        WriteAheadLog.WalBatch batch;
+        while ((batch = wal.readNext()) != null) {
+            batch.entries().forEach(entry -> messages.add(entry.getMessage()));
+            wal.commit(batch);
+        }
+        return messages;
+    }
+
+    private List<Path> segmentFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".wal")).sorted().toList();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int endOfRecords(FileChannel channel) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        int offset = 0;
+        while (true) {
+            length.clear();
+            channel.read(length, offset);
+            int recordLength = length.flip().getInt();
+            if (recordLength == 0) {
+                return offset;
+            }
+            offset += WalSegment.RECORD_HEADER_BYTES + recordLength;
+        }
+    }
+
+    private static LogEntry entry(String message) {
+        return LogEntry.builder()
+            .timestamp(Instant.parse("2024-05-01T12:00:00.123Z"))
+            .jobId(UUID.fromString("0190a4b2-7c3e-7d1a-9f00-000000000001"))
+            .level("INFO")
+            .message(message)
+            .serviceName("worker-service")
+            .build();
+    }
+}
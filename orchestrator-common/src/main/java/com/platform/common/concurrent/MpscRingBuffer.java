@@ -0,0 +1,143 @@
+package com.platform.common.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer ring buffer.
+ * <p>
+ * Producers claim a slot with one CAS on the tail cursor and publish it by
+ * advancing the slot's sequence number; they never take a lock and never wait
+ * on the consumer. {@link #offer} simply returns {@code false} when the buffer
+ * is full, leaving the back-off policy to the caller.
+ * <p>
+ * {@link #drain} must only ever be called from one thread at a time.
+ *
+ * @param <E> element type
+ */
+public class MpscRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+
+    /**
+     * Per-slot sequence: equals the producer position when the slot is free
+     * and position + 1 once an element has been published into it.
+     */
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Create a buffer holding at least {@code requestedCapacity} elements
+     * (rounded up to the next power of two).
+     */
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2: " + requestedCapacity);
+        }
+        if (requestedCapacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity too large: " + requestedCapacity);
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add an element. Safe to call from any number of threads.
+     *
+     * @return {@code false} if the buffer is full
+     */
+    public boolean offer(E element) {
+        return offerAndGetPosition(element) >= 0;
+    }
+
+    /**
+     * Add an element and return its position in the overall sequence of
+     * offered elements (0 for the first element ever offered). The consumer
+     * has removed an element once {@link #drain} has returned
+     * {@code position + 1} elements in total.
+     *
+     * @return the element's position, or -1 if the buffer is full
+     */
+    public long offerAndGetPosition(E element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    // Publishes the element to the consumer
+                    sequences.lazySet(index, position + 1);
+                    return position;
+                }
+            } else if (difference < 0) {
+                // Slot still holds an element from the previous lap
+                return -1;
+            }
+            // Another producer claimed this position first; retry with the new tail
+        }
+    }
+
+    /**
+     * Remove up to {@code maxElements} published elements in FIFO order.
+     * Must only be called by the single consumer thread.
+     *
+     * @return number of elements handed to {@code consumer}
+     */
+    public int drain(Consumer<? super E> consumer, int maxElements) {
+        long position = head.get();
+        int drained = 0;
+
+        while (drained < maxElements) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                // Empty, or the next producer has claimed but not yet published its slot
+                break;
+            }
+
+            E element = elements.get(index);
+            elements.lazySet(index, null);
+            // Hand the slot back to producers for the next lap
+            sequences.lazySet(index, position + capacity);
+            position++;
+            drained++;
+            head.lazySet(position);
+
+            consumer.accept(element);
+        }
+
+        return drained;
+    }
+
+    /**
+     * Approximate number of elements in the buffer.
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
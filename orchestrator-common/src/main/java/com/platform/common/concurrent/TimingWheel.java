@@ -0,0 +1,166 @@
+package com.platform.common.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for timers keyed by absolute deadlines.
+ * <p>
+ * The lowest wheel has {@code wheelSize} buckets of {@code tickMs} each. A
+ * deadline beyond its span goes into an overflow wheel whose tick is the whole
+ * span of the wheel below, created on demand, so scheduling and expiry stay
+ * O(1) however far ahead a timer is. As time advances, the bucket of an upper
+ * wheel that becomes current is cascaded into the wheels below.
+ * <p>
+ * A timer never fires before its deadline and fires at most one tick after it,
+ * on the next {@link #advance} call. Deadlines already in the past fire on the
+ * next advance. All methods are synchronized; {@link #advance} is meant to be
+ * driven by a single ticking thread.
+ *
+ * @param <T> timer payload type
+ */
+public class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final Wheel<T> lowest;
+    private final List<Entry<T>> overdue = new ArrayList<>();
+    private int size;
+
+    /**
+     * @param tickMs    resolution of the lowest wheel
+     * @param wheelSize buckets per wheel
+     * @param startMs   current time
+     */
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs < 1) {
+            throw new IllegalArgumentException("Tick must be at least 1 ms: " + tickMs);
+        }
+        if (wheelSize < 2) {
+            throw new IllegalArgumentException("Wheel size must be at least 2: " + wheelSize);
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.lowest = new Wheel<>(tickMs, wheelSize, startMs);
+    }
+
+    /**
+     * Schedule a timer to fire once {@code deadlineMs} has passed.
+     */
+    public synchronized void schedule(T item, long deadlineMs) {
+        add(new Entry<>(item, deadlineMs));
+        size++;
+    }
+
+    /**
+     * Advance the wheels to {@code nowMs} and hand every timer that is now due
+     * to {@code expired}, in deadline order up to the tick resolution.
+     *
+     * @return number of timers fired
+     */
+    public synchronized int advance(long nowMs, Consumer<T> expired) {
+        int fired = 0;
+        if (!overdue.isEmpty()) {
+            for (Entry<T> entry : overdue) {
+                expired.accept(entry.item());
+            }
+            fired += overdue.size();
+            overdue.clear();
+        }
+
+        List<Entry<T>> cascaded = new ArrayList<>();
+        while (lowest.currentTime + tickMs <= nowMs) {
+            long completedTick = lowest.currentTime;
+            long now = completedTick + tickMs;
+
+            // Taken before cascading: timers one full rotation ahead share this bucket
+            List<Entry<T>> due = lowest.takeBucket(completedTick, new ArrayList<>());
+
+            // Move every wheel to the new time first, so cascaded timers are placed correctly
+            for (Wheel<T> wheel = lowest; wheel != null; wheel = wheel.overflow) {
+                long start = now - Math.floorMod(now, wheel.tickMs);
+                if (start != wheel.currentTime) {
+                    wheel.currentTime = start;
+                    if (wheel != lowest) {
+                        wheel.takeBucket(start, cascaded);
+                    }
+                }
+            }
+            for (Entry<T> entry : cascaded) {
+                add(entry);
+            }
+            cascaded.clear();
+
+            for (Entry<T> entry : due) {
+                expired.accept(entry.item());
+            }
+            fired += due.size();
+        }
+
+        size -= fired;
+        return fired;
+    }
+
+    /**
+     * Number of timers that have not fired yet.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void add(Entry<T> entry) {
+        if (entry.deadlineMs() < lowest.currentTime) {
+            overdue.add(entry);
+            return;
+        }
+
+        Wheel<T> wheel = lowest;
+        while (entry.deadlineMs() >= wheel.currentTime + wheel.intervalMs) {
+            if (wheel.overflow == null) {
+                wheel.overflow = new Wheel<>(wheel.intervalMs, wheelSize, lowest.currentTime);
+            }
+            wheel = wheel.overflow;
+        }
+        wheel.bucketFor(entry.deadlineMs()).add(entry);
+    }
+
+    private static final class Wheel<T> {
+
+        private final long tickMs;
+        private final long intervalMs;
+        private final List<Entry<T>>[] buckets;
+        // Start of the tick this wheel is in
+        private long currentTime;
+        private Wheel<T> overflow;
+
+        @SuppressWarnings("unchecked")
+        private Wheel(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.intervalMs = tickMs * wheelSize;
+            this.buckets = new List[wheelSize];
+            this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+        }
+
+        private List<Entry<T>> bucketFor(long timeMs) {
+            int index = (int) Math.floorMod(Math.floorDiv(timeMs, tickMs), (long) buckets.length);
+            if (buckets[index] == null) {
+                buckets[index] = new ArrayList<>();
+            }
+            return buckets[index];
+        }
+
+        /**
+         * Move the timers of the bucket for {@code timeMs} into {@code into}.
+         */
+        private List<Entry<T>> takeBucket(long timeMs, List<Entry<T>> into) {
+            List<Entry<T>> bucket = bucketFor(timeMs);
+            into.addAll(bucket);
+            bucket.clear();
+            return into;
+        }
+    }
+
+    private record Entry<T>(T item, long deadlineMs) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.platform.common.model;
 
+import com.platform.common.id.UuidV7Id;
 import io.hypersistence.utils.hibernate.type.json.JsonBinaryType;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
@@ -8,6 +9,7 @@ import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.Type;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -39,10 +41,10 @@ import java.util.UUID;
 public class Job {
 
     /**
-     * Unique identifier for the job (UUID v4)
+     * Unique identifier for the job (UUIDv7, ordered by creation time)
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -129,6 +131,28 @@ public class Job {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    /**
+     * When a FAILED job with retries left is due to be retried
+     * Pushed back while the job type's circuit breaker is open
+     */
+    @Column(name = "next_retry_at")
+    private LocalDateTime nextRetryAt;
+
+    /**
+     * Backoff delay computed at the last failure, in milliseconds
+     * Kept after the retry, so the next backoff can build on the previous delay
+     */
+    @Column(name = "last_retry_delay_ms")
+    private Long lastRetryDelayMs;
+
+    /**
+     * Timestamp of the last change to this job
+     * Set by Hibernate on save and by every bulk status UPDATE
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
     /**
      * Error message if job failed
      * Stores the last error message (up to 2000 characters)
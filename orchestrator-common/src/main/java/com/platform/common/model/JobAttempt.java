@@ -0,0 +1,29 @@
+package com.platform.common.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A failed attempt of a job that a worker retries through the Kafka retry tiers.
+ * <p>
+ * Not a result: the job is still in flight and its row is left alone. The
+ * orchestrator only feeds it to the circuit breaker of the job's type, so
+ * failures are seen as they happen rather than once the job is out of retries.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobAttempt {
+
+    private UUID jobId;
+    private String type;
+    private String workerId;
+    // Retries made so far, including the one just published to a retry tier
+    private int retryCount;
+    private String errorMessage;
+}
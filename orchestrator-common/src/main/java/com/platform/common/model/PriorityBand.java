@@ -0,0 +1,27 @@
+package com.platform.common.model;
+
+/**
+ * Priority band a job is dispatched in.
+ * <p>
+ * Each band has its own Kafka task topic, so a high priority job never waits
+ * behind a backlog of low priority jobs on the same partition. Which priorities
+ * fall into which band is configured by the orchestrator
+ * ({@code orchestrator.dispatch.priority-bands}).
+ */
+public enum PriorityBand {
+
+    HIGH,
+    NORMAL,
+    LOW;
+
+    /**
+     * Band for a job priority, given the lowest HIGH and the highest LOW priority.
+     */
+    public static PriorityBand of(Integer priority, int highFrom, int lowUpTo) {
+        int value = priority != null ? priority : 0;
+        if (value >= highFrom) {
+            return HIGH;
+        }
+        return value <= lowUpTo ? LOW : NORMAL;
+    }
+}
@@ -0,0 +1,52 @@
+package com.platform.common.wire;
+
+import com.platform.common.model.Job;
+import com.platform.common.wire.WireSchema.TaskFields;
+
+/**
+ * Encodes a {@link Job} as a job task, and decodes job tasks into a {@link Job}.
+ * <p>
+ * Only the fields a worker needs travel on the wire; timestamps, status and
+ * error details stay in the orchestrator's database.
+ */
+public class JobWireCodec implements WireCodec<Job> {
+
+    @Override
+    public int typeId() {
+        return WireSchema.JOB_TASK;
+    }
+
+    @Override
+    public Class<Job> type() {
+        return Job.class;
+    }
+
+    @Override
+    public void encode(Job job, WireWriter out) {
+        out.writeUuid(TaskFields.JOB_ID, job.getId());
+        out.writeString(TaskFields.TYPE, job.getType());
+        out.writeString(TaskFields.PAYLOAD, job.getPayload());
+        out.writeInt(TaskFields.RETRY_COUNT, job.getRetryCount());
+        out.writeInt(TaskFields.MAX_RETRIES, job.getMaxRetries());
+        out.writeString(TaskFields.NAME, job.getName());
+        out.writeInt(TaskFields.PRIORITY, job.getPriority());
+    }
+
+    @Override
+    public Job decode(WireReader in, int version) {
+        Job job = new Job();
+        while (in.next()) {
+            switch (in.field()) {
+                case TaskFields.JOB_ID -> job.setId(in.readUuid());
+                case TaskFields.TYPE -> job.setType(in.readString());
+                case TaskFields.PAYLOAD -> job.setPayload(in.readString());
+                case TaskFields.RETRY_COUNT -> job.setRetryCount(in.readInt());
+                case TaskFields.MAX_RETRIES -> job.setMaxRetries(in.readInt());
+                case TaskFields.NAME -> job.setName(in.readString());
+                case TaskFields.PRIORITY -> job.setPriority(in.readInt());
+                default -> in.skip();
+            }
+        }
+        return job;
+    }
+}
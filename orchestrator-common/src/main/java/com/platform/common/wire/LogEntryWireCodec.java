@@ -0,0 +1,55 @@
+package com.platform.common.wire;
+
+import com.platform.common.model.LogEntry;
+import com.platform.common.wire.WireSchema.LogFields;
+
+/**
+ * Wire codec for {@link LogEntry}.
+ */
+public class LogEntryWireCodec implements WireCodec<LogEntry> {
+
+    @Override
+    public int typeId() {
+        return WireSchema.LOG_ENTRY;
+    }
+
+    @Override
+    public Class<LogEntry> type() {
+        return LogEntry.class;
+    }
+
+    @Override
+    public void encode(LogEntry log, WireWriter out) {
+        out.writeTimestamp(LogFields.TIMESTAMP, log.getTimestamp());
+        out.writeUuid(LogFields.JOB_ID, log.getJobId());
+        out.writeString(LogFields.WORKER_ID, log.getWorkerId());
+        out.writeString(LogFields.LEVEL, log.getLevel());
+        out.writeString(LogFields.MESSAGE, log.getMessage());
+        out.writeStringMap(LogFields.METADATA, log.getMetadata());
+        out.writeString(LogFields.SERVICE_NAME, log.getServiceName());
+        out.writeString(LogFields.THREAD_NAME, log.getThreadName());
+        out.writeString(LogFields.STACK_TRACE, log.getStackTrace());
+        out.writeString(LogFields.ENVIRONMENT, log.getEnvironment());
+    }
+
+    @Override
+    public LogEntry decode(WireReader in, int version) {
+        LogEntry log = new LogEntry();
+        while (in.next()) {
+            switch (in.field()) {
+                case LogFields.TIMESTAMP -> log.setTimestamp(in.readInstant());
+                case LogFields.JOB_ID -> log.setJobId(in.readUuid());
+                case LogFields.WORKER_ID -> log.setWorkerId(in.readString());
+                case LogFields.LEVEL -> log.setLevel(in.readString());
+                case LogFields.MESSAGE -> log.setMessage(in.readString());
+                case LogFields.METADATA -> log.setMetadata(in.readStringMap());
+                case LogFields.SERVICE_NAME -> log.setServiceName(in.readString());
+                case LogFields.THREAD_NAME -> log.setThreadName(in.readString());
+                case LogFields.STACK_TRACE -> log.setStackTrace(in.readString());
+                case LogFields.ENVIRONMENT -> log.setEnvironment(in.readString());
+                default -> in.skip();
+            }
+        }
+        return log;
+    }
+}
@@ -0,0 +1,29 @@
+package com.platform.common.wire;
+
+/**
+ * Encodes one message class to and from the binary wire format.
+ *
+ * @param <T> message class
+ */
+public interface WireCodec<T> {
+
+    /**
+     * Message type id written in the header, from {@link WireSchema}.
+     */
+    int typeId();
+
+    Class<T> type();
+
+    /**
+     * Write the fields of {@code value}; the header is written by the caller.
+     */
+    void encode(T value, WireWriter out);
+
+    /**
+     * Read a message whose header has already been consumed. Implementations
+     * must {@link WireReader#skip() skip} fields they do not know.
+     *
+     * @param version format version from the header
+     */
+    T decode(WireReader in, int version);
+}
@@ -0,0 +1,50 @@
+package com.platform.common.wire;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The codecs a service uses, looked up by class when encoding and by type id
+ * when decoding.
+ * <p>
+ * Several classes may share a type id (the orchestrator encodes both its
+ * {@code JobTask} DTO and a full {@code Job} as a job task); the first codec
+ * registered for a type id is the one used to decode it.
+ */
+public class WireCodecRegistry {
+
+    private final Map<Class<?>, WireCodec<?>> byType = new HashMap<>();
+    private final Map<Integer, WireCodec<?>> byTypeId = new HashMap<>();
+
+    public WireCodecRegistry(List<WireCodec<?>> codecs) {
+        for (WireCodec<?> codec : codecs) {
+            if (codec.typeId() <= 0 || codec.typeId() > 0xFF) {
+                throw new IllegalArgumentException("Type id out of range: " + codec.typeId());
+            }
+            if (byType.putIfAbsent(codec.type(), codec) != null) {
+                throw new IllegalArgumentException("Duplicate codec for " + codec.type().getName());
+            }
+            byTypeId.putIfAbsent(codec.typeId(), codec);
+        }
+    }
+
+    public WireCodecRegistry(WireCodec<?>... codecs) {
+        this(List.of(codecs));
+    }
+
+    /**
+     * Codec for a class, or {@code null} if it has none.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> WireCodec<T> forType(Class<T> type) {
+        return (WireCodec<T>) byType.get(type);
+    }
+
+    /**
+     * Codec that decodes a type id, or {@code null} if it has none.
+     */
+    public WireCodec<?> forTypeId(int typeId) {
+        return byTypeId.get(typeId);
+    }
+}
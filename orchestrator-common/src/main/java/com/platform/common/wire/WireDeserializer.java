@@ -0,0 +1,81 @@
+package com.platform.common.wire;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Kafka deserializer for wire format messages.
+ * <p>
+ * Records that do not start with {@link WireFormat#MAGIC} are handed to the
+ * fallback deserializer (typically JSON), so a consumer using this class reads
+ * both formats while producers are switched over.
+ */
+public class WireDeserializer implements Deserializer<Object> {
+
+    private final WireCodecRegistry registry;
+    private final Deserializer<Object> fallback;
+
+    public WireDeserializer(WireCodecRegistry registry, Deserializer<Object> fallback) {
+        this.registry = registry;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        fallback.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (!WireFormat.isWireFormat(data)) {
+            return fallback.deserialize(topic, headers, data);
+        }
+        return decode(topic, new WireReader(data));
+    }
+
+    /**
+     * Decodes straight from the fetched record buffer instead of a copy of it.
+     */
+    @Override
+    public Object deserialize(String topic, Headers headers, ByteBuffer data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.remaining() < WireFormat.HEADER_BYTES || data.get(data.position()) != WireFormat.MAGIC) {
+            byte[] bytes = new byte[data.remaining()];
+            data.duplicate().get(bytes);
+            return fallback.deserialize(topic, headers, bytes);
+        }
+        return decode(topic, WireReader.of(data));
+    }
+
+    private Object decode(String topic, WireReader reader) {
+        try {
+            int typeId = reader.readHeader();
+            WireCodec<?> codec = registry.forTypeId(typeId);
+            if (codec == null) {
+                throw new SerializationException("No codec for wire type " + typeId + " on topic " + topic);
+            }
+            return codec.decode(reader, reader.version());
+        } catch (WireFormatException e) {
+            throw new SerializationException("Malformed wire message on topic " + topic, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        fallback.close();
+    }
+}
@@ -0,0 +1,54 @@
+package com.platform.common.wire;
+
+/**
+ * Constants of the binary wire format.
+ * <p>
+ * A message is a three byte header ({@link #MAGIC}, format version, message
+ * type id) followed by tagged fields. Each field starts with a varint tag of
+ * {@code field number << 3 | wire type}; the wire type tells readers how to
+ * skip fields they do not know, so new fields can be added without breaking
+ * older consumers. Absent (null) fields are simply not written.
+ *
+ * @see WireSchema
+ */
+public final class WireFormat {
+
+    /**
+     * First byte of every message. Never the first byte of a JSON document,
+     * so consumers can tell the two formats apart.
+     */
+    public static final byte MAGIC = (byte) 0xB7;
+
+    /**
+     * Format version written by this code.
+     */
+    public static final int VERSION = 1;
+
+    public static final int HEADER_BYTES = 3;
+
+    /** Zigzag-encoded varint: integers, booleans, enums, timestamps. */
+    public static final int VARINT = 0;
+    /** Eight little-endian bytes. */
+    public static final int FIXED64 = 1;
+    /** Varint length followed by that many bytes: strings, byte arrays, maps. */
+    public static final int BYTES = 2;
+    /** Sixteen bytes: UUIDs. */
+    public static final int FIXED128 = 3;
+
+    static final int TYPE_BITS = 3;
+    static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+
+    private WireFormat() {
+    }
+
+    static int tag(int field, int wireType) {
+        return field << TYPE_BITS | wireType;
+    }
+
+    /**
+     * Whether a payload starts with the wire format header.
+     */
+    public static boolean isWireFormat(byte[] data) {
+        return data != null && data.length >= HEADER_BYTES && data[0] == MAGIC;
+    }
+}
@@ -0,0 +1,11 @@
+package com.platform.common.wire;
+
+/**
+ * Thrown when a message is not valid wire format.
+ */
+public class WireFormatException extends RuntimeException {
+
+    public WireFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,247 @@
+package com.platform.common.wire;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.platform.common.wire.WireFormat.BYTES;
+import static com.platform.common.wire.WireFormat.FIXED128;
+import static com.platform.common.wire.WireFormat.FIXED64;
+import static com.platform.common.wire.WireFormat.TYPE_BITS;
+import static com.platform.common.wire.WireFormat.TYPE_MASK;
+import static com.platform.common.wire.WireFormat.VARINT;
+
+/**
+ * Reads a wire format message directly from the bytes it was received in.
+ * <p>
+ * Nothing is copied up front: strings are decoded straight from the source
+ * array, and {@link #readBytes()} returns a read-only view of it.
+ * <pre>{@code
+ * while (in.next()) {
+ *     switch (in.field()) {
+ *         case 1 -> id = in.readUuid();
+ *         default -> in.skip();
+ *     }
+ * }
+ * }</pre>
+ */
+public final class WireReader {
+
+    private final byte[] bytes;
+    private final int limit;
+    private int position;
+
+    private int version;
+    private int field;
+    private int wireType;
+
+    public WireReader(byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    public WireReader(byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("offset=" + offset + ", length=" + length);
+        }
+        this.bytes = bytes;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    /**
+     * Reader over the remaining bytes of a buffer. Heap buffers are read in
+     * place; direct buffers are copied once.
+     */
+    public static WireReader of(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            return new WireReader(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        byte[] copy = new byte[buffer.remaining()];
+        buffer.duplicate().get(copy);
+        return new WireReader(copy);
+    }
+
+    /**
+     * Read and check the header.
+     *
+     * @return the message type id; the format version is available from {@link #version()}
+     */
+    public int readHeader() {
+        if (limit - position < WireFormat.HEADER_BYTES || bytes[position] != WireFormat.MAGIC) {
+            throw new WireFormatException("Not a wire format message");
+        }
+        version = bytes[position + 1] & 0xFF;
+        int typeId = bytes[position + 2] & 0xFF;
+        position += WireFormat.HEADER_BYTES;
+        return typeId;
+    }
+
+    /**
+     * Format version from the header.
+     */
+    public int version() {
+        return version;
+    }
+
+    /**
+     * Advance to the next field.
+     *
+     * @return {@code false} at the end of the message
+     */
+    public boolean next() {
+        if (position >= limit) {
+            return false;
+        }
+        long tag = readVarint();
+        field = (int) (tag >>> TYPE_BITS);
+        wireType = (int) (tag & TYPE_MASK);
+        return true;
+    }
+
+    /**
+     * Field number of the current field.
+     */
+    public int field() {
+        return field;
+    }
+
+    /**
+     * Skip the value of the current field.
+     */
+    public void skip() {
+        switch (wireType) {
+            case VARINT -> readVarint();
+            case FIXED64 -> advance(8);
+            case BYTES -> advance(readLength());
+            case FIXED128 -> advance(16);
+            default -> throw new WireFormatException("Unknown wire type " + wireType + " for field " + field);
+        }
+    }
+
+    public long readLong() {
+        expect(VARINT);
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public int readInt() {
+        return (int) readLong();
+    }
+
+    public boolean readBoolean() {
+        return readLong() != 0;
+    }
+
+    public double readDouble() {
+        expect(FIXED64);
+        return Double.longBitsToDouble(readFixed64());
+    }
+
+    public <E extends Enum<E>> E readEnum(Class<E> type) {
+        return Enum.valueOf(type, readString());
+    }
+
+    public UUID readUuid() {
+        expect(FIXED128);
+        return new UUID(readFixed64(), readFixed64());
+    }
+
+    public Instant readInstant() {
+        long micros = readLong();
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1000);
+    }
+
+    public LocalDateTime readLocalDateTime() {
+        long micros = readLong();
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+            (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+
+    public String readString() {
+        expect(BYTES);
+        return readStringValue();
+    }
+
+    /**
+     * Read-only view of a bytes field, sharing the message's backing array.
+     */
+    public ByteBuffer readBytes() {
+        expect(BYTES);
+        int length = readLength();
+        ByteBuffer view = ByteBuffer.wrap(bytes, position, length).slice().asReadOnlyBuffer();
+        position += length;
+        return view;
+    }
+
+    public Map<String, String> readStringMap() {
+        expect(BYTES);
+        int length = readLength();
+        int end = position + length;
+        int count = (int) readVarint();
+        Map<String, String> map = new HashMap<>((int) (count / 0.75f) + 1);
+        for (int i = 0; i < count; i++) {
+            map.put(readStringValue(), readStringValue());
+        }
+        position = end;
+        return map;
+    }
+
+    private String readStringValue() {
+        int length = readLength();
+        String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    private int readLength() {
+        long length = readVarint();
+        if (length < 0 || length > limit - position) {
+            throw new WireFormatException("Field " + field + " length " + length + " exceeds message");
+        }
+        return (int) length;
+    }
+
+    private long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position >= limit) {
+                throw new WireFormatException("Truncated varint");
+            }
+            byte b = bytes[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new WireFormatException("Malformed varint");
+    }
+
+    private long readFixed64() {
+        if (limit - position < 8) {
+            throw new WireFormatException("Truncated fixed64");
+        }
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value |= (bytes[position++] & 0xFFL) << (8 * i);
+        }
+        return value;
+    }
+
+    private void advance(int count) {
+        if (count > limit - position) {
+            throw new WireFormatException("Truncated field " + field);
+        }
+        position += count;
+    }
+
+    private void expect(int expected) {
+        if (wireType != expected) {
+            throw new WireFormatException("Field " + field + " has wire type " + wireType + ", expected " + expected);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.platform.common.wire;
+
+/**
+ * Message type ids and field numbers shared by every service.
+ * <p>
+ * Producers and consumers may map these onto different classes (the
+ * orchestrator sends its {@code JobTask} DTO, the worker reads it into a
+ * {@link com.platform.common.model.Job}), so field numbers live here rather
+ * than in any one codec. Field numbers must never be reused or renumbered;
+ * retired fields should be left commented out.
+ */
+public final class WireSchema {
+
+    public static final int JOB_TASK = 1;
+    public static final int JOB_RESULT = 2;
+    public static final int LOG_ENTRY = 3;
+
+    private WireSchema() {
+    }
+
+    /**
+     * Fields of a job task sent to workers.
+     */
+    public static final class TaskFields {
+        public static final int JOB_ID = 1;
+        public static final int TYPE = 2;
+        public static final int PAYLOAD = 3;
+        public static final int RETRY_COUNT = 4;
+        public static final int MAX_RETRIES = 5;
+        public static final int NAME = 6;
+        public static final int PRIORITY = 7;
+
+        private TaskFields() {
+        }
+    }
+
+    /**
+     * Fields of a job result sent back to the orchestrator.
+     */
+    public static final class ResultFields {
+        public static final int JOB_ID = 1;
+        /** {@link com.platform.common.model.JobStatus} name. */
+        public static final int STATUS = 2;
+        /** Always written alongside {@link #STATUS} so readers need not map statuses. */
+        public static final int SUCCESS = 3;
+        public static final int RESULT = 4;
+        public static final int ERROR_MESSAGE = 5;
+        public static final int WORKER_ID = 6;
+        public static final int STARTED_AT = 7;
+        public static final int COMPLETED_AT = 8;
+        /** Retries made so far; absent when the worker left retrying to the orchestrator. */
+        public static final int RETRY_COUNT = 9;
+
+        private ResultFields() {
+        }
+    }
+
+    /**
+     * Fields of a log entry.
+     */
+    public static final class LogFields {
+        public static final int TIMESTAMP = 1;
+        public static final int JOB_ID = 2;
+        public static final int WORKER_ID = 3;
+        public static final int LEVEL = 4;
+        public static final int MESSAGE = 5;
+        public static final int METADATA = 6;
+        public static final int SERVICE_NAME = 7;
+        public static final int THREAD_NAME = 8;
+        public static final int STACK_TRACE = 9;
+        public static final int ENVIRONMENT = 10;
+
+        private LogFields() {
+        }
+    }
+}
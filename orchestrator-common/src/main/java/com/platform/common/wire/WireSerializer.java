@@ -0,0 +1,57 @@
+package com.platform.common.wire;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Map;
+
+/**
+ * Kafka serializer writing registered message classes in the wire format.
+ * Values without a codec go to the fallback serializer (typically JSON).
+ */
+public class WireSerializer implements Serializer<Object> {
+
+    private final WireCodecRegistry registry;
+    private final Serializer<Object> fallback;
+
+    // Kafka serializes on the sending thread, so each thread reuses one writer
+    private final ThreadLocal<WireWriter> writers = ThreadLocal.withInitial(WireWriter::new);
+
+    public WireSerializer(WireCodecRegistry registry, Serializer<Object> fallback) {
+        this.registry = registry;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        fallback.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data == null) {
+            return null;
+        }
+        WireCodec<Object> codec = (WireCodec<Object>) registry.forType(data.getClass());
+        if (codec == null) {
+            return fallback.serialize(topic, headers, data);
+        }
+
+        WireWriter writer = writers.get();
+        writer.reset();
+        writer.writeHeader(codec.typeId());
+        codec.encode(data, writer);
+        return writer.toByteArray();
+    }
+
+    @Override
+    public void close() {
+        fallback.close();
+    }
+}
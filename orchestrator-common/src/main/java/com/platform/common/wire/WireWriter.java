@@ -0,0 +1,276 @@
+package com.platform.common.wire;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.platform.common.wire.WireFormat.BYTES;
+import static com.platform.common.wire.WireFormat.FIXED128;
+import static com.platform.common.wire.WireFormat.FIXED64;
+import static com.platform.common.wire.WireFormat.VARINT;
+import static com.platform.common.wire.WireFormat.tag;
+
+/**
+ * Writes a wire format message into a growable byte array.
+ * <p>
+ * Writers are meant to be reused: {@link #reset()} keeps the backing array.
+ * Every field method skips {@code null} values.
+ */
+public final class WireWriter {
+
+    private byte[] bytes;
+    private int size;
+
+    public WireWriter() {
+        this(256);
+    }
+
+    public WireWriter(int initialCapacity) {
+        this.bytes = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    public void reset() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copy of the bytes written so far.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    /**
+     * Write the message header. Must be the first call after {@link #reset()}.
+     */
+    public void writeHeader(int typeId) {
+        ensureCapacity(WireFormat.HEADER_BYTES);
+        bytes[size++] = WireFormat.MAGIC;
+        bytes[size++] = (byte) WireFormat.VERSION;
+        bytes[size++] = (byte) typeId;
+    }
+
+    public void writeLong(int field, long value) {
+        writeTag(field, VARINT);
+        writeVarint(zigzag(value));
+    }
+
+    public void writeLong(int field, Long value) {
+        if (value != null) {
+            writeLong(field, value.longValue());
+        }
+    }
+
+    public void writeInt(int field, Integer value) {
+        if (value != null) {
+            writeLong(field, value.longValue());
+        }
+    }
+
+    public void writeBoolean(int field, boolean value) {
+        writeLong(field, value ? 1 : 0);
+    }
+
+    public void writeDouble(int field, double value) {
+        writeTag(field, FIXED64);
+        writeFixed64(Double.doubleToRawLongBits(value));
+    }
+
+    public void writeEnum(int field, Enum<?> value) {
+        if (value != null) {
+            writeString(field, value.name());
+        }
+    }
+
+    public void writeUuid(int field, UUID value) {
+        if (value == null) {
+            return;
+        }
+        writeTag(field, FIXED128);
+        writeFixed64(value.getMostSignificantBits());
+        writeFixed64(value.getLeastSignificantBits());
+    }
+
+    /**
+     * Instant as microseconds since the epoch.
+     */
+    public void writeTimestamp(int field, Instant value) {
+        if (value != null) {
+            writeLong(field, TimeUnit.SECONDS.toMicros(value.getEpochSecond()) + value.getNano() / 1000);
+        }
+    }
+
+    /**
+     * Local date-time as microseconds since the epoch, read as UTC.
+     */
+    public void writeTimestamp(int field, LocalDateTime value) {
+        if (value != null) {
+            writeLong(field, TimeUnit.SECONDS.toMicros(value.toEpochSecond(ZoneOffset.UTC)) + value.getNano() / 1000);
+        }
+    }
+
+    /**
+     * UTF-8 string, encoded straight into the buffer.
+     */
+    public void writeString(int field, String value) {
+        if (value == null) {
+            return;
+        }
+        writeTag(field, BYTES);
+        writeStringValue(value);
+    }
+
+    public void writeBytes(int field, byte[] value) {
+        if (value == null) {
+            return;
+        }
+        writeTag(field, BYTES);
+        writeVarint(value.length);
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, bytes, size, value.length);
+        size += value.length;
+    }
+
+    public void writeBytes(int field, ByteBuffer value) {
+        if (value == null) {
+            return;
+        }
+        int length = value.remaining();
+        writeTag(field, BYTES);
+        writeVarint(length);
+        ensureCapacity(length);
+        value.duplicate().get(bytes, size, length);
+        size += length;
+    }
+
+    /**
+     * String map as {@code [count][key][value]...}; null values are written as empty strings.
+     * Empty maps are skipped.
+     */
+    public void writeStringMap(int field, Map<String, String> value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+
+        long length = varintSize(value.size());
+        for (Map.Entry<String, String> entry : value.entrySet()) {
+            length += stringSize(entry.getKey()) + stringSize(entry.getValue());
+        }
+
+        writeTag(field, BYTES);
+        writeVarint(length);
+        writeVarint(value.size());
+        for (Map.Entry<String, String> entry : value.entrySet()) {
+            writeStringValue(entry.getKey());
+            writeStringValue(entry.getValue());
+        }
+    }
+
+    private void writeTag(int field, int wireType) {
+        writeVarint(tag(field, wireType));
+    }
+
+    private void writeStringValue(String value) {
+        if (value == null) {
+            writeVarint(0);
+            return;
+        }
+        int length = utf8Length(value);
+        writeVarint(length);
+        ensureCapacity(length);
+
+        int chars = value.length();
+        for (int i = 0; i < chars; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes[size++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[size++] = (byte) (0xC0 | (c >> 6));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < chars && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                bytes[size++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate, replaced like String.getBytes does
+                bytes[size++] = '?';
+            } else {
+                bytes[size++] = (byte) (0xE0 | (c >> 12));
+                bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    private void writeFixed64(long value) {
+        ensureCapacity(8);
+        for (int i = 0; i < 8; i++) {
+            bytes[size++] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long stringSize(String value) {
+        int length = value != null ? utf8Length(value) : 0;
+        return varintSize(length) + length;
+    }
+
+    private static int varintSize(long value) {
+        int bytes = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        int chars = value.length();
+        for (int i = 0; i < chars; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < chars && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,95 @@
+package com.platform.common.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MpscRingBufferTest {
+
+    @Test
+    void capacity_IsRoundedUpToPowerOfTwo() {
+        assertThat(new MpscRingBuffer<>(2).capacity()).isEqualTo(2);
+        assertThat(new MpscRingBuffer<>(1000).capacity()).isEqualTo(1024);
+        assertThat(new MpscRingBuffer<>(1024).capacity()).isEqualTo(1024);
+        assertThatThrownBy(() -> new MpscRingBuffer<>(1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void offer_FullBuffer_ReturnsFalseUntilDrained() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drain(drained::add, 2)).isEqualTo(2);
+        assertThat(drained).containsExactly(0, 1);
+
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.offer(5)).isTrue();
+        assertThat(buffer.offer(6)).isFalse();
+
+        buffer.drain(drained::add, Integer.MAX_VALUE);
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void drain_ConcurrentProducers_ReturnsEveryElementOnceInProducerOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (long i = 0; i < perProducer; i++) {
+                    long[] element = {producer, i};
+                    while (!buffer.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+
+        long[] nextExpected = new long[producers];
+        long total = 0;
+        start.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (total < (long) producers * perProducer && System.nanoTime() < deadline) {
+            int drained = buffer.drain(element -> {
+                // Elements of one producer must arrive in the order they were offered
+                assertThat(element[1]).isEqualTo(nextExpected[(int) element[0]]);
+                nextExpected[(int) element[0]]++;
+            }, 256);
+            if (drained == 0) {
+                Thread.yield();
+            }
+            total += drained;
+        }
+        executor.shutdown();
+
+        assertThat(total).isEqualTo((long) producers * perProducer);
+        assertThat(nextExpected).containsOnly(perProducer);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,82 @@
+package com.platform.common.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimingWheelTest {
+
+    private static final long START = 1_700_000_000_050L;
+
+    @Test
+    void constructor_InvalidSettings_Rejected() {
+        assertThatThrownBy(() -> new TimingWheel<>(0, 8, START)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimingWheel<>(100, 1, START)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void advance_FiresTimersWithinOneTickOfDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, START);
+        wheel.schedule("soon", START + 150);
+        wheel.schedule("later", START + 420);
+        List<String> fired = new ArrayList<>();
+
+        assertThat(wheel.advance(START + 120, fired::add)).isZero();
+        assertThat(wheel.advance(START + 250, fired::add)).isEqualTo(1);
+        assertThat(fired).containsExactly("soon");
+
+        wheel.advance(START + 400, fired::add);
+        assertThat(fired).containsExactly("soon");
+        wheel.advance(START + 550, fired::add);
+        assertThat(fired).containsExactly("soon", "later");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_PastDeadline_FiresOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, START);
+        wheel.schedule("overdue", START - 60_000);
+        List<String> fired = new ArrayList<>();
+
+        wheel.advance(START, fired::add);
+
+        assertThat(fired).containsExactly("overdue");
+    }
+
+    @Test
+    void advance_FarDeadlines_CascadeThroughOverflowWheels() {
+        // 8 buckets of 100 ms: 800 ms per lowest wheel, 6.4 s for the next, and so on
+        TimingWheel<Long> wheel = new TimingWheel<>(100, 8, START);
+        Random random = new Random(7);
+        Set<Long> pending = new HashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            long deadline = START + (long) (Math.pow(random.nextDouble(), 3) * 3_600_000L);
+            pending.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        long now = START;
+        long[] maxLateness = new long[1];
+        while (now < START + 3_700_000L) {
+            now += 1 + random.nextInt(250);
+            long current = now;
+            wheel.advance(now, deadline -> {
+                assertThat(deadline).isLessThanOrEqualTo(current);
+                maxLateness[0] = Math.max(maxLateness[0], current - deadline);
+                pending.remove(deadline);
+            });
+        }
+
+        assertThat(pending).isEmpty();
+        assertThat(wheel.size()).isZero();
+        // Advance steps are up to 250 ms apart, plus at most one tick of resolution
+        assertThat(maxLateness[0]).isLessThan(350);
+    }
+}
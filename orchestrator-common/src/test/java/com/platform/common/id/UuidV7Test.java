@@ -0,0 +1,108 @@
+package com.platform.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void generate_SetsVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.generate();
+        long after = System.currentTimeMillis();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(UuidV7.timestampMillis(uuid)).isBetween(before, after);
+    }
+
+    @Test
+    void next_SameMillisecond_StrictlyIncreasing() {
+        UuidV7 generator = new UuidV7(() -> NOW);
+
+        UUID previous = generator.next();
+        for (int i = 0; i < 10_000; i++) {
+            UUID current = generator.next();
+            assertThat(compareUnsigned(current, previous)).isPositive();
+            previous = current;
+        }
+        // The counter ran out and carried into the timestamp
+        assertThat(UuidV7.timestampMillis(previous)).isGreaterThan(NOW);
+    }
+
+    @Test
+    void next_ClockStepsBack_StaysIncreasing() {
+        AtomicLong clock = new AtomicLong(NOW);
+        UuidV7 generator = new UuidV7(clock::get);
+
+        UUID first = generator.next();
+        clock.set(NOW - 5_000);
+        UUID second = generator.next();
+
+        assertThat(compareUnsigned(second, first)).isPositive();
+        assertThat(UuidV7.timestampMillis(second)).isEqualTo(NOW);
+    }
+
+    @Test
+    void next_ConcurrentThreads_UniqueAndIncreasingPerThread() throws InterruptedException {
+        UuidV7 generator = new UuidV7(System::currentTimeMillis);
+        Set<UUID> all = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                UUID previous = generator.next();
+                all.add(previous);
+                for (int i = 0; i < 20_000; i++) {
+                    UUID current = generator.next();
+                    if (compareUnsigned(current, previous) <= 0) {
+                        synchronized (errors) {
+                            errors.add(new AssertionError(current + " <= " + previous));
+                        }
+                    }
+                    all.add(current);
+                    previous = current;
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(errors).isEmpty();
+        assertThat(all).hasSize(4 * 20_001);
+    }
+
+    @Test
+    void next_LaterMillisecond_SortsAfterAsString() {
+        AtomicLong clock = new AtomicLong(NOW);
+        UuidV7 generator = new UuidV7(clock::get);
+
+        String previous = generator.next().toString();
+        for (int i = 1; i <= 100; i++) {
+            clock.set(NOW + i);
+            String current = generator.next().toString();
+            // String order is byte order, which is how PostgreSQL sorts uuid columns
+            assertThat(current).isGreaterThan(previous);
+            previous = current;
+        }
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
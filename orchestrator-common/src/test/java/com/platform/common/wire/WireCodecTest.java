@@ -0,0 +1,109 @@
+package com.platform.common.wire;
+
+import com.platform.common.model.Job;
+import com.platform.common.model.LogEntry;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WireCodecTest {
+
+    private final WireCodecRegistry registry = new WireCodecRegistry(new JobWireCodec(), new LogEntryWireCodec());
+
+    private final Serializer<Object> jsonSerializer =
+        (topic, data) -> ("{\"json\":\"" + data + "\"}").getBytes(StandardCharsets.UTF_8);
+    private final Deserializer<Object> jsonDeserializer =
+        (topic, data) -> new String(data, StandardCharsets.UTF_8);
+
+    private final WireSerializer serializer = new WireSerializer(registry, jsonSerializer);
+    private final WireDeserializer deserializer = new WireDeserializer(registry, jsonDeserializer);
+
+    @Test
+    void deserialize_SerializedLogEntry_RoundTrips() {
+        LogEntry log = LogEntry.builder()
+            .timestamp(Instant.parse("2024-03-01T10:15:30.123Z"))
+            .jobId(UUID.randomUUID())
+            .workerId("worker-1")
+            .level("ERROR")
+            .message("Job failed: naïve ✓")
+            .metadata(Map.of("attempt", "2", "region", "eu"))
+            .serviceName("worker-service")
+            .threadName("lane-EMAIL-3")
+            .stackTrace("java.lang.IllegalStateException: boom")
+            .build();
+
+        byte[] bytes = serializer.serialize("job.logs", log);
+
+        assertThat(WireFormat.isWireFormat(bytes)).isTrue();
+        assertThat(deserializer.deserialize("job.logs", bytes)).isEqualTo(log);
+    }
+
+    @Test
+    void serialize_Job_SendsOnlyWorkerTaskFields() {
+        Job job = Job.builder()
+            .id(UUID.randomUUID())
+            .name("nightly-report")
+            .type("REPORT")
+            .payload("{\"reportType\":\"sales\"}")
+            .priority(5)
+            .retryCount(1)
+            .maxRetries(3)
+            .errorMessage("not sent")
+            .build();
+
+        Job decoded = (Job) deserializer.deserialize("job.tasks", serializer.serialize("job.tasks", job));
+
+        assertThat(decoded.getId()).isEqualTo(job.getId());
+        assertThat(decoded.getName()).isEqualTo("nightly-report");
+        assertThat(decoded.getType()).isEqualTo("REPORT");
+        assertThat(decoded.getPayload()).isEqualTo(job.getPayload());
+        assertThat(decoded.getPriority()).isEqualTo(5);
+        assertThat(decoded.getRetryCount()).isEqualTo(1);
+        assertThat(decoded.getMaxRetries()).isEqualTo(3);
+        assertThat(decoded.getErrorMessage()).isNull();
+    }
+
+    @Test
+    void decode_SkipsFieldsAddedByNewerProducers() {
+        UUID jobId = UUID.randomUUID();
+        WireWriter writer = new WireWriter();
+        writer.writeHeader(WireSchema.JOB_TASK);
+        writer.writeUuid(WireSchema.TaskFields.JOB_ID, jobId);
+        writer.writeString(99, "future field");
+        writer.writeLong(100, 42);
+        writer.writeUuid(101, UUID.randomUUID());
+        writer.writeString(WireSchema.TaskFields.TYPE, "EMAIL");
+
+        Job decoded = (Job) deserializer.deserialize("job.tasks", writer.toByteArray());
+
+        assertThat(decoded.getId()).isEqualTo(jobId);
+        assertThat(decoded.getType()).isEqualTo("EMAIL");
+    }
+
+    @Test
+    void serialize_UnregisteredType_FallsBackToJson() {
+        byte[] json = serializer.serialize("other", "plain");
+
+        assertThat(WireFormat.isWireFormat(json)).isFalse();
+        assertThat(deserializer.deserialize("other", json)).isEqualTo("{\"json\":\"plain\"}");
+    }
+
+    @Test
+    void deserialize_TruncatedMessage_ThrowsSerializationException() {
+        byte[] bytes = serializer.serialize("job.logs", LogEntry.forService("INFO", "hello", "orchestrator-service"));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 2);
+
+        assertThatThrownBy(() -> deserializer.deserialize("job.logs", truncated))
+            .isInstanceOf(SerializationException.class);
+    }
+}
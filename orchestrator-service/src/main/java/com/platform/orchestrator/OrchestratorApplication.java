@@ -1,17 +1,19 @@
 package com.platform.orchestrator;
 
+import com.platform.orchestrator.config.CircuitBreakerProperties;
+import com.platform.orchestrator.config.DispatchPolicyProperties;
+import com.platform.orchestrator.config.RetryBackoffProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.boot.autoconfigure.domain.EntityScan;
-import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableKafka
 @EnableScheduling
-@EntityScan(basePackages = "com.platform.common.model")
-@EnableJpaRepositories(basePackages = "com.platform.orchestrator.repository")
+@EnableConfigurationProperties({DispatchPolicyProperties.class, RetryBackoffProperties.class,
+        CircuitBreakerProperties.class})
 public class OrchestratorApplication {
     public static void main(String[] args) {
         SpringApplication.run(OrchestratorApplication.class, args);
@@ -0,0 +1,90 @@
+package com.platform.orchestrator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per job type circuit breakers, bound from {@code orchestrator.circuit-breaker}.
+ * <p>
+ * {@code defaults} applies to every job type; entries under {@code types} override
+ * it field by field for a single type.
+ */
+@Data
+@ConfigurationProperties(prefix = "orchestrator.circuit-breaker")
+public class CircuitBreakerProperties {
+
+    /**
+     * Stop dispatching a job type while most of its recent jobs fail.
+     */
+    private boolean enabled = true;
+
+    private TypeBreaker defaults = TypeBreaker.builtIn();
+
+    private Map<String, TypeBreaker> types = new HashMap<>();
+
+    /**
+     * Resolve the effective breaker settings for a job type.
+     */
+    public TypeBreaker forType(String type) {
+        TypeBreaker override = types.get(type);
+        if (override == null) {
+            return defaults;
+        }
+
+        TypeBreaker resolved = new TypeBreaker();
+        resolved.setWindowSize(override.getWindowSize() != null
+            ? override.getWindowSize() : defaults.getWindowSize());
+        resolved.setMinimumResults(override.getMinimumResults() != null
+            ? override.getMinimumResults() : defaults.getMinimumResults());
+        resolved.setFailureRateThreshold(override.getFailureRateThreshold() != null
+            ? override.getFailureRateThreshold() : defaults.getFailureRateThreshold());
+        resolved.setOpenDuration(override.getOpenDuration() != null
+            ? override.getOpenDuration() : defaults.getOpenDuration());
+        resolved.setHalfOpenProbes(override.getHalfOpenProbes() != null
+            ? override.getHalfOpenProbes() : defaults.getHalfOpenProbes());
+        return resolved;
+    }
+
+    @Data
+    public static class TypeBreaker {
+
+        /**
+         * Number of most recent results the failure rate is computed over.
+         */
+        private Integer windowSize;
+
+        /**
+         * Results needed in the window before the breaker may open.
+         */
+        private Integer minimumResults;
+
+        /**
+         * Failure rate (0 to 1) at which the breaker opens.
+         */
+        private Double failureRateThreshold;
+
+        /**
+         * How long an open breaker blocks dispatch before letting probes through.
+         */
+        private Duration openDuration;
+
+        /**
+         * Jobs dispatched while half-open; their results decide whether the breaker closes.
+         */
+        private Integer halfOpenProbes;
+
+        static TypeBreaker builtIn() {
+            TypeBreaker breaker = new TypeBreaker();
+            breaker.setWindowSize(50);
+            breaker.setMinimumResults(20);
+            breaker.setFailureRateThreshold(0.5);
+            breaker.setOpenDuration(Duration.ofSeconds(30));
+            breaker.setHalfOpenProbes(5);
+            return breaker;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.platform.orchestrator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per job type dispatch policy, bound from {@code orchestrator.dispatch.policy}.
+ * <p>
+ * {@code defaults} applies to every job type; entries under {@code types} override
+ * it field by field for a single type. Limits of 0 mean unlimited.
+ */
+@Data
+@ConfigurationProperties(prefix = "orchestrator.dispatch.policy")
+public class DispatchPolicyProperties {
+
+    /**
+     * Share batches between job types. When off, jobs are claimed purely by priority.
+     */
+    private boolean enabled = true;
+
+    private TypePolicy defaults = TypePolicy.builtIn();
+
+    private Map<String, TypePolicy> types = new HashMap<>();
+
+    /**
+     * Resolve the effective policy for a job type.
+     */
+    public TypePolicy forType(String type) {
+        TypePolicy override = types.get(type);
+        if (override == null) {
+            return defaults;
+        }
+
+        TypePolicy resolved = new TypePolicy();
+        resolved.setWeight(override.getWeight() != null ? override.getWeight() : defaults.getWeight());
+        resolved.setMaxInFlight(override.getMaxInFlight() != null
+            ? override.getMaxInFlight() : defaults.getMaxInFlight());
+        resolved.setRate(override.getRate() != null ? override.getRate() : defaults.getRate());
+        resolved.setBurst(override.getBurst() != null ? override.getBurst() : defaults.getBurst());
+        return resolved;
+    }
+
+    @Data
+    public static class TypePolicy {
+
+        /**
+         * Relative share of each batch while several types have pending jobs.
+         */
+        private Integer weight;
+
+        /**
+         * Maximum jobs of this type handed to workers and not yet finished.
+         */
+        private Integer maxInFlight;
+
+        /**
+         * Maximum jobs of this type dispatched per second.
+         */
+        private Double rate;
+
+        /**
+         * Jobs that may be dispatched at once after an idle period; defaults to one second of rate.
+         */
+        private Integer burst;
+
+        static TypePolicy builtIn() {
+            TypePolicy policy = new TypePolicy();
+            policy.setWeight(1);
+            policy.setMaxInFlight(0);
+            policy.setRate(0.0);
+            policy.setBurst(0);
+            return policy;
+        }
+    }
+}
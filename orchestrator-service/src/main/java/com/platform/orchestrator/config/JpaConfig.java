@@ -0,0 +1,16 @@
+package com.platform.orchestrator.config;
+
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * JPA setup for the job entities shared through orchestrator-common.
+ * <p>
+ * Kept off the application class so web slice tests can start without a database.
+ */
+@Configuration
+@EntityScan(basePackages = "com.platform.common.model")
+@EnableJpaRepositories(basePackages = "com.platform.orchestrator.repository")
+public class JpaConfig {
+}
@@ -0,0 +1,54 @@
+package com.platform.orchestrator.config;
+
+import com.platform.common.wire.JobWireCodec;
+import com.platform.common.wire.LogEntryWireCodec;
+import com.platform.common.wire.WireCodecRegistry;
+import com.platform.common.wire.WireDeserializer;
+import com.platform.common.wire.WireSerializer;
+import com.platform.orchestrator.messaging.JobResultWireCodec;
+import com.platform.orchestrator.messaging.JobTaskWireCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaConsumerFactoryCustomizer;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Kafka message encoding.
+ * <p>
+ * Consumers always accept both the binary wire format and JSON. Producers
+ * send JSON unless {@code orchestrator.kafka.codec} is {@code wire}; switch
+ * it once every consumer of the topics has been upgraded.
+ */
+@Configuration
+@Slf4j
+public class KafkaCodecConfig {
+
+    @Bean
+    public WireCodecRegistry wireCodecRegistry() {
+        // JobResult is listed first so results are decoded into the orchestrator's DTO
+        return new WireCodecRegistry(new JobResultWireCodec(), new JobTaskWireCodec(), new JobWireCodec(),
+                new LogEntryWireCodec());
+    }
+
+    @Bean
+    @SuppressWarnings("unchecked")
+    public DefaultKafkaConsumerFactoryCustomizer wireDeserializerCustomizer(WireCodecRegistry registry) {
+        return factory -> ((DefaultKafkaConsumerFactory<Object, Object>) factory)
+                .setValueDeserializer(new WireDeserializer(registry, new JsonDeserializer<>()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "orchestrator.kafka.codec", havingValue = "wire")
+    @SuppressWarnings("unchecked")
+    public DefaultKafkaProducerFactoryCustomizer wireSerializerCustomizer(WireCodecRegistry registry) {
+        log.info("Kafka producers use the binary wire format");
+        return factory -> ((DefaultKafkaProducerFactory<Object, Object>) factory)
+                .setValueSerializer(new WireSerializer(registry, new JsonSerializer<>()));
+    }
+}
@@ -1,10 +1,15 @@
 package com.platform.orchestrator.config;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaAdmin;
+
+import java.time.Duration;
+import java.util.Arrays;
 
 @Configuration
 public class KafkaConfig {
@@ -12,9 +17,24 @@ public class KafkaConfig {
     @Value("${orchestrator.kafka.topics.job-tasks}")
     private String jobTasksTopic;
 
+    @Value("${orchestrator.kafka.topics.job-tasks-high}")
+    private String highTasksTopic;
+
+    @Value("${orchestrator.kafka.topics.job-tasks-low}")
+    private String lowTasksTopic;
+
+    @Value("${orchestrator.kafka.topics.job-tasks-retry}")
+    private String[] retryTasksTopics;
+
+    @Value("${orchestrator.kafka.topics.job-tasks-dlt}")
+    private String deadLetterTasksTopic;
+
     @Value("${orchestrator.kafka.topics.job-results}")
     private String jobResultsTopic;
 
+    @Value("${orchestrator.kafka.topics.job-attempts}")
+    private String jobAttemptsTopic;
+
     @Bean
     public NewTopic jobTasksTopic() {
         return TopicBuilder.name(jobTasksTopic)
@@ -23,6 +43,47 @@ public class KafkaConfig {
                 .build();
     }
 
+    @Bean
+    public NewTopic highTasksTopic() {
+        return TopicBuilder.name(highTasksTopic)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic lowTasksTopic() {
+        return TopicBuilder.name(lowTasksTopic)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
+    /**
+     * Delay topics the workers retry failed jobs through.
+     */
+    @Bean
+    public KafkaAdmin.NewTopics retryTasksTopics() {
+        return new KafkaAdmin.NewTopics(Arrays.stream(retryTasksTopics)
+                .map(topic -> TopicBuilder.name(topic)
+                        .partitions(3)
+                        .replicas(1)
+                        .build())
+                .toArray(NewTopic[]::new));
+    }
+
+    /**
+     * Jobs out of retries. Kept longer than the other topics so they can be inspected and replayed.
+     */
+    @Bean
+    public NewTopic deadLetterTasksTopic() {
+        return TopicBuilder.name(deadLetterTasksTopic)
+                .partitions(3)
+                .replicas(1)
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(Duration.ofDays(14).toMillis()))
+                .build();
+    }
+
     @Bean
     public NewTopic jobResultsTopic() {
         return TopicBuilder.name(jobResultsTopic)
@@ -30,4 +91,15 @@ public class KafkaConfig {
                 .replicas(1)
                 .build();
     }
+
+    /**
+     * Failed attempts the workers retry through the delay topics; only read by the circuit breakers.
+     */
+    @Bean
+    public NewTopic jobAttemptsTopic() {
+        return TopicBuilder.name(jobAttemptsTopic)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
 }
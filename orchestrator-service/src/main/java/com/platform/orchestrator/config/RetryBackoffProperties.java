@@ -0,0 +1,67 @@
+package com.platform.orchestrator.config;
+
+import com.platform.orchestrator.service.BackoffStrategy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Retry backoff per job type, bound from {@code orchestrator.retry.backoff}.
+ * <p>
+ * {@code defaults} applies to every job type; entries under {@code types} override
+ * it field by field for a single type.
+ */
+@Data
+@ConfigurationProperties(prefix = "orchestrator.retry.backoff")
+public class RetryBackoffProperties {
+
+    private TypeBackoff defaults = TypeBackoff.builtIn();
+
+    private Map<String, TypeBackoff> types = new HashMap<>();
+
+    /**
+     * Resolve the effective backoff for a job type.
+     */
+    public TypeBackoff forType(String type) {
+        TypeBackoff override = type != null ? types.get(type) : null;
+        if (override == null) {
+            return defaults;
+        }
+
+        TypeBackoff resolved = new TypeBackoff();
+        resolved.setStrategy(override.getStrategy() != null ? override.getStrategy() : defaults.getStrategy());
+        resolved.setBase(override.getBase() != null ? override.getBase() : defaults.getBase());
+        resolved.setCap(override.getCap() != null ? override.getCap() : defaults.getCap());
+        return resolved;
+    }
+
+    @Data
+    public static class TypeBackoff {
+
+        /**
+         * How the delay grows from one retry to the next.
+         */
+        private BackoffStrategy strategy;
+
+        /**
+         * Delay before the first retry, and the smallest delay jittered strategies start from.
+         */
+        private Duration base;
+
+        /**
+         * Longest delay between two attempts.
+         */
+        private Duration cap;
+
+        static TypeBackoff builtIn() {
+            TypeBackoff backoff = new TypeBackoff();
+            backoff.setStrategy(BackoffStrategy.DECORRELATED_JITTER);
+            backoff.setBase(Duration.ofSeconds(2));
+            backoff.setCap(Duration.ofHours(1));
+            return backoff;
+        }
+    }
+}
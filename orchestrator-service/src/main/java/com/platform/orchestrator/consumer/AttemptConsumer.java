@@ -0,0 +1,46 @@
+package com.platform.orchestrator.consumer;
+
+import com.platform.common.model.JobAttempt;
+import com.platform.orchestrator.service.CircuitBreakers;
+import com.platform.orchestrator.service.MetricsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AttemptConsumer {
+
+    private final CircuitBreakers circuitBreakers;
+    private final MetricsService metricsService;
+
+    /**
+     * Listen for failed attempts that workers retry through the Kafka retry tiers.
+     * <p>
+     * The job is still in flight, so nothing is written to the database: each
+     * attempt only counts as a failure for the circuit breaker of its type. The
+     * final outcome arrives later on the results topic.
+     */
+    @KafkaListener(
+            topics = "${orchestrator.kafka.topics.job-attempts}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            batch = "true"
+    )
+    public void consumeAttempts(List<JobAttempt> attempts) {
+        for (JobAttempt attempt : attempts) {
+            if (attempt == null || attempt.getJobId() == null || attempt.getType() == null) {
+                log.warn("Skipping job attempt without job id or type");
+                continue;
+            }
+
+            circuitBreakers.recordResult(attempt.getType(), attempt.getJobId(), false);
+            metricsService.recordJobRetry(attempt.getType());
+            log.warn("Job failed, retrying through Kafka: jobId={}, workerId={}, retryCount={}, error={}",
+                    attempt.getJobId(), attempt.getWorkerId(), attempt.getRetryCount(), attempt.getErrorMessage());
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package com.platform.orchestrator.consumer;
 
-import com.platform.common.model.Job;
 import com.platform.common.model.JobStatus;
+import com.platform.orchestrator.dto.JobCompletion;
 import com.platform.orchestrator.dto.JobResult;
+import com.platform.orchestrator.dto.JobSummary;
+import com.platform.orchestrator.repository.JobBatchRepository;
 import com.platform.orchestrator.repository.JobRepository;
+import com.platform.orchestrator.service.CircuitBreakers;
+import com.platform.orchestrator.service.InFlightCounters;
+import com.platform.orchestrator.service.JobStatusCounters;
 import com.platform.orchestrator.service.MetricsService;
+import com.platform.orchestrator.service.RetryBackoff;
+import com.platform.orchestrator.service.RetryTimer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -12,83 +19,153 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class ResultConsumer {
 
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 2000;
+
     private final JobRepository jobRepository;
+    private final JobBatchRepository jobBatchRepository;
     private final MetricsService metricsService;
+    private final JobStatusCounters statusCounters;
+    private final InFlightCounters inFlightCounters;
+    private final RetryTimer retryTimer;
+    private final RetryBackoff retryBackoff;
+    private final CircuitBreakers circuitBreakers;
 
     /**
-     * Listen for job results from workers.
+     * Listen for job results from workers, one poll at a time.
+     * <p>
+     * All referenced jobs are loaded with one IN query and all completions are
+     * written with one JDBC batch. The listener offsets are committed by the
+     * container only after this transaction has committed, so a failed batch
+     * is redelivered instead of lost.
      */
     @KafkaListener(
             topics = "${orchestrator.kafka.topics.job-results}",
-            groupId = "${spring.kafka.consumer.group-id}"
+            groupId = "${spring.kafka.consumer.group-id}",
+            batch = "true"
     )
     @Transactional
-    public void consumeResult(JobResult result) {
-        try {
-            log.info("Received job result: jobId={}, success={}",
-                    result.getJobId(), result.isSuccess());
+    public void consumeResults(List<JobResult> results) {
+        log.debug("Received {} job results", results.size());
+
+        // Keep the latest result per job (a redelivered batch can contain duplicates)
+        Map<UUID, JobResult> resultsByJob = new LinkedHashMap<>();
+        for (JobResult result : results) {
+            if (result == null || result.getJobId() == null) {
+                log.warn("Skipping job result without job id");
+                continue;
+            }
+            resultsByJob.put(result.getJobId(), result);
+        }
 
-            Job job = jobRepository.findById(result.getJobId())
-                    .orElseThrow(() -> new RuntimeException(
-                            "Job not found: " + result.getJobId()));
+        if (resultsByJob.isEmpty()) {
+            return;
+        }
 
-            if (result.isSuccess()) {
-                handleSuccess(job, result);
-            } else {
-                handleFailure(job, result);
+        Map<UUID, JobSummary> jobs = jobRepository.findByIdIn(resultsByJob.keySet()).stream()
+                .collect(Collectors.toMap(JobSummary::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<JobCompletion> completions = new ArrayList<>(resultsByJob.size());
+        List<JobSummary> completedJobs = new ArrayList<>(resultsByJob.size());
+
+        for (JobResult result : resultsByJob.values()) {
+            JobSummary job = jobs.get(result.getJobId());
+            if (job == null) {
+                log.error("Job not found for result: jobId={}", result.getJobId());
+                continue;
             }
 
-        } catch (Exception e) {
-            log.error("Error processing job result: jobId={}",
-                    result.getJobId(), e);
+            completions.add(toCompletion(result, job, now));
+            completedJobs.add(job);
         }
-    }
-
-    /**
-     * Handle successful job completion.
-     */
-    private void handleSuccess(Job job, JobResult result) {
-        job.setStatus(JobStatus.COMPLETED);
-        job.setCompletedAt(LocalDateTime.now());
-        job.setWorkerId(result.getWorkerId());
-        job.setErrorMessage(null);
 
-        jobRepository.save(job);
+        int[] updated = jobBatchRepository.applyCompletions(completions);
 
-        // Record metrics
-        metricsService.recordJobCompletion(job.getType(), true);
+        for (int i = 0; i < completions.size(); i++) {
+            JobCompletion completion = completions.get(i);
+            JobSummary job = completedJobs.get(i);
 
-        log.info("Job completed successfully: jobId={}, workerId={}",
-                job.getId(), result.getWorkerId());
-    }
+            if (updated[i] == 0) {
+                log.debug("Ignoring result for job already in a terminal state: jobId={}", job.getId());
+                continue;
+            }
 
-    /**
-     * Handle failed job execution.
-     */
-    private void handleFailure(Job job, JobResult result) {
-        job.setStatus(JobStatus.FAILED);
-        job.setCompletedAt(LocalDateTime.now());
-        job.setWorkerId(result.getWorkerId());
-        job.setErrorMessage(result.getErrorMessage());
+            statusCounters.recordTransition(job.getStatus(), completion.getStatus(), 1);
+            if (job.getStatus() == JobStatus.QUEUED || job.getStatus() == JobStatus.RUNNING) {
+                inFlightCounters.recordFinished(job.getType(), 1);
+            }
 
-        jobRepository.save(job);
+            boolean success = completion.getStatus() == JobStatus.COMPLETED;
+            circuitBreakers.recordResult(job.getType(), job.getId(), success);
 
-        // Record metrics
-        metricsService.recordJobCompletion(job.getType(), false);
+            if (completion.getStatus() == JobStatus.RETRYING) {
+                // Older workers report each attempt they republished to a Kafka retry tier
+                metricsService.recordJobRetry(job.getType());
+                log.warn("Job failed, retrying through Kafka: jobId={}, workerId={}, retryCount={}/{}, error={}",
+                        job.getId(), completion.getWorkerId(), completion.getRetryCount(),
+                        job.getMaxRetries(), completion.getErrorMessage());
+                continue;
+            }
 
-        log.warn("Job failed: jobId={}, workerId={}, retryCount={}/{}, error={}",
-                job.getId(), result.getWorkerId(), job.getRetryCount(),
-                job.getMaxRetries(), result.getErrorMessage());
+            metricsService.recordJobCompletion(job.getType(), success);
+            if (success) {
+                log.info("Job completed successfully: jobId={}, workerId={}",
+                        job.getId(), completion.getWorkerId());
+            } else {
+                log.warn("Job failed: jobId={}, workerId={}, retryCount={}/{}, error={}",
+                        job.getId(), completion.getWorkerId(), job.getRetryCount(),
+                        job.getMaxRetries(), completion.getErrorMessage());
+
+                if (completion.getNextRetryAt() != null) {
+                    retryTimer.schedule(job.getId(), completion.getNextRetryAt());
+                } else if (completion.getStatus() == JobStatus.DEAD_LETTER) {
+                    log.error("Job dead-lettered by worker after Kafka retries: jobId={}, retryCount={}",
+                            job.getId(), completion.getRetryCount());
+                } else {
+                    log.error("Job exceeded max retries: jobId={}", job.getId());
+                }
+            }
+        }
+    }
 
-        // Retry service will pick this up if retries remain
-        if (job.getRetryCount() >= job.getMaxRetries()) {
-            log.error("Job exceeded max retries: jobId={}", job.getId());
+    /**
+     * Map a worker result to the final state to persist, including when a
+     * failed job with retries left is due to be retried.
+     */
+    private JobCompletion toCompletion(JobResult result, JobSummary job, LocalDateTime completedAt) {
+        JobStatus status = result.outcome();
+        // Retries the worker made through the Kafka retry tiers count against the same budget
+        int retryCount = result.getRetryCount() != null ? result.getRetryCount() : job.getRetryCount();
+        Long retryDelayMs = status == JobStatus.FAILED && retryCount < job.getMaxRetries()
+                ? retryBackoff.nextDelayMs(job.getType(), retryCount, job.getLastRetryDelayMs())
+                : null;
+        String errorMessage = status == JobStatus.COMPLETED ? null : result.getErrorMessage();
+        if (errorMessage != null && errorMessage.length() > MAX_ERROR_MESSAGE_LENGTH) {
+            errorMessage = errorMessage.substring(0, MAX_ERROR_MESSAGE_LENGTH);
         }
+
+        return JobCompletion.builder()
+                .jobId(result.getJobId())
+                .status(status)
+                .completedAt(completedAt)
+                .workerId(result.getWorkerId())
+                .errorMessage(errorMessage)
+                .retryCount(result.getRetryCount())
+                .nextRetryAt(retryDelayMs != null ? completedAt.plusNanos(retryDelayMs * 1_000_000) : null)
+                .retryDelayMs(retryDelayMs)
+                .build();
     }
 }
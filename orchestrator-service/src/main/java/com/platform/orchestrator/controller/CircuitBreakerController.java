@@ -0,0 +1,63 @@
+package com.platform.orchestrator.controller;
+
+import com.platform.orchestrator.dto.CircuitBreakerStatus;
+import com.platform.orchestrator.service.CircuitBreakers;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin/circuit-breakers")
+@Slf4j
+@RequiredArgsConstructor
+@Tag(name = "Circuit Breakers", description = "Per job type circuit breakers that hold back dispatch during failure storms")
+public class CircuitBreakerController {
+
+    private final CircuitBreakers circuitBreakers;
+
+    @Operation(
+        summary = "List circuit breakers",
+        description = "Returns the state and recent failure rate of the breaker of every job type that has reported results."
+    )
+    @GetMapping
+    public ResponseEntity<List<CircuitBreakerStatus>> getCircuitBreakers() {
+        return ResponseEntity.ok(circuitBreakers.snapshot());
+    }
+
+    @Operation(
+        summary = "Get circuit breaker of a job type",
+        description = "Returns the state and recent failure rate of one job type's breaker."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Breaker found"),
+        @ApiResponse(responseCode = "404", description = "No results reported for this job type yet")
+    })
+    @GetMapping("/{type}")
+    public ResponseEntity<CircuitBreakerStatus> getCircuitBreaker(
+        @Parameter(description = "Job type") @PathVariable String type) {
+        return ResponseEntity.of(circuitBreakers.status(type));
+    }
+
+    @Operation(
+        summary = "Reset circuit breaker",
+        description = "Closes a job type's breaker and clears its window, so dispatch resumes immediately."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Breaker closed"),
+        @ApiResponse(responseCode = "404", description = "No results reported for this job type yet")
+    })
+    @PostMapping("/{type}/reset")
+    public ResponseEntity<CircuitBreakerStatus> resetCircuitBreaker(
+        @Parameter(description = "Job type") @PathVariable String type) {
+        log.info("Circuit breaker reset requested: type={}", type);
+        return ResponseEntity.of(circuitBreakers.reset(type));
+    }
+}
@@ -0,0 +1,30 @@
+package com.platform.orchestrator.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.platform.orchestrator.service.CircuitBreaker;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of the circuit breaker of one job type, as shown by the admin endpoint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CircuitBreakerStatus {
+
+    private String type;
+    private CircuitBreaker.State state;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime since;
+
+    // Over the results currently in the window
+    private double failureRate;
+    private int results;
+}
@@ -0,0 +1,31 @@
+package com.platform.orchestrator.dto;
+
+import com.platform.common.model.JobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Final state of a job as reported by a worker, applied with a JDBC batch update.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobCompletion {
+
+    private UUID jobId;
+    private JobStatus status;
+    private LocalDateTime completedAt;
+    private String workerId;
+    private String errorMessage;
+    private LocalDateTime nextRetryAt;
+    // Backoff delay behind nextRetryAt, the base of the next decorrelated jitter
+    private Long retryDelayMs;
+    // Null keeps the stored retry count
+    private Integer retryCount;
+}
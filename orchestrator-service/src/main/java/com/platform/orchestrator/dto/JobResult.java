@@ -1,5 +1,6 @@
 package com.platform.orchestrator.dto;
 
+import com.platform.common.model.JobStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,6 +10,9 @@ import java.util.UUID;
 
 /**
  * DTO representing a job result received from workers via Kafka.
+ * <p>
+ * Workers report a {@code status}; {@code success} is kept for producers that
+ * only send the flag.
  */
 @Data
 @Builder
@@ -17,8 +21,24 @@ import java.util.UUID;
 public class JobResult {
 
     private UUID jobId;
+    private JobStatus status;
     private boolean success;
     private String result;
     private String errorMessage;
     private String workerId;
+    // Retries made so far when the worker retried through Kafka, otherwise null
+    private Integer retryCount;
+
+    /**
+     * Status the job ended in: COMPLETED, FAILED, or DEAD_LETTER when the
+     * worker ran out of Kafka retries. Failed attempts the worker retries
+     * through the Kafka retry tiers arrive as {@code JobAttempt}s instead;
+     * workers from before that change still send them here as RETRYING.
+     */
+    public JobStatus outcome() {
+        if (status != null) {
+            return status;
+        }
+        return success ? JobStatus.COMPLETED : JobStatus.FAILED;
+    }
 }
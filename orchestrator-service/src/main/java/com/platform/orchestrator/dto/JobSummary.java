@@ -0,0 +1,24 @@
+package com.platform.orchestrator.dto;
+
+import com.platform.common.model.JobStatus;
+
+import java.util.UUID;
+
+/**
+ * Narrow projection of a job, loaded when only its identity and retry
+ * settings are needed (e.g. when applying worker results in bulk).
+ */
+public interface JobSummary {
+
+    UUID getId();
+
+    String getType();
+
+    JobStatus getStatus();
+
+    Integer getRetryCount();
+
+    Integer getMaxRetries();
+
+    Long getLastRetryDelayMs();
+}
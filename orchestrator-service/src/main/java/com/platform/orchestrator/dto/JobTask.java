@@ -21,4 +21,5 @@ public class JobTask {
     private String payload;
     private Integer retryCount;
     private Integer maxRetries;
+    private Integer priority;
 }
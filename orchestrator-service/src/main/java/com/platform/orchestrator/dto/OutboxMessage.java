@@ -0,0 +1,26 @@
+package com.platform.orchestrator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A Kafka message written to the job_outbox table in the same transaction
+ * as the job state change, and published later by the outbox relay.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+    private Long id;
+    private UUID jobId;
+    private String topic;
+    private String messageKey;
+    private String payload;
+    private int attempts;
+}
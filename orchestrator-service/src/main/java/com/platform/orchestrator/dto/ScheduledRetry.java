@@ -0,0 +1,14 @@
+package com.platform.orchestrator.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Due time of one pending retry, as loaded into the retry timer.
+ */
+public interface ScheduledRetry {
+
+    UUID getId();
+
+    LocalDateTime getNextRetryAt();
+}
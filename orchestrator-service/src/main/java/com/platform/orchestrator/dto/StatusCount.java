@@ -0,0 +1,13 @@
+package com.platform.orchestrator.dto;
+
+import com.platform.common.model.JobStatus;
+
+/**
+ * Number of jobs in one status, as returned by a GROUP BY status query.
+ */
+public interface StatusCount {
+
+    JobStatus getStatus();
+
+    long getCount();
+}
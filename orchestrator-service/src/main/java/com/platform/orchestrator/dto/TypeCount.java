@@ -0,0 +1,11 @@
+package com.platform.orchestrator.dto;
+
+/**
+ * Number of jobs of one type, as returned by a GROUP BY type query.
+ */
+public interface TypeCount {
+
+    String getType();
+
+    long getCount();
+}
@@ -0,0 +1,106 @@
+package com.platform.orchestrator.messaging;
+
+import com.platform.orchestrator.service.JobScheduler;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Listens on a Postgres NOTIFY channel and wakes the {@link JobScheduler}
+ * as soon as a job becomes PENDING.
+ * <p>
+ * The notification is raised by the trg_notify_job_pending trigger
+ * (see scripts/postgres-init.sql) when the submitting transaction commits.
+ * One pooled connection is held for the lifetime of the listener. The drain
+ * itself runs on the scheduler's own thread, so this one goes straight back
+ * to reading notifications.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "orchestrator.scheduling.notify.enabled", havingValue = "true")
+public class JobNotificationListener {
+
+    private final DataSource dataSource;
+    private final JobScheduler jobScheduler;
+
+    @Value("${orchestrator.scheduling.notify.channel:jobs_pending}")
+    private String channel;
+
+    @Value("${orchestrator.scheduling.notify.poll-timeout:500}")
+    private int pollTimeoutMs;
+
+    @Value("${orchestrator.scheduling.notify.reconnect-delay:5000}")
+    private long reconnectDelayMs;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    /**
+     * Start listening once the application is fully up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "job-notify-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    /**
+     * LISTEN loop. Reconnects after a connection failure.
+     */
+    private void listen() {
+        while (running) {
+            try (Connection conn = dataSource.getConnection()) {
+                PGConnection pgConnection = conn.unwrap(PGConnection.class);
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("LISTEN " + channel);
+                }
+                log.info("Listening for job notifications: channel={}", channel);
+
+                // Pick up anything submitted while we were not listening
+                jobScheduler.requestDrain();
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null && notifications.length > 0) {
+                        log.debug("Received {} job notifications", notifications.length);
+                        jobScheduler.requestDrain();
+                    }
+                }
+
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Job notification listener failed, reconnecting in {}ms", reconnectDelayMs, e);
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.platform.orchestrator.messaging;
+
+import com.platform.common.model.JobStatus;
+import com.platform.common.wire.WireCodec;
+import com.platform.common.wire.WireReader;
+import com.platform.common.wire.WireSchema;
+import com.platform.common.wire.WireSchema.ResultFields;
+import com.platform.common.wire.WireWriter;
+import com.platform.orchestrator.dto.JobResult;
+
+/**
+ * Wire codec for the {@link JobResult} messages sent back by workers.
+ * Results that only carry a status are successful when it is COMPLETED.
+ */
+public class JobResultWireCodec implements WireCodec<JobResult> {
+
+    @Override
+    public int typeId() {
+        return WireSchema.JOB_RESULT;
+    }
+
+    @Override
+    public Class<JobResult> type() {
+        return JobResult.class;
+    }
+
+    @Override
+    public void encode(JobResult result, WireWriter out) {
+        out.writeUuid(ResultFields.JOB_ID, result.getJobId());
+        out.writeEnum(ResultFields.STATUS, result.outcome());
+        out.writeBoolean(ResultFields.SUCCESS, result.outcome() == JobStatus.COMPLETED);
+        out.writeString(ResultFields.RESULT, result.getResult());
+        out.writeString(ResultFields.ERROR_MESSAGE, result.getErrorMessage());
+        out.writeString(ResultFields.WORKER_ID, result.getWorkerId());
+        out.writeInt(ResultFields.RETRY_COUNT, result.getRetryCount());
+    }
+
+    @Override
+    public JobResult decode(WireReader in, int version) {
+        JobResult result = new JobResult();
+        boolean hasSuccess = false;
+        while (in.next()) {
+            switch (in.field()) {
+                case ResultFields.JOB_ID -> result.setJobId(in.readUuid());
+                case ResultFields.STATUS -> result.setStatus(in.readEnum(JobStatus.class));
+                case ResultFields.SUCCESS -> {
+                    result.setSuccess(in.readBoolean());
+                    hasSuccess = true;
+                }
+                case ResultFields.RESULT -> result.setResult(in.readString());
+                case ResultFields.ERROR_MESSAGE -> result.setErrorMessage(in.readString());
+                case ResultFields.WORKER_ID -> result.setWorkerId(in.readString());
+                case ResultFields.RETRY_COUNT -> result.setRetryCount(in.readInt());
+                default -> in.skip();
+            }
+        }
+        if (!hasSuccess) {
+            result.setSuccess(result.getStatus() == JobStatus.COMPLETED);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+package com.platform.orchestrator.messaging;
+
+import com.platform.common.wire.WireCodec;
+import com.platform.common.wire.WireReader;
+import com.platform.common.wire.WireSchema;
+import com.platform.common.wire.WireSchema.TaskFields;
+import com.platform.common.wire.WireWriter;
+import com.platform.orchestrator.dto.JobTask;
+
+/**
+ * Wire codec for the {@link JobTask} messages published by the outbox relay.
+ * Workers read the same fields into a {@code Job}.
+ */
+public class JobTaskWireCodec implements WireCodec<JobTask> {
+
+    @Override
+    public int typeId() {
+        return WireSchema.JOB_TASK;
+    }
+
+    @Override
+    public Class<JobTask> type() {
+        return JobTask.class;
+    }
+
+    @Override
+    public void encode(JobTask task, WireWriter out) {
+        out.writeUuid(TaskFields.JOB_ID, task.getJobId());
+        out.writeString(TaskFields.TYPE, task.getType());
+        out.writeString(TaskFields.PAYLOAD, task.getPayload());
+        out.writeInt(TaskFields.RETRY_COUNT, task.getRetryCount());
+        out.writeInt(TaskFields.MAX_RETRIES, task.getMaxRetries());
+        out.writeInt(TaskFields.PRIORITY, task.getPriority());
+    }
+
+    @Override
+    public JobTask decode(WireReader in, int version) {
+        JobTask task = new JobTask();
+        while (in.next()) {
+            switch (in.field()) {
+                case TaskFields.JOB_ID -> task.setJobId(in.readUuid());
+                case TaskFields.TYPE -> task.setType(in.readString());
+                case TaskFields.PAYLOAD -> task.setPayload(in.readString());
+                case TaskFields.RETRY_COUNT -> task.setRetryCount(in.readInt());
+                case TaskFields.MAX_RETRIES -> task.setMaxRetries(in.readInt());
+                case TaskFields.PRIORITY -> task.setPriority(in.readInt());
+                default -> in.skip();
+            }
+        }
+        return task;
+    }
+}
@@ -0,0 +1,241 @@
+package com.platform.orchestrator.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.common.model.JobStatus;
+import com.platform.orchestrator.dto.JobCompletion;
+import com.platform.orchestrator.dto.JobSummary;
+import com.platform.orchestrator.dto.JobTask;
+import com.platform.orchestrator.dto.OutboxMessage;
+import com.platform.orchestrator.repository.JobBatchRepository;
+import com.platform.orchestrator.repository.JobRepository;
+import com.platform.orchestrator.repository.OutboxRepository;
+import com.platform.orchestrator.service.AdaptiveBatchSizer;
+import com.platform.orchestrator.service.JobStatusCounters;
+import com.platform.orchestrator.service.RetryBackoff;
+import com.platform.orchestrator.service.RetryTimer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes job_outbox rows to Kafka.
+ * <p>
+ * Rows are claimed in batches with SKIP LOCKED (so relays in several replicas can
+ * run in parallel) and the claim is committed before sending, so no row lock is
+ * held while waiting on Kafka. All sends of a batch are pipelined through the
+ * idempotent producer, and only acknowledged rows are deleted. A crash after a
+ * send but before the delete republishes the row once its claim expires, giving
+ * at-least-once dispatch.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private static final String DISTRIBUTION_FAILED_MESSAGE = "Failed to distribute job to workers";
+
+    private final OutboxRepository outboxRepository;
+    private final JobBatchRepository jobBatchRepository;
+    private final JobRepository jobRepository;
+    private final KafkaTemplate<String, JobTask> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AdaptiveBatchSizer batchSizer;
+    private final JobStatusCounters statusCounters;
+    private final RetryTimer retryTimer;
+    private final RetryBackoff retryBackoff;
+    private final ObjectMapper objectMapper;
+
+    @Value("${orchestrator.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${orchestrator.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${orchestrator.outbox.claim-lease:60000}")
+    private long claimLeaseMs;
+
+    @Value("${orchestrator.dispatch.send-timeout:30000}")
+    private long sendTimeoutMs;
+
+    private final ExecutorService relayExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+
+    @PreDestroy
+    public void shutdown() {
+        relayExecutor.shutdown();
+    }
+
+    /**
+     * Schedule a relay pass on the relay thread.
+     * Called after each dispatch transaction commits; repeated calls collapse into one pass.
+     */
+    public void wakeUp() {
+        if (wakeupPending.compareAndSet(false, true)) {
+            relayExecutor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Safety net for rows left behind by a failed pass or another replica.
+     */
+    @Scheduled(fixedDelayString = "${orchestrator.outbox.poll-interval:1000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    private void drain() {
+        wakeupPending.set(false);
+        try {
+            while (true) {
+                int relayed = relayBatch();
+                // Stop on a short batch (outbox empty) or when a send failed
+                if (relayed < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error relaying job outbox", e);
+        }
+    }
+
+    /**
+     * Publish one batch of outbox rows.
+     * The claim and the bookkeeping after the acks run in two short transactions.
+     *
+     * @return number of rows published, or -1 if any send failed
+     */
+    private int relayBatch() {
+        List<OutboxMessage> batch = transactionTemplate.execute(
+                status -> outboxRepository.claimBatch(batchSize, claimLeaseMs));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        // Pipeline all sends before waiting on any of them
+        long sendStart = System.nanoTime();
+        Map<OutboxMessage, CompletableFuture<SendResult<String, JobTask>>> sends = new LinkedHashMap<>();
+        for (OutboxMessage message : batch) {
+            try {
+                JobTask task = objectMapper.readValue(message.getPayload(), JobTask.class);
+                sends.put(message, kafkaTemplate.send(message.getTopic(), message.getMessageKey(), task));
+            } catch (Exception e) {
+                sends.put(message, CompletableFuture.failedFuture(e));
+            }
+        }
+
+        // Reconcile per record
+        List<Long> published = new ArrayList<>();
+        List<Long> failed = new ArrayList<>();
+        List<Long> exhausted = new ArrayList<>();
+        List<UUID> exhaustedJobs = new ArrayList<>();
+        long deadline = sendStart + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (Map.Entry<OutboxMessage, CompletableFuture<SendResult<String, JobTask>>> send : sends.entrySet()) {
+            OutboxMessage message = send.getKey();
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                send.getValue().get(remaining, TimeUnit.NANOSECONDS);
+                published.add(message.getId());
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                log.error("Failed to publish job to Kafka: jobId={}, attempt={}",
+                        message.getJobId(), message.getAttempts() + 1, e);
+                if (message.getAttempts() + 1 >= maxAttempts) {
+                    exhausted.add(message.getId());
+                    exhaustedJobs.add(message.getJobId());
+                } else {
+                    failed.add(message.getId());
+                }
+            }
+        }
+        long sendLatencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sendStart);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxRepository.deleteByIds(published);
+            outboxRepository.incrementAttempts(failed);
+            failExhausted(exhausted, exhaustedJobs);
+        });
+
+        int failures = failed.size() + exhausted.size();
+        batchSizer.onPublished(sendLatencyMs, failures);
+
+        log.info("Relayed job outbox batch: published={}, failed={}, latencyMs={}",
+                published.size(), failures, sendLatencyMs);
+
+        return failures > 0 ? -1 : batch.size();
+    }
+
+    /**
+     * Give up on rows that keep failing. Jobs with retries left go to the retry
+     * service as FAILED, due after the backoff of their type; the others are
+     * dead-lettered right away.
+     */
+    private void failExhausted(List<Long> exhausted, List<UUID> exhaustedJobs) {
+        if (exhausted.isEmpty()) {
+            return;
+        }
+
+        outboxRepository.deleteByIds(exhausted);
+        LocalDateTime now = LocalDateTime.now();
+        List<JobCompletion> distributionFailures = new ArrayList<>(exhaustedJobs.size());
+        for (JobSummary job : jobRepository.findByIdIn(exhaustedJobs)) {
+            boolean retriesLeft = job.getRetryCount() < job.getMaxRetries();
+            // Each job gets its own jittered retry time, so they do not all come back at once
+            Long retryDelayMs = retriesLeft
+                    ? retryBackoff.nextDelayMs(job.getType(), job.getRetryCount(), job.getLastRetryDelayMs())
+                    : null;
+            distributionFailures.add(JobCompletion.builder()
+                    .jobId(job.getId())
+                    .status(retriesLeft ? JobStatus.FAILED : JobStatus.DEAD_LETTER)
+                    .completedAt(now)
+                    .errorMessage(DISTRIBUTION_FAILED_MESSAGE)
+                    .nextRetryAt(retryDelayMs != null ? now.plusNanos(retryDelayMs * 1_000_000) : null)
+                    .retryDelayMs(retryDelayMs)
+                    .build());
+        }
+        int[] updated = jobBatchRepository.applyCompletions(distributionFailures);
+
+        int markedFailed = 0;
+        int deadLettered = 0;
+        for (int i = 0; i < distributionFailures.size(); i++) {
+            if (updated[i] == 0) {
+                continue;
+            }
+            JobCompletion failure = distributionFailures.get(i);
+            if (failure.getStatus() == JobStatus.FAILED) {
+                markedFailed++;
+                retryTimer.schedule(failure.getJobId(), failure.getNextRetryAt());
+            } else {
+                deadLettered++;
+                log.error("Job dead-lettered after failing to publish, no retries left: jobId={}",
+                        failure.getJobId());
+            }
+        }
+        statusCounters.recordTransition(JobStatus.QUEUED, JobStatus.FAILED, markedFailed);
+        statusCounters.recordTransition(JobStatus.QUEUED, JobStatus.DEAD_LETTER, deadLettered);
+    }
+}
@@ -0,0 +1,52 @@
+package com.platform.orchestrator.repository;
+
+import com.platform.orchestrator.dto.JobCompletion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC batch writes against the jobs table for hot paths where per-entity
+ * JPA updates would cost one round trip per row.
+ */
+@Repository
+@Slf4j
+@RequiredArgsConstructor
+public class JobBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Terminal jobs are skipped so redelivered results stay idempotent
+    private static final String COMPLETE_SQL =
+        "UPDATE jobs SET status = ?, completed_at = ?, worker_id = ?, error_message = ?, next_retry_at = ?, " +
+        "last_retry_delay_ms = ?, retry_count = COALESCE(?, retry_count), updated_at = CURRENT_TIMESTAMP " +
+        "WHERE id = ? AND status NOT IN ('COMPLETED', 'DEAD_LETTER')";
+
+    /**
+     * Apply worker results with a single JDBC batch.
+     *
+     * @return number of rows updated per completion (0 when the job was already terminal)
+     */
+    public int[] applyCompletions(List<JobCompletion> completions) {
+        if (completions.isEmpty()) {
+            return new int[0];
+        }
+
+        return jdbcTemplate.batchUpdate(COMPLETE_SQL, completions, completions.size(), (ps, completion) -> {
+            ps.setString(1, completion.getStatus().name());
+            ps.setTimestamp(2, Timestamp.valueOf(completion.getCompletedAt()));
+            ps.setString(3, completion.getWorkerId());
+            ps.setString(4, completion.getErrorMessage());
+            ps.setTimestamp(5, completion.getNextRetryAt() != null
+                    ? Timestamp.valueOf(completion.getNextRetryAt()) : null);
+            ps.setObject(6, completion.getRetryDelayMs(), Types.BIGINT);
+            ps.setObject(7, completion.getRetryCount(), Types.INTEGER);
+            ps.setObject(8, completion.getJobId());
+        })[0];
+    }
+}
@@ -2,14 +2,20 @@ package com.platform.orchestrator.repository;
 
 import com.platform.common.model.Job;
 import com.platform.common.model.JobStatus;
+import com.platform.orchestrator.dto.JobSummary;
+import com.platform.orchestrator.dto.ScheduledRetry;
+import com.platform.orchestrator.dto.StatusCount;
+import com.platform.orchestrator.dto.TypeCount;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,6 +28,39 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
 
     long countByStatus(JobStatus status);
 
+    /**
+     * Count jobs in every status with a single GROUP BY query.
+     */
+    @Query("SELECT j.status AS status, COUNT(j) AS count FROM Job j GROUP BY j.status")
+    List<StatusCount> countGroupByStatus();
+
+    /**
+     * Count jobs handed to workers and not yet finished, per type.
+     */
+    @Query("SELECT j.type AS type, COUNT(j) AS count FROM Job j " +
+           "WHERE j.status IN ('QUEUED', 'RUNNING') GROUP BY j.type")
+    List<TypeCount> countInFlightByType();
+
+    /**
+     * Job types that currently have pending jobs.
+     * A loose index scan over idx_jobs_pending_type: one index probe per type
+     * instead of reading every pending row, as SELECT DISTINCT would.
+     */
+    @Query(value = "WITH RECURSIVE pending_types AS (" +
+                   "(SELECT type FROM jobs WHERE status = 'PENDING' ORDER BY type LIMIT 1) " +
+                   "UNION ALL " +
+                   "SELECT (SELECT j.type FROM jobs j WHERE j.status = 'PENDING' AND j.type > p.type " +
+                   "ORDER BY j.type LIMIT 1) " +
+                   "FROM pending_types p WHERE p.type IS NOT NULL) " +
+                   "SELECT type FROM pending_types WHERE type IS NOT NULL",
+           nativeQuery = true)
+    List<String> findPendingTypes();
+
+    /**
+     * Load the narrow summary of several jobs with one IN query.
+     */
+    List<JobSummary> findByIdIn(Collection<UUID> ids);
+
     /**
      * Find pending jobs ordered by priority (highest first).
      */
@@ -30,12 +69,99 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
     List<Job> findPendingJobsByPriority(Pageable pageable);
 
     /**
-     * Find failed jobs eligible for retry.
+     * Atomically claim a batch of pending jobs (highest priority first).
+     * Rows already locked by another scheduler instance are skipped, and the
+     * claimed rows are moved to QUEUED in the same statement.
      */
-    @Query("SELECT j FROM Job j WHERE j.status = 'FAILED' " +
-           "AND j.retryCount < j.maxRetries " +
-           "AND j.completedAt < :threshold")
-    List<Job> findJobsForRetry(@Param("threshold") LocalDateTime threshold);
+    @Query(value = "UPDATE jobs SET status = 'QUEUED', updated_at = CURRENT_TIMESTAMP WHERE id IN (" +
+                   "SELECT id FROM jobs WHERE status = 'PENDING' " +
+                   "ORDER BY priority DESC, created_at ASC " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+                   "RETURNING *",
+           nativeQuery = true)
+    List<Job> claimPendingJobs(@Param("limit") int limit);
+
+    /**
+     * Find pending jobs ordered by priority, leaving out some job types.
+     */
+    @Query("SELECT j FROM Job j WHERE j.status = 'PENDING' AND j.type NOT IN :types " +
+           "ORDER BY j.priority DESC, j.createdAt ASC")
+    List<Job> findPendingJobsByPriorityExcludingTypes(@Param("types") Collection<String> types, Pageable pageable);
+
+    /**
+     * Atomically claim a batch of pending jobs, leaving out some job types.
+     */
+    @Query(value = "UPDATE jobs SET status = 'QUEUED', updated_at = CURRENT_TIMESTAMP WHERE id IN (" +
+                   "SELECT id FROM jobs WHERE status = 'PENDING' AND type NOT IN (:types) " +
+                   "ORDER BY priority DESC, created_at ASC " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+                   "RETURNING *",
+           nativeQuery = true)
+    List<Job> claimPendingJobsExcludingTypes(@Param("types") Collection<String> types, @Param("limit") int limit);
+
+    /**
+     * Find pending jobs of one type ordered by priority (highest first).
+     */
+    @Query("SELECT j FROM Job j WHERE j.status = 'PENDING' AND j.type = :type " +
+           "ORDER BY j.priority DESC, j.createdAt ASC")
+    List<Job> findPendingJobsOfType(@Param("type") String type, Pageable pageable);
+
+    /**
+     * Atomically claim a batch of pending jobs of one type (highest priority first).
+     */
+    @Query(value = "UPDATE jobs SET status = 'QUEUED', updated_at = CURRENT_TIMESTAMP WHERE id IN (" +
+                   "SELECT id FROM jobs WHERE status = 'PENDING' AND type = :type " +
+                   "ORDER BY priority DESC, created_at ASC " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+                   "RETURNING *",
+           nativeQuery = true)
+    List<Job> claimPendingJobsOfType(@Param("type") String type, @Param("limit") int limit);
+
+    /**
+     * Set the status of a batch of jobs in a single statement.
+     * Clears the persistence context so stale managed copies are not flushed back.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Job j SET j.status = :status, j.updatedAt = CURRENT_TIMESTAMP WHERE j.id IN :ids")
+    int updateStatus(@Param("ids") Collection<UUID> ids, @Param("status") JobStatus status);
+
+    /**
+     * Load the retry schedule: id and due time of the FAILED jobs with retries left
+     * whose retry is due in {@code [from, until)}. A range scan on the partial
+     * next_retry_at index.
+     */
+    @Query("SELECT j.id AS id, j.nextRetryAt AS nextRetryAt FROM Job j " +
+           "WHERE j.status = 'FAILED' AND j.nextRetryAt IS NOT NULL " +
+           "AND j.nextRetryAt >= :from AND j.nextRetryAt < :until AND j.retryCount < j.maxRetries")
+    List<ScheduledRetry> findRetrySchedule(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until);
+
+    /**
+     * Ids of FAILED jobs with retries left whose retry was due before
+     * {@code before}, oldest first. A range scan on the partial next_retry_at index.
+     */
+    @Query(value = "SELECT id FROM jobs WHERE status = 'FAILED' AND next_retry_at IS NOT NULL " +
+                   "AND next_retry_at <= :before AND retry_count < max_retries " +
+                   "ORDER BY next_retry_at LIMIT :limit",
+           nativeQuery = true)
+    List<UUID> findOverdueRetries(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    /**
+     * Push back the retry of FAILED jobs, e.g. while their type's circuit breaker is open.
+     */
+    @Modifying
+    @Query("UPDATE Job j SET j.nextRetryAt = :retryAt WHERE j.id IN :ids AND j.status = 'FAILED'")
+    int deferRetries(@Param("ids") Collection<UUID> ids, @Param("retryAt") LocalDateTime retryAt);
+
+    /**
+     * Atomically move due FAILED jobs to RETRYING. Jobs already retried (by
+     * another replica) or out of retries are skipped.
+     */
+    @Query(value = "UPDATE jobs SET status = 'RETRYING', retry_count = retry_count + 1, " +
+                   "error_message = NULL, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE id IN (:ids) AND status = 'FAILED' AND retry_count < max_retries " +
+                   "RETURNING *",
+           nativeQuery = true)
+    List<Job> claimRetries(@Param("ids") Collection<UUID> ids);
 
     /**
      * Find jobs that exceeded max retries.
@@ -0,0 +1,98 @@
+package com.platform.orchestrator.repository;
+
+import com.platform.orchestrator.dto.OutboxMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC access to the job_outbox table.
+ * Plain JDBC is used so inserts can be batched (BIGSERIAL ids disable Hibernate insert batching).
+ */
+@Repository
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO job_outbox (job_id, topic, message_key, payload) VALUES (?, ?, ?, ?::jsonb)";
+
+    private static final String CLAIM_BATCH_SQL =
+        "UPDATE job_outbox SET claimed_until = now() + :leaseMs * INTERVAL '1 millisecond' " +
+        "WHERE id IN (SELECT id FROM job_outbox " +
+        "WHERE claimed_until IS NULL OR claimed_until < now() " +
+        "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+        "RETURNING id, job_id, topic, message_key, payload, attempts";
+
+    private static final RowMapper<OutboxMessage> ROW_MAPPER = (rs, rowNum) -> OutboxMessage.builder()
+        .id(rs.getLong("id"))
+        .jobId(rs.getObject("job_id", UUID.class))
+        .topic(rs.getString("topic"))
+        .messageKey(rs.getString("message_key"))
+        .payload(rs.getString("payload"))
+        .attempts(rs.getInt("attempts"))
+        .build();
+
+    /**
+     * Insert outbox messages with a single JDBC batch.
+     */
+    public void insertBatch(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_SQL, messages.stream()
+            .map(m -> new Object[]{m.getJobId(), m.getTopic(), m.getMessageKey(), m.getPayload()})
+            .toList());
+    }
+
+    /**
+     * Claim the oldest unclaimed messages for this relay for {@code leaseMs}.
+     * The claim is meant to be committed before publishing, so no row lock is
+     * held while waiting on Kafka. Rows claimed by a relay in another replica are
+     * skipped until their lease runs out (e.g. that relay died mid-batch).
+     *
+     * @return the claimed messages in id order
+     */
+    public List<OutboxMessage> claimBatch(int limit, long leaseMs) {
+        List<OutboxMessage> claimed = new ArrayList<>(jdbcTemplate.query(CLAIM_BATCH_SQL,
+            new MapSqlParameterSource("limit", limit).addValue("leaseMs", leaseMs), ROW_MAPPER));
+        // RETURNING does not preserve the sub-select order
+        claimed.sort(Comparator.comparing(OutboxMessage::getId));
+        return claimed;
+    }
+
+    /**
+     * Delete published messages.
+     */
+    public void deleteByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM job_outbox WHERE id IN (:ids)",
+            new MapSqlParameterSource("ids", ids));
+    }
+
+    /**
+     * Count a failed publish attempt for each message and release its claim,
+     * so the next relay pass picks it up again.
+     */
+    public void incrementAttempts(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE job_outbox SET attempts = attempts + 1, claimed_until = NULL WHERE id IN (:ids)",
+            new MapSqlParameterSource("ids", ids));
+    }
+}
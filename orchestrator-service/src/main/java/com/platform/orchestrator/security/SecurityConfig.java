@@ -45,6 +45,8 @@ public class SecurityConfig {
                     "/swagger-ui/**",            // Swagger UI
                     "/swagger-ui.html"           // Swagger UI
                 ).permitAll()
+                // Admin endpoints
+                .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                 // Protected endpoints
                 .anyRequest().authenticated()
             )
@@ -0,0 +1,118 @@
+package com.platform.orchestrator.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Chooses the scheduler batch size from observed dispatch behaviour.
+ * <p>
+ * The size grows while full batches are published well within the target
+ * Kafka send latency (as reported by the outbox relay). It is cut in half when
+ * sends get slow or fail, and shrinks when the worker group falls behind.
+ * Dispatch stops entirely while worker lag is above the configured limit.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AdaptiveBatchSizer {
+
+    private static final double RATE_SMOOTHING = 0.3;
+
+    private final ConsumerLagMonitor lagMonitor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${orchestrator.scheduling.batch.initial-size:100}")
+    private int initialSize;
+
+    @Value("${orchestrator.scheduling.batch.min-size:10}")
+    private int minSize;
+
+    @Value("${orchestrator.scheduling.batch.max-size:2000}")
+    private int maxSize;
+
+    @Value("${orchestrator.scheduling.batch.target-send-latency:200}")
+    private long targetSendLatencyMs;
+
+    @Value("${orchestrator.scheduling.batch.max-worker-lag:5000}")
+    private long maxWorkerLag;
+
+    private volatile int batchSize;
+    private volatile double drainRate;
+    private volatile long lastSendLatencyMs;
+    private volatile int lastSendFailures;
+
+    @PostConstruct
+    public void init() {
+        batchSize = clamp(initialSize);
+        meterRegistry.gauge("scheduler_batch_size", this, sizer -> sizer.batchSize);
+        meterRegistry.gauge("scheduler_drain_rate", this, sizer -> sizer.drainRate);
+    }
+
+    /**
+     * Number of jobs to claim in the next batch.
+     */
+    public int currentBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Smoothed dispatch rate in jobs per second.
+     */
+    public double getDrainRate() {
+        return drainRate;
+    }
+
+    /**
+     * Whether workers are too far behind to accept more work.
+     */
+    public boolean isSaturated() {
+        return maxWorkerLag > 0 && lagMonitor.getLag() >= maxWorkerLag;
+    }
+
+    /**
+     * Record how long the outbox relay took to get a batch acknowledged by Kafka.
+     */
+    public void onPublished(long sendLatencyMs, int failures) {
+        lastSendLatencyMs = sendLatencyMs;
+        lastSendFailures = failures;
+    }
+
+    /**
+     * Feed the outcome of one scheduler batch back into the sizing decision.
+     *
+     * @param requested     batch size that was asked for
+     * @param dispatched    jobs actually claimed and handed over
+     * @param elapsedNanos  wall time of the batch transaction
+     */
+    public void onBatchDispatched(int requested, int dispatched, long elapsedNanos) {
+        double seconds = Math.max(elapsedNanos, 1) / 1_000_000_000.0;
+        drainRate = RATE_SMOOTHING * (dispatched / seconds) + (1 - RATE_SMOOTHING) * drainRate;
+
+        int next = batchSize;
+        long lag = lagMonitor.getLag();
+        long sendLatencyMs = lastSendLatencyMs;
+
+        if (lastSendFailures > 0 || sendLatencyMs > targetSendLatencyMs) {
+            next = batchSize / 2;
+        } else if (maxWorkerLag > 0 && lag > maxWorkerLag / 2) {
+            next = batchSize * 3 / 4;
+        } else if (dispatched >= requested && sendLatencyMs < targetSendLatencyMs / 2) {
+            next = batchSize + Math.max(minSize, batchSize / 4);
+        }
+
+        next = clamp(next);
+        if (next != batchSize) {
+            log.debug("Scheduler batch size adjusted: {} -> {} (sendLatencyMs={}, workerLag={})",
+                    batchSize, next, sendLatencyMs, lag);
+            batchSize = next;
+        }
+    }
+
+    private int clamp(int size) {
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+}
@@ -0,0 +1,62 @@
+package com.platform.orchestrator.service;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * How long to wait before retrying a failed job.
+ * <p>
+ * The jittered strategies spread retries of jobs that failed together (for
+ * example during a downstream outage) over time, instead of retrying all of
+ * them at the same moment when the outage ends.
+ */
+public enum BackoffStrategy {
+
+    /**
+     * {@code base * 2^retryCount}, capped. No jitter.
+     */
+    EXPONENTIAL {
+        @Override
+        public long nextDelayMs(int retryCount, long previousDelayMs, long baseMs, long capMs, RandomGenerator random) {
+            return exponential(retryCount, baseMs, capMs);
+        }
+    },
+
+    /**
+     * Uniformly random between 0 and the capped exponential delay.
+     */
+    FULL_JITTER {
+        @Override
+        public long nextDelayMs(int retryCount, long previousDelayMs, long baseMs, long capMs, RandomGenerator random) {
+            return random.nextLong(exponential(retryCount, baseMs, capMs) + 1);
+        }
+    },
+
+    /**
+     * Uniformly random between the base and three times the previous delay, capped.
+     * Grows like the exponential strategy on average, but each job follows its own sequence.
+     */
+    DECORRELATED_JITTER {
+        @Override
+        public long nextDelayMs(int retryCount, long previousDelayMs, long baseMs, long capMs, RandomGenerator random) {
+            long upper = Math.max(baseMs, Math.min(capMs, 3 * Math.max(previousDelayMs, baseMs)));
+            return Math.min(capMs, baseMs + random.nextLong(upper - baseMs + 1));
+        }
+    };
+
+    /**
+     * Delay before the next attempt.
+     *
+     * @param retryCount      retries already made
+     * @param previousDelayMs delay before the previous attempt, or 0 on the first failure
+     */
+    public abstract long nextDelayMs(int retryCount, long previousDelayMs, long baseMs, long capMs,
+                                     RandomGenerator random);
+
+    private static long exponential(int retryCount, long baseMs, long capMs) {
+        // Shifting past 62 bits would overflow; the cap applies long before that
+        if (retryCount >= 62 || baseMs > capMs >> Math.min(retryCount, 62)) {
+            return capMs;
+        }
+        return Math.min(capMs, baseMs << retryCount);
+    }
+}
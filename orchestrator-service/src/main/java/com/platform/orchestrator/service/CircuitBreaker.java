@@ -0,0 +1,211 @@
+package com.platform.orchestrator.service;
+
+import com.platform.orchestrator.config.CircuitBreakerProperties.TypeBreaker;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Failure-rate circuit breaker over the last {@code windowSize} results of one job type.
+ * <p>
+ * CLOSED lets everything through. Once the window holds at least
+ * {@code minimumResults} results and the share of failures reaches the threshold,
+ * the breaker OPENs and blocks dispatch for {@code openDuration}. It then turns
+ * HALF_OPEN and lets {@code halfOpenProbes} jobs through: if their failure rate
+ * is below the threshold it closes with an empty window, otherwise it opens
+ * again. Probes whose results never come back are re-issued after another
+ * {@code openDuration}.
+ * <p>
+ * Only results of the probe jobs themselves are counted while HALF_OPEN;
+ * results of jobs dispatched before the breaker opened, or of probes from an
+ * earlier round, are ignored. Time is passed in by the caller. All methods are
+ * synchronized.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int minimumResults;
+    private final double failureRateThreshold;
+    private final long openDurationMs;
+    private final int halfOpenProbes;
+    private final Consumer<State> onTransition;
+
+    // Ring of the most recent results in CLOSED state, true for a failure
+    private final boolean[] window;
+    private int windowNext;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long stateSinceMs;
+    private int probesLeft;
+    // Jobs handed out as probes in the current half-open round, until their result arrives
+    private final Set<UUID> probes = new HashSet<>();
+    private int probeResults;
+    private int probeFailures;
+
+    CircuitBreaker(TypeBreaker settings, long nowMs, Consumer<State> onTransition) {
+        this.window = new boolean[Math.max(1, settings.getWindowSize())];
+        this.minimumResults = Math.max(1, Math.min(settings.getMinimumResults(), window.length));
+        this.failureRateThreshold = settings.getFailureRateThreshold();
+        this.openDurationMs = settings.getOpenDuration().toMillis();
+        this.halfOpenProbes = Math.max(1, settings.getHalfOpenProbes());
+        this.onTransition = onTransition;
+        this.stateSinceMs = nowMs;
+    }
+
+    /**
+     * Jobs that may be dispatched right now: unlimited when CLOSED, none when
+     * OPEN, the probes not yet handed out when HALF_OPEN.
+     */
+    public synchronized int permits(long nowMs) {
+        switch (state) {
+            case CLOSED:
+                return Integer.MAX_VALUE;
+            case OPEN:
+                if (nowMs - stateSinceMs < openDurationMs) {
+                    return 0;
+                }
+                halfOpen(nowMs);
+                return probesLeft;
+            default:
+                if (probesLeft == 0 && nowMs - stateSinceMs >= openDurationMs) {
+                    // The probes' results never came back
+                    halfOpen(nowMs);
+                }
+                return probesLeft;
+        }
+    }
+
+    /**
+     * Record jobs handed to workers. While HALF_OPEN they use up the probes
+     * left, and become the jobs whose results decide the round.
+     */
+    public synchronized void onDispatched(Collection<UUID> jobIds) {
+        if (state != State.HALF_OPEN) {
+            return;
+        }
+        for (UUID jobId : jobIds) {
+            if (probesLeft == 0) {
+                break;
+            }
+            if (probes.add(jobId)) {
+                probesLeft--;
+            }
+        }
+    }
+
+    /**
+     * Record the result of a finished job.
+     */
+    public synchronized void record(UUID jobId, boolean success, long nowMs) {
+        switch (state) {
+            case OPEN:
+                return;
+            case HALF_OPEN:
+                if (!probes.remove(jobId)) {
+                    return;
+                }
+                probeResults++;
+                if (!success) {
+                    probeFailures++;
+                }
+                if (probeResults >= halfOpenProbes) {
+                    if (probeFailures >= failureRateThreshold * probeResults) {
+                        open(nowMs);
+                    } else {
+                        close(nowMs);
+                    }
+                }
+                return;
+            default:
+                if (windowCount == window.length && window[windowNext]) {
+                    windowFailures--;
+                }
+                window[windowNext] = !success;
+                if (!success) {
+                    windowFailures++;
+                }
+                windowNext = (windowNext + 1) % window.length;
+                windowCount = Math.min(windowCount + 1, window.length);
+
+                if (windowCount >= minimumResults && failureRate() >= failureRateThreshold) {
+                    open(nowMs);
+                }
+        }
+    }
+
+    /**
+     * Close the breaker and forget its window, e.g. after the downstream issue is fixed.
+     */
+    public synchronized void reset(long nowMs) {
+        if (state != State.CLOSED) {
+            close(nowMs);
+        }
+    }
+
+    /**
+     * How long a blocked job should wait before asking again.
+     */
+    public synchronized long retryAfterMs(long nowMs) {
+        if (state == State.OPEN) {
+            return Math.max(0, openDurationMs - (nowMs - stateSinceMs));
+        }
+        return state == State.CLOSED ? 0 : openDurationMs;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getStateSinceMs() {
+        return stateSinceMs;
+    }
+
+    /**
+     * Failure rate over the current window, 0 when it is empty.
+     */
+    public synchronized double failureRate() {
+        return windowCount == 0 ? 0 : (double) windowFailures / windowCount;
+    }
+
+    public synchronized int getWindowCount() {
+        return windowCount;
+    }
+
+    private void open(long nowMs) {
+        transition(State.OPEN, nowMs);
+    }
+
+    private void halfOpen(long nowMs) {
+        probesLeft = halfOpenProbes;
+        probes.clear();
+        probeResults = 0;
+        probeFailures = 0;
+        transition(State.HALF_OPEN, nowMs);
+    }
+
+    private void close(long nowMs) {
+        windowNext = 0;
+        windowCount = 0;
+        windowFailures = 0;
+        transition(State.CLOSED, nowMs);
+    }
+
+    private void transition(State to, long nowMs) {
+        boolean changed = state != to;
+        state = to;
+        stateSinceMs = nowMs;
+        if (changed) {
+            onTransition.accept(to);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.platform.orchestrator.service;
+
+import com.platform.common.model.Job;
+import com.platform.orchestrator.config.CircuitBreakerProperties;
+import com.platform.orchestrator.config.CircuitBreakerProperties.TypeBreaker;
+import com.platform.orchestrator.dto.CircuitBreakerStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * One {@link CircuitBreaker} per job type, fed with job results.
+ * <p>
+ * The scheduler and the retry service ask here before dispatching, so while a
+ * type's downstream dependency is failing its jobs stay PENDING or FAILED
+ * instead of occupying worker slots. Results recorded inside a transaction are
+ * applied only after it commits.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CircuitBreakers {
+
+    private final CircuitBreakerProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Jobs of a type that may be dispatched right now.
+     */
+    public int permits(String type) {
+        if (!properties.isEnabled()) {
+            return Integer.MAX_VALUE;
+        }
+        return breaker(type).permits(System.currentTimeMillis());
+    }
+
+    /**
+     * Record jobs handed to workers, using up the half-open probes of their types.
+     */
+    public void onDispatched(Collection<Job> jobs) {
+        if (!properties.isEnabled() || jobs.isEmpty()) {
+            return;
+        }
+        jobs.stream()
+                .collect(Collectors.groupingBy(Job::getType, Collectors.mapping(Job::getId, Collectors.toList())))
+                .forEach((type, jobIds) -> breaker(type).onDispatched(jobIds));
+    }
+
+    /**
+     * How long a job of a type that was refused a permit should wait before asking again.
+     */
+    public long retryAfterMs(String type) {
+        return breaker(type).retryAfterMs(System.currentTimeMillis());
+    }
+
+    /**
+     * Record the result of a finished job.
+     */
+    public void recordResult(String type, UUID jobId, boolean success) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        CircuitBreaker breaker = breaker(type);
+        afterCommit(() -> breaker.record(jobId, success, System.currentTimeMillis()));
+    }
+
+    /**
+     * Types whose breaker is not CLOSED.
+     */
+    public Set<String> heldBackTypes() {
+        Set<String> types = new HashSet<>();
+        if (properties.isEnabled()) {
+            breakers.forEach((type, breaker) -> {
+                if (breaker.getState() != CircuitBreaker.State.CLOSED) {
+                    types.add(type);
+                }
+            });
+        }
+        return types;
+    }
+
+    /**
+     * State of every breaker created so far, by type.
+     */
+    public List<CircuitBreakerStatus> snapshot() {
+        return breakers.entrySet().stream()
+                .map(entry -> toStatus(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(CircuitBreakerStatus::getType))
+                .toList();
+    }
+
+    public Optional<CircuitBreakerStatus> status(String type) {
+        CircuitBreaker breaker = breakers.get(type);
+        return Optional.ofNullable(breaker).map(b -> toStatus(type, b));
+    }
+
+    /**
+     * Force a type's breaker closed.
+     */
+    public Optional<CircuitBreakerStatus> reset(String type) {
+        CircuitBreaker breaker = breakers.get(type);
+        if (breaker == null) {
+            return Optional.empty();
+        }
+        breaker.reset(System.currentTimeMillis());
+        log.info("Circuit breaker reset: type={}", type);
+        return Optional.of(toStatus(type, breaker));
+    }
+
+    private CircuitBreaker breaker(String type) {
+        return breakers.computeIfAbsent(type, key -> {
+            TypeBreaker settings = properties.forType(key);
+            CircuitBreaker breaker = new CircuitBreaker(settings, System.currentTimeMillis(), state -> {
+                log.warn("Circuit breaker {}: type={}", state, key);
+                meterRegistry.counter("circuit_breaker_transitions", "type", key, "state", state.name()).increment();
+            });
+            // 0 = closed, 1 = open, 2 = half-open
+            Gauge.builder("circuit_breaker_state", breaker, b -> b.getState().ordinal())
+                    .tag("type", key)
+                    .register(meterRegistry);
+            Gauge.builder("circuit_breaker_failure_rate", breaker, CircuitBreaker::failureRate)
+                    .tag("type", key)
+                    .register(meterRegistry);
+            return breaker;
+        });
+    }
+
+    private static CircuitBreakerStatus toStatus(String type, CircuitBreaker breaker) {
+        return CircuitBreakerStatus.builder()
+                .type(type)
+                .state(breaker.getState())
+                .since(LocalDateTime.ofInstant(Instant.ofEpochMilli(breaker.getStateSinceMs()), ZoneId.systemDefault()))
+                .failureRate(breaker.failureRate())
+                .results(breaker.getWindowCount())
+                .build();
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,118 @@
+package com.platform.orchestrator.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks how far the worker consumer group is behind on the job task topics
+ * (all priority bands together).
+ * Used by the scheduler to stop dispatching while workers are saturated.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ConsumerLagMonitor {
+
+    private final KafkaAdmin kafkaAdmin;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${orchestrator.kafka.topics.job-tasks}")
+    private String jobTasksTopic;
+
+    @Value("${orchestrator.kafka.topics.job-tasks-high}")
+    private String highTasksTopic;
+
+    @Value("${orchestrator.kafka.topics.job-tasks-low}")
+    private String lowTasksTopic;
+
+    @Value("${orchestrator.kafka.worker-group-id:worker-group}")
+    private String workerGroupId;
+
+    @Value("${orchestrator.scheduling.lag.timeout:5000}")
+    private long timeoutMs;
+
+    private AdminClient adminClient;
+
+    private volatile long lag;
+
+    @PostConstruct
+    public void init() {
+        adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+        meterRegistry.gauge("scheduler_worker_lag", this, monitor -> monitor.lag);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (adminClient != null) {
+            adminClient.close();
+        }
+    }
+
+    /**
+     * Current lag (in records) of the worker group on the job task topics.
+     */
+    public long getLag() {
+        return lag;
+    }
+
+    /**
+     * Refresh the lag from committed and latest offsets.
+     */
+    @Scheduled(fixedDelayString = "${orchestrator.scheduling.lag.refresh-interval:5000}")
+    public void refresh() {
+        try {
+            Map<TopicPartition, OffsetAndMetadata> committed = adminClient
+                    .listConsumerGroupOffsets(workerGroupId)
+                    .partitionsToOffsetAndMetadata()
+                    .get(timeoutMs, TimeUnit.MILLISECONDS);
+
+            Set<String> taskTopics = Set.of(jobTasksTopic, highTasksTopic, lowTasksTopic);
+            Map<TopicPartition, OffsetSpec> request = new HashMap<>();
+            committed.keySet().stream()
+                    .filter(tp -> taskTopics.contains(tp.topic()))
+                    .forEach(tp -> request.put(tp, OffsetSpec.latest()));
+
+            if (request.isEmpty()) {
+                lag = 0;
+                return;
+            }
+
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> latest = adminClient
+                    .listOffsets(request)
+                    .all()
+                    .get(timeoutMs, TimeUnit.MILLISECONDS);
+
+            long total = 0;
+            for (Map.Entry<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> entry : latest.entrySet()) {
+                OffsetAndMetadata offset = committed.get(entry.getKey());
+                if (offset != null) {
+                    total += Math.max(0, entry.getValue().offset() - offset.offset());
+                }
+            }
+            lag = total;
+            log.debug("Worker lag refreshed: group={}, lag={}", workerGroupId, total);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Failed to refresh worker lag: group={}", workerGroupId, e);
+        }
+    }
+}
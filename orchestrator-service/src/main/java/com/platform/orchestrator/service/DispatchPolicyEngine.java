@@ -0,0 +1,194 @@
+package com.platform.orchestrator.service;
+
+import com.platform.orchestrator.config.DispatchPolicyProperties;
+import com.platform.orchestrator.config.DispatchPolicyProperties.TypePolicy;
+import com.platform.orchestrator.repository.JobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits each scheduler batch between job types.
+ * <p>
+ * Every type with pending jobs has its own queue in the database (claimed by
+ * type). Batch slots are handed out by deficit round robin: on each turn a
+ * type's deficit grows by its weight and it may claim that many jobs, so a
+ * flood of one type cannot starve the others at the same priority. A type is
+ * also held back by its {@code max-in-flight} limit (read from
+ * {@link InFlightCounters}, not the database) and by a token bucket for its
+ * dispatch rate, and gets nothing while its {@link CircuitBreakers circuit
+ * breaker} is open. The round robin position and deficits carry over from batch
+ * to batch.
+ * <p>
+ * Priority only orders jobs within a type (and the publish order of a batch):
+ * a type's share does not grow with the priority of its pending jobs, so a
+ * type whose jobs must overtake others needs a higher {@code weight}.
+ * <p>
+ * Only used from the scheduler's drain thread, which is serialised by
+ * {@link JobScheduler}.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DispatchPolicyEngine {
+
+    private final DispatchPolicyProperties properties;
+    private final InFlightCounters inFlightCounters;
+    private final CircuitBreakers circuitBreakers;
+    private final JobRepository jobRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TypeState> states = new HashMap<>();
+
+    // Types with pending jobs, in round robin order
+    private final ArrayDeque<String> ring = new ArrayDeque<>();
+
+    private boolean throttled;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Re-read which types have pending jobs. Called at the start of every drain.
+     */
+    public void refreshPendingTypes() {
+        Set<String> pending = new LinkedHashSet<>(jobRepository.findPendingTypes());
+        ring.removeIf(type -> !pending.contains(type));
+        for (String type : pending) {
+            if (!ring.contains(type)) {
+                ring.addLast(type);
+            }
+        }
+        states.forEach((type, state) -> {
+            if (!pending.contains(type)) {
+                state.deficit = 0;
+            }
+        });
+    }
+
+    /**
+     * Decide how many jobs of each type the next batch may claim.
+     *
+     * @return jobs to claim per type, at most {@code batchSize} in total
+     */
+    public Map<String, Integer> plan(int batchSize) {
+        long now = System.nanoTime();
+        throttled = false;
+
+        Map<String, Integer> allowance = new HashMap<>();
+        for (String type : ring) {
+            allowance.put(type, Math.min(state(type).allowance(now, inFlightCounters.get(type)),
+                    circuitBreakers.permits(type)));
+        }
+
+        Map<String, Integer> quotas = new LinkedHashMap<>();
+        Set<String> heldBack = new HashSet<>();
+        int remaining = batchSize;
+        int skipped = 0;
+        while (remaining > 0 && skipped < ring.size()) {
+            String type = ring.pollFirst();
+            ring.addLast(type);
+
+            TypeState state = states.get(type);
+            int room = allowance.get(type) - quotas.getOrDefault(type, 0);
+            if (room <= 0) {
+                // Held back by its limits; a type that cannot claim does not build up credit
+                if (heldBack.add(type)) {
+                    state.throttled.increment();
+                }
+                state.deficit = 0;
+                throttled = true;
+                skipped++;
+                continue;
+            }
+            skipped = 0;
+
+            state.deficit += state.weight;
+            int take = (int) Math.min(Math.min(state.deficit, room), remaining);
+            quotas.merge(type, take, Integer::sum);
+            state.deficit -= take;
+            remaining -= take;
+        }
+        return quotas;
+    }
+
+    /**
+     * Record the outcome of a type's claim. A short claim means its queue is empty.
+     */
+    public void onClaimed(String type, int requested, int claimed) {
+        TypeState state = states.get(type);
+        if (state.bucket != null) {
+            state.bucket.take(claimed);
+        }
+        if (claimed < requested) {
+            ring.remove(type);
+            state.deficit = 0;
+        }
+    }
+
+    /**
+     * Whether any type is still known to have pending jobs.
+     */
+    public boolean hasBacklog() {
+        return !ring.isEmpty();
+    }
+
+    /**
+     * Whether the last plan held back a type that still had pending jobs.
+     */
+    public boolean isThrottled() {
+        return throttled;
+    }
+
+    private TypeState state(String type) {
+        return states.computeIfAbsent(type, key -> {
+            TypePolicy policy = properties.forType(key);
+            log.info("Dispatch policy for job type: type={}, weight={}, maxInFlight={}, rate={}/s",
+                    key, policy.getWeight(), policy.getMaxInFlight(), policy.getRate());
+            return new TypeState(policy, meterRegistry.counter("scheduler_dispatch_throttled", "type", key));
+        });
+    }
+
+    private static final class TypeState {
+
+        private final int weight;
+        private final int maxInFlight;
+        private final TokenBucket bucket;
+        private final Counter throttled;
+        private long deficit;
+
+        private TypeState(TypePolicy policy, Counter throttled) {
+            this.weight = Math.max(1, policy.getWeight());
+            this.maxInFlight = policy.getMaxInFlight();
+            this.bucket = policy.getRate() > 0
+                    ? new TokenBucket(policy.getRate(), policy.getBurst(), System.nanoTime())
+                    : null;
+            this.throttled = throttled;
+        }
+
+        /**
+         * Jobs this type may claim right now under its in-flight and rate limits.
+         */
+        private int allowance(long nowNanos, long inFlight) {
+            long allowed = Integer.MAX_VALUE;
+            if (maxInFlight > 0) {
+                allowed = Math.max(0, maxInFlight - inFlight);
+            }
+            if (bucket != null) {
+                allowed = Math.min(allowed, bucket.available(nowNanos));
+            }
+            return (int) allowed;
+        }
+    }
+}
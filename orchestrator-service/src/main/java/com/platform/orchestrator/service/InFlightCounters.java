@@ -0,0 +1,132 @@
+package com.platform.orchestrator.service;
+
+import com.platform.orchestrator.dto.TypeCount;
+import com.platform.orchestrator.repository.JobRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live number of jobs per type that have been handed to workers and have not
+ * finished yet, kept in memory.
+ * <p>
+ * Dispatch and result handling report here, so the dispatch policy can enforce
+ * per-type in-flight limits without counting the jobs table. Updates made
+ * inside a transaction are applied only after it commits. Changes made
+ * elsewhere (other replicas, jobs that failed to publish) are picked up by a
+ * periodic reconcile against a single GROUP BY type query.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class InFlightCounters {
+
+    private final JobRepository jobRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Record jobs of a type handed to workers.
+     */
+    public void recordDispatched(String type, long count) {
+        if (count != 0) {
+            afterCommit(() -> counter(type).add(count));
+        }
+    }
+
+    /**
+     * Record jobs of a type that finished, successfully or not.
+     */
+    public void recordFinished(String type, long count) {
+        if (count != 0) {
+            afterCommit(() -> counter(type).add(-count));
+        }
+    }
+
+    /**
+     * Current number of in-flight jobs of a type.
+     */
+    public long get(String type) {
+        LongAdder counter = counters.get(type);
+        return counter != null ? Math.max(0, counter.sum()) : 0;
+    }
+
+    /**
+     * Load the counters as soon as the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+
+    /**
+     * Correct any drift against the database.
+     * Runs on the same interval as the status counters (configured in application.yml).
+     */
+    @Scheduled(fixedDelayString = "${orchestrator.metrics.reconcile-interval:60000}",
+               initialDelayString = "${orchestrator.metrics.reconcile-interval:60000}")
+    public void reconcile() {
+        try {
+            Map<String, Long> actual = new HashMap<>();
+            for (TypeCount row : jobRepository.countInFlightByType()) {
+                actual.put(row.getType(), row.getCount());
+            }
+            for (String type : counters.keySet()) {
+                actual.putIfAbsent(type, 0L);
+            }
+
+            long drift = 0;
+            for (Map.Entry<String, Long> entry : actual.entrySet()) {
+                LongAdder counter = counter(entry.getKey());
+                // Adjust by the difference so concurrent updates are not lost
+                long delta = entry.getValue() - counter.sum();
+                if (delta != 0) {
+                    counter.add(delta);
+                    drift += Math.abs(delta);
+                }
+            }
+
+            if (drift > 0) {
+                log.debug("In-flight counters reconciled: drift={}, counts={}", drift, actual);
+            }
+        } catch (Exception e) {
+            log.error("Failed to reconcile in-flight counters", e);
+        }
+    }
+
+    private LongAdder counter(String type) {
+        return counters.computeIfAbsent(type, key -> {
+            LongAdder counter = new LongAdder();
+            Gauge.builder("jobs_in_flight", counter, adder -> Math.max(0, adder.sum()))
+                    .tag("type", key)
+                    .register(meterRegistry);
+            return counter;
+        });
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
@@ -1,78 +1,156 @@
 package com.platform.orchestrator.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.platform.common.model.Job;
 import com.platform.common.model.JobStatus;
+import com.platform.common.model.PriorityBand;
 import com.platform.orchestrator.dto.JobTask;
+import com.platform.orchestrator.dto.OutboxMessage;
+import com.platform.orchestrator.messaging.OutboxRelay;
 import com.platform.orchestrator.repository.JobRepository;
+import com.platform.orchestrator.repository.OutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
+/**
+ * Hands jobs over to workers.
+ * <p>
+ * Dispatch goes through the job_outbox table: the QUEUED status change and the
+ * outbox rows commit in the same transaction, and {@link OutboxRelay} publishes
+ * them to Kafka afterwards. No Kafka round trip happens inside the transaction.
+ * <p>
+ * Each task goes to the topic of its job's {@link PriorityBand}, so workers can
+ * start high priority jobs ahead of a low priority backlog.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class JobDistributionService {
 
-    private final KafkaTemplate<String, JobTask> kafkaTemplate;
     private final JobRepository jobRepository;
+    private final OutboxRepository outboxRepository;
+    private final OutboxRelay outboxRelay;
     private final MetricsService metricsService;
+    private final JobStatusCounters statusCounters;
+    private final InFlightCounters inFlightCounters;
+    private final ObjectMapper objectMapper;
 
     @Value("${orchestrator.kafka.topics.job-tasks}")
     private String jobTasksTopic;
 
+    @Value("${orchestrator.kafka.topics.job-tasks-high}")
+    private String highTasksTopic;
+
+    @Value("${orchestrator.kafka.topics.job-tasks-low}")
+    private String lowTasksTopic;
+
+    @Value("${orchestrator.dispatch.priority-bands.high-from:7}")
+    private int highFrom;
+
+    @Value("${orchestrator.dispatch.priority-bands.low-up-to:2}")
+    private int lowUpTo;
+
     /**
      * Distribute a job to workers via Kafka.
      */
     @Transactional
     public void distributeJob(Job job) {
-        try {
-            // Update job status to QUEUED
-            job.setStatus(JobStatus.QUEUED);
-            jobRepository.save(job);
+        distributeBatch(List.of(job));
+    }
 
-            // Record metrics
-            metricsService.recordJobQueued(job.getType());
+    /**
+     * Distribute a batch of jobs to workers via Kafka.
+     * <p>
+     * Statuses are moved to QUEUED with one set-based UPDATE and the task messages
+     * are written to the outbox with one JDBC batch. The relay is woken once the
+     * surrounding transaction commits.
+     *
+     * @return number of jobs handed over
+     */
+    @Transactional
+    public int distributeBatch(List<Job> jobs) {
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+
+        // Jobs claimed with SKIP LOCKED are already QUEUED in the database
+        List<UUID> toQueue = jobs.stream()
+                .filter(job -> job.getStatus() != JobStatus.QUEUED)
+                .map(Job::getId)
+                .toList();
+        if (!toQueue.isEmpty()) {
+            jobRepository.updateStatus(toQueue, JobStatus.QUEUED);
+            jobs.stream()
+                    .filter(job -> job.getStatus() != JobStatus.QUEUED)
+                    .collect(Collectors.groupingBy(Job::getStatus, Collectors.counting()))
+                    .forEach((from, count) -> statusCounters.recordTransition(from, JobStatus.QUEUED, count));
+        }
+        jobs.forEach(job -> job.setStatus(JobStatus.QUEUED));
 
-            // Create job task
-            JobTask task = JobTask.builder()
+        outboxRepository.insertBatch(jobs.stream().map(this::toOutboxMessage).toList());
+
+        // Record metrics and in-flight counts once per job type
+        jobs.stream()
+                .collect(Collectors.groupingBy(Job::getType, Collectors.counting()))
+                .forEach((type, count) -> {
+                    metricsService.recordJobsQueued(type, count);
+                    inFlightCounters.recordDispatched(type, count);
+                });
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.wakeUp();
+            }
+        });
+
+        log.debug("Job batch written to outbox: count={}", jobs.size());
+        return jobs.size();
+    }
+
+    /**
+     * Build the outbox row carrying the Kafka task message for a job.
+     */
+    private OutboxMessage toOutboxMessage(Job job) {
+        JobTask task = JobTask.builder()
+                .jobId(job.getId())
+                .type(job.getType())
+                .payload(job.getPayload())
+                .retryCount(job.getRetryCount())
+                .maxRetries(job.getMaxRetries())
+                .priority(job.getPriority())
+                .build();
+
+        try {
+            return OutboxMessage.builder()
                     .jobId(job.getId())
-                    .type(job.getType())
-                    .payload(job.getPayload())
-                    .retryCount(job.getRetryCount())
-                    .maxRetries(job.getMaxRetries())
+                    .topic(topicFor(job))
+                    .messageKey(job.getId().toString())
+                    .payload(objectMapper.writeValueAsString(task))
                     .build();
-
-            // Send to Kafka
-            kafkaTemplate.send(jobTasksTopic, job.getId().toString(), task)
-                    .whenComplete((result, ex) -> {
-                        if (ex != null) {
-                            log.error("Failed to send job to Kafka: jobId={}", job.getId(), ex);
-                            handleDistributionFailure(job);
-                        } else {
-                            log.info("Job sent to Kafka: jobId={}, topic={}",
-                                    job.getId(), jobTasksTopic);
-                        }
-                    });
-
-        } catch (Exception e) {
-            log.error("Error distributing job: jobId={}", job.getId(), e);
-            handleDistributionFailure(job);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize job task: jobId=" + job.getId(), e);
         }
     }
 
     /**
-     * Handle job distribution failure.
+     * Task topic of the job's priority band.
      */
-    @Transactional
-    public void handleDistributionFailure(Job job) {
-        job.setStatus(JobStatus.FAILED);
-        job.setErrorMessage("Failed to distribute job to workers");
-        job.setCompletedAt(LocalDateTime.now());
-        jobRepository.save(job);
+    private String topicFor(Job job) {
+        return switch (PriorityBand.of(job.getPriority(), highFrom, lowUpTo)) {
+            case HIGH -> highTasksTopic;
+            case NORMAL -> jobTasksTopic;
+            case LOW -> lowTasksTopic;
+        };
     }
 }
@@ -1,15 +1,25 @@
 package com.platform.orchestrator.service;
 
 import com.platform.common.model.Job;
+import com.platform.common.model.JobStatus;
 import com.platform.orchestrator.repository.JobRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 @Slf4j
@@ -18,42 +28,254 @@ public class JobScheduler {
 
     private final JobRepository jobRepository;
     private final JobDistributionService distributionService;
+    private final TransactionTemplate transactionTemplate;
+    private final AdaptiveBatchSizer batchSizer;
+    private final JobStatusCounters statusCounters;
+    private final DispatchPolicyEngine policyEngine;
+    private final CircuitBreakers circuitBreakers;
 
-    private static final int BATCH_SIZE = 100;
+    // Highest priority first, then oldest; rows missing either sort last
+    private static final Comparator<Job> PUBLISH_ORDER = Comparator
+            .comparing(Job::getPriority, Comparator.nullsLast(Comparator.<Integer>reverseOrder()))
+            .thenComparing(Job::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()));
 
     /**
-     * Poll for pending jobs and distribute them to workers.
-     * Runs every 5 seconds (configured in application.yml).
+     * How pending jobs are picked up.
+     * SELECT reads them without locking (single scheduler instance only),
+     * SKIP_LOCKED claims them atomically so several replicas can run side by side.
+     */
+    public enum ClaimMode {
+        SELECT,
+        SKIP_LOCKED
+    }
+
+    @Value("${orchestrator.scheduling.claim-mode:SELECT}")
+    private ClaimMode claimMode;
+
+    // Drains run here, one at a time, never on the thread that asked for them
+    private final ExecutorService drainExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "job-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean drainPending = new AtomicBoolean();
+    private final AtomicBoolean backlogRemaining = new AtomicBoolean();
+
+    @PreDestroy
+    public void shutdown() {
+        drainExecutor.shutdown();
+    }
+
+    /**
+     * Safety-net poll for pending jobs.
+     * When LISTEN/NOTIFY is enabled the scheduler is woken on every submit,
+     * so this only catches missed notifications (configured in application.yml).
      */
     @Scheduled(fixedDelayString = "${orchestrator.scheduling.interval}")
-    @Transactional
     public void schedulePendingJobs() {
+        requestDrain();
+    }
+
+    /**
+     * Resume a drain that stopped early because workers were saturated.
+     */
+    @Scheduled(fixedDelayString = "${orchestrator.scheduling.backoff-interval:1000}")
+    public void resumeBacklog() {
+        if (backlogRemaining.get() && !batchSizer.isSaturated()) {
+            requestDrain();
+        }
+    }
+
+    /**
+     * Ask the scheduler to dispatch pending jobs now.
+     * Returns at once: the drain runs on the scheduler thread. Requests that arrive
+     * while a drain is queued are coalesced into it, so a burst of notifications
+     * costs at most one extra pass after the running one.
+     */
+    public void requestDrain() {
+        if (drainPending.compareAndSet(false, true)) {
+            drainExecutor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        // Cleared before draining so a request raised mid-drain queues one more pass
+        drainPending.set(false);
         try {
-            // Fetch pending jobs by priority
-            List<Job> pendingJobs = jobRepository.findPendingJobsByPriority(
-                    PageRequest.of(0, BATCH_SIZE)
-            );
+            drainUntilEmpty();
+        } catch (Exception e) {
+            log.error("Error in job scheduling", e);
+            backlogRemaining.set(true);
+        }
+    }
+
+    /**
+     * Keep dispatching batches while a backlog exists.
+     * Each batch runs in its own transaction and is sized by {@link AdaptiveBatchSizer}.
+     * Stops early (and leaves the rest to {@link #resumeBacklog()}) when workers are saturated
+     * or every remaining job type is held back by its dispatch policy.
+     */
+    private void drainUntilEmpty() {
+        backlogRemaining.set(false);
+        int total = 0;
 
-            if (pendingJobs.isEmpty()) {
-                log.debug("No pending jobs to schedule");
+        if (policyEngine.isEnabled()) {
+            try {
+                policyEngine.refreshPendingTypes();
+            } catch (Exception e) {
+                log.error("Error in job scheduling", e);
+                backlogRemaining.set(true);
                 return;
             }
+        }
+
+        while (true) {
+            if (batchSizer.isSaturated()) {
+                log.debug("Workers saturated, pausing dispatch after {} jobs", total);
+                backlogRemaining.set(true);
+                break;
+            }
 
-            log.info("Scheduling {} pending jobs", pendingJobs.size());
+            int batchSize = batchSizer.currentBatchSize();
+            long start = System.nanoTime();
+            Integer dispatched;
+            try {
+                dispatched = transactionTemplate.execute(status -> dispatchBatch(batchSize));
+            } catch (Exception e) {
+                // The batch transaction rolled back, claimed jobs are PENDING again;
+                // let resumeBacklog() retry instead of waiting for the next poll
+                log.error("Error in job scheduling", e);
+                backlogRemaining.set(true);
+                break;
+            }
+            if (dispatched == null) {
+                break;
+            }
 
-            // Distribute each job
-            for (Job job : pendingJobs) {
-                try {
-                    distributionService.distributeJob(job);
-                } catch (Exception e) {
-                    log.error("Failed to schedule job: id={}", job.getId(), e);
-                    job.markAsFailed("Scheduling failed: " + e.getMessage());
-                    jobRepository.save(job);
+            batchSizer.onBatchDispatched(batchSize, dispatched, System.nanoTime() - start);
+            total += dispatched;
+
+            // A short batch means the backlog is empty, unless only some job types ran dry
+            if (dispatched < batchSize) {
+                if (!policyEngine.isEnabled()) {
+                    // Jobs of types behind an open breaker are still pending
+                    if (!circuitBreakers.heldBackTypes().isEmpty()) {
+                        backlogRemaining.set(true);
+                    }
+                    break;
+                }
+                if (!policyEngine.hasBacklog()) {
+                    break;
                 }
+                if (policyEngine.isThrottled()) {
+                    backlogRemaining.set(true);
+                    break;
+                }
+            }
+        }
+
+        if (total > 0) {
+            log.info("Drained {} pending jobs (batchSize={}, drainRate={}/s)",
+                    total, batchSizer.currentBatchSize(), Math.round(batchSizer.getDrainRate()));
+        }
+    }
+
+    /**
+     * Fetch one batch of pending jobs and distribute them to workers.
+     * Runs inside a transaction opened by {@link #drainUntilEmpty()}.
+     */
+    private int dispatchBatch(int batchSize) {
+        // Fetch pending jobs by priority
+        List<Job> pendingJobs = fetchPendingJobs(batchSize);
+
+        if (pendingJobs.isEmpty()) {
+            log.debug("No pending jobs to schedule");
+            return 0;
+        }
+
+        log.debug("Scheduling {} pending jobs (claimMode={})", pendingJobs.size(), claimMode);
+
+        return distributionService.distributeBatch(pendingJobs);
+    }
+
+    /**
+     * Fetch the next batch of pending jobs according to the configured claim mode.
+     */
+    private List<Job> fetchPendingJobs(int batchSize) {
+        if (policyEngine.isEnabled()) {
+            return fetchFairShare(batchSize);
+        }
+
+        Set<String> heldBack = circuitBreakers.heldBackTypes();
+        if (!heldBack.isEmpty()) {
+            return fetchAroundBreakers(batchSize, heldBack);
+        }
+
+        if (claimMode == ClaimMode.SKIP_LOCKED) {
+            // RETURNING does not preserve the sub-select order, so restore it here
+            List<Job> claimed = new ArrayList<>(jobRepository.claimPendingJobs(batchSize));
+            claimed.sort(PUBLISH_ORDER);
+            statusCounters.recordTransition(JobStatus.PENDING, JobStatus.QUEUED, claimed.size());
+            return claimed;
+        }
+
+        return jobRepository.findPendingJobsByPriority(PageRequest.of(0, batchSize));
+    }
+
+    /**
+     * Fetch the next batch by priority without the job types whose circuit
+     * breaker is not closed, plus any half-open probes of those types.
+     */
+    private List<Job> fetchAroundBreakers(int batchSize, Set<String> heldBack) {
+        List<Job> jobs = new ArrayList<>(batchSize);
+        for (String type : heldBack) {
+            int probes = Math.min(circuitBreakers.permits(type), batchSize - jobs.size());
+            if (probes <= 0) {
+                continue;
             }
+            List<Job> ofType = claimMode == ClaimMode.SKIP_LOCKED
+                    ? jobRepository.claimPendingJobsOfType(type, probes)
+                    : jobRepository.findPendingJobsOfType(type, PageRequest.of(0, probes));
+            circuitBreakers.onDispatched(ofType);
+            jobs.addAll(ofType);
+        }
 
-        } catch (Exception e) {
-            log.error("Error in job scheduling", e);
+        int remaining = batchSize - jobs.size();
+        if (remaining > 0) {
+            jobs.addAll(claimMode == ClaimMode.SKIP_LOCKED
+                    ? jobRepository.claimPendingJobsExcludingTypes(heldBack, remaining)
+                    : jobRepository.findPendingJobsByPriorityExcludingTypes(heldBack, PageRequest.of(0, remaining)));
+        }
+
+        if (claimMode == ClaimMode.SKIP_LOCKED) {
+            statusCounters.recordTransition(JobStatus.PENDING, JobStatus.QUEUED, jobs.size());
+        }
+        jobs.sort(PUBLISH_ORDER);
+        return jobs;
+    }
+
+    /**
+     * Fetch the next batch split between job types by {@link DispatchPolicyEngine}.
+     */
+    private List<Job> fetchFairShare(int batchSize) {
+        List<Job> jobs = new ArrayList<>(batchSize);
+        for (Map.Entry<String, Integer> quota : policyEngine.plan(batchSize).entrySet()) {
+            String type = quota.getKey();
+            int limit = quota.getValue();
+            List<Job> ofType = claimMode == ClaimMode.SKIP_LOCKED
+                    ? jobRepository.claimPendingJobsOfType(type, limit)
+                    : jobRepository.findPendingJobsOfType(type, PageRequest.of(0, limit));
+            policyEngine.onClaimed(type, limit, ofType.size());
+            jobs.addAll(ofType);
+        }
+        circuitBreakers.onDispatched(jobs);
+
+        if (claimMode == ClaimMode.SKIP_LOCKED) {
+            statusCounters.recordTransition(JobStatus.PENDING, JobStatus.QUEUED, jobs.size());
         }
+        // Publish across types in priority order
+        jobs.sort(PUBLISH_ORDER);
+        return jobs;
     }
 }
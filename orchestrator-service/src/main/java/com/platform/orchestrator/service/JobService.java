@@ -23,6 +23,7 @@ public class JobService {
 
     private final JobRepository jobRepository;
     private final MetricsService metricsService;
+    private final JobStatusCounters statusCounters;
 
     /**
      * Submit a new job.
@@ -43,6 +44,7 @@ public class JobService {
 
         job = jobRepository.save(job);
         log.info("Job submitted: id={}", job.getId());
+        statusCounters.recordCreated(JobStatus.PENDING, 1);
 
         // Record metrics
         metricsService.recordJobSubmission(job.getType());
@@ -79,17 +81,16 @@ public class JobService {
     }
 
     /**
-     * Get job statistics.
+     * Get job statistics from the in-memory status counters.
      */
-    @Transactional(readOnly = true)
     public Map<String, Long> getStatistics() {
         return Map.of(
-            "total", jobRepository.count(),
-            "pending", jobRepository.countByStatus(JobStatus.PENDING),
-            "queued", jobRepository.countByStatus(JobStatus.QUEUED),
-            "running", jobRepository.countByStatus(JobStatus.RUNNING),
-            "completed", jobRepository.countByStatus(JobStatus.COMPLETED),
-            "failed", jobRepository.countByStatus(JobStatus.FAILED)
+            "total", statusCounters.total(),
+            "pending", statusCounters.get(JobStatus.PENDING),
+            "queued", statusCounters.get(JobStatus.QUEUED),
+            "running", statusCounters.get(JobStatus.RUNNING),
+            "completed", statusCounters.get(JobStatus.COMPLETED),
+            "failed", statusCounters.get(JobStatus.FAILED)
         );
     }
 
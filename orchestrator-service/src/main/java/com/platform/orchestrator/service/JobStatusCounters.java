@@ -0,0 +1,144 @@
+package com.platform.orchestrator.service;
+
+import com.platform.common.model.JobStatus;
+import com.platform.orchestrator.dto.StatusCount;
+import com.platform.orchestrator.repository.JobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live number of jobs per status, kept in memory.
+ * <p>
+ * Every code path that changes a job's status reports the transition here, so
+ * metrics scrapes and the stats endpoint never have to count the jobs table.
+ * Transitions made inside a transaction are applied only after it commits.
+ * Changes made outside this service (other replicas, manual SQL) are picked up
+ * by a periodic reconcile against a single GROUP BY status query.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class JobStatusCounters {
+
+    private final JobRepository jobRepository;
+
+    private final Map<JobStatus, LongAdder> counters = createCounters();
+
+    /**
+     * Record newly created jobs.
+     */
+    public void recordCreated(JobStatus status, long count) {
+        afterCommit(() -> counters.get(status).add(count));
+    }
+
+    /**
+     * Record jobs moving from one status to another.
+     */
+    public void recordTransition(JobStatus from, JobStatus to, long count) {
+        if (from == to || count == 0) {
+            return;
+        }
+        afterCommit(() -> {
+            counters.get(from).add(-count);
+            counters.get(to).add(count);
+        });
+    }
+
+    /**
+     * Current number of jobs in a status.
+     */
+    public long get(JobStatus status) {
+        return Math.max(0, counters.get(status).sum());
+    }
+
+    /**
+     * Current number of jobs across all statuses.
+     */
+    public long total() {
+        long total = 0;
+        for (JobStatus status : JobStatus.values()) {
+            total += get(status);
+        }
+        return total;
+    }
+
+    /**
+     * Load the counters as soon as the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+
+    /**
+     * Correct any drift against the database.
+     * Runs every minute by default (configured in application.yml).
+     */
+    @Scheduled(fixedDelayString = "${orchestrator.metrics.reconcile-interval:60000}",
+               initialDelayString = "${orchestrator.metrics.reconcile-interval:60000}")
+    public void reconcile() {
+        try {
+            // Snapshot the counters before the query: transitions applied while it
+            // runs then stay on top of the database count instead of being cancelled
+            // by the adjustment. One committed just before the query but applied just
+            // after the snapshot is counted twice, until the next reconcile.
+            Map<JobStatus, Long> before = new EnumMap<>(JobStatus.class);
+            Map<JobStatus, Long> actual = new EnumMap<>(JobStatus.class);
+            for (JobStatus status : JobStatus.values()) {
+                before.put(status, counters.get(status).sum());
+                actual.put(status, 0L);
+            }
+            List<StatusCount> rows = jobRepository.countGroupByStatus();
+            for (StatusCount row : rows) {
+                actual.put(row.getStatus(), row.getCount());
+            }
+
+            long drift = 0;
+            for (Map.Entry<JobStatus, Long> entry : actual.entrySet()) {
+                long delta = entry.getValue() - before.get(entry.getKey());
+                if (delta != 0) {
+                    counters.get(entry.getKey()).add(delta);
+                    drift += Math.abs(delta);
+                }
+            }
+
+            if (drift > 0) {
+                log.debug("Job status counters reconciled: drift={}, counts={}", drift, actual);
+            }
+        } catch (Exception e) {
+            log.error("Failed to reconcile job status counters", e);
+        }
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private static Map<JobStatus, LongAdder> createCounters() {
+        Map<JobStatus, LongAdder> counters = new EnumMap<>(JobStatus.class);
+        for (JobStatus status : JobStatus.values()) {
+            counters.put(status, new LongAdder());
+        }
+        return counters;
+    }
+}
@@ -1,7 +1,6 @@
 package com.platform.orchestrator.service;
 
 import com.platform.common.model.JobStatus;
-import com.platform.orchestrator.repository.JobRepository;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import jakarta.annotation.PostConstruct;
@@ -19,10 +18,11 @@ import java.util.List;
 public class MetricsService {
 
     private final MeterRegistry meterRegistry;
-    private final JobRepository jobRepository;
+    private final JobStatusCounters statusCounters;
 
     /**
      * Initialize metrics gauges.
+     * Job counts are read from the in-memory status counters, not the database.
      */
     @PostConstruct
     public void initMetrics() {
@@ -31,12 +31,12 @@ public class MetricsService {
             meterRegistry.gauge("jobs_by_status",
                     List.of(Tag.of("status", status.name())),
                     this,
-                    service -> jobRepository.countByStatus(status));
+                    service -> statusCounters.get(status));
         });
 
         // Total jobs gauge
         meterRegistry.gauge("jobs_total", this,
-                service -> jobRepository.count());
+                service -> statusCounters.total());
 
         log.info("Metrics initialized");
     }
@@ -47,7 +47,7 @@ public class MetricsService {
      */
     @Scheduled(fixedRate = 60000) // Every minute
     public void updateMetrics() {
-        log.debug("Metrics updated - Total jobs: {}", jobRepository.count());
+        log.debug("Metrics updated - Total jobs: {}", statusCounters.total());
     }
 
     /**
@@ -66,6 +66,14 @@ public class MetricsService {
                 "type", jobType).increment();
     }
 
+    /**
+     * Record a batch of jobs of the same type being queued.
+     */
+    public void recordJobsQueued(String jobType, long count) {
+        meterRegistry.counter("jobs_queued",
+                "type", jobType).increment(count);
+    }
+
     /**
      * Record job completion.
      */
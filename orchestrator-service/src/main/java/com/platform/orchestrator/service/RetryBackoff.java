@@ -0,0 +1,35 @@
+package com.platform.orchestrator.service;
+
+import com.platform.orchestrator.config.RetryBackoffProperties;
+import com.platform.orchestrator.config.RetryBackoffProperties.TypeBackoff;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Computes when a failed job is retried, using the backoff configured for its type.
+ */
+@Service
+@RequiredArgsConstructor
+public class RetryBackoff {
+
+    private final RetryBackoffProperties properties;
+
+    /**
+     * Delay before the next retry, in milliseconds.
+     * <p>
+     * Decorrelated jitter builds on the delay computed at the previous failure,
+     * as stored in {@code last_retry_delay_ms}. It is not derived from
+     * {@code next_retry_at}, which is pushed back while a circuit breaker is open.
+     *
+     * @param type            job type
+     * @param retryCount      retries already made
+     * @param previousDelayMs delay computed at the previous failure, or {@code null}
+     */
+    public long nextDelayMs(String type, int retryCount, Long previousDelayMs) {
+        TypeBackoff backoff = properties.forType(type);
+        return backoff.getStrategy().nextDelayMs(retryCount, previousDelayMs != null ? previousDelayMs : 0,
+            backoff.getBase().toMillis(), backoff.getCap().toMillis(), ThreadLocalRandom.current());
+    }
+}
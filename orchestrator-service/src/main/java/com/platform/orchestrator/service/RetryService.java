@@ -2,104 +2,214 @@ package com.platform.orchestrator.service;
 
 import com.platform.common.model.Job;
 import com.platform.common.model.JobStatus;
+import com.platform.orchestrator.dto.JobSummary;
 import com.platform.orchestrator.repository.JobRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Retries failed jobs when their backoff has elapsed.
+ * <p>
+ * A ticker thread advances {@link RetryTimer} and retries whatever is due.
+ * Each retry is claimed with a conditional UPDATE, so a job fires only once
+ * even when it was scheduled twice or several replicas hold a timer for it.
+ * Retries of job types behind an open circuit breaker are pushed back until
+ * the breaker lets them through.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class RetryService {
 
+    // Delay before due retries are tried again after a failed claim
+    private static final long RESCHEDULE_DELAY_MS = 5000;
+
     private final JobRepository jobRepository;
     private final JobDistributionService distributionService;
     private final MetricsService metricsService;
+    private final JobStatusCounters statusCounters;
+    private final RetryTimer retryTimer;
+    private final CircuitBreakers circuitBreakers;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${orchestrator.retry.batch-size:500}")
+    private int batchSize;
 
-    @Value("${orchestrator.retry.initial-backoff}")
-    private long initialBackoff;
+    @Value("${orchestrator.retry.sweep-grace:10000}")
+    private long sweepGraceMs;
 
-    @Value("${orchestrator.retry.max-backoff}")
-    private long maxBackoff;
+    private Thread ticker;
+    private volatile boolean running = true;
 
     /**
-     * Poll for failed jobs eligible for retry.
-     * Runs every 30 seconds (configured in application.yml).
+     * Load pending retries and start ticking once the application is up.
      */
-    @Scheduled(fixedDelayString = "${orchestrator.retry.interval}")
-    @Transactional
-    public void processRetries() {
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
         try {
-            // Find failed jobs eligible for retry
-            List<Job> jobsForRetry = jobRepository.findJobsForRetry(
-                LocalDateTime.now()
-            );
+            retryTimer.rebuild();
+        } catch (Exception e) {
+            log.error("Failed to rebuild retry timer", e);
+        }
 
-            if (jobsForRetry.isEmpty()) {
-                log.debug("No jobs eligible for retry");
-                return;
-            }
+        ticker = new Thread(this::tickLoop, "retry-timer");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
 
-            log.info("Retrying {} failed jobs", jobsForRetry.size());
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (ticker != null) {
+            ticker.interrupt();
+        }
+    }
+
+    private void tickLoop() {
+        List<UUID> due = new ArrayList<>();
+        while (running) {
+            try {
+                Thread.sleep(retryTimer.getTickMs());
+                retryTimer.advance(System.currentTimeMillis(), due::add);
 
-            for (Job job : jobsForRetry) {
-                try {
-                    retryJob(job);
-                } catch (Exception e) {
-                    log.error("Failed to retry job: id={}", job.getId(), e);
+                for (int from = 0; from < due.size(); from += batchSize) {
+                    retryDue(new ArrayList<>(due.subList(from, Math.min(due.size(), from + batchSize))));
                 }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Error in retry service", e);
+            } finally {
+                due.clear();
             }
-
-        } catch (Exception e) {
-            log.error("Error in retry service", e);
         }
+        log.info("Retry timer stopped");
     }
 
     /**
-     * Retry a failed job with exponential backoff.
+     * Retry a batch of jobs whose backoff has elapsed. Jobs that are no longer
+     * FAILED, or have no retries left, are skipped.
+     *
+     * @return number of jobs handed back to workers
      */
-    @Transactional
-    public void retryJob(Job job) {
-        // Calculate backoff time
-        long backoffMs = calculateBackoff(job.getRetryCount());
-        LocalDateTime retryTime = job.getCompletedAt()
-            .plusNanos(backoffMs * 1_000_000);
-
-        // Check if enough time has passed
-        if (LocalDateTime.now().isBefore(retryTime)) {
-            log.debug("Job not yet eligible for retry: jobId={}, retryTime={}",
-                    job.getId(), retryTime);
-            return;
+    public int retryDue(List<UUID> jobIds) {
+        return retry(circuitBreakers.heldBackTypes().isEmpty() ? jobIds : deferHeldBack(jobIds));
+    }
+
+    private int retry(List<UUID> jobIds) {
+        if (jobIds.isEmpty()) {
+            return 0;
         }
 
-        log.info("Retrying job: id={}, attempt={}/{}",
-            job.getId(), job.getRetryCount() + 1, job.getMaxRetries());
+        try {
+            Integer retried = transactionTemplate.execute(status -> {
+                List<Job> claimed = jobRepository.claimRetries(jobIds);
+                if (claimed.isEmpty()) {
+                    return 0;
+                }
+                statusCounters.recordTransition(JobStatus.FAILED, JobStatus.RETRYING, claimed.size());
+                circuitBreakers.onDispatched(claimed);
 
-        // Update job for retry
-        job.setStatus(JobStatus.RETRYING);
-        job.setRetryCount(job.getRetryCount() + 1);
-        job.setErrorMessage(null);
-        jobRepository.save(job);
+                for (Job job : claimed) {
+                    log.info("Retrying job: id={}, attempt={}/{}",
+                        job.getId(), job.getRetryCount(), job.getMaxRetries());
+                    metricsService.recordJobRetry(job.getType());
+                }
+                return distributionService.distributeBatch(claimed);
+            });
+            return retried != null ? retried : 0;
 
-        // Record metrics
-        metricsService.recordJobRetry(job.getType());
+        } catch (Exception e) {
+            log.error("Failed to retry jobs, trying again shortly: count={}", jobIds.size(), e);
+            LocalDateTime retryAt = LocalDateTime.now().plusNanos(RESCHEDULE_DELAY_MS * 1_000_000);
+            jobIds.forEach(jobId -> retryTimer.schedule(jobId, retryAt));
+            return 0;
+        }
+    }
 
-        // Distribute the job
-        distributionService.distributeJob(job);
+    /**
+     * Push back retries of job types whose circuit breaker is not closed, until
+     * it may let them through. Half-open breakers let their probes pass; the
+     * probes are only used up once the retries are claimed. The new due time is
+     * stored too, so the overdue sweep and a rebuilt timer do not pick the
+     * deferred jobs up early.
+     *
+     * @return the jobs that may be retried now
+     */
+    private List<UUID> deferHeldBack(List<UUID> jobIds) {
+        List<UUID> allowed = new ArrayList<>(jobIds.size());
+        Map<String, Integer> permits = new HashMap<>();
+        Map<String, List<UUID>> deferred = new HashMap<>();
+        for (JobSummary job : jobRepository.findByIdIn(jobIds)) {
+            int left = permits.computeIfAbsent(job.getType(), circuitBreakers::permits);
+            if (left > 0) {
+                permits.put(job.getType(), left - 1);
+                allowed.add(job.getId());
+            } else {
+                deferred.computeIfAbsent(job.getType(), type -> new ArrayList<>()).add(job.getId());
+            }
+        }
+
+        deferred.forEach((type, ids) -> {
+            long retryAfterMs = Math.max(circuitBreakers.retryAfterMs(type), retryTimer.getTickMs());
+            LocalDateTime retryAt = LocalDateTime.now().plusNanos(retryAfterMs * 1_000_000);
+            transactionTemplate.executeWithoutResult(status -> jobRepository.deferRetries(ids, retryAt));
+            ids.forEach(jobId -> retryTimer.schedule(jobId, retryAt));
+            log.debug("Deferred retries behind open circuit breaker: type={}, count={}, retryAt={}",
+                type, ids.size(), retryAt);
+        });
+        return allowed;
     }
 
     /**
-     * Calculate exponential backoff time in milliseconds.
+     * Safety net for retries no timer fired for, such as jobs failed by a
+     * replica that died before their retry was due. Only retries overdue by
+     * more than the grace period are picked up, so live timers win.
      */
-    private long calculateBackoff(int retryCount) {
-        long backoff = initialBackoff * (long) Math.pow(2, retryCount);
-        return Math.min(backoff, maxBackoff);
+    @Scheduled(fixedDelayString = "${orchestrator.retry.sweep-interval:30000}",
+               initialDelayString = "${orchestrator.retry.sweep-interval:30000}")
+    public void sweepOverdue() {
+        try {
+            LocalDateTime before = LocalDateTime.now().minusNanos(sweepGraceMs * 1_000_000);
+            List<UUID> overdue;
+            int retried = 0;
+            do {
+                overdue = jobRepository.findOverdueRetries(before, batchSize);
+                if (overdue.isEmpty()) {
+                    break;
+                }
+                // Deferred jobs are moved past the window, so the next page holds other jobs
+                List<UUID> allowed = circuitBreakers.heldBackTypes().isEmpty() ? overdue : deferHeldBack(overdue);
+                int claimed = retry(allowed);
+                retried += claimed;
+                if (claimed == 0 && allowed.size() == overdue.size()) {
+                    // Nothing moved, e.g. the claim failed; the timer takes it from here
+                    break;
+                }
+            } while (overdue.size() == batchSize);
+
+            if (retried > 0) {
+                log.warn("Retried overdue jobs missed by the retry timer: count={}", retried);
+            }
+        } catch (Exception e) {
+            log.error("Error sweeping overdue retries", e);
+        }
     }
 
     /**
@@ -122,6 +232,7 @@ public class RetryService {
                 job.setStatus(JobStatus.DEAD_LETTER);
                 jobRepository.save(job);
             }
+            statusCounters.recordTransition(JobStatus.FAILED, JobStatus.DEAD_LETTER, deadLetterJobs.size());
 
         } catch (Exception e) {
             log.error("Error processing dead letter queue", e);
@@ -0,0 +1,106 @@
+package com.platform.orchestrator.service;
+
+import com.platform.common.concurrent.TimingWheel;
+import com.platform.orchestrator.dto.ScheduledRetry;
+import com.platform.orchestrator.repository.JobRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * In-memory schedule of pending retries.
+ * <p>
+ * Each FAILED job with retries left gets a {@code next_retry_at} when it fails
+ * and a timer in a hierarchical timing wheel, so it is retried within one tick
+ * of its backoff instead of on the next table scan. The database column is the
+ * source of truth: at startup the wheel is rebuilt with a range scan on the
+ * partial {@code next_retry_at} index, limited to the retries due within one
+ * rotation of the wheel. Retries due later, or already overdue, are left to
+ * the overdue sweep in {@link RetryService}.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RetryTimer {
+
+    private final JobRepository jobRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${orchestrator.retry.timer.tick:100}")
+    private long tickMs;
+
+    @Value("${orchestrator.retry.timer.wheel-size:512}")
+    private int wheelSize;
+
+    private TimingWheel<UUID> wheel;
+
+    @PostConstruct
+    public void init() {
+        wheel = new TimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+        meterRegistry.gauge("retry_timer_pending", this, timer -> timer.wheel.size());
+    }
+
+    /**
+     * Schedule a retry once the surrounding transaction (if any) commits.
+     */
+    public void schedule(UUID jobId, LocalDateTime dueAt) {
+        long deadline = toEpochMilli(dueAt);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            wheel.schedule(jobId, deadline);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                wheel.schedule(jobId, deadline);
+            }
+        });
+    }
+
+    /**
+     * Load the pending retries due within the wheel's horizon from the database.
+     * Jobs that are already scheduled fire twice; the retry claim skips the second.
+     */
+    public void rebuild() {
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime until = from.plusNanos(getHorizonMs() * 1_000_000);
+        List<ScheduledRetry> schedule = jobRepository.findRetrySchedule(from, until);
+        for (ScheduledRetry retry : schedule) {
+            wheel.schedule(retry.getId(), toEpochMilli(retry.getNextRetryAt()));
+        }
+        log.info("Retry timer rebuilt: pending={}, until={}", schedule.size(), until);
+    }
+
+    /**
+     * Hand every job whose retry is due by {@code nowMs} to {@code due}.
+     */
+    public int advance(long nowMs, Consumer<UUID> due) {
+        return wheel.advance(nowMs, due);
+    }
+
+    public long getTickMs() {
+        return tickMs;
+    }
+
+    /**
+     * Span of one rotation of the lowest wheel.
+     */
+    public long getHorizonMs() {
+        return tickMs * wheelSize;
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
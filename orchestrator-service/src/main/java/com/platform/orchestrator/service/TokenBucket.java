@@ -0,0 +1,33 @@
+package com.platform.orchestrator.service;
+
+/**
+ * Token bucket refilled continuously at a fixed rate, up to its burst size.
+ * Not thread-safe; owned by the scheduler's drain thread.
+ */
+final class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        this.tokensPerNano = ratePerSecond / 1_000_000_000.0;
+        this.capacity = burst > 0 ? burst : Math.max(1, ratePerSecond);
+        this.tokens = capacity;
+        this.refilledAt = nowNanos;
+    }
+
+    /**
+     * Whole tokens available at {@code nowNanos}.
+     */
+    int available(long nowNanos) {
+        tokens = Math.min(capacity, tokens + (nowNanos - refilledAt) * tokensPerNano);
+        refilledAt = nowNanos;
+        return (int) tokens;
+    }
+
+    void take(int count) {
+        tokens -= count;
+    }
+}
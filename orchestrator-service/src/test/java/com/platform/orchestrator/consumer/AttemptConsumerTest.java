@@ -0,0 +1,58 @@
+package com.platform.orchestrator.consumer;
+
+import com.platform.common.model.JobAttempt;
+import com.platform.orchestrator.service.CircuitBreakers;
+import com.platform.orchestrator.service.MetricsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class AttemptConsumerTest {
+
+    @Mock
+    private CircuitBreakers circuitBreakers;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @InjectMocks
+    private AttemptConsumer attemptConsumer;
+
+    @Test
+    void consumeAttempts_FailedAttempt_RecordsFailureOnBreaker() {
+        UUID jobId = UUID.randomUUID();
+
+        attemptConsumer.consumeAttempts(List.of(attempt(jobId, "EMAIL")));
+
+        verify(circuitBreakers).recordResult("EMAIL", jobId, false);
+        verify(metricsService).recordJobRetry("EMAIL");
+    }
+
+    @Test
+    void consumeAttempts_MissingJobIdOrType_SkipsIt() {
+        attemptConsumer.consumeAttempts(Arrays.asList(
+                null, attempt(null, "EMAIL"), attempt(UUID.randomUUID(), null)));
+
+        verifyNoInteractions(circuitBreakers, metricsService);
+    }
+
+    private static JobAttempt attempt(UUID jobId, String type) {
+        return JobAttempt.builder()
+                .jobId(jobId)
+                .type(type)
+                .workerId("worker-1")
+                .retryCount(1)
+                .errorMessage("boom")
+                .build();
+    }
+}
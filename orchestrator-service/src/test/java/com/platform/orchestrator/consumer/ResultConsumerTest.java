@@ -0,0 +1,264 @@
+package com.platform.orchestrator.consumer;
+
+import com.platform.common.model.JobStatus;
+import com.platform.orchestrator.dto.JobCompletion;
+import com.platform.orchestrator.dto.JobResult;
+import com.platform.orchestrator.dto.JobSummary;
+import com.platform.orchestrator.repository.JobBatchRepository;
+import com.platform.orchestrator.repository.JobRepository;
+import com.platform.orchestrator.service.CircuitBreakers;
+import com.platform.orchestrator.service.InFlightCounters;
+import com.platform.orchestrator.service.JobStatusCounters;
+import com.platform.orchestrator.service.MetricsService;
+import com.platform.orchestrator.service.RetryBackoff;
+import com.platform.orchestrator.service.RetryTimer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResultConsumerTest {
+
+    private static final UUID JOB_ID = UUID.randomUUID();
+    private static final long PREVIOUS_DELAY_MS = 4000;
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private JobBatchRepository jobBatchRepository;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private JobStatusCounters statusCounters;
+
+    @Mock
+    private InFlightCounters inFlightCounters;
+
+    @Mock
+    private RetryTimer retryTimer;
+
+    @Mock
+    private RetryBackoff retryBackoff;
+
+    @Mock
+    private CircuitBreakers circuitBreakers;
+
+    @InjectMocks
+    private ResultConsumer resultConsumer;
+
+    @Captor
+    private ArgumentCaptor<List<JobCompletion>> completions;
+
+    @Test
+    void consumeResults_SuccessfulResult_AppliedAsCompleted() {
+        stored(0, 3);
+
+        resultConsumer.consumeResults(List.of(succeeded()));
+
+        JobCompletion completion = applied();
+        assertThat(completion.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(completion.getWorkerId()).isEqualTo("worker-1");
+        assertThat(completion.getErrorMessage()).isNull();
+        verify(statusCounters).recordTransition(JobStatus.RUNNING, JobStatus.COMPLETED, 1);
+        verify(inFlightCounters).recordFinished("EMAIL", 1);
+        verify(metricsService).recordJobCompletion("EMAIL", true);
+        verify(circuitBreakers).recordResult("EMAIL", JOB_ID, true);
+    }
+
+    @Test
+    void consumeResults_DuplicateResults_AppliesLatestOnce() {
+        stored(0, 3);
+
+        resultConsumer.consumeResults(List.of(succeeded(), failed(3)));
+
+        JobCompletion completion = applied();
+        assertThat(completion.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(completion.getErrorMessage()).isEqualTo("boom");
+        verify(jobRepository).findByIdIn(Set.of(JOB_ID));
+    }
+
+    @Test
+    void consumeResults_LongErrorMessage_Truncated() {
+        stored(0, 3);
+        JobResult result = failed(3);
+        result.setErrorMessage("x".repeat(5000));
+
+        resultConsumer.consumeResults(List.of(result));
+
+        assertThat(applied().getErrorMessage()).hasSize(2000);
+    }
+
+    @Test
+    void consumeResults_AlreadyTerminal_SkipsMetrics() {
+        stored(0, 3, new int[]{0});
+
+        resultConsumer.consumeResults(List.of(succeeded()));
+
+        applied();
+        verifyNoInteractions(statusCounters, inFlightCounters, circuitBreakers);
+        verify(metricsService, never()).recordJobCompletion(anyString(), anyBoolean());
+    }
+
+    @Test
+    void consumeResults_UnknownJob_NotApplied() {
+        when(jobRepository.findByIdIn(any())).thenReturn(List.of());
+        when(jobBatchRepository.applyCompletions(anyList())).thenReturn(new int[0]);
+
+        resultConsumer.consumeResults(List.of(succeeded()));
+
+        verify(jobBatchRepository).applyCompletions(completions.capture());
+        assertThat(completions.getValue()).isEmpty();
+        verifyNoInteractions(metricsService);
+    }
+
+    @Test
+    void consumeResults_ResultsWithoutJobId_SkipsDatabase() {
+        JobResult result = succeeded();
+        result.setJobId(null);
+
+        resultConsumer.consumeResults(List.of(result));
+
+        verifyNoInteractions(jobRepository, jobBatchRepository, metricsService);
+    }
+
+    @Test
+    void consumeResults_WorkerRetryCount_PersistedAndUsedForBackoff() {
+        stored(0, 3);
+        when(retryBackoff.nextDelayMs("EMAIL", 2, PREVIOUS_DELAY_MS)).thenReturn(60000L);
+
+        resultConsumer.consumeResults(List.of(failed(2)));
+
+        JobCompletion completion = applied();
+        assertThat(completion.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(completion.getRetryCount()).isEqualTo(2);
+        assertThat(completion.getRetryDelayMs()).isEqualTo(60000L);
+        assertThat(completion.getNextRetryAt()).isEqualTo(completion.getCompletedAt().plusMinutes(1));
+        verify(retryTimer).schedule(JOB_ID, completion.getNextRetryAt());
+    }
+
+    @Test
+    void consumeResults_NoWorkerRetryCount_KeepsStoredCount() {
+        stored(1, 3);
+        when(retryBackoff.nextDelayMs(eq("EMAIL"), eq(1), any())).thenReturn(5000L);
+
+        resultConsumer.consumeResults(List.of(failed(null)));
+
+        // Null is written through COALESCE(?, retry_count), leaving the stored count
+        JobCompletion completion = applied();
+        assertThat(completion.getRetryCount()).isNull();
+        assertThat(completion.getNextRetryAt()).isEqualTo(completion.getCompletedAt().plusSeconds(5));
+    }
+
+    @Test
+    void consumeResults_WorkerRetriesUsedUpBudget_NoRetryScheduled() {
+        stored(0, 3);
+
+        resultConsumer.consumeResults(List.of(failed(3)));
+
+        JobCompletion completion = applied();
+        assertThat(completion.getRetryCount()).isEqualTo(3);
+        assertThat(completion.getNextRetryAt()).isNull();
+        verify(retryBackoff, never()).nextDelayMs(anyString(), anyInt(), any());
+        verify(retryTimer, never()).schedule(any(), any());
+    }
+
+    @Test
+    void consumeResults_DeadLetteredByWorker_StoredWithoutRetry() {
+        stored(0, 3);
+        JobResult result = failed(3);
+        result.setStatus(JobStatus.DEAD_LETTER);
+
+        resultConsumer.consumeResults(List.of(result));
+
+        JobCompletion completion = applied();
+        assertThat(completion.getStatus()).isEqualTo(JobStatus.DEAD_LETTER);
+        assertThat(completion.getNextRetryAt()).isNull();
+        verify(circuitBreakers).recordResult("EMAIL", JOB_ID, false);
+        verify(inFlightCounters).recordFinished("EMAIL", 1);
+    }
+
+    @Test
+    void consumeResults_RetryingThroughKafka_CountsFailureWithoutScheduling() {
+        stored(0, 3);
+        JobResult result = failed(1);
+        result.setStatus(JobStatus.RETRYING);
+
+        resultConsumer.consumeResults(List.of(result));
+
+        JobCompletion completion = applied();
+        assertThat(completion.getStatus()).isEqualTo(JobStatus.RETRYING);
+        assertThat(completion.getRetryCount()).isEqualTo(1);
+        assertThat(completion.getNextRetryAt()).isNull();
+        verify(circuitBreakers).recordResult("EMAIL", JOB_ID, false);
+        verify(inFlightCounters).recordFinished("EMAIL", 1);
+        verify(statusCounters).recordTransition(JobStatus.RUNNING, JobStatus.RETRYING, 1);
+        verify(metricsService).recordJobRetry("EMAIL");
+        verify(metricsService, never()).recordJobCompletion(anyString(), anyBoolean());
+        verify(retryTimer, never()).schedule(any(), any());
+    }
+
+    private void stored(int retryCount, int maxRetries) {
+        stored(retryCount, maxRetries, new int[]{1});
+    }
+
+    private void stored(int retryCount, int maxRetries, int[] updated) {
+        JobSummary job = mock(JobSummary.class);
+        lenient().when(job.getId()).thenReturn(JOB_ID);
+        lenient().when(job.getType()).thenReturn("EMAIL");
+        lenient().when(job.getStatus()).thenReturn(JobStatus.RUNNING);
+        lenient().when(job.getRetryCount()).thenReturn(retryCount);
+        lenient().when(job.getMaxRetries()).thenReturn(maxRetries);
+        lenient().when(job.getLastRetryDelayMs()).thenReturn(PREVIOUS_DELAY_MS);
+        when(jobRepository.findByIdIn(any())).thenReturn(List.of(job));
+        when(jobBatchRepository.applyCompletions(anyList())).thenReturn(updated);
+    }
+
+    private JobCompletion applied() {
+        verify(jobBatchRepository).applyCompletions(completions.capture());
+        assertThat(completions.getValue()).hasSize(1);
+        return completions.getValue().get(0);
+    }
+
+    private static JobResult succeeded() {
+        return JobResult.builder()
+                .jobId(JOB_ID)
+                .status(JobStatus.COMPLETED)
+                .workerId("worker-1")
+                .build();
+    }
+
+    private static JobResult failed(Integer retryCount) {
+        return JobResult.builder()
+                .jobId(JOB_ID)
+                .status(JobStatus.FAILED)
+                .workerId("worker-1")
+                .errorMessage("boom")
+                .retryCount(retryCount)
+                .build();
+    }
+}
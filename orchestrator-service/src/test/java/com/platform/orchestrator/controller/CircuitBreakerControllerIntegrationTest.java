@@ -0,0 +1,89 @@
+package com.platform.orchestrator.controller;
+
+import com.platform.orchestrator.dto.CircuitBreakerStatus;
+import com.platform.orchestrator.security.JwtRequestFilter;
+import com.platform.orchestrator.security.JwtUtil;
+import com.platform.orchestrator.security.SecurityConfig;
+import com.platform.orchestrator.service.CircuitBreaker;
+import com.platform.orchestrator.service.CircuitBreakers;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = CircuitBreakerController.class)
+@Import({SecurityConfig.class})
+@ActiveProfiles("test")
+@Tag("integration")
+class CircuitBreakerControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CircuitBreakers circuitBreakers;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private JwtRequestFilter jwtRequestFilter;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Let requests through the mocked JWT filter to the authorization rules
+        doAnswer(invocation -> {
+            invocation.<FilterChain>getArgument(2).doFilter(
+                    invocation.<ServletRequest>getArgument(0), invocation.<ServletResponse>getArgument(1));
+            return null;
+        }).when(jwtRequestFilter).doFilter(any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser
+    void resetCircuitBreaker_NonAdminUser_ReturnsForbidden() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/circuit-breakers/{type}/reset", "EMAIL"))
+                .andExpect(status().isForbidden());
+
+        verify(circuitBreakers, never()).reset(any());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void resetCircuitBreaker_AdminUser_ReturnsClosedBreaker() throws Exception {
+        when(circuitBreakers.reset("EMAIL")).thenReturn(Optional.of(CircuitBreakerStatus.builder()
+                .type("EMAIL")
+                .state(CircuitBreaker.State.CLOSED)
+                .since(LocalDateTime.now())
+                .build()));
+
+        mockMvc.perform(post("/api/v1/admin/circuit-breakers/{type}/reset", "EMAIL"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.type").value("EMAIL"))
+                .andExpect(jsonPath("$.state").value("CLOSED"));
+    }
+}
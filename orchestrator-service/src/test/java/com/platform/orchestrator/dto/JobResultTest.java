@@ -0,0 +1,29 @@
+package com.platform.orchestrator.dto;
+
+import com.platform.common.model.JobStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobResultTest {
+
+    @Test
+    void outcome_StatusSet_ReturnsStatus() {
+        JobResult result = JobResult.builder().status(JobStatus.DEAD_LETTER).success(false).build();
+
+        assertThat(result.outcome()).isEqualTo(JobStatus.DEAD_LETTER);
+    }
+
+    @Test
+    void outcome_StatusSet_WinsOverSuccessFlag() {
+        JobResult result = JobResult.builder().status(JobStatus.FAILED).success(true).build();
+
+        assertThat(result.outcome()).isEqualTo(JobStatus.FAILED);
+    }
+
+    @Test
+    void outcome_OnlySuccessFlag_MapsToCompletedOrFailed() {
+        assertThat(JobResult.builder().success(true).build().outcome()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(JobResult.builder().success(false).build().outcome()).isEqualTo(JobStatus.FAILED);
+    }
+}
@@ -0,0 +1,236 @@
+package com.platform.orchestrator.integration;
+
+import com.platform.common.model.Job;
+import com.platform.common.model.JobStatus;
+import com.platform.orchestrator.config.JpaConfig;
+import com.platform.orchestrator.repository.JobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two schedulers claiming from the same jobs table must never get the same row.
+ * Runs the claim queries against a real Postgres, since FOR UPDATE SKIP LOCKED
+ * and UPDATE ... RETURNING are not available in H2.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+@Testcontainers
+@ActiveProfiles("test")
+@Tag("integration")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobClaimConcurrencyTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("jobs_db_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate tx;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        executor = Executors.newSingleThreadExecutor();
+        jobRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("claimPendingJobs: concurrent claimers get disjoint rows")
+    void claimPendingJobs_ConcurrentClaimers_GetDisjointRows() throws Exception {
+        List<UUID> ids = savePending("EMAIL", 10);
+
+        Claims claims = claimWhileFirstHoldsLocks(
+                () -> jobRepository.claimPendingJobs(6),
+                () -> jobRepository.claimPendingJobs(6));
+
+        assertThat(claims.first()).hasSize(6);
+        assertThat(claims.second()).hasSize(4).doesNotContainAnyElementsOf(claims.first());
+        assertThat(claims.all()).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(jobRepository.countByStatus(JobStatus.QUEUED)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("claimPendingJobsExcludingTypes: concurrent claimers get disjoint rows")
+    void claimPendingJobsExcludingTypes_ConcurrentClaimers_GetDisjointRows() throws Exception {
+        List<UUID> ids = savePending("EMAIL", 10);
+        savePending("REPORT", 5);
+
+        Claims claims = claimWhileFirstHoldsLocks(
+                () -> jobRepository.claimPendingJobsExcludingTypes(List.of("REPORT"), 6),
+                () -> jobRepository.claimPendingJobsExcludingTypes(List.of("REPORT"), 6));
+
+        assertThat(claims.second()).hasSize(4).doesNotContainAnyElementsOf(claims.first());
+        assertThat(claims.all()).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(jobRepository.countByStatus(JobStatus.PENDING)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("claimPendingJobsOfType: concurrent claimers get disjoint rows")
+    void claimPendingJobsOfType_ConcurrentClaimers_GetDisjointRows() throws Exception {
+        List<UUID> ids = savePending("EMAIL", 10);
+        savePending("REPORT", 5);
+
+        Claims claims = claimWhileFirstHoldsLocks(
+                () -> jobRepository.claimPendingJobsOfType("EMAIL", 6),
+                () -> jobRepository.claimPendingJobsOfType("EMAIL", 6));
+
+        assertThat(claims.second()).hasSize(4).doesNotContainAnyElementsOf(claims.first());
+        assertThat(claims.all()).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(jobRepository.countByStatus(JobStatus.PENDING)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("claimRetries: overlapping concurrent claims retry each job once")
+    void claimRetries_OverlappingConcurrentClaims_RetryEachJobOnce() throws Exception {
+        List<UUID> ids = saveFailed(10);
+
+        // claimRetries does not skip locked rows: the second claimer waits for the first
+        // to commit, then re-checks the rows, which are no longer FAILED
+        Claims claims = claimWhileFirstHoldsLocks(
+                () -> jobRepository.claimRetries(ids.subList(0, 6)),
+                () -> jobRepository.claimRetries(ids.subList(3, 10)));
+
+        assertThat(claims.first()).containsExactlyInAnyOrderElementsOf(ids.subList(0, 6));
+        assertThat(claims.second()).containsExactlyInAnyOrderElementsOf(ids.subList(6, 10));
+        assertThat(jobRepository.findAllById(ids))
+                .allSatisfy(job -> assertThat(job.getRetryCount()).isEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("claimPendingJobs: claimed rows get a fresh updated_at")
+    void claimPendingJobs_ClaimedRows_TouchUpdatedAt() {
+        List<UUID> ids = savePending("EMAIL", 3);
+        jdbcTemplate.update("UPDATE jobs SET updated_at = updated_at - INTERVAL '1 day'");
+        LocalDateTime stale = jobRepository.findAllById(ids).get(0).getUpdatedAt();
+
+        List<Job> claimed = tx.execute(status -> jobRepository.claimPendingJobs(3));
+
+        assertThat(claimed).allSatisfy(job -> assertThat(job.getUpdatedAt()).isAfter(stale.plusHours(1)));
+    }
+
+    /**
+     * Runs the first claim in its own transaction on another thread and keeps that
+     * transaction open, with its row locks held, while the second claim runs.
+     */
+    private Claims claimWhileFirstHoldsLocks(Supplier<List<Job>> first, Supplier<List<Job>> second)
+            throws Exception {
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<List<Job>> firstClaim = CompletableFuture.supplyAsync(() -> tx.execute(status -> {
+            List<Job> jobs = first.get();
+            claimed.countDown();
+            await(release);
+            return jobs;
+        }), executor);
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<List<Job>> secondClaim = CompletableFuture.supplyAsync(() -> tx.execute(status -> second.get()));
+        try {
+            // A SKIP LOCKED claim returns while the first transaction is still open
+            secondClaim.get(500, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException blockedOnRowLock) {
+            // claimRetries waits for the first transaction instead
+        }
+        release.countDown();
+
+        return new Claims(ids(firstClaim.get(10, TimeUnit.SECONDS)), ids(secondClaim.get(10, TimeUnit.SECONDS)));
+    }
+
+    private List<UUID> savePending(String type, int count) {
+        return save(IntStream.range(0, count)
+                .mapToObj(i -> Job.builder().name(type + "-" + i).type(type).build())
+                .toList());
+    }
+
+    private List<UUID> saveFailed(int count) {
+        return save(IntStream.range(0, count)
+                .mapToObj(i -> Job.builder().name("retry-" + i).type("EMAIL").status(JobStatus.FAILED).build())
+                .toList());
+    }
+
+    private List<UUID> save(List<Job> jobs) {
+        return jobRepository.saveAll(jobs).stream().map(Job::getId).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private static List<UUID> ids(List<Job> jobs) {
+        return jobs.stream().map(Job::getId).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Claims(List<UUID> first, List<UUID> second) {
+        Set<UUID> all() {
+            Set<UUID> all = new HashSet<>(first);
+            all.addAll(second);
+            return all;
+        }
+    }
+}
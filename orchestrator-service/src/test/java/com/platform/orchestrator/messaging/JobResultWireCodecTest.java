@@ -0,0 +1,74 @@
+package com.platform.orchestrator.messaging;
+
+import com.platform.common.model.JobStatus;
+import com.platform.common.model.LogEntry;
+import com.platform.common.wire.WireCodecRegistry;
+import com.platform.common.wire.WireDeserializer;
+import com.platform.common.wire.WireSchema;
+import com.platform.orchestrator.config.KafkaCodecConfig;
+import com.platform.orchestrator.dto.JobResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Decodes results exactly as the worker encodes them. The bytes are pinned on
+ * the worker side by its own JobResultWireCodecTest; keep the two in sync.
+ */
+class JobResultWireCodecTest {
+
+    // Worker JobResult: FAILED, error "boom", worker-1, retryCount 2, with started/completed timestamps
+    private static final String WORKER_FAILED_RESULT =
+        "b7 01 02 0b 1a 7d 3e 7c b2 a4 90 01 01 00 00 00 00 00 00 9f 12 06 46 41 49 4c 45 44"
+        + " 18 00 2a 04 62 6f 6f 6d 32 08 77 6f 72 6b 65 72 2d 31 38 80 c0 c9 9d e7 d8 8b 06"
+        + " 40 c0 cd 80 9f e7 d8 8b 06 48 04";
+
+    // Worker JobResult: COMPLETED, worker-1, no retry count, with started/completed timestamps
+    private static final String WORKER_COMPLETED_RESULT =
+        "b7 01 02 0b 1a 7d 3e 7c b2 a4 90 01 02 00 00 00 00 00 00 9f 12 09 43 4f 4d 50 4c"
+        + " 45 54 45 44 18 02 32 08 77 6f 72 6b 65 72 2d 31 38 80 c0 c9 9d e7 d8 8b 06"
+        + " 40 c0 cd 80 9f e7 d8 8b 06";
+
+    private final WireCodecRegistry registry = new KafkaCodecConfig().wireCodecRegistry();
+    private final WireDeserializer deserializer = new WireDeserializer(registry, (topic, data) -> {
+        throw new AssertionError("JSON fallback used");
+    });
+
+    @Test
+    void decode_WorkerFailedResult_ReadsOutcomeAndRetryCount() {
+        JobResult result = (JobResult) deserializer.deserialize("job.results", hex(WORKER_FAILED_RESULT));
+
+        assertThat(result.getJobId()).isEqualTo(UUID.fromString("0190a4b2-7c3e-7d1a-9f00-000000000001"));
+        assertThat(result.outcome()).isEqualTo(JobStatus.FAILED);
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getErrorMessage()).isEqualTo("boom");
+        assertThat(result.getWorkerId()).isEqualTo("worker-1");
+        assertThat(result.getRetryCount()).isEqualTo(2);
+        assertThat(result.getResult()).isNull();
+    }
+
+    @Test
+    void decode_WorkerCompletedResult_IsSuccessfulWithoutRetryCount() {
+        JobResult result = (JobResult) deserializer.deserialize("job.results", hex(WORKER_COMPLETED_RESULT));
+
+        assertThat(result.outcome()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getErrorMessage()).isNull();
+        assertThat(result.getRetryCount()).isNull();
+    }
+
+    @Test
+    void wireCodecRegistry_OrchestratorConfig_CoversEveryWireType() {
+        assertThat(registry.forType(JobResult.class)).isNotNull();
+        assertThat(registry.forType(LogEntry.class)).isNotNull();
+        assertThat(registry.forTypeId(WireSchema.JOB_TASK)).isNotNull();
+        assertThat(registry.forTypeId(WireSchema.LOG_ENTRY)).isNotNull();
+    }
+
+    private static byte[] hex(String bytes) {
+        return HexFormat.ofDelimiter(" ").parseHex(bytes);
+    }
+}
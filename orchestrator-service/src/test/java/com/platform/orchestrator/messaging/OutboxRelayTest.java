@@ -0,0 +1,271 @@
+package com.platform.orchestrator.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.common.model.JobStatus;
+import com.platform.orchestrator.dto.JobCompletion;
+import com.platform.orchestrator.dto.JobSummary;
+import com.platform.orchestrator.dto.JobTask;
+import com.platform.orchestrator.dto.OutboxMessage;
+import com.platform.orchestrator.repository.JobBatchRepository;
+import com.platform.orchestrator.repository.JobRepository;
+import com.platform.orchestrator.repository.OutboxRepository;
+import com.platform.orchestrator.service.AdaptiveBatchSizer;
+import com.platform.orchestrator.service.JobStatusCounters;
+import com.platform.orchestrator.service.RetryBackoff;
+import com.platform.orchestrator.service.RetryTimer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OutboxRelayTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long CLAIM_LEASE_MS = 60000;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private JobBatchRepository jobBatchRepository;
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private KafkaTemplate<String, JobTask> kafkaTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private AdaptiveBatchSizer batchSizer;
+
+    @Mock
+    private JobStatusCounters statusCounters;
+
+    @Mock
+    private RetryTimer retryTimer;
+
+    @Mock
+    private RetryBackoff retryBackoff;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private OutboxRelay outboxRelay;
+
+    @Captor
+    private ArgumentCaptor<Collection<Long>> idsCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<JobCompletion>> completionsCaptor;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 500);
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(outboxRelay, "claimLeaseMs", CLAIM_LEASE_MS);
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeoutMs", 1000L);
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doCallRealMethod().when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRelay.shutdown();
+    }
+
+    @Test
+    void wakeUp_ClaimsWithLease_BeforeSending() {
+        when(outboxRepository.claimBatch(anyInt(), anyLong())).thenReturn(List.of());
+
+        outboxRelay.wakeUp();
+
+        verify(outboxRepository, timeout(1000)).claimBatch(500, CLAIM_LEASE_MS);
+        verify(kafkaTemplate, after(100).never()).send(anyString(), anyString(), any());
+    }
+
+    @Test
+    void wakeUp_AllSendsAcked_DeletesPublishedRows() {
+        OutboxMessage first = message(1L, 0);
+        OutboxMessage second = message(2L, 0);
+        when(outboxRepository.claimBatch(anyInt(), anyLong())).thenReturn(List.of(first, second));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(acked());
+
+        relayOnce();
+
+        verify(kafkaTemplate).send(eq("job-tasks"), eq(first.getMessageKey()), any(JobTask.class));
+        verify(outboxRepository).deleteByIds(idsCaptor.capture());
+        assertThat(idsCaptor.getValue()).containsExactly(1L, 2L);
+        verify(outboxRepository).incrementAttempts(List.of());
+        verify(batchSizer).onPublished(anyLong(), eq(0));
+    }
+
+    @Test
+    void wakeUp_SendFailsBelowMaxAttempts_IncrementsAttemptsAndKeepsRow() {
+        OutboxMessage ok = message(1L, 0);
+        OutboxMessage failing = message(2L, MAX_ATTEMPTS - 2);
+        when(outboxRepository.claimBatch(anyInt(), anyLong())).thenReturn(List.of(ok, failing));
+        when(kafkaTemplate.send(anyString(), eq(ok.getMessageKey()), any())).thenReturn(acked());
+        when(kafkaTemplate.send(anyString(), eq(failing.getMessageKey()), any())).thenReturn(rejected());
+
+        relayOnce();
+
+        verify(outboxRepository).deleteByIds(List.of(1L));
+        verify(outboxRepository).incrementAttempts(List.of(2L));
+        verifyNoInteractions(jobBatchRepository, retryTimer);
+        verify(batchSizer).onPublished(anyLong(), eq(1));
+    }
+
+    @Test
+    void wakeUp_SendFailsAtMaxAttemptsWithRetriesLeft_FailsJobForRetry() {
+        OutboxMessage exhausted = message(5L, MAX_ATTEMPTS - 1);
+        when(outboxRepository.claimBatch(anyInt(), anyLong())).thenReturn(List.of(exhausted));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(rejected());
+        when(jobRepository.findByIdIn(List.of(exhausted.getJobId())))
+                .thenReturn(List.of(summary(exhausted.getJobId(), 1, 3)));
+        when(retryBackoff.nextDelayMs("EMAIL", 1, 4000L)).thenReturn(60000L);
+        when(jobBatchRepository.applyCompletions(anyList())).thenReturn(new int[]{1});
+
+        relayOnce();
+
+        verify(outboxRepository).incrementAttempts(List.of());
+        verify(outboxRepository).deleteByIds(List.of(5L));
+        verify(jobBatchRepository).applyCompletions(completionsCaptor.capture());
+        JobCompletion failure = completionsCaptor.getValue().get(0);
+        assertThat(failure.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(failure.getRetryDelayMs()).isEqualTo(60000L);
+        assertThat(failure.getNextRetryAt()).isEqualTo(failure.getCompletedAt().plusMinutes(1));
+        verify(retryTimer).schedule(exhausted.getJobId(), failure.getNextRetryAt());
+        verify(statusCounters).recordTransition(JobStatus.QUEUED, JobStatus.FAILED, 1);
+    }
+
+    @Test
+    void wakeUp_SendFailsAtMaxAttemptsWithoutRetries_DeadLettersJob() {
+        OutboxMessage exhausted = message(5L, MAX_ATTEMPTS - 1);
+        when(outboxRepository.claimBatch(anyInt(), anyLong())).thenReturn(List.of(exhausted));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(rejected());
+        when(jobRepository.findByIdIn(List.of(exhausted.getJobId())))
+                .thenReturn(List.of(summary(exhausted.getJobId(), 3, 3)));
+        when(jobBatchRepository.applyCompletions(anyList())).thenReturn(new int[]{1});
+
+        relayOnce();
+
+        verify(outboxRepository).deleteByIds(List.of(5L));
+        verify(jobBatchRepository).applyCompletions(completionsCaptor.capture());
+        JobCompletion failure = completionsCaptor.getValue().get(0);
+        assertThat(failure.getStatus()).isEqualTo(JobStatus.DEAD_LETTER);
+        assertThat(failure.getNextRetryAt()).isNull();
+        verifyNoInteractions(retryTimer, retryBackoff);
+        verify(statusCounters).recordTransition(JobStatus.QUEUED, JobStatus.DEAD_LETTER, 1);
+    }
+
+    @Test
+    void wakeUp_ExhaustedJobAlreadyTerminal_SchedulesNothing() {
+        OutboxMessage exhausted = message(5L, MAX_ATTEMPTS - 1);
+        when(outboxRepository.claimBatch(anyInt(), anyLong())).thenReturn(List.of(exhausted));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(rejected());
+        when(jobRepository.findByIdIn(List.of(exhausted.getJobId())))
+                .thenReturn(List.of(summary(exhausted.getJobId(), 0, 3)));
+        when(jobBatchRepository.applyCompletions(anyList())).thenReturn(new int[]{0});
+
+        relayOnce();
+
+        verifyNoInteractions(retryTimer);
+        verify(statusCounters).recordTransition(JobStatus.QUEUED, JobStatus.FAILED, 0);
+    }
+
+    /**
+     * Run one relay pass and wait until its bookkeeping is done.
+     */
+    private void relayOnce() {
+        outboxRelay.wakeUp();
+        verify(batchSizer, timeout(1000)).onPublished(anyLong(), anyInt());
+    }
+
+    private static OutboxMessage message(long id, int attempts) {
+        UUID jobId = UUID.randomUUID();
+        return OutboxMessage.builder()
+                .id(id)
+                .jobId(jobId)
+                .topic("job-tasks")
+                .messageKey(jobId.toString())
+                .payload("{\"jobId\":\"" + jobId + "\",\"type\":\"EMAIL\"}")
+                .attempts(attempts)
+                .build();
+    }
+
+    private static JobSummary summary(UUID id, int retryCount, int maxRetries) {
+        return new JobSummary() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getType() {
+                return "EMAIL";
+            }
+
+            @Override
+            public JobStatus getStatus() {
+                return JobStatus.QUEUED;
+            }
+
+            @Override
+            public Integer getRetryCount() {
+                return retryCount;
+            }
+
+            @Override
+            public Integer getMaxRetries() {
+                return maxRetries;
+            }
+
+            @Override
+            public Long getLastRetryDelayMs() {
+                return 4000L;
+            }
+        };
+    }
+
+    private static CompletableFuture<SendResult<String, JobTask>> acked() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static CompletableFuture<SendResult<String, JobTask>> rejected() {
+        return CompletableFuture.failedFuture(new IllegalStateException("broker unavailable"));
+    }
+}
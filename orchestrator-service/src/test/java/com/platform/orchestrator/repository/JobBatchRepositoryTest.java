@@ -0,0 +1,132 @@
+package com.platform.orchestrator.repository;
+
+import com.platform.common.model.JobStatus;
+import com.platform.orchestrator.dto.JobCompletion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobBatchRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private JobBatchRepository jobBatchRepository;
+
+    @Test
+    void applyCompletions_NoRetryCount_BindsNullSoStoredCountIsKept() throws Exception {
+        JobCompletion completion = completion(null);
+
+        List<PreparedStatement> statements = apply(completion);
+
+        PreparedStatement ps = statements.get(0);
+        verify(ps).setString(1, "FAILED");
+        verify(ps).setTimestamp(2, Timestamp.valueOf(NOW));
+        verify(ps).setTimestamp(5, Timestamp.valueOf(NOW.plusSeconds(30)));
+        verify(ps).setObject(6, 30000L, Types.BIGINT);
+        verify(ps).setObject(7, null, Types.INTEGER);
+        verify(ps).setObject(8, completion.getJobId());
+    }
+
+    @Test
+    void applyCompletions_WorkerRetryCount_BindsIt() throws Exception {
+        List<PreparedStatement> statements = apply(completion(2));
+
+        verify(statements.get(0)).setObject(7, 2, Types.INTEGER);
+    }
+
+    @Test
+    void applyCompletions_SeveralCompletions_BindsEachInOneBatch() throws Exception {
+        JobCompletion failed = completion(null);
+        JobCompletion completed = completion(null);
+        completed.setStatus(JobStatus.COMPLETED);
+        completed.setErrorMessage(null);
+        completed.setNextRetryAt(null);
+        completed.setRetryDelayMs(null);
+
+        List<PreparedStatement> statements = apply(failed, completed);
+
+        assertThat(statements).hasSize(2);
+        verify(statements.get(0)).setString(3, "worker-1");
+        verify(statements.get(0)).setString(4, "boom");
+        verify(statements.get(1)).setString(1, "COMPLETED");
+        verify(statements.get(1)).setTimestamp(5, null);
+        verify(statements.get(1)).setObject(6, null, Types.BIGINT);
+        verify(statements.get(1)).setObject(8, completed.getJobId());
+    }
+
+    @Test
+    void applyCompletions_Empty_SkipsDatabase() {
+        assertThat(jobBatchRepository.applyCompletions(List.of())).isEmpty();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PreparedStatement> apply(JobCompletion... completions) throws Exception {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        List<PreparedStatement> statements = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    Collection<JobCompletion> batch = invocation.getArgument(1);
+                    ParameterizedPreparedStatementSetter<JobCompletion> setter = invocation.getArgument(3);
+                    for (JobCompletion completion : batch) {
+                        PreparedStatement ps = mock(PreparedStatement.class);
+                        setter.setValues(ps, completion);
+                        statements.add(ps);
+                    }
+                    return new int[][]{new int[batch.size()]};
+                });
+
+        jobBatchRepository.applyCompletions(List.of(completions));
+
+        verify(jdbcTemplate).batchUpdate(sql.capture(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertThat(sql.getValue())
+                .contains("retry_count = COALESCE(?, retry_count)")
+                .contains("status NOT IN ('COMPLETED', 'DEAD_LETTER')");
+        return statements;
+    }
+
+    private static JobCompletion completion(Integer retryCount) {
+        return JobCompletion.builder()
+                .jobId(UUID.randomUUID())
+                .status(JobStatus.FAILED)
+                .completedAt(NOW)
+                .workerId("worker-1")
+                .errorMessage("boom")
+                .nextRetryAt(NOW.plusSeconds(30))
+                .retryDelayMs(30000L)
+                .retryCount(retryCount)
+                .build();
+    }
+}
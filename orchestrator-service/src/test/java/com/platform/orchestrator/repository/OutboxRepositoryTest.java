@@ -0,0 +1,124 @@
+package com.platform.orchestrator.repository;
+
+import com.platform.orchestrator.dto.OutboxMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRepositoryTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private JdbcOperations jdbcOperations;
+
+    @InjectMocks
+    private OutboxRepository outboxRepository;
+
+    @Test
+    void claimBatch_LimitAndLease_ClaimsUnleasedRowsWithSkipLocked() {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        when(jdbcTemplate.query(sql.capture(), params.capture(), any(RowMapper.class))).thenReturn(List.of());
+
+        outboxRepository.claimBatch(500, 60000);
+
+        assertThat(sql.getValue())
+                .startsWith("UPDATE job_outbox SET claimed_until = now() + :leaseMs")
+                .contains("WHERE claimed_until IS NULL OR claimed_until < now()")
+                .contains("FOR UPDATE SKIP LOCKED")
+                .contains("RETURNING id, job_id, topic, message_key, payload, attempts");
+        assertThat(params.getValue().getValue("limit")).isEqualTo(500);
+        assertThat(params.getValue().getValue("leaseMs")).isEqualTo(60000L);
+    }
+
+    @Test
+    void claimBatch_RowsReturnedOutOfOrder_SortsById() {
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(message(3L), message(1L), message(2L)));
+
+        List<OutboxMessage> claimed = outboxRepository.claimBatch(10, 1000);
+
+        assertThat(claimed).extracting(OutboxMessage::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void deleteByIds_PublishedRows_DeletesThem() {
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+
+        outboxRepository.deleteByIds(List.of(1L, 2L));
+
+        verify(jdbcTemplate).update(eq("DELETE FROM job_outbox WHERE id IN (:ids)"), params.capture());
+        assertThat(params.getValue().getValue("ids")).isEqualTo(List.of(1L, 2L));
+    }
+
+    @Test
+    void incrementAttempts_FailedRows_CountsAttemptAndReleasesClaim() {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+
+        outboxRepository.incrementAttempts(List.of(7L));
+
+        verify(jdbcTemplate).update(sql.capture(), params.capture());
+        assertThat(sql.getValue())
+                .contains("attempts = attempts + 1")
+                .contains("claimed_until = NULL")
+                .endsWith("WHERE id IN (:ids)");
+        assertThat(params.getValue().getValue("ids")).isEqualTo(List.of(7L));
+    }
+
+    @Test
+    void insertBatch_Messages_WritesOneJdbcBatch() {
+        when(jdbcTemplate.getJdbcOperations()).thenReturn(jdbcOperations);
+        OutboxMessage first = message(null);
+        OutboxMessage second = message(null);
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+
+        outboxRepository.insertBatch(List.of(first, second));
+
+        verify(jdbcOperations).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getValue()).hasSize(2);
+        assertThat(rows.getValue().get(0)).containsExactly(
+                first.getJobId(), first.getTopic(), first.getMessageKey(), first.getPayload());
+    }
+
+    @Test
+    void emptyCollections_NoStatementsRun() {
+        outboxRepository.insertBatch(List.of());
+        outboxRepository.deleteByIds(List.of());
+        outboxRepository.incrementAttempts(List.of());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static OutboxMessage message(Long id) {
+        UUID jobId = UUID.randomUUID();
+        return OutboxMessage.builder()
+                .id(id)
+                .jobId(jobId)
+                .topic("job-tasks")
+                .messageKey(jobId.toString())
+                .payload("{}")
+                .build();
+    }
+}
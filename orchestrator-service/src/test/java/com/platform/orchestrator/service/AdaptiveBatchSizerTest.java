@@ -0,0 +1,135 @@
+package com.platform.orchestrator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AdaptiveBatchSizerTest {
+
+    private static final int MIN_SIZE = 10;
+    private static final int MAX_SIZE = 2000;
+    private static final long TARGET_SEND_LATENCY_MS = 200;
+    private static final long MAX_WORKER_LAG = 5000;
+
+    @Mock
+    private ConsumerLagMonitor lagMonitor;
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @CsvSource({
+            // case,                           size, lag,  sendMs, failures, requested, dispatched, expected
+            "full fast batch grows by a quarter, 100,  0,    50,     0,        100,       100,        125",
+            "small batch grows by min size,      20,   0,    50,     0,        20,        20,         30",
+            "short batch holds,                  100,  0,    50,     0,        100,       40,         100",
+            "send near target holds,             100,  0,    150,    0,        100,       100,        100",
+            "slow send halves,                   100,  0,    300,    0,        100,       100,        50",
+            "failed send halves,                 100,  0,    50,     1,        100,       100,        50",
+            "slow send wins over worker lag,     100,  3000, 300,    0,        100,       100,        50",
+            "worker lag above half shrinks,      100,  3000, 50,     0,        100,       100,        75",
+            "worker lag at half still grows,     100,  2500, 50,     0,        100,       100,        125",
+            "growth clamped to max size,         1900, 0,    50,     0,        1900,      1900,       2000",
+            "at max size stays,                  2000, 0,    50,     0,        2000,      2000,       2000",
+            "halving clamped to min size,        15,   0,    300,    0,        15,        15,         10",
+            "worker lag clamped to min size,     10,   4000, 50,     0,        10,        10,         10",
+    })
+    void onBatchDispatched_Conditions_AdjustsBatchSize(String description, int size, long lag, long sendLatencyMs,
+                                                       int failures, int requested, int dispatched, int expected) {
+        AdaptiveBatchSizer sizer = sizer(size, MAX_WORKER_LAG);
+        when(lagMonitor.getLag()).thenReturn(lag);
+        sizer.onPublished(sendLatencyMs, failures);
+
+        sizer.onBatchDispatched(requested, dispatched, 1_000_000);
+
+        assertThat(sizer.currentBatchSize()).isEqualTo(expected);
+    }
+
+    @ParameterizedTest(name = "initial {0} -> {1}")
+    @CsvSource({
+            "100,   100",
+            "1,     10",
+            "50000, 2000",
+    })
+    void init_InitialSizeOutOfRange_ClampsToMinMax(int initialSize, int expected) {
+        assertThat(sizer(initialSize, MAX_WORKER_LAG).currentBatchSize()).isEqualTo(expected);
+    }
+
+    @ParameterizedTest(name = "lag {0}, max {1} -> saturated {2}")
+    @CsvSource({
+            "0,     5000, false",
+            "4999,  5000, false",
+            "5000,  5000, true",
+            "90000, 5000, true",
+            "90000, 0,    false",
+    })
+    void isSaturated_WorkerLag_ComparesAgainstLimit(long lag, long maxWorkerLag, boolean expected) {
+        AdaptiveBatchSizer sizer = sizer(100, maxWorkerLag);
+        when(lagMonitor.getLag()).thenReturn(lag);
+
+        assertThat(sizer.isSaturated()).isEqualTo(expected);
+    }
+
+    @Test
+    void onBatchDispatched_SteadyFastSends_GrowsToMaxAndStays() {
+        AdaptiveBatchSizer sizer = sizer(MIN_SIZE, MAX_WORKER_LAG);
+        when(lagMonitor.getLag()).thenReturn(0L);
+        sizer.onPublished(10, 0);
+
+        for (int i = 0; i < 50; i++) {
+            int size = sizer.currentBatchSize();
+            sizer.onBatchDispatched(size, size, 1_000_000);
+            assertThat(sizer.currentBatchSize()).isBetween(size, MAX_SIZE);
+        }
+
+        assertThat(sizer.currentBatchSize()).isEqualTo(MAX_SIZE);
+    }
+
+    @Test
+    void onBatchDispatched_SendsStaySlow_BacksOffToMinAndStays() {
+        AdaptiveBatchSizer sizer = sizer(MAX_SIZE, MAX_WORKER_LAG);
+        when(lagMonitor.getLag()).thenReturn(0L);
+        sizer.onPublished(1000, 0);
+
+        for (int i = 0; i < 20; i++) {
+            int size = sizer.currentBatchSize();
+            sizer.onBatchDispatched(size, size, 1_000_000);
+        }
+
+        assertThat(sizer.currentBatchSize()).isEqualTo(MIN_SIZE);
+    }
+
+    @Test
+    void onBatchDispatched_SendsRecover_GrowsAgain() {
+        AdaptiveBatchSizer sizer = sizer(100, MAX_WORKER_LAG);
+        when(lagMonitor.getLag()).thenReturn(0L);
+
+        sizer.onPublished(500, 0);
+        sizer.onBatchDispatched(100, 100, 1_000_000);
+        assertThat(sizer.currentBatchSize()).isEqualTo(50);
+
+        sizer.onPublished(20, 0);
+        sizer.onBatchDispatched(50, 50, 1_000_000);
+        assertThat(sizer.currentBatchSize()).isEqualTo(62);
+    }
+
+    private AdaptiveBatchSizer sizer(int initialSize, long maxWorkerLag) {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(lagMonitor, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(sizer, "initialSize", initialSize);
+        ReflectionTestUtils.setField(sizer, "minSize", MIN_SIZE);
+        ReflectionTestUtils.setField(sizer, "maxSize", MAX_SIZE);
+        ReflectionTestUtils.setField(sizer, "targetSendLatencyMs", TARGET_SEND_LATENCY_MS);
+        ReflectionTestUtils.setField(sizer, "maxWorkerLag", maxWorkerLag);
+        sizer.init();
+        return sizer;
+    }
+}
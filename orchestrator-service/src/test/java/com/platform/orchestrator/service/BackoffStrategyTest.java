@@ -0,0 +1,45 @@
+package com.platform.orchestrator.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BackoffStrategyTest {
+
+    private static final long BASE = 2_000;
+    private static final long CAP = 3_600_000;
+
+    @Test
+    void nextDelayMs_Exponential_DoublesUntilCap() {
+        RandomGenerator random = new SplittableRandom(1);
+
+        assertThat(BackoffStrategy.EXPONENTIAL.nextDelayMs(0, 0, BASE, CAP, random)).isEqualTo(2_000);
+        assertThat(BackoffStrategy.EXPONENTIAL.nextDelayMs(3, 0, BASE, CAP, random)).isEqualTo(16_000);
+        assertThat(BackoffStrategy.EXPONENTIAL.nextDelayMs(20, 0, BASE, CAP, random)).isEqualTo(CAP);
+        assertThat(BackoffStrategy.EXPONENTIAL.nextDelayMs(100, 0, BASE, CAP, random)).isEqualTo(CAP);
+    }
+
+    @Test
+    void nextDelayMs_FullJitter_StaysWithinExponentialDelay() {
+        RandomGenerator random = new SplittableRandom(2);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(BackoffStrategy.FULL_JITTER.nextDelayMs(3, 0, BASE, CAP, random)).isBetween(0L, 16_000L);
+        }
+    }
+
+    @Test
+    void nextDelayMs_DecorrelatedJitter_GrowsFromPreviousDelayWithinCap() {
+        RandomGenerator random = new SplittableRandom(3);
+
+        long previous = 0;
+        for (int retry = 0; retry < 50; retry++) {
+            long delay = BackoffStrategy.DECORRELATED_JITTER.nextDelayMs(retry, previous, BASE, CAP, random);
+            assertThat(delay).isBetween(BASE, Math.min(CAP, 3 * Math.max(previous, BASE)));
+            previous = delay;
+        }
+    }
+}
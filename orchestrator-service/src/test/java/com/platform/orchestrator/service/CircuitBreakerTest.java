@@ -0,0 +1,152 @@
+package com.platform.orchestrator.service;
+
+import com.platform.orchestrator.config.CircuitBreakerProperties.TypeBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private static final long START = 1_700_000_000_000L;
+    private static final UUID PROBE_1 = UUID.randomUUID();
+    private static final UUID PROBE_2 = UUID.randomUUID();
+
+    private final List<CircuitBreaker.State> transitions = new ArrayList<>();
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        TypeBreaker settings = new TypeBreaker();
+        settings.setWindowSize(10);
+        settings.setMinimumResults(4);
+        settings.setFailureRateThreshold(0.5);
+        settings.setOpenDuration(Duration.ofSeconds(30));
+        settings.setHalfOpenProbes(2);
+        breaker = new CircuitBreaker(settings, START, transitions::add);
+    }
+
+    @Test
+    void record_BelowMinimumResults_StaysClosed() {
+        record(false, false, false);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.permits(START)).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void record_FailureRateAtThreshold_OpensAndBlocksDispatch() {
+        record(true, false, true, false);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.permits(START + 29_999)).isZero();
+        assertThat(breaker.retryAfterMs(START + 20_000)).isEqualTo(10_000);
+    }
+
+    @Test
+    void record_WindowFull_DropsOldestResult() {
+        record(true, true, true, false);
+        assertThat(breaker.failureRate()).isEqualTo(0.25);
+
+        record(true, true, true, true, true, true, true, true, true, true);
+
+        assertThat(breaker.failureRate()).isZero();
+        assertThat(breaker.getWindowCount()).isEqualTo(10);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void record_ProbesSucceed_ClosesBreaker() {
+        record(false, false, false, false);
+
+        assertThat(breaker.permits(START + 30_000)).isEqualTo(2);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.onDispatched(List.of(PROBE_1, PROBE_2));
+        assertThat(breaker.permits(START + 30_000)).isZero();
+
+        breaker.record(PROBE_1, true, START + 31_000);
+        breaker.record(PROBE_2, true, START + 31_000);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getWindowCount()).isZero();
+        assertThat(transitions).containsExactly(
+            CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN, CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void record_ProbesFail_ReopensBreaker() {
+        record(false, false, false, false);
+        breaker.permits(START + 30_000);
+        breaker.onDispatched(List.of(PROBE_1, PROBE_2, UUID.randomUUID()));
+
+        breaker.record(PROBE_1, true, START + 31_000);
+        breaker.record(PROBE_2, false, START + 31_000);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void record_ResultOfJobDispatchedBeforeHalfOpen_IsIgnored() {
+        record(false, false, false, false);
+        breaker.permits(START + 30_000);
+        breaker.onDispatched(List.of(PROBE_1, PROBE_2));
+
+        // Late results of jobs that were running when the breaker opened
+        record(true, true, true);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        breaker.record(PROBE_1, false, START + 31_000);
+        breaker.record(PROBE_2, false, START + 31_000);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void record_ProbeOfEarlierRound_IsIgnored() {
+        record(false, false, false, false);
+        breaker.permits(START + 30_000);
+        breaker.onDispatched(List.of(PROBE_1, PROBE_2));
+        // Probes lost, a new round is handed out
+        breaker.permits(START + 60_000);
+        UUID probe3 = UUID.randomUUID();
+        breaker.onDispatched(List.of(probe3));
+
+        breaker.record(PROBE_1, true, START + 61_000);
+        breaker.record(PROBE_2, true, START + 61_000);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.permits(START + 61_000)).isEqualTo(1);
+    }
+
+    @Test
+    void permits_ProbeResultsLost_ReissuedAfterOpenDuration() {
+        record(false, false, false, false);
+        breaker.permits(START + 30_000);
+        breaker.onDispatched(List.of(PROBE_1, PROBE_2));
+
+        assertThat(breaker.permits(START + 59_999)).isZero();
+        assertThat(breaker.permits(START + 60_000)).isEqualTo(2);
+    }
+
+    @Test
+    void reset_OpenBreaker_Closes() {
+        record(false, false, false, false);
+
+        breaker.reset(START);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.permits(START)).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    private void record(boolean... successes) {
+        for (boolean success : successes) {
+            breaker.record(UUID.randomUUID(), success, START);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.platform.orchestrator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ConsumerLagMonitorTest {
+
+    @Mock
+    private KafkaAdmin kafkaAdmin;
+
+    @Mock
+    private AdminClient adminClient;
+
+    @Mock
+    private ListConsumerGroupOffsetsResult groupOffsets;
+
+    private ConsumerLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new ConsumerLagMonitor(kafkaAdmin, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(monitor, "jobTasksTopic", "job-tasks");
+        ReflectionTestUtils.setField(monitor, "highTasksTopic", "job-tasks-high");
+        ReflectionTestUtils.setField(monitor, "lowTasksTopic", "job-tasks-low");
+        ReflectionTestUtils.setField(monitor, "workerGroupId", "worker-group");
+        ReflectionTestUtils.setField(monitor, "timeoutMs", 1000L);
+        ReflectionTestUtils.setField(monitor, "adminClient", adminClient);
+
+        when(adminClient.listConsumerGroupOffsets(anyString())).thenReturn(groupOffsets);
+    }
+
+    /**
+     * Each row is "topic:partition:committed:latest" entries separated by spaces.
+     */
+    @ParameterizedTest(name = "[{index}] {0}")
+    @CsvSource({
+            "single partition behind,           job-tasks:0:100:150,                                   50",
+            "caught up,                         job-tasks:0:150:150,                                   0",
+            "all bands summed,                  job-tasks:0:10:20 job-tasks-high:0:0:5 job-tasks-low:0:7:10, 18",
+            "partitions of one topic summed,    job-tasks:0:10:20 job-tasks:1:30:60,                   40",
+            "non-task topic ignored,            job-tasks:0:10:20 job-results:0:0:1000,                10",
+            "committed ahead of latest clamped, job-tasks:0:200:150 job-tasks:1:0:5,                   5",
+    })
+    void refresh_CommittedAndLatestOffsets_SumsLagOverTaskTopics(String description, String partitions, long expected) {
+        Map<TopicPartition, OffsetAndMetadata> committed = new HashMap<>();
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> latest = new HashMap<>();
+        for (String entry : partitions.split(" ")) {
+            String[] parts = entry.split(":");
+            TopicPartition tp = new TopicPartition(parts[0], Integer.parseInt(parts[1]));
+            committed.put(tp, new OffsetAndMetadata(Long.parseLong(parts[2])));
+            latest.put(tp, new ListOffsetsResult.ListOffsetsResultInfo(Long.parseLong(parts[3]), 0L, Optional.empty()));
+        }
+        stubOffsets(committed, latest);
+
+        monitor.refresh();
+
+        assertThat(monitor.getLag()).isEqualTo(expected);
+    }
+
+    @Test
+    void refresh_OnlyNonTaskTopics_ReportsZeroWithoutListingOffsets() {
+        ReflectionTestUtils.setField(monitor, "lag", 42L);
+        TopicPartition results = new TopicPartition("job-results", 0);
+        when(groupOffsets.partitionsToOffsetAndMetadata())
+                .thenReturn(KafkaFuture.completedFuture(Map.of(results, new OffsetAndMetadata(5))));
+
+        monitor.refresh();
+
+        assertThat(monitor.getLag()).isZero();
+        verify(adminClient, never()).listOffsets(anyMap());
+    }
+
+    @Test
+    void refresh_OnlyTaskTopicsRequested_ListsLatestOffsetsForThoseOnly() {
+        TopicPartition tasks = new TopicPartition("job-tasks", 0);
+        TopicPartition results = new TopicPartition("job-results", 0);
+        stubOffsets(
+                Map.of(tasks, new OffsetAndMetadata(1), results, new OffsetAndMetadata(1)),
+                Map.of(tasks, new ListOffsetsResult.ListOffsetsResultInfo(3, 0L, Optional.empty())));
+
+        monitor.refresh();
+
+        verify(adminClient).listOffsets(argThat((Map<TopicPartition, OffsetSpec> request) ->
+                request.keySet().equals(Set.of(tasks))));
+    }
+
+    @Test
+    void refresh_AdminCallFails_KeepsPreviousLag() {
+        ReflectionTestUtils.setField(monitor, "lag", 42L);
+        KafkaFutureImpl<Map<TopicPartition, OffsetAndMetadata>> failed = new KafkaFutureImpl<>();
+        failed.completeExceptionally(new TimeoutException("coordinator not available"));
+        when(groupOffsets.partitionsToOffsetAndMetadata()).thenReturn(failed);
+
+        monitor.refresh();
+
+        assertThat(monitor.getLag()).isEqualTo(42L);
+    }
+
+    private void stubOffsets(Map<TopicPartition, OffsetAndMetadata> committed,
+                             Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> latest) {
+        when(groupOffsets.partitionsToOffsetAndMetadata()).thenReturn(KafkaFuture.completedFuture(committed));
+        // Like the real admin client, answer only for the partitions asked about
+        when(adminClient.listOffsets(anyMap())).thenAnswer(invocation -> {
+            Map<TopicPartition, OffsetSpec> request = invocation.getArgument(0);
+            Map<TopicPartition, KafkaFuture<ListOffsetsResult.ListOffsetsResultInfo>> answered = new HashMap<>();
+            request.keySet().forEach(tp -> answered.put(tp, KafkaFuture.completedFuture(latest.get(tp))));
+            return new ListOffsetsResult(answered);
+        });
+    }
+}
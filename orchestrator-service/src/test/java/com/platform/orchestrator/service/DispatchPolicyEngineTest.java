@@ -0,0 +1,110 @@
+package com.platform.orchestrator.service;
+
+import com.platform.orchestrator.config.DispatchPolicyProperties;
+import com.platform.orchestrator.config.DispatchPolicyProperties.TypePolicy;
+import com.platform.orchestrator.repository.JobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DispatchPolicyEngineTest {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private InFlightCounters inFlightCounters;
+
+    @Mock
+    private CircuitBreakers circuitBreakers;
+
+    private DispatchPolicyProperties properties;
+    private DispatchPolicyEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DispatchPolicyProperties();
+        engine = new DispatchPolicyEngine(properties, inFlightCounters, circuitBreakers, jobRepository,
+                new SimpleMeterRegistry());
+        lenient().when(circuitBreakers.permits(anyString())).thenReturn(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void plan_EqualWeights_SharesBatchEvenly() {
+        when(jobRepository.findPendingTypes()).thenReturn(List.of("REPORT", "EMAIL"));
+        engine.refreshPendingTypes();
+
+        Map<String, Integer> quotas = engine.plan(100);
+
+        assertThat(quotas).containsEntry("REPORT", 50).containsEntry("EMAIL", 50);
+        assertThat(engine.isThrottled()).isFalse();
+    }
+
+    @Test
+    void plan_Weighted_SplitsBatchByWeight() {
+        properties.getTypes().put("EMAIL", policy(3, null));
+        when(jobRepository.findPendingTypes()).thenReturn(List.of("REPORT", "EMAIL"));
+        engine.refreshPendingTypes();
+
+        Map<String, Integer> quotas = engine.plan(100);
+
+        assertThat(quotas).containsEntry("EMAIL", 75).containsEntry("REPORT", 25);
+    }
+
+    @Test
+    void plan_MaxInFlightReached_GivesSlotsToOtherTypes() {
+        properties.getTypes().put("REPORT", policy(null, 10));
+        when(inFlightCounters.get("REPORT")).thenReturn(6L);
+        when(jobRepository.findPendingTypes()).thenReturn(List.of("REPORT", "EMAIL"));
+        engine.refreshPendingTypes();
+
+        Map<String, Integer> quotas = engine.plan(100);
+
+        assertThat(quotas).containsEntry("REPORT", 4).containsEntry("EMAIL", 96);
+        assertThat(engine.isThrottled()).isTrue();
+    }
+
+    @Test
+    void onClaimed_ShortClaim_DropsTypeUntilRefresh() {
+        when(jobRepository.findPendingTypes()).thenReturn(List.of("REPORT", "EMAIL"));
+        engine.refreshPendingTypes();
+
+        Map<String, Integer> first = engine.plan(100);
+        engine.onClaimed("EMAIL", first.get("EMAIL"), 5);
+        engine.onClaimed("REPORT", first.get("REPORT"), first.get("REPORT"));
+
+        assertThat(engine.plan(100)).containsOnlyKeys("REPORT").containsEntry("REPORT", 100);
+        assertThat(engine.hasBacklog()).isTrue();
+    }
+
+    @Test
+    void plan_BreakerOpen_GivesSlotsToOtherTypes() {
+        when(circuitBreakers.permits("REPORT")).thenReturn(0);
+        when(jobRepository.findPendingTypes()).thenReturn(List.of("REPORT", "EMAIL"));
+        engine.refreshPendingTypes();
+
+        Map<String, Integer> quotas = engine.plan(100);
+
+        assertThat(quotas).containsOnlyKeys("EMAIL").containsEntry("EMAIL", 100);
+        assertThat(engine.isThrottled()).isTrue();
+    }
+
+    private static TypePolicy policy(Integer weight, Integer maxInFlight) {
+        TypePolicy policy = new TypePolicy();
+        policy.setWeight(weight);
+        policy.setMaxInFlight(maxInFlight);
+        return policy;
+    }
+}
@@ -0,0 +1,180 @@
+package com.platform.orchestrator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.common.model.Job;
+import com.platform.common.model.JobStatus;
+import com.platform.orchestrator.dto.OutboxMessage;
+import com.platform.orchestrator.messaging.OutboxRelay;
+import com.platform.orchestrator.repository.JobRepository;
+import com.platform.orchestrator.repository.OutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobDistributionServiceTest {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private OutboxRelay outboxRelay;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private JobStatusCounters statusCounters;
+
+    @Mock
+    private InFlightCounters inFlightCounters;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private JobDistributionService distributionService;
+
+    @Captor
+    private ArgumentCaptor<Collection<UUID>> idsCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<OutboxMessage>> messagesCaptor;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(distributionService, "jobTasksTopic", "job-tasks");
+        ReflectionTestUtils.setField(distributionService, "highTasksTopic", "job-tasks-high");
+        ReflectionTestUtils.setField(distributionService, "lowTasksTopic", "job-tasks-low");
+        ReflectionTestUtils.setField(distributionService, "highFrom", 7);
+        ReflectionTestUtils.setField(distributionService, "lowUpTo", 2);
+
+        // Stand-in for the surrounding @Transactional scope
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void distributeBatch_PendingJobs_QueuesAllWithOneUpdate() {
+        Job first = job(JobStatus.PENDING, 5);
+        Job second = job(JobStatus.PENDING, 5);
+        Job retried = job(JobStatus.RETRYING, 5);
+
+        int distributed = distributionService.distributeBatch(List.of(first, second, retried));
+
+        assertThat(distributed).isEqualTo(3);
+        verify(jobRepository, times(1)).updateStatus(idsCaptor.capture(), eq(JobStatus.QUEUED));
+        assertThat(idsCaptor.getValue()).containsExactlyInAnyOrder(first.getId(), second.getId(), retried.getId());
+        verify(jobRepository, never()).save(any());
+        verify(statusCounters).recordTransition(JobStatus.PENDING, JobStatus.QUEUED, 2L);
+        verify(statusCounters).recordTransition(JobStatus.RETRYING, JobStatus.QUEUED, 1L);
+        assertThat(List.of(first, second, retried)).allSatisfy(job ->
+                assertThat(job.getStatus()).isEqualTo(JobStatus.QUEUED));
+    }
+
+    @Test
+    void distributeBatch_JobsClaimedWithSkipLocked_SkipsStatusUpdate() {
+        Job claimed = job(JobStatus.QUEUED, 5);
+
+        distributionService.distributeBatch(List.of(claimed));
+
+        verify(jobRepository, never()).updateStatus(anyCollection(), any());
+        verify(statusCounters, never()).recordTransition(any(), any(), anyLong());
+        verify(outboxRepository).insertBatch(anyList());
+    }
+
+    @Test
+    void distributeBatch_MixedPriorities_WritesEachToItsBandTopic() {
+        Job high = job(JobStatus.PENDING, 9);
+        Job highEdge = job(JobStatus.PENDING, 7);
+        Job normal = job(JobStatus.PENDING, 5);
+        Job low = job(JobStatus.PENDING, 2);
+        Job lowest = job(JobStatus.PENDING, 0);
+
+        distributionService.distributeBatch(List.of(high, highEdge, normal, low, lowest));
+
+        verify(outboxRepository, times(1)).insertBatch(messagesCaptor.capture());
+        assertThat(messagesCaptor.getValue())
+                .extracting(OutboxMessage::getJobId, OutboxMessage::getTopic)
+                .containsExactly(
+                        tuple(high.getId(), "job-tasks-high"),
+                        tuple(highEdge.getId(), "job-tasks-high"),
+                        tuple(normal.getId(), "job-tasks"),
+                        tuple(low.getId(), "job-tasks-low"),
+                        tuple(lowest.getId(), "job-tasks-low"));
+        assertThat(messagesCaptor.getValue())
+                .allSatisfy(message -> assertThat(message.getMessageKey()).isEqualTo(message.getJobId().toString()));
+    }
+
+    @Test
+    void distributeBatch_BeforeCommit_DoesNotWakeRelay() {
+        distributionService.distributeBatch(List.of(job(JobStatus.PENDING, 5)));
+
+        verify(outboxRelay, never()).wakeUp();
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+    }
+
+    @Test
+    void distributeBatch_AfterCommit_WakesRelayOnce() {
+        distributionService.distributeBatch(List.of(job(JobStatus.PENDING, 5), job(JobStatus.PENDING, 1)));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(outboxRelay, times(1)).wakeUp();
+    }
+
+    @Test
+    void distributeBatch_RolledBack_DoesNotWakeRelay() {
+        distributionService.distributeBatch(List.of(job(JobStatus.PENDING, 5)));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(outboxRelay, never()).wakeUp();
+    }
+
+    @Test
+    void distributeBatch_EmptyBatch_WritesNothing() {
+        assertThat(distributionService.distributeBatch(List.of())).isZero();
+
+        verifyNoInteractions(jobRepository, outboxRepository, outboxRelay);
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+    }
+
+    private static Job job(JobStatus status, int priority) {
+        return Job.builder()
+                .id(UUID.randomUUID())
+                .name("job")
+                .type("EMAIL")
+                .status(status)
+                .priority(priority)
+                .build();
+    }
+}
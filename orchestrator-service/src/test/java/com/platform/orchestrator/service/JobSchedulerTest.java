@@ -0,0 +1,101 @@
+package com.platform.orchestrator.service;
+
+import com.platform.orchestrator.repository.JobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobSchedulerTest {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private JobDistributionService distributionService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private AdaptiveBatchSizer batchSizer;
+
+    @Mock
+    private JobStatusCounters statusCounters;
+
+    @Mock
+    private DispatchPolicyEngine policyEngine;
+
+    @Mock
+    private CircuitBreakers circuitBreakers;
+
+    @InjectMocks
+    private JobScheduler jobScheduler;
+
+    @AfterEach
+    void tearDown() {
+        jobScheduler.shutdown();
+    }
+
+    @Test
+    void requestDrain_CalledFromListener_ReturnsWithoutDraining() throws InterruptedException {
+        CountDownLatch drainStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Each drain pass checks saturation once and stops there
+        when(batchSizer.isSaturated()).thenAnswer(invocation -> {
+            drainStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+
+        jobScheduler.requestDrain();
+
+        assertThat(drainStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+        verify(batchSizer, timeout(1000).times(1)).isSaturated();
+    }
+
+    @Test
+    void requestDrain_BurstDuringDrain_CoalescesIntoOneMorePass() throws InterruptedException {
+        CountDownLatch drainStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchSizer.isSaturated()).thenAnswer(invocation -> {
+            drainStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+
+        jobScheduler.requestDrain();
+        assertThat(drainStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // A burst of notifications while the first pass is still running
+        for (int i = 0; i < 100; i++) {
+            jobScheduler.requestDrain();
+        }
+        release.countDown();
+
+        verify(batchSizer, timeout(1000).times(2)).isSaturated();
+        verify(batchSizer, after(200).times(2)).isSaturated();
+    }
+
+    @Test
+    void requestDrain_AfterDrainFinished_RunsAgain() {
+        when(batchSizer.isSaturated()).thenReturn(true);
+
+        jobScheduler.requestDrain();
+        verify(batchSizer, timeout(1000).times(1)).isSaturated();
+
+        jobScheduler.requestDrain();
+        verify(batchSizer, timeout(1000).times(2)).isSaturated();
+    }
+}
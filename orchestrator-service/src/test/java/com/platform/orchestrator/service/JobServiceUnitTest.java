@@ -30,6 +30,9 @@ class JobServiceUnitTest {
     @Mock
     private MetricsService metricsService;
 
+    @Mock
+    private JobStatusCounters statusCounters;
+
     @InjectMocks
     private JobService jobService;
 
@@ -76,6 +79,7 @@ class JobServiceUnitTest {
 
         verify(jobRepository).save(any(Job.class));
         verify(metricsService).recordJobSubmission("EMAIL");
+        verify(statusCounters).recordCreated(JobStatus.PENDING, 1);
     }
 
     @Test
@@ -111,14 +115,14 @@ class JobServiceUnitTest {
     }
 
     @Test
-    void getStatistics_ReturnsJobCountsByStatus() {
+    void getStatistics_ReturnsJobCountsFromStatusCounters() {
         // Given
-        when(jobRepository.count()).thenReturn(100L);
-        when(jobRepository.countByStatus(JobStatus.PENDING)).thenReturn(25L);
-        when(jobRepository.countByStatus(JobStatus.QUEUED)).thenReturn(10L);
-        when(jobRepository.countByStatus(JobStatus.RUNNING)).thenReturn(15L);
-        when(jobRepository.countByStatus(JobStatus.COMPLETED)).thenReturn(40L);
-        when(jobRepository.countByStatus(JobStatus.FAILED)).thenReturn(10L);
+        when(statusCounters.total()).thenReturn(100L);
+        when(statusCounters.get(JobStatus.PENDING)).thenReturn(25L);
+        when(statusCounters.get(JobStatus.QUEUED)).thenReturn(10L);
+        when(statusCounters.get(JobStatus.RUNNING)).thenReturn(15L);
+        when(statusCounters.get(JobStatus.COMPLETED)).thenReturn(40L);
+        when(statusCounters.get(JobStatus.FAILED)).thenReturn(10L);
 
         // When
         var stats = jobService.getStatistics();
@@ -132,11 +136,6 @@ class JobServiceUnitTest {
         assertThat(stats.get("completed")).isEqualTo(40L);
         assertThat(stats.get("failed")).isEqualTo(10L);
 
-        verify(jobRepository).count();
-        verify(jobRepository).countByStatus(JobStatus.PENDING);
-        verify(jobRepository).countByStatus(JobStatus.QUEUED);
-        verify(jobRepository).countByStatus(JobStatus.RUNNING);
-        verify(jobRepository).countByStatus(JobStatus.COMPLETED);
-        verify(jobRepository).countByStatus(JobStatus.FAILED);
+        verifyNoInteractions(jobRepository);
     }
 }
@@ -0,0 +1,135 @@
+package com.platform.orchestrator.service;
+
+import com.platform.common.model.JobStatus;
+import com.platform.orchestrator.dto.StatusCount;
+import com.platform.orchestrator.repository.JobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobStatusCountersTest {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @InjectMocks
+    private JobStatusCounters counters;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void recordTransition_NoTransaction_AppliesImmediately() {
+        counters.recordCreated(JobStatus.PENDING, 5);
+
+        counters.recordTransition(JobStatus.PENDING, JobStatus.QUEUED, 3);
+
+        assertThat(counters.get(JobStatus.PENDING)).isEqualTo(2);
+        assertThat(counters.get(JobStatus.QUEUED)).isEqualTo(3);
+        assertThat(counters.total()).isEqualTo(5);
+    }
+
+    @Test
+    void recordTransition_InsideTransaction_AppliesOnlyAfterCommit() {
+        counters.recordCreated(JobStatus.PENDING, 5);
+        TransactionSynchronizationManager.initSynchronization();
+
+        counters.recordTransition(JobStatus.PENDING, JobStatus.QUEUED, 3);
+        assertThat(counters.get(JobStatus.QUEUED)).isZero();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(counters.get(JobStatus.PENDING)).isEqualTo(2);
+        assertThat(counters.get(JobStatus.QUEUED)).isEqualTo(3);
+    }
+
+    @Test
+    void recordTransition_TransactionRolledBack_LeavesCountersAlone() {
+        counters.recordCreated(JobStatus.PENDING, 5);
+        TransactionSynchronizationManager.initSynchronization();
+
+        counters.recordTransition(JobStatus.PENDING, JobStatus.QUEUED, 3);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(counters.get(JobStatus.PENDING)).isEqualTo(5);
+        assertThat(counters.get(JobStatus.QUEUED)).isZero();
+    }
+
+    @Test
+    void get_CounterDriftedBelowZero_ReportsZero() {
+        counters.recordTransition(JobStatus.RUNNING, JobStatus.COMPLETED, 2);
+
+        assertThat(counters.get(JobStatus.RUNNING)).isZero();
+        assertThat(counters.get(JobStatus.COMPLETED)).isEqualTo(2);
+    }
+
+    @Test
+    void reconcile_CountersDrifted_MatchDatabase() {
+        counters.recordCreated(JobStatus.PENDING, 10);
+        counters.recordTransition(JobStatus.PENDING, JobStatus.RUNNING, 4);
+        when(jobRepository.countGroupByStatus()).thenReturn(List.of(
+                count(JobStatus.PENDING, 7),
+                count(JobStatus.COMPLETED, 20)));
+
+        counters.reconcile();
+
+        assertThat(counters.get(JobStatus.PENDING)).isEqualTo(7);
+        assertThat(counters.get(JobStatus.RUNNING)).isZero();
+        assertThat(counters.get(JobStatus.COMPLETED)).isEqualTo(20);
+        assertThat(counters.total()).isEqualTo(27);
+    }
+
+    @Test
+    void reconcile_TransitionAppliedDuringQuery_IsKept() {
+        counters.recordCreated(JobStatus.PENDING, 10);
+        // A dispatch commits while the GROUP BY runs; its rows are not in the query result
+        when(jobRepository.countGroupByStatus()).thenAnswer(invocation -> {
+            counters.recordTransition(JobStatus.PENDING, JobStatus.QUEUED, 3);
+            return List.of(count(JobStatus.PENDING, 10));
+        });
+
+        counters.reconcile();
+
+        assertThat(counters.get(JobStatus.PENDING)).isEqualTo(7);
+        assertThat(counters.get(JobStatus.QUEUED)).isEqualTo(3);
+    }
+
+    @Test
+    void reconcile_QueryFails_KeepsCounters() {
+        counters.recordCreated(JobStatus.PENDING, 4);
+        when(jobRepository.countGroupByStatus()).thenThrow(new IllegalStateException("connection refused"));
+
+        counters.reconcile();
+
+        assertThat(counters.get(JobStatus.PENDING)).isEqualTo(4);
+    }
+
+    private static StatusCount count(JobStatus status, long count) {
+        return new StatusCount() {
+            @Override
+            public JobStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.platform.orchestrator.service;
+
+import com.platform.orchestrator.config.RetryBackoffProperties;
+import com.platform.orchestrator.config.RetryBackoffProperties.TypeBackoff;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBackoffTest {
+
+    private final RetryBackoffProperties properties = new RetryBackoffProperties();
+    private final RetryBackoff retryBackoff = new RetryBackoff(properties);
+
+    @Test
+    void nextDelayMs_FirstFailure_StartsFromBase() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(retryBackoff.nextDelayMs("EMAIL", 0, null)).isBetween(2000L, 6000L);
+        }
+    }
+
+    @Test
+    void nextDelayMs_StoredPreviousDelay_JittersUpToThreeTimesIt() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(retryBackoff.nextDelayMs("EMAIL", 2, 10000L)).isBetween(2000L, 30000L);
+        }
+    }
+
+    @Test
+    void nextDelayMs_TypeOverride_UsesItsStrategy() {
+        TypeBackoff report = new TypeBackoff();
+        report.setStrategy(BackoffStrategy.EXPONENTIAL);
+        report.setBase(Duration.ofSeconds(1));
+        properties.setTypes(Map.of("REPORT", report));
+
+        // The stored delay only feeds decorrelated jitter
+        assertThat(retryBackoff.nextDelayMs("REPORT", 3, 999_999L)).isEqualTo(8000L);
+    }
+}
@@ -0,0 +1,307 @@
+package com.platform.orchestrator.service;
+
+import com.platform.common.model.Job;
+import com.platform.common.model.JobStatus;
+import com.platform.orchestrator.dto.JobSummary;
+import com.platform.orchestrator.repository.JobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RetryServiceTest {
+
+    private static final long SWEEP_GRACE_MS = 10000;
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private JobDistributionService distributionService;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private JobStatusCounters statusCounters;
+
+    @Mock
+    private RetryTimer retryTimer;
+
+    @Mock
+    private CircuitBreakers circuitBreakers;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private RetryService retryService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(retryService, "batchSize", 500);
+        ReflectionTestUtils.setField(retryService, "sweepGraceMs", SWEEP_GRACE_MS);
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doCallRealMethod().when(transactionTemplate).executeWithoutResult(any());
+        when(retryTimer.getTickMs()).thenReturn(10L);
+        when(circuitBreakers.heldBackTypes()).thenReturn(Set.of());
+        when(distributionService.distributeBatch(anyList())).thenAnswer(invocation ->
+                invocation.<List<Job>>getArgument(0).size());
+    }
+
+    @AfterEach
+    void tearDown() {
+        retryService.stop();
+    }
+
+    @Test
+    void start_RetryDueOnTimer_ClaimsAndDistributesIt() {
+        Job job = job("EMAIL");
+        fireOnFirstTick(job.getId());
+        when(jobRepository.claimRetries(List.of(job.getId()))).thenReturn(List.of(job));
+
+        retryService.start();
+
+        verify(distributionService, timeout(1000)).distributeBatch(List.of(job));
+        verify(retryTimer).rebuild();
+        verify(statusCounters).recordTransition(JobStatus.FAILED, JobStatus.RETRYING, 1);
+        verify(circuitBreakers).onDispatched(List.of(job));
+        verify(metricsService).recordJobRetry("EMAIL");
+    }
+
+    @Test
+    void start_RebuildFails_StillTicks() {
+        doThrow(new IllegalStateException("connection refused")).when(retryTimer).rebuild();
+
+        retryService.start();
+
+        verify(retryTimer, timeout(1000).atLeastOnce()).advance(anyLong(), any());
+    }
+
+    @Test
+    void retryDue_AlreadyRetriedElsewhere_DistributesNothing() {
+        UUID jobId = UUID.randomUUID();
+        when(jobRepository.claimRetries(List.of(jobId))).thenReturn(List.of());
+
+        int retried = retryService.retryDue(List.of(jobId));
+
+        assertThat(retried).isZero();
+        verifyNoInteractions(distributionService, statusCounters);
+    }
+
+    @Test
+    void retryDue_ClaimFails_ReschedulesOnTimer() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(jobRepository.claimRetries(any())).thenThrow(new IllegalStateException("connection refused"));
+        LocalDateTime before = LocalDateTime.now();
+
+        int retried = retryService.retryDue(List.of(first, second));
+
+        assertThat(retried).isZero();
+        ArgumentCaptor<LocalDateTime> retryAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(retryTimer).schedule(eq(first), retryAt.capture());
+        verify(retryTimer).schedule(second, retryAt.getValue());
+        assertThat(retryAt.getValue()).isAfter(before.plusSeconds(4));
+    }
+
+    @Test
+    void retryDue_BreakerOpenForType_DefersOnlyItsJobs() {
+        Job email = job("EMAIL");
+        UUID report1 = UUID.randomUUID();
+        UUID report2 = UUID.randomUUID();
+        holdBack("REPORT", 0, 30000);
+        when(jobRepository.findByIdIn(any())).thenReturn(List.of(
+                summary(email.getId(), "EMAIL"), summary(report1, "REPORT"), summary(report2, "REPORT")));
+        when(jobRepository.claimRetries(List.of(email.getId()))).thenReturn(List.of(email));
+        LocalDateTime before = LocalDateTime.now();
+
+        int retried = retryService.retryDue(List.of(email.getId(), report1, report2));
+
+        assertThat(retried).isEqualTo(1);
+        ArgumentCaptor<LocalDateTime> retryAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(jobRepository).deferRetries(eq(List.of(report1, report2)), retryAt.capture());
+        assertThat(retryAt.getValue()).isBetween(before.plusSeconds(30), LocalDateTime.now().plusSeconds(30));
+        verify(retryTimer).schedule(report1, retryAt.getValue());
+        verify(retryTimer).schedule(report2, retryAt.getValue());
+        verify(jobRepository).claimRetries(List.of(email.getId()));
+    }
+
+    @Test
+    void retryDue_BreakerHalfOpen_LetsProbesThroughAndDefersTheRest() {
+        Job probe = job("REPORT");
+        UUID held = UUID.randomUUID();
+        holdBack("REPORT", 1, 0);
+        when(jobRepository.findByIdIn(any())).thenReturn(List.of(
+                summary(probe.getId(), "REPORT"), summary(held, "REPORT")));
+        when(jobRepository.claimRetries(List.of(probe.getId()))).thenReturn(List.of(probe));
+        LocalDateTime before = LocalDateTime.now();
+
+        retryService.retryDue(List.of(probe.getId(), held));
+
+        // A breaker that may let jobs through any moment still defers by one tick
+        ArgumentCaptor<LocalDateTime> retryAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(jobRepository).deferRetries(eq(List.of(held)), retryAt.capture());
+        assertThat(retryAt.getValue()).isAfterOrEqualTo(before.plusNanos(10_000_000));
+        verify(distributionService).distributeBatch(List.of(probe));
+    }
+
+    @Test
+    void sweepOverdue_FullPages_RetriesUntilShortPage() {
+        ReflectionTestUtils.setField(retryService, "batchSize", 2);
+        Job a = job("EMAIL");
+        Job b = job("EMAIL");
+        Job c = job("EMAIL");
+        when(jobRepository.findOverdueRetries(any(), eq(2)))
+                .thenReturn(List.of(a.getId(), b.getId()))
+                .thenReturn(List.of(c.getId()));
+        when(jobRepository.claimRetries(List.of(a.getId(), b.getId()))).thenReturn(List.of(a, b));
+        when(jobRepository.claimRetries(List.of(c.getId()))).thenReturn(List.of(c));
+
+        retryService.sweepOverdue();
+
+        verify(jobRepository, times(2)).findOverdueRetries(any(), anyInt());
+        verify(distributionService).distributeBatch(List.of(a, b));
+        verify(distributionService).distributeBatch(List.of(c));
+    }
+
+    @Test
+    void sweepOverdue_OnlyRetriesOverdueByGracePeriod() {
+        when(jobRepository.findOverdueRetries(any(), anyInt())).thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now();
+
+        retryService.sweepOverdue();
+
+        ArgumentCaptor<LocalDateTime> overdueBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(jobRepository).findOverdueRetries(overdueBefore.capture(), eq(500));
+        assertThat(overdueBefore.getValue()).isBetween(
+                before.minusNanos(SWEEP_GRACE_MS * 1_000_000), LocalDateTime.now().minusNanos(SWEEP_GRACE_MS * 1_000_000));
+    }
+
+    @Test
+    void sweepOverdue_NothingClaimed_StopsPaging() {
+        ReflectionTestUtils.setField(retryService, "batchSize", 2);
+        when(jobRepository.findOverdueRetries(any(), anyInt()))
+                .thenReturn(List.of(UUID.randomUUID(), UUID.randomUUID()));
+        when(jobRepository.claimRetries(any())).thenReturn(List.of());
+
+        retryService.sweepOverdue();
+
+        verify(jobRepository, times(1)).findOverdueRetries(any(), anyInt());
+    }
+
+    @Test
+    void sweepOverdue_PageDeferredBehindBreaker_MovesOnToNextPage() {
+        ReflectionTestUtils.setField(retryService, "batchSize", 2);
+        UUID report1 = UUID.randomUUID();
+        UUID report2 = UUID.randomUUID();
+        Job email = job("EMAIL");
+        holdBack("REPORT", 0, 30000);
+        when(jobRepository.findOverdueRetries(any(), anyInt()))
+                .thenReturn(List.of(report1, report2))
+                .thenReturn(List.of(email.getId()));
+        when(jobRepository.findByIdIn(List.of(report1, report2)))
+                .thenReturn(List.of(summary(report1, "REPORT"), summary(report2, "REPORT")));
+        when(jobRepository.findByIdIn(List.of(email.getId())))
+                .thenReturn(List.of(summary(email.getId(), "EMAIL")));
+        when(jobRepository.claimRetries(List.of(email.getId()))).thenReturn(List.of(email));
+
+        retryService.sweepOverdue();
+
+        verify(jobRepository).deferRetries(eq(List.of(report1, report2)), any());
+        verify(distributionService).distributeBatch(List.of(email));
+        verify(jobRepository, never()).claimRetries(List.of(report1, report2));
+    }
+
+    /**
+     * Hand {@code jobId} to the ticker on its first advance, nothing after that.
+     */
+    private void fireOnFirstTick(UUID jobId) {
+        AtomicBoolean fired = new AtomicBoolean();
+        when(retryTimer.advance(anyLong(), any())).thenAnswer(invocation -> {
+            if (fired.compareAndSet(false, true)) {
+                invocation.<Consumer<UUID>>getArgument(1).accept(jobId);
+                return 1;
+            }
+            return 0;
+        });
+    }
+
+    private void holdBack(String type, int permits, long retryAfterMs) {
+        when(circuitBreakers.heldBackTypes()).thenReturn(Set.of(type));
+        when(circuitBreakers.permits(anyString())).thenReturn(Integer.MAX_VALUE);
+        when(circuitBreakers.permits(type)).thenReturn(permits);
+        when(circuitBreakers.retryAfterMs(type)).thenReturn(retryAfterMs);
+    }
+
+    private static Job job(String type) {
+        return Job.builder()
+                .id(UUID.randomUUID())
+                .type(type)
+                .status(JobStatus.RETRYING)
+                .retryCount(1)
+                .maxRetries(3)
+                .build();
+    }
+
+    private static JobSummary summary(UUID id, String type) {
+        return new JobSummary() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getType() {
+                return type;
+            }
+
+            @Override
+            public JobStatus getStatus() {
+                return JobStatus.FAILED;
+            }
+
+            @Override
+            public Integer getRetryCount() {
+                return 1;
+            }
+
+            @Override
+            public Integer getMaxRetries() {
+                return 3;
+            }
+
+            @Override
+            public Long getLastRetryDelayMs() {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,147 @@
+package com.platform.orchestrator.service;
+
+import com.platform.orchestrator.dto.ScheduledRetry;
+import com.platform.orchestrator.repository.JobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RetryTimerTest {
+
+    private static final long TICK_MS = 100;
+    private static final int WHEEL_SIZE = 512;
+
+    @Mock
+    private JobRepository jobRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RetryTimer retryTimer;
+
+    @BeforeEach
+    void setUp() {
+        retryTimer = new RetryTimer(jobRepository, meterRegistry);
+        ReflectionTestUtils.setField(retryTimer, "tickMs", TICK_MS);
+        ReflectionTestUtils.setField(retryTimer, "wheelSize", WHEEL_SIZE);
+        retryTimer.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rebuild_PendingRetries_LoadsOnlyWindowWithinWheelHorizon() {
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> until = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(jobRepository.findRetrySchedule(from.capture(), until.capture())).thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now();
+
+        retryTimer.rebuild();
+
+        assertThat(from.getValue()).isBetween(before, LocalDateTime.now());
+        assertThat(Duration.between(from.getValue(), until.getValue()))
+            .isEqualTo(Duration.ofMillis(TICK_MS * WHEEL_SIZE));
+    }
+
+    @Test
+    void rebuild_LoadedRetries_FireWhenDue() {
+        UUID soon = UUID.randomUUID();
+        UUID later = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        when(jobRepository.findRetrySchedule(any(), any())).thenReturn(
+            List.of(retry(soon, now.plusSeconds(1)), retry(later, now.plusSeconds(30))));
+
+        retryTimer.rebuild();
+
+        assertThat(meterRegistry.get("retry_timer_pending").gauge().value()).isEqualTo(2);
+        assertThat(fired(epochMilli(now.plusSeconds(2)))).containsExactly(soon);
+        assertThat(fired(epochMilli(now.plusSeconds(31)))).containsExactly(later);
+    }
+
+    @Test
+    void schedule_NoTransaction_SchedulesImmediately() {
+        UUID jobId = UUID.randomUUID();
+        LocalDateTime dueAt = LocalDateTime.now().plusSeconds(1);
+
+        retryTimer.schedule(jobId, dueAt);
+
+        assertThat(fired(epochMilli(dueAt) - TICK_MS)).isEmpty();
+        assertThat(fired(epochMilli(dueAt) + TICK_MS)).containsExactly(jobId);
+    }
+
+    @Test
+    void schedule_InsideTransaction_SchedulesOnlyAfterCommit() {
+        UUID jobId = UUID.randomUUID();
+        LocalDateTime dueAt = LocalDateTime.now();
+        TransactionSynchronizationManager.initSynchronization();
+
+        retryTimer.schedule(jobId, dueAt);
+        assertThat(fired(epochMilli(dueAt) + TICK_MS)).isEmpty();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(fired(epochMilli(dueAt) + 2 * TICK_MS)).containsExactly(jobId);
+    }
+
+    @Test
+    void schedule_TransactionRolledBack_SchedulesNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        retryTimer.schedule(UUID.randomUUID(), LocalDateTime.now());
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(fired(System.currentTimeMillis() + TICK_MS)).isEmpty();
+    }
+
+    @Test
+    void getHorizonMs_TickAndWheelSize_SpansOneRotation() {
+        assertThat(retryTimer.getHorizonMs()).isEqualTo(51_200L);
+    }
+
+    private List<UUID> fired(long nowMs) {
+        List<UUID> due = new ArrayList<>();
+        retryTimer.advance(nowMs, due::add);
+        return due;
+    }
+
+    private static long epochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static ScheduledRetry retry(UUID id, LocalDateTime nextRetryAt) {
+        return new ScheduledRetry() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getNextRetryAt() {
+                return nextRetryAt;
+            }
+        };
+    }
+}
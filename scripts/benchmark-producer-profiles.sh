@@ -0,0 +1,88 @@
+#!/bin/bash
+
+# Compares the per-topic Kafka producer profiles (see PERFORMANCE.md) against
+# the old untuned producer settings, using kafka-producer-perf-test inside the
+# docker-compose Kafka container.
+#
+# Usage: bash scripts/benchmark-producer-profiles.sh
+#   RECORDS=500000 THROUGHPUT=20000 bash scripts/benchmark-producer-profiles.sh
+#
+# THROUGHPUT=-1 (default) measures maximum throughput; set a fixed rate to
+# compare latency at a realistic load instead.
+
+KAFKA_CONTAINER=${KAFKA_CONTAINER:-orchestration-kafka}
+BOOTSTRAP=${BOOTSTRAP:-localhost:9092}
+RECORDS=${RECORDS:-200000}
+THROUGHPUT=${THROUGHPUT:--1}
+
+UNTUNED="acks=all enable.idempotence=true linger.ms=0 batch.size=16384 compression.type=none"
+TASKS="acks=all enable.idempotence=true linger.ms=1 batch.size=65536 compression.type=lz4"
+RESULTS="acks=all enable.idempotence=true linger.ms=20 batch.size=65536 compression.type=lz4"
+LOGS="acks=1 enable.idempotence=false linger.ms=100 batch.size=524288 compression.type=zstd"
+
+kafka() {
+    docker exec -i "$KAFKA_CONTAINER" "$@"
+}
+
+# Representative payloads, one record per line
+write_payloads() {
+    kafka sh -c 'cat > /tmp/bench-tasks.txt' <<'PAYLOAD'
+{"jobId":"0b6f3c2e-8a4d-4c1e-9f7a-2d5e8b1c3a90","type":"EMAIL","payload":"{\"to\":\"user@example.com\",\"subject\":\"Welcome\",\"template\":\"welcome-v2\"}","retryCount":0,"maxRetries":3}
+{"jobId":"5d2a9e71-3c4b-4f8d-a1e6-7b9c0d2f4e13","type":"REPORT","payload":"{\"reportType\":\"sales\",\"period\":\"2024-Q1\",\"format\":\"pdf\"}","retryCount":1,"maxRetries":3}
+{"jobId":"c8e4b1d7-6f2a-4a9c-8e3b-1d5f7a9c2e46","type":"DATA_SYNC","payload":"{\"source\":\"crm\",\"target\":\"warehouse\",\"batch\":500}","retryCount":0,"maxRetries":5}
+PAYLOAD
+
+    kafka sh -c 'cat > /tmp/bench-results.txt' <<'PAYLOAD'
+{"jobId":"0b6f3c2e-8a4d-4c1e-9f7a-2d5e8b1c3a90","status":"COMPLETED","startedAt":"2024-03-01T10:15:30.123","completedAt":"2024-03-01T10:15:31.456","workerId":"worker-1"}
+{"jobId":"5d2a9e71-3c4b-4f8d-a1e6-7b9c0d2f4e13","status":"FAILED","startedAt":"2024-03-01T10:15:30.789","completedAt":"2024-03-01T10:16:30.789","errorMessage":"Job timeout: report generation exceeded 60s","workerId":"worker-2"}
+PAYLOAD
+
+    kafka sh -c 'cat > /tmp/bench-logs.txt' <<'PAYLOAD'
+{"timestamp":"2024-03-01T10:15:30.123Z","jobId":"0b6f3c2e-8a4d-4c1e-9f7a-2d5e8b1c3a90","workerId":"worker-1","level":"INFO","message":"Job execution started","metadata":{},"serviceName":"worker-service","threadName":"lane-EMAIL-12"}
+{"timestamp":"2024-03-01T10:15:31.456Z","jobId":"0b6f3c2e-8a4d-4c1e-9f7a-2d5e8b1c3a90","workerId":"worker-1","level":"INFO","message":"Job completed successfully","metadata":{},"serviceName":"worker-service","threadName":"lane-EMAIL-12"}
+{"timestamp":"2024-03-01T10:16:30.789Z","jobId":"5d2a9e71-3c4b-4f8d-a1e6-7b9c0d2f4e13","workerId":"worker-2","level":"ERROR","message":"Job failed: Job timeout: report generation exceeded 60s","metadata":{},"serviceName":"worker-service","threadName":"lane-REPORT-3"}
+{"timestamp":"2024-03-01T10:15:32.001Z","jobId":"c8e4b1d7-6f2a-4a9c-8e3b-1d5f7a9c2e46","workerId":"worker-3","level":"INFO","message":"Job execution started","metadata":{},"serviceName":"worker-service","threadName":"lane-DATA_SYNC-40"}
+PAYLOAD
+}
+
+# Run one profile against a fresh topic and print throughput, latency and size on disk
+run() {
+    local name=$1
+    local payload=$2
+    local props=$3
+    local topic="bench.${name}"
+
+    kafka kafka-topics --bootstrap-server "$BOOTSTRAP" --delete --topic "$topic" >/dev/null 2>&1
+    kafka kafka-topics --bootstrap-server "$BOOTSTRAP" --create --topic "$topic" \
+        --partitions 3 --replication-factor 1 >/dev/null
+
+    local summary
+    summary=$(kafka kafka-producer-perf-test --topic "$topic" --num-records "$RECORDS" \
+        --throughput "$THROUGHPUT" --payload-file "$payload" \
+        --producer-props bootstrap.servers="$BOOTSTRAP" $props | tail -1)
+
+    sleep 2
+    local bytes
+    bytes=$(kafka kafka-log-dirs --bootstrap-server "$BOOTSTRAP" --describe --topic-list "$topic" \
+        | grep -o '"size":[0-9]*' | cut -d: -f2 | awk '{sum += $1} END {print sum + 0}')
+
+    printf "%-16s %s\n" "$name" "$summary"
+    printf "%-16s on-disk: %s bytes (%s bytes/record)\n\n" "" "$bytes" "$((bytes / RECORDS))"
+
+    kafka kafka-topics --bootstrap-server "$BOOTSTRAP" --delete --topic "$topic" >/dev/null 2>&1
+}
+
+echo "=== Kafka Producer Profile Benchmark: $RECORDS records per run, throughput=$THROUGHPUT ==="
+write_payloads
+
+echo -e "\n--- job.tasks (latency-optimized) ---"
+run tasks-untuned /tmp/bench-tasks.txt "$UNTUNED"
+run tasks /tmp/bench-tasks.txt "$TASKS"
+
+echo "--- job.results (batching) ---"
+run results-untuned /tmp/bench-results.txt "$UNTUNED"
+run results /tmp/bench-results.txt "$RESULTS"
+
+echo "--- job.logs (zstd, large linger) ---"
+run logs-untuned /tmp/bench-logs.txt "$UNTUNED"
+run logs /tmp/bench-logs.txt "$LOGS"
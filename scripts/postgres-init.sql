@@ -8,6 +8,22 @@
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
 CREATE EXTENSION IF NOT EXISTS "pg_stat_statements";
 
+-- Time-ordered UUIDv7 for rows inserted from SQL; the application mints its own
+-- (com.platform.common.id.UuidV7). A random v4 with the 48-bit Unix ms
+-- timestamp over its first 6 bytes and the version bits set to 7.
+CREATE OR REPLACE FUNCTION uuid_generate_v7()
+RETURNS UUID AS $$
+    SELECT encode(
+        set_bit(
+            set_bit(
+                overlay(uuid_send(gen_random_uuid())
+                        PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::BIGINT) FROM 3)
+                        FROM 1 FOR 6),
+                52, 1),
+            53, 1),
+        'hex')::UUID;
+$$ LANGUAGE SQL VOLATILE;
+
 -- =====================================================
 -- JOBS TABLE
 -- Stores all job information with ACID guarantees
@@ -15,7 +31,7 @@ CREATE EXTENSION IF NOT EXISTS "pg_stat_statements";
 
 CREATE TABLE IF NOT EXISTS jobs (
     -- Primary identifier
-    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v7(),
 
     -- Job metadata
     name VARCHAR(255) NOT NULL,
@@ -34,6 +50,9 @@ CREATE TABLE IF NOT EXISTS jobs (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
     started_at TIMESTAMP,
     completed_at TIMESTAMP,
+    next_retry_at TIMESTAMP,
+    last_retry_delay_ms BIGINT,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
 
     -- Error tracking
     error_message TEXT,
@@ -70,6 +89,11 @@ CREATE INDEX IF NOT EXISTS idx_jobs_priority_created
 ON jobs(priority DESC, created_at ASC)
 WHERE status IN ('PENDING', 'QUEUED');
 
+-- Per-type pending queues for fair-share dispatch
+CREATE INDEX IF NOT EXISTS idx_jobs_pending_type
+ON jobs(type, priority DESC, created_at ASC)
+WHERE status = 'PENDING';
+
 -- Index for worker assignment tracking
 CREATE INDEX IF NOT EXISTS idx_jobs_worker_id
 ON jobs(worker_id)
@@ -80,10 +104,34 @@ CREATE INDEX IF NOT EXISTS idx_jobs_failed_retry
 ON jobs(status, retry_count, max_retries)
 WHERE status = 'FAILED';
 
+-- Retry schedule: range scans for the retry timer rebuild and the overdue sweep
+CREATE INDEX IF NOT EXISTS idx_jobs_next_retry
+ON jobs(next_retry_at)
+WHERE status = 'FAILED' AND next_retry_at IS NOT NULL;
+
 -- GIN index for JSONB payload queries (enables fast JSON searches)
 CREATE INDEX IF NOT EXISTS idx_jobs_payload_gin
 ON jobs USING GIN (payload jsonb_path_ops);
 
+-- =====================================================
+-- JOB OUTBOX TABLE
+-- Kafka messages written in the same transaction as the job state change,
+-- published and deleted by the orchestrator outbox relay.
+-- claimed_until reserves a row for the relay publishing it, so no row lock is
+-- held while the relay waits on Kafka
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS job_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    job_id UUID NOT NULL,
+    topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255) NOT NULL,
+    payload JSONB NOT NULL,
+    attempts INTEGER DEFAULT 0 NOT NULL,
+    claimed_until TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
 -- =====================================================
 -- PERFORMANCE VIEWS
 -- =====================================================
@@ -192,6 +240,22 @@ BEFORE UPDATE ON jobs
 FOR EACH ROW
 EXECUTE FUNCTION validate_job_status_transition();
 
+-- Trigger to wake schedulers (LISTEN jobs_pending) when a job becomes PENDING
+-- The notification is delivered on commit and duplicates within a transaction are folded
+CREATE OR REPLACE FUNCTION notify_job_pending()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('jobs_pending', '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_notify_job_pending
+AFTER INSERT OR UPDATE OF status ON jobs
+FOR EACH ROW
+WHEN (NEW.status = 'PENDING')
+EXECUTE FUNCTION notify_job_pending();
+
 -- =====================================================
 -- SAMPLE DATA (for development/testing)
 -- =====================================================
@@ -208,7 +272,7 @@ EXECUTE FUNCTION validate_job_status_transition();
 
 -- Uncomment and modify if you need a specific application user
 -- CREATE USER orchestrator_app WITH PASSWORD 'secure_password';
--- GRANT SELECT, INSERT, UPDATE, DELETE ON jobs TO orchestrator_app;
+-- GRANT SELECT, INSERT, UPDATE, DELETE ON jobs, job_outbox TO orchestrator_app;
 -- GRANT USAGE, SELECT ON ALL SEQUENCES IN SCHEMA public TO orchestrator_app;
 
 -- =====================================================
@@ -258,6 +322,7 @@ ON CONFLICT DO NOTHING;
 -- =====================================================
 
 VACUUM ANALYZE jobs;
+VACUUM ANALYZE job_outbox;
 VACUUM ANALYZE users;
 
 -- =====================================================
@@ -269,10 +334,10 @@ BEGIN
     RAISE NOTICE '============================================';
     RAISE NOTICE 'PostgreSQL initialization completed!';
     RAISE NOTICE 'Database: orchestration_db';
-    RAISE NOTICE 'Tables created: jobs, users, user_roles';
+    RAISE NOTICE 'Tables created: jobs, job_outbox, users, user_roles';
     RAISE NOTICE 'Views created: 3';
-    RAISE NOTICE 'Functions created: 2';
-    RAISE NOTICE 'Triggers created: 1';
+    RAISE NOTICE 'Functions created: 5';
+    RAISE NOTICE 'Triggers created: 2';
     RAISE NOTICE 'Default admin user created: admin/admin123';
     RAISE NOTICE '============================================';
 END $$;
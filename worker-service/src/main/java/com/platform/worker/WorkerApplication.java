@@ -1,13 +1,17 @@
 package com.platform.worker;
 
+import com.platform.worker.config.ExecutionProperties;
+import com.platform.worker.config.RetryTopicProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableKafka
 @EnableScheduling
+@EnableConfigurationProperties({ExecutionProperties.class, RetryTopicProperties.class})
 public class WorkerApplication {
     public static void main(String[] args) {
         SpringApplication.run(WorkerApplication.class, args);
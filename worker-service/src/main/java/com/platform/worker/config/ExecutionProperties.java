@@ -0,0 +1,78 @@
+package com.platform.worker.config;
+
+import com.platform.worker.executor.ExecutionMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Job execution settings, bound from {@code worker.execution}.
+ * <p>
+ * {@code defaults} applies to every job type; entries under {@code types} override
+ * it field by field for a single type. Each configured type gets its own lane, so
+ * a burst of one type cannot starve the others.
+ */
+@Data
+@ConfigurationProperties(prefix = "worker.execution")
+public class ExecutionProperties {
+
+    private LaneSettings defaults = LaneSettings.builtIn();
+
+    private Map<String, LaneSettings> types = new HashMap<>();
+
+    /**
+     * Resolve the effective settings for a job type.
+     */
+    public LaneSettings forType(String type) {
+        LaneSettings override = types.get(type);
+        if (override == null) {
+            return defaults;
+        }
+
+        LaneSettings resolved = new LaneSettings();
+        resolved.setMode(override.getMode() != null ? override.getMode() : defaults.getMode());
+        resolved.setMaxConcurrency(override.getMaxConcurrency() != null
+            ? override.getMaxConcurrency() : defaults.getMaxConcurrency());
+        resolved.setQueueCapacity(override.getQueueCapacity() != null
+            ? override.getQueueCapacity() : defaults.getQueueCapacity());
+        resolved.setTimeout(override.getTimeout() != null ? override.getTimeout() : defaults.getTimeout());
+        return resolved;
+    }
+
+    @Data
+    public static class LaneSettings {
+
+        /**
+         * PLATFORM for CPU-heavy work, VIRTUAL for work that mostly waits on I/O.
+         */
+        private ExecutionMode mode;
+
+        /**
+         * Maximum number of jobs of this lane running at once.
+         */
+        private Integer maxConcurrency;
+
+        /**
+         * Jobs waiting for a thread (PLATFORM) or a concurrency permit (VIRTUAL)
+         * before new submissions are rejected and held back by the work queue.
+         */
+        private Integer queueCapacity;
+
+        /**
+         * Maximum run time of one job, measured from when it starts executing.
+         */
+        private Duration timeout;
+
+        static LaneSettings builtIn() {
+            LaneSettings settings = new LaneSettings();
+            settings.setMode(ExecutionMode.PLATFORM);
+            settings.setMaxConcurrency(Runtime.getRuntime().availableProcessors());
+            settings.setQueueCapacity(1000);
+            settings.setTimeout(Duration.ofMinutes(10));
+            return settings;
+        }
+    }
+}
@@ -1,15 +1,28 @@
 package com.platform.worker.config;
 
+import com.platform.common.wire.JobWireCodec;
+import com.platform.common.wire.LogEntryWireCodec;
+import com.platform.common.wire.WireCodecRegistry;
+import com.platform.common.wire.WireDeserializer;
+import com.platform.common.wire.WireSerializer;
+import com.platform.worker.consumer.OffsetCompletionTracker;
+import com.platform.worker.consumer.RetryConsumer;
+import com.platform.worker.producer.JobResultWireCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
@@ -19,14 +32,52 @@ import java.util.Map;
 
 @Configuration
 @EnableKafka
+@RequiredArgsConstructor
 public class KafkaConfig {
 
+    private final MeterRegistry meterRegistry;
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${worker.kafka.codec:json}")
+    private String codec;
+
+    @Value("${worker.queue.max-poll-records:50}")
+    private int maxPollRecords;
+
+    @Value("${worker.kafka.producers.results.compression-type:lz4}")
+    private String resultsCompressionType;
+
+    @Value("${worker.kafka.producers.results.linger-ms:20}")
+    private int resultsLingerMs;
+
+    @Value("${worker.kafka.producers.results.batch-size:65536}")
+    private int resultsBatchSize;
+
+    @Value("${worker.kafka.producers.logs.compression-type:zstd}")
+    private String logsCompressionType;
+
+    @Value("${worker.kafka.producers.logs.linger-ms:100}")
+    private int logsLingerMs;
+
+    @Value("${worker.kafka.producers.logs.batch-size:524288}")
+    private int logsBatchSize;
+
+    /**
+     * Codecs for the binary wire format. Tasks are read straight into a {@code Job}.
+     */
+    @Bean
+    public WireCodecRegistry wireCodecRegistry() {
+        return new WireCodecRegistry(new JobWireCodec(), new JobResultWireCodec(), new LogEntryWireCodec());
+    }
+
+    /**
+     * Consumers read both the wire format and JSON, so producers can switch in any order.
+     */
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -36,24 +87,49 @@ public class KafkaConfig {
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
         props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
         props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
         props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, "com.platform.common.model.Job");
 
-        return new DefaultKafkaConsumerFactory<>(props);
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
+                new WireDeserializer(wireCodecRegistry(), new JsonDeserializer<>()));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(
+            OffsetCompletionTracker completionTracker) {
+        return listenerContainerFactory(completionTracker);
     }
 
+    /**
+     * Same as the job listeners, with the retry consumer as rebalance listener
+     * so it also forgets the partitions it paused.
+     */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, Object> retryListenerContainerFactory(
+            RetryConsumer retryConsumer) {
+        return listenerContainerFactory(retryConsumer);
+    }
+
+    private ConcurrentKafkaListenerContainerFactory<String, Object> listenerContainerFactory(
+            ConsumerAwareRebalanceListener rebalanceListener) {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        // Jobs finish out of order on other threads; the tracker acks only contiguous offsets
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setConsumerRebalanceListener(rebalanceListener);
         factory.setConcurrency(3); // Number of concurrent consumers
         return factory;
     }
 
+    /**
+     * Producer for job results: batches the completions of concurrent jobs.
+     * Idempotent with acks=all, since a lost result leaves the job RUNNING.
+     */
     @Bean
+    @Primary
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> props = new HashMap<>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
@@ -62,12 +138,62 @@ public class KafkaConfig {
         props.put(ProducerConfig.ACKS_CONFIG, "all");
         props.put(ProducerConfig.RETRIES_CONFIG, 3);
         props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, resultsCompressionType);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, resultsLingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, resultsBatchSize);
 
-        return new DefaultKafkaProducerFactory<>(props);
+        return profiledProducerFactory("worker-results", props);
     }
 
     @Bean
+    @Primary
     public KafkaTemplate<String, Object> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
+
+    /**
+     * Producer for job logs: large compressed batches, no idempotence.
+     * A lost log is acceptable; a job thread waiting on Kafka is not.
+     */
+    @Bean
+    public ProducerFactory<String, Object> logProducerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        props.put(ProducerConfig.ACKS_CONFIG, "1");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, logsCompressionType);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, logsLingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, logsBatchSize);
+
+        return profiledProducerFactory("worker-logs", props);
+    }
+
+    @Bean
+    public KafkaTemplate<String, Object> logKafkaTemplate() {
+        return new KafkaTemplate<>(logProducerFactory());
+    }
+
+    /**
+     * Producer factory whose client id names the profile, so each profile's
+     * kafka_producer_* metrics can be told apart by their client_id tag.
+     */
+    private ProducerFactory<String, Object> profiledProducerFactory(String profile, Map<String, Object> props) {
+        props.put(ProducerConfig.CLIENT_ID_CONFIG, profile);
+        DefaultKafkaProducerFactory<String, Object> factory =
+                new DefaultKafkaProducerFactory<>(props, new StringSerializer(), valueSerializer());
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
+    }
+
+    /**
+     * JSON unless {@code worker.kafka.codec} is {@code wire}.
+     */
+    private Serializer<Object> valueSerializer() {
+        if ("wire".equalsIgnoreCase(codec)) {
+            return new WireSerializer(wireCodecRegistry(), new JsonSerializer<>());
+        }
+        return new JsonSerializer<>();
+    }
 }
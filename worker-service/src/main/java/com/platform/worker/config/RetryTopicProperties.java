@@ -0,0 +1,66 @@
+package com.platform.worker.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kafka retry tiers, bound from {@code worker.retry}.
+ * <p>
+ * A failed job with retries left is republished to the tier of its attempt and
+ * consumed again once the tier's delay has passed; attempts beyond the last
+ * tier reuse it. Jobs out of retries go to the dead-letter topic.
+ */
+@Data
+@ConfigurationProperties(prefix = "worker.retry")
+public class RetryTopicProperties {
+
+    /**
+     * When false, failures are reported to the orchestrator, which retries them itself.
+     * Off by default: tier retries do not see the orchestrator's circuit breakers.
+     */
+    private boolean enabled = false;
+
+    private List<Tier> tiers = builtInTiers();
+
+    /**
+     * Tier for a retry attempt, starting at 1.
+     */
+    public Tier tierFor(int attempt) {
+        return tiers.get(Math.min(Math.max(attempt, 1), tiers.size()) - 1);
+    }
+
+    /**
+     * Names of all tier topics.
+     */
+    public List<String> topics() {
+        return tiers.stream().map(Tier::getTopic).toList();
+    }
+
+    private static List<Tier> builtInTiers() {
+        List<Tier> tiers = new ArrayList<>();
+        tiers.add(new Tier("job.tasks.retry.1s", Duration.ofSeconds(1)));
+        tiers.add(new Tier("job.tasks.retry.10s", Duration.ofSeconds(10)));
+        tiers.add(new Tier("job.tasks.retry.1m", Duration.ofMinutes(1)));
+        tiers.add(new Tier("job.tasks.retry.10m", Duration.ofMinutes(10)));
+        return tiers;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Tier {
+
+        private String topic;
+
+        /**
+         * How long a record waits in this topic before it is consumed.
+         */
+        private Duration delay;
+    }
+}
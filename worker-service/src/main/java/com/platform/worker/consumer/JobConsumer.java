@@ -1,14 +1,14 @@
 package com.platform.worker.consumer;
 
 import com.platform.common.model.Job;
-import com.platform.worker.dto.JobResult;
-import com.platform.worker.executor.JobExecutor;
-import com.platform.worker.producer.ResultProducer;
-import com.platform.worker.service.LockService;
+import com.platform.common.model.PriorityBand;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -16,42 +16,65 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class JobConsumer {
 
-    private final JobExecutor jobExecutor;
-    private final ResultProducer resultProducer;
-    private final LockService lockService;
+    private final JobWorkQueue workQueue;
 
+    /**
+     * Hand received high priority jobs to the local work queue.
+     * The record is acknowledged by the queue once the job has finished.
+     */
     @KafkaListener(
+        id = JobWorkQueue.HIGH_LISTENER_ID,
+        topics = "${worker.kafka.topics.job-tasks-high}",
+        groupId = "worker-group",
+        concurrency = "3"
+    )
+    public void consumeHighPriorityJob(Job job,
+                                       @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                                       @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                                       @Header(KafkaHeaders.OFFSET) long offset,
+                                       Acknowledgment acknowledgment) {
+        submit(job, PriorityBand.HIGH, topic, partition, offset, acknowledgment);
+    }
+
+    /**
+     * Hand received normal priority jobs to the local work queue.
+     */
+    @KafkaListener(
+        id = JobWorkQueue.LISTENER_ID,
         topics = "${worker.kafka.topics.job-tasks}",
         groupId = "worker-group",
         concurrency = "3"
     )
-    public void consumeJob(Job job, Acknowledgment acknowledgment) {
-        log.info("Received job: id={}, type={}, priority={}",
-            job.getId(), job.getType(), job.getPriority());
-
-        // Try to acquire lock
-        if (!lockService.acquireLock(job.getId())) {
-            log.warn("Job already being processed: id={}", job.getId());
-            acknowledgment.acknowledge();
-            return;
-        }
-
-        try {
-            // Execute job
-            JobResult result = jobExecutor.execute(job);
-
-            // Send result back to orchestrator
-            resultProducer.sendResult(result);
-
-            // Acknowledge Kafka message
-            acknowledgment.acknowledge();
-
-        } catch (Exception e) {
-            log.error("Error processing job: id={}", job.getId(), e);
-            acknowledgment.acknowledge();
-        } finally {
-            // Release lock
-            lockService.releaseLock(job.getId());
-        }
+    public void consumeJob(Job job,
+                           @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                           @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                           @Header(KafkaHeaders.OFFSET) long offset,
+                           Acknowledgment acknowledgment) {
+        submit(job, PriorityBand.NORMAL, topic, partition, offset, acknowledgment);
+    }
+
+    /**
+     * Hand received low priority jobs to the local work queue.
+     */
+    @KafkaListener(
+        id = JobWorkQueue.LOW_LISTENER_ID,
+        topics = "${worker.kafka.topics.job-tasks-low}",
+        groupId = "worker-group",
+        concurrency = "3"
+    )
+    public void consumeLowPriorityJob(Job job,
+                                      @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                                      @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                                      @Header(KafkaHeaders.OFFSET) long offset,
+                                      Acknowledgment acknowledgment) {
+        submit(job, PriorityBand.LOW, topic, partition, offset, acknowledgment);
+    }
+
+    private void submit(Job job, PriorityBand band, String topic, int partition, long offset,
+                        Acknowledgment acknowledgment) {
+        log.info("Received job: id={}, type={}, priority={}, band={}",
+            job.getId(), job.getType(), job.getPriority(), band);
+
+        workQueue.submit(job, band, new TopicPartition(topic, partition), offset, acknowledgment);
     }
 }
@@ -0,0 +1,417 @@
+package com.platform.worker.consumer;
+
+import com.platform.common.model.Job;
+import com.platform.common.model.JobAttempt;
+import com.platform.common.model.JobStatus;
+import com.platform.common.model.PriorityBand;
+import com.platform.worker.consumer.OffsetCompletionTracker.Registration;
+import com.platform.worker.dto.JobResult;
+import com.platform.worker.executor.JobExecutor;
+import com.platform.worker.producer.ResultProducer;
+import com.platform.worker.producer.RetryProducer;
+import com.platform.worker.service.LockService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local buffer between the Kafka listeners and the execution lanes.
+ * <p>
+ * Each priority band has its own listener and queue. The listeners only
+ * enqueue and return, so polling never waits on a job. A single dispatcher
+ * thread starts queued jobs while fewer than {@code worker.queue.max-in-flight}
+ * are running, choosing the band by smooth weighted round robin
+ * ({@code worker.queue.weights}): while every band has work, HIGH gets most of
+ * the free slots but NORMAL and LOW still get their share. The round robin only
+ * orders the hand-off, so {@code worker.queue.high-reserved} of the slots are
+ * kept for HIGH jobs: NORMAL and LOW never fill them, and a HIGH job does not
+ * wait for a long LOW job to finish. When a band's queue
+ * reaches its capacity only that band's listener is paused, so a LOW backlog
+ * never stops HIGH jobs from being fetched; it is resumed once the queue has
+ * drained below half. Retries of every band arrive through one
+ * {@link RetryConsumer} listener, which is paused when a retry lands in a full
+ * queue and resumed once all queues have drained below half. Offsets are committed through
+ * {@link OffsetCompletionTracker} as jobs finish, in whatever order that is;
+ * queued jobs of a revoked partition are dropped.
+ * A job whose execution lane is full is held back and queued again after
+ * {@code worker.queue.rejection-backoff}, with its offset still uncommitted.
+ * Failed jobs with retries left go to the Kafka retry tiers ({@link RetryProducer})
+ * and come back through {@link RetryConsumer}. Only the final outcome is
+ * reported to the orchestrator as a result; each failed attempt in between is
+ * sent as a {@link JobAttempt}, which feeds its circuit breakers without a
+ * database write.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class JobWorkQueue {
+
+    public static final String HIGH_LISTENER_ID = "job-consumer-high";
+    public static final String LISTENER_ID = "job-consumer";
+    public static final String LOW_LISTENER_ID = "job-consumer-low";
+
+    private final JobExecutor jobExecutor;
+    private final ResultProducer resultProducer;
+    private final RetryProducer retryProducer;
+    private final LockService lockService;
+    private final OffsetCompletionTracker completionTracker;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${worker.queue.capacity:500}")
+    private int capacity;
+
+    @Value("${worker.queue.max-in-flight:300}")
+    private int maxInFlight;
+
+    @Value("${worker.queue.rejection-backoff:100}")
+    private long rejectionBackoffMs;
+
+    @Value("${worker.queue.high-reserved:30}")
+    private int highReserved;
+
+    @Value("${worker.queue.weights.high:8}")
+    private int highWeight;
+
+    @Value("${worker.queue.weights.normal:3}")
+    private int normalWeight;
+
+    @Value("${worker.queue.weights.low:1}")
+    private int lowWeight;
+
+    private final Map<PriorityBand, Lane> lanes = new EnumMap<>(PriorityBand.class);
+
+    // Jobs queued across all bands; the dispatcher takes one permit per job
+    private final Semaphore queued = new Semaphore(0);
+    // Released when a slot is freed or a job is queued, for a dispatcher waiting on a band with no free slot
+    private final Semaphore wakeup = new Semaphore(0);
+    private Semaphore inFlight;
+    // Slots NORMAL and LOW jobs may take; the rest of max-in-flight is kept for HIGH
+    private Semaphore shared;
+    private Thread dispatcher;
+    private volatile boolean running = true;
+
+    private final ScheduledExecutorService requeuer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "job-requeuer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void start() {
+        inFlight = new Semaphore(maxInFlight);
+        shared = new Semaphore(maxInFlight - Math.min(Math.max(0, highReserved), maxInFlight - 1));
+        lanes.put(PriorityBand.HIGH, new Lane(PriorityBand.HIGH, HIGH_LISTENER_ID, highWeight));
+        lanes.put(PriorityBand.NORMAL, new Lane(PriorityBand.NORMAL, LISTENER_ID, normalWeight));
+        lanes.put(PriorityBand.LOW, new Lane(PriorityBand.LOW, LOW_LISTENER_ID, lowWeight));
+        for (Lane lane : lanes.values()) {
+            Gauge.builder("worker_queue_size", lane.size, AtomicInteger::get)
+                .tag("band", lane.band.name().toLowerCase())
+                .register(meterRegistry);
+        }
+        meterRegistry.gauge("worker_jobs_in_flight", this, q -> maxInFlight - q.inFlight.availablePermits());
+
+        dispatcher = new Thread(this::dispatchLoop, "job-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        dispatcher.interrupt();
+        requeuer.shutdownNow();
+    }
+
+    /**
+     * Accept a record from a band's listener. Never blocks.
+     */
+    public void submit(Job job, PriorityBand band, TopicPartition partition, long offset,
+                       Acknowledgment acknowledgment) {
+        submit(job, band, 0, partition, offset, acknowledgment);
+    }
+
+    /**
+     * Accept a record, with the number of retries already made through the Kafka retry tiers.
+     */
+    public void submit(Job job, PriorityBand band, int attempt, TopicPartition partition, long offset,
+                       Acknowledgment acknowledgment) {
+        Registration registration = completionTracker.register(partition, offset, acknowledgment);
+        enqueue(new WorkItem(job, band, attempt, partition, offset, registration));
+    }
+
+    private void enqueue(WorkItem item) {
+        Lane lane = lanes.get(item.band());
+        // Not bounded itself: records already fetched when the container pauses must still fit
+        lane.items.add(item);
+        int size = lane.size.incrementAndGet();
+        queued.release();
+        wakeup.release();
+
+        if (size >= capacity) {
+            pause(lane.listenerId, item.band(), size);
+            if (item.attempt() > 0) {
+                pause(RetryConsumer.LISTENER_ID, item.band(), size);
+            }
+        }
+    }
+
+    private void pause(String listenerId, PriorityBand band, int size) {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+        if (container != null && !container.isPauseRequested()) {
+            log.info("Work queue full, pausing consumption: listener={}, band={}, queueSize={}, inFlight={}",
+                listenerId, band, size, maxInFlight - inFlight.availablePermits());
+            container.pause();
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                queued.acquire();
+                wakeup.drainPermits();
+                Lane lane;
+                while ((lane = nextLane()) == null) {
+                    // Only bands without a free slot have work
+                    wakeup.acquire();
+                }
+
+                // Never blocks: only the dispatcher takes slots
+                inFlight.acquire();
+                if (lane.band != PriorityBand.HIGH) {
+                    shared.acquire();
+                }
+                WorkItem item = lane.items.poll();
+                int size = lane.size.decrementAndGet();
+
+                resumeIfDrained(lane, size);
+                process(item);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Error in job dispatcher", e);
+            }
+        }
+        log.info("Job dispatcher stopped: queued={}", queued.availablePermits());
+    }
+
+    private void process(WorkItem item) {
+        Job job = item.job();
+
+        if (item.registration().isRevoked()) {
+            // The partition moved to another consumer, which runs the job instead
+            log.debug("Dropping job of revoked partition: id={}, partition={}", job.getId(), item.partition());
+            releaseSlot(item);
+            return;
+        }
+
+        // The lock is taken on the execution thread, so a slow Redis round trip
+        // holds up only this job and never the dispatcher
+        AtomicBoolean locked = new AtomicBoolean();
+        jobExecutor.executeAsync(job, () -> {
+                locked.set(acquireLock(job));
+                return locked.get();
+            })
+            .thenCompose(result -> result != null
+                ? report(item, result)
+                : CompletableFuture.<Void>completedFuture(null))
+            .whenComplete((ignored, error) -> {
+                if (JobExecutor.isRejected(error)) {
+                    holdBack(item);
+                    return;
+                }
+                if (error != null) {
+                    log.error("Error processing job: id={}", job.getId(), error);
+                }
+                finish(item, locked.get());
+            });
+    }
+
+    private boolean acquireLock(Job job) {
+        try {
+            if (lockService.acquireLock(job.getId())) {
+                return true;
+            }
+            log.warn("Job already being processed: id={}", job.getId());
+        } catch (Exception e) {
+            log.error("Error processing job: id={}", job.getId(), e);
+        }
+        return false;
+    }
+
+    /**
+     * Send the final outcome to the orchestrator: COMPLETED, DEAD_LETTER, or
+     * FAILED when it retries the job itself. A failure retried through the
+     * Kafka retry tiers is not an outcome: the job row stays as it is and only
+     * a {@link JobAttempt} goes out, for the circuit breakers. The returned
+     * future completes once a retry or dead-letter record is on the broker, so
+     * the source offset is never committed before it.
+     */
+    private CompletableFuture<Void> report(WorkItem item, JobResult result) {
+        result.setRetryCount(item.job().getRetryCount() + item.attempt());
+        if (result.getStatus() != JobStatus.FAILED || !retryProducer.isEnabled()) {
+            resultProducer.sendResult(result);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return retryProducer.retryOrDeadLetter(item.job(), item.band(), item.attempt(),
+                item.partition(), item.offset(), result)
+            .handle((status, error) -> {
+                if (error != null) {
+                    // Leave the retry to the orchestrator
+                    log.error("Failed to publish job retry, reporting failure: id={}", item.job().getId(), error);
+                    resultProducer.sendResult(result);
+                } else if (status == JobStatus.RETRYING) {
+                    resultProducer.sendFailedAttempt(JobAttempt.builder()
+                        .jobId(item.job().getId())
+                        .type(item.job().getType())
+                        .workerId(result.getWorkerId())
+                        .retryCount(result.getRetryCount() + 1)
+                        .errorMessage(result.getErrorMessage())
+                        .build());
+                } else {
+                    result.setStatus(status);
+                    resultProducer.sendResult(result);
+                }
+                return null;
+            });
+    }
+
+    private void finish(WorkItem item, boolean releaseLock) {
+        if (releaseLock) {
+            releaseLock(item);
+        }
+        completionTracker.complete(item.registration());
+        releaseSlot(item);
+    }
+
+    private void releaseSlot(WorkItem item) {
+        if (item.band() != PriorityBand.HIGH) {
+            shared.release();
+        }
+        inFlight.release();
+        wakeup.release();
+    }
+
+    /**
+     * The job's execution lane is full. Give its slot back and queue it again
+     * after a pause, so the dispatcher does not spin on it; if the lane stays
+     * full the band's queue grows until its listener is paused. The job never
+     * started, so it holds no lock.
+     */
+    private void holdBack(WorkItem item) {
+        releaseSlot(item);
+        meterRegistry.counter("worker_jobs_held_back", "type", item.job().getType()).increment();
+        log.debug("Execution lane full, holding job back: id={}, type={}, backoffMs={}",
+            item.job().getId(), item.job().getType(), rejectionBackoffMs);
+
+        try {
+            requeuer.schedule(() -> enqueue(item), rejectionBackoffMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the uncommitted record is redelivered
+            log.debug("Dropping held back job on shutdown: id={}", item.job().getId());
+        }
+    }
+
+    private void releaseLock(WorkItem item) {
+        try {
+            lockService.releaseLock(item.job().getId());
+        } catch (Exception e) {
+            log.warn("Failed to release job lock: id={}", item.job().getId(), e);
+        }
+    }
+
+    /**
+     * Smooth weighted round robin over the bands that have queued jobs and a
+     * free slot, or null if there is none. Only called by the dispatcher.
+     */
+    private Lane nextLane() {
+        Lane selected = null;
+        int totalWeight = 0;
+        for (Lane lane : lanes.values()) {
+            if (lane.size.get() == 0 || !hasFreeSlot(lane.band)) {
+                continue;
+            }
+            lane.currentWeight += lane.weight;
+            totalWeight += lane.weight;
+            if (selected == null || lane.currentWeight > selected.currentWeight) {
+                selected = lane;
+            }
+        }
+        if (selected != null) {
+            selected.currentWeight -= totalWeight;
+        }
+        return selected;
+    }
+
+    private boolean hasFreeSlot(PriorityBand band) {
+        return inFlight.availablePermits() > 0 && (band == PriorityBand.HIGH || shared.availablePermits() > 0);
+    }
+
+    private void resumeIfDrained(Lane lane, int size) {
+        if (size > capacity / 2) {
+            return;
+        }
+        resume(lane.listenerId, lane.band, size);
+        if (lanes.values().stream().allMatch(other -> other.size.get() <= capacity / 2)) {
+            resume(RetryConsumer.LISTENER_ID, lane.band, size);
+        }
+    }
+
+    private void resume(String listenerId, PriorityBand band, int size) {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+        if (container != null && container.isPauseRequested()) {
+            log.info("Work queue drained, resuming consumption: listener={}, band={}, queueSize={}",
+                listenerId, band, size);
+            container.resume();
+        }
+    }
+
+    private record WorkItem(Job job, PriorityBand band, int attempt, TopicPartition partition, long offset,
+                            Registration registration) {
+    }
+
+    /**
+     * Queue and round robin state of one priority band.
+     */
+    private static final class Lane {
+
+        private final PriorityBand band;
+        private final String listenerId;
+        private final int weight;
+        private final Queue<WorkItem> items = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        // Dispatcher thread only
+        private int currentWeight;
+
+        private Lane(PriorityBand band, String listenerId, int weight) {
+            this.band = band;
+            this.listenerId = listenerId;
+            this.weight = Math.max(1, weight);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.platform.worker.consumer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks job records that complete out of order and acknowledges them in order.
+ * <p>
+ * Records are registered in offset order as the listener receives them. When a
+ * record completes, the partition's offset is only advanced up to the lowest
+ * record that is still running, by acknowledging the last record of the
+ * contiguous completed prefix. A crash therefore never commits past an
+ * unfinished job.
+ * <p>
+ * When a partition is revoked its pending registrations are marked revoked:
+ * queued jobs of the partition are dropped instead of run (the new owner gets
+ * the records again), and completions of jobs that were already running are
+ * ignored, even if the partition has been assigned back in the meantime.
+ */
+@Component
+@Slf4j
+public class OffsetCompletionTracker implements ConsumerAwareRebalanceListener {
+
+    private final Map<TopicPartition, PartitionTracker> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * Register a record that has been handed to the work queue.
+     */
+    public Registration register(TopicPartition partition, long offset, Acknowledgment acknowledgment) {
+        Registration registration = new Registration(partition, offset, acknowledgment);
+        partitions.computeIfAbsent(partition, tp -> new PartitionTracker()).register(registration);
+        return registration;
+    }
+
+    /**
+     * Mark a record as done and commit as far as the contiguous completed prefix reaches.
+     */
+    public void complete(Registration registration) {
+        PartitionTracker tracker = partitions.get(registration.partition);
+        if (tracker == null || registration.revoked) {
+            // Partition was revoked while the job ran; the record will be redelivered
+            log.debug("Ignoring completion for revoked partition: partition={}, offset={}",
+                registration.partition, registration.offset);
+            return;
+        }
+        tracker.complete(registration);
+    }
+
+    /**
+     * Number of registered records not yet committed.
+     */
+    public int getPendingCount() {
+        return partitions.values().stream().mapToInt(PartitionTracker::size).sum();
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> revoked) {
+        revoke(revoked);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> lost) {
+        revoke(lost);
+    }
+
+    private void revoke(Collection<TopicPartition> revoked) {
+        for (TopicPartition partition : revoked) {
+            PartitionTracker tracker = partitions.remove(partition);
+            if (tracker != null) {
+                int dropped = tracker.revokeAll();
+                log.info("Partition revoked, dropping its pending jobs: partition={}, pending={}", partition, dropped);
+            }
+        }
+    }
+
+    /**
+     * A record handed to the work queue.
+     */
+    public static final class Registration {
+
+        private final TopicPartition partition;
+        private final long offset;
+        private final Acknowledgment acknowledgment;
+        // Guarded by the partition tracker
+        private boolean done;
+        private volatile boolean revoked;
+
+        private Registration(TopicPartition partition, long offset, Acknowledgment acknowledgment) {
+            this.partition = partition;
+            this.offset = offset;
+            this.acknowledgment = acknowledgment;
+        }
+
+        /**
+         * Whether the record's partition was revoked before the record completed.
+         */
+        public boolean isRevoked() {
+            return revoked;
+        }
+    }
+
+    private static final class PartitionTracker {
+
+        private final TreeMap<Long, Registration> pending = new TreeMap<>();
+
+        synchronized void register(Registration registration) {
+            pending.put(registration.offset, registration);
+        }
+
+        synchronized void complete(Registration registration) {
+            if (pending.get(registration.offset) != registration) {
+                return;
+            }
+            registration.done = true;
+
+            Acknowledgment highest = null;
+            while (!pending.isEmpty() && pending.firstEntry().getValue().done) {
+                highest = pending.pollFirstEntry().getValue().acknowledgment;
+            }
+            if (highest != null) {
+                highest.acknowledge();
+            }
+        }
+
+        synchronized int revokeAll() {
+            int count = pending.size();
+            pending.values().forEach(registration -> registration.revoked = true);
+            pending.clear();
+            return count;
+        }
+
+        synchronized int size() {
+            return pending.size();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.platform.worker.consumer;
+
+import com.platform.common.model.Job;
+import com.platform.common.model.PriorityBand;
+import com.platform.worker.config.RetryTopicProperties;
+import com.platform.worker.config.RetryTopicProperties.Tier;
+import com.platform.worker.producer.RetryProducer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumes the Kafka retry tiers, each record no earlier than its tier's delay
+ * after it was published.
+ * <p>
+ * Records within a tier topic are in due order, so when the first record of a
+ * partition is not due yet the whole partition waits: the consumer seeks back
+ * to that record and the partition is paused until it is due, then resumed.
+ * Other partitions and tiers keep flowing meanwhile. Due jobs go into the work
+ * queue lane of their original priority band.
+ * <p>
+ * The orchestrator's circuit breakers are not consulted: a due retry runs even
+ * while its job type is held back there. Each failed attempt is still reported
+ * as RETRYING and feeds the breaker, but tier retries are meant for deployments
+ * that run with breakers off.
+ * <p>
+ * Also the rebalance listener of the retry container: on top of the
+ * {@link OffsetCompletionTracker} bookkeeping, a revoked partition stops
+ * waiting, so records fetched after it is assigned again are not skipped as
+ * the rest of an old poll.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RetryConsumer implements ConsumerAwareRebalanceListener {
+
+    public static final String LISTENER_ID = "job-retry-consumer";
+
+    private final JobWorkQueue workQueue;
+    private final RetryTopicProperties properties;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final OffsetCompletionTracker completionTracker;
+
+    private final Map<String, Long> delays = new HashMap<>();
+    // Paused partitions and the offset consumption resumes from
+    private final Map<TopicPartition, Long> waiting = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService resumer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "retry-resumer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void init() {
+        for (Tier tier : properties.getTiers()) {
+            delays.put(tier.getTopic(), tier.getDelay().toMillis());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        resumer.shutdownNow();
+    }
+
+    /**
+     * Tier topics to subscribe to.
+     */
+    public List<String> getTopics() {
+        return properties.topics();
+    }
+
+    @KafkaListener(
+        id = LISTENER_ID,
+        topics = "#{__listener.topics}",
+        groupId = "worker-group",
+        containerFactory = "retryListenerContainerFactory",
+        autoStartup = "${worker.retry.enabled:false}"
+    )
+    public void consumeRetry(ConsumerRecord<String, Job> record, Acknowledgment acknowledgment,
+                             Consumer<?, ?> consumer) {
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        Long resumeFrom = waiting.get(partition);
+        if (resumeFrom != null && record.offset() >= resumeFrom) {
+            // Rest of a poll behind a record that is not due; fetched again after the seek
+            return;
+        }
+
+        long waitMs = record.timestamp() + delays.getOrDefault(record.topic(), 0L) - System.currentTimeMillis();
+        if (waitMs > 0) {
+            pauseUntilDue(partition, record.offset(), waitMs, consumer);
+            return;
+        }
+
+        Job job = record.value();
+        int attempt = intHeader(record, RetryProducer.ATTEMPT_HEADER, 1);
+        PriorityBand band = bandHeader(record);
+        log.info("Received job retry: id={}, type={}, attempt={}, band={}", job.getId(), job.getType(), attempt, band);
+
+        workQueue.submit(job, band, attempt, partition, record.offset(), acknowledgment);
+    }
+
+    /**
+     * Called on the consumer thread, so the seek applies before the next poll.
+     */
+    private void pauseUntilDue(TopicPartition partition, long offset, long waitMs, Consumer<?, ?> consumer) {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(LISTENER_ID);
+        waiting.put(partition, offset);
+        consumer.seek(partition, offset);
+        container.pausePartition(partition);
+        log.debug("Retry not due, pausing partition: partition={}, offset={}, waitMs={}", partition, offset, waitMs);
+
+        resumer.schedule(() -> {
+            // Not if the partition was revoked and is waiting again from another offset
+            if (waiting.remove(partition, offset)) {
+                container.resumePartition(partition);
+            }
+        }, waitMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> revoked) {
+        completionTracker.onPartitionsRevokedBeforeCommit(consumer, revoked);
+        stopWaiting(revoked);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> lost) {
+        completionTracker.onPartitionsLost(consumer, lost);
+        stopWaiting(lost);
+    }
+
+    private void stopWaiting(Collection<TopicPartition> partitions) {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(LISTENER_ID);
+        for (TopicPartition partition : partitions) {
+            if (waiting.remove(partition) != null && container != null) {
+                container.resumePartition(partition);
+            }
+        }
+    }
+
+    private static int intHeader(ConsumerRecord<?, ?> record, String name, int defaultValue) {
+        Header header = record.headers().lastHeader(name);
+        if (header == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(new String(header.value(), StandardCharsets.UTF_8));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static PriorityBand bandHeader(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(RetryProducer.BAND_HEADER);
+        if (header == null) {
+            return PriorityBand.NORMAL;
+        }
+        try {
+            return PriorityBand.valueOf(new String(header.value(), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            return PriorityBand.NORMAL;
+        }
+    }
+}
@@ -20,4 +20,6 @@ public class JobResult {
     private LocalDateTime completedAt;
     private String errorMessage;
     private String workerId;
+    // Retries made so far, including those made through the Kafka retry tiers
+    private Integer retryCount;
 }
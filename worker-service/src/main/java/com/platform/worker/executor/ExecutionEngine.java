@@ -0,0 +1,107 @@
+package com.platform.worker.executor;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Runs jobs of one execution lane.
+ * <p>
+ * Subclasses decide which thread a job runs on; this class takes care of
+ * completing the returned future and of the timeout. The timeout starts when the
+ * job starts running (not when it is submitted) and interrupts the job thread,
+ * but only while that job is still running on it.
+ */
+public abstract class ExecutionEngine {
+
+    @Getter
+    private final String name;
+
+    private final ScheduledExecutorService timer;
+
+    protected ExecutionEngine(String name, ScheduledExecutorService timer) {
+        this.name = name;
+        this.timer = timer;
+    }
+
+    /**
+     * Run a task on this engine.
+     *
+     * @return future completed with the task outcome, or with a
+     *         {@link TimeoutException} if the task ran longer than {@code timeout}
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task, Duration timeout) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        Runnable run = () -> {
+            Thread current = Thread.currentThread();
+            // Holds the job thread while the task runs; whoever clears it first owns it
+            AtomicReference<Thread> runner = new AtomicReference<>(current);
+            AtomicBoolean interruptDelivered = new AtomicBoolean();
+            ScheduledFuture<?> watchdog = timer.schedule(() -> {
+                if (result.completeExceptionally(new TimeoutException(
+                        "Task execution exceeded timeout of " + timeout.toMillis() + "ms"))
+                        && runner.compareAndSet(current, null)) {
+                    current.interrupt();
+                    interruptDelivered.set(true);
+                }
+            }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+            try {
+                result.complete(task.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                watchdog.cancel(false);
+                if (!runner.compareAndSet(current, null)) {
+                    // The watchdog won: wait for its interrupt and clear it, so it
+                    // cannot land on the next job this thread runs
+                    while (!interruptDelivered.get()) {
+                        Thread.onSpinWait();
+                    }
+                    Thread.interrupted();
+                }
+            }
+        };
+
+        try {
+            dispatch(run, result::completeExceptionally);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Hand a task over to a thread of this engine.
+     *
+     * @param task    the task to run
+     * @param onAbort called if the task is dropped after being accepted
+     * @throws java.util.concurrent.RejectedExecutionException if the engine is full or shut down
+     */
+    protected abstract void dispatch(Runnable task, Consumer<Throwable> onAbort);
+
+    /**
+     * Number of jobs currently running.
+     */
+    public abstract int getActiveCount();
+
+    /**
+     * Maximum number of jobs running at once.
+     */
+    public abstract int getMaxConcurrency();
+
+    /**
+     * Stop accepting jobs and interrupt running ones.
+     */
+    public abstract void shutdown();
+}
@@ -0,0 +1,83 @@
+package com.platform.worker.executor;
+
+import com.platform.worker.config.ExecutionProperties;
+import com.platform.worker.config.ExecutionProperties.LaneSettings;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Execution lanes of this worker, one per configured job type plus a shared
+ * default lane for all other types.
+ */
+@Component
+@Slf4j
+public class ExecutionEngines {
+
+    private static final String DEFAULT_LANE = "default";
+
+    private final ExecutionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ExecutionEngine> engines = new ConcurrentHashMap<>();
+    private final ExecutionEngine defaultEngine;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "job-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ExecutionEngines(ExecutionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.defaultEngine = create(DEFAULT_LANE, properties.getDefaults());
+        properties.getTypes().keySet().forEach(type -> engines.put(type, create(type, properties.forType(type))));
+    }
+
+    /**
+     * Engine that runs jobs of the given type.
+     */
+    public ExecutionEngine engineFor(String jobType) {
+        return engines.getOrDefault(jobType, defaultEngine);
+    }
+
+    /**
+     * Settings (mode, limit, timeout) that apply to the given type.
+     */
+    public LaneSettings settingsFor(String jobType) {
+        return properties.forType(jobType);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        engines.values().forEach(ExecutionEngine::shutdown);
+        defaultEngine.shutdown();
+        timer.shutdownNow();
+    }
+
+    private ExecutionEngine create(String lane, LaneSettings settings) {
+        ExecutionEngine engine = settings.getMode() == ExecutionMode.VIRTUAL
+            ? new VirtualThreadEngine(lane, settings.getMaxConcurrency(), settings.getQueueCapacity(), timer)
+            : new PlatformPoolEngine(lane, settings.getMaxConcurrency(), settings.getQueueCapacity(), timer);
+
+        Gauge.builder("worker_executor_active", engine, ExecutionEngine::getActiveCount)
+            .tag("lane", lane)
+            .tag("mode", settings.getMode().name())
+            .register(meterRegistry);
+        Gauge.builder("worker_executor_capacity", engine, ExecutionEngine::getMaxConcurrency)
+            .tag("lane", lane)
+            .tag("mode", settings.getMode().name())
+            .register(meterRegistry);
+
+        log.info("Execution lane created: lane={}, mode={}, maxConcurrency={}, timeout={}",
+            lane, settings.getMode(), settings.getMaxConcurrency(), settings.getTimeout());
+        return engine;
+    }
+}
@@ -0,0 +1,19 @@
+package com.platform.worker.executor;
+
+/**
+ * How the jobs of one execution lane are run.
+ */
+public enum ExecutionMode {
+
+    /**
+     * Fixed-size pool of platform threads. Suited to CPU-bound job types.
+     */
+    PLATFORM,
+
+    /**
+     * One virtual thread per job, bounded by a concurrency limit. Suited to job
+     * types that spend most of their time waiting on I/O. Falls back to a
+     * fixed platform-thread pool on JVMs without virtual threads.
+     */
+    VIRTUAL
+}
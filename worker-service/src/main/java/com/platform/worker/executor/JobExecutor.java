@@ -10,9 +10,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
 
 @Service
 @Slf4j
@@ -21,80 +25,120 @@ public class JobExecutor {
 
     private final TaskRegistry taskRegistry;
     private final LogProducer logProducer;
+    private final ExecutionEngines executionEngines;
 
     @Value("${worker.id}")
     private String workerId;
 
+    /**
+     * Execute a job and wait for its result.
+     */
     public JobResult execute(Job job) {
+        return executeAsync(job).join();
+    }
+
+    /**
+     * Start a job on the execution lane of its type.
+     * Failures and timeouts are reported as a FAILED result. If the lane is full
+     * the job is not run and the future completes exceptionally with a
+     * {@link RejectedExecutionException}, so the caller can hold it back.
+     */
+    public CompletableFuture<JobResult> executeAsync(Job job) {
+        return executeAsync(job, () -> true);
+    }
+
+    /**
+     * Start a job on the execution lane of its type once {@code claim} succeeds.
+     * The claim runs on the execution thread right before the job (e.g. to take
+     * its distributed lock); if it returns false the job is not run and the
+     * future completes with {@code null}.
+     */
+    public CompletableFuture<JobResult> executeAsync(Job job, BooleanSupplier claim) {
         log.info("Starting job execution: jobId={}, type={}", job.getId(), job.getType());
 
         LocalDateTime startTime = LocalDateTime.now();
-        logProducer.sendLog(job.getId(), "INFO", "Job execution started", workerId);
 
+        JobTask task;
         try {
-            // Get task implementation
-            JobTask task = taskRegistry.getTask(job.getType());
+            task = taskRegistry.getTask(job.getType());
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(toResult(job, startTime, e));
+        }
+
+        Duration timeout = executionEngines.settingsFor(job.getType()).getTimeout();
+        return executionEngines.engineFor(job.getType())
+            .submit(() -> {
+                if (!claim.getAsBoolean()) {
+                    return false;
+                }
+                logProducer.sendLog(job.getId(), "INFO", "Job execution started", workerId);
+                task.execute(job);
+                return true;
+            }, timeout)
+            .handle((ran, error) -> {
+                if (unwrap(error) instanceof RejectedExecutionException rejected) {
+                    throw rejected;
+                }
+                if (error == null && !ran) {
+                    return null;
+                }
+                return toResult(job, startTime, error);
+            });
+    }
 
-            // Execute with timeout (10 minutes)
-            executeWithTimeout(task, job, 600000);
+    /**
+     * Whether a job failed to start because its execution lane was full.
+     */
+    public static boolean isRejected(Throwable error) {
+        return unwrap(error) instanceof RejectedExecutionException;
+    }
 
-            // Success
-            LocalDateTime completedTime = LocalDateTime.now();
+    private JobResult toResult(Job job, LocalDateTime startTime, Throwable error) {
+        if (error == null) {
             logProducer.sendLog(job.getId(), "INFO", "Job completed successfully", workerId);
 
             return JobResult.builder()
                 .jobId(job.getId())
                 .status(JobStatus.COMPLETED)
                 .startedAt(startTime)
-                .completedAt(completedTime)
-                .workerId(workerId)
-                .build();
-
-        } catch (TimeoutException e) {
-            log.error("Job execution timeout: jobId={}", job.getId(), e);
-            logProducer.sendLog(job.getId(), "ERROR", "Job timeout: " + e.getMessage(), workerId);
-
-            return JobResult.builder()
-                .jobId(job.getId())
-                .status(JobStatus.FAILED)
-                .startedAt(startTime)
                 .completedAt(LocalDateTime.now())
-                .errorMessage("Execution timeout")
                 .workerId(workerId)
                 .build();
+        }
 
-        } catch (Exception e) {
-            log.error("Job execution failed: jobId={}", job.getId(), e);
-            logProducer.sendLog(job.getId(), "ERROR", "Job failed: " + e.getMessage(), workerId);
+        error = unwrap(error);
+
+        if (error instanceof TimeoutException) {
+            log.error("Job execution timeout: jobId={}", job.getId(), error);
+            logProducer.sendLog(job.getId(), "ERROR", "Job timeout: " + error.getMessage(), workerId);
 
             return JobResult.builder()
                 .jobId(job.getId())
                 .status(JobStatus.FAILED)
                 .startedAt(startTime)
                 .completedAt(LocalDateTime.now())
-                .errorMessage(e.getMessage())
+                .errorMessage("Execution timeout")
                 .workerId(workerId)
                 .build();
         }
-    }
-
-    private void executeWithTimeout(JobTask task, Job job, long timeoutMs)
-            throws Exception, TimeoutException {
 
-        Thread executionThread = new Thread(() -> {
-            try {
-                task.execute(job);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        });
-
-        executionThread.start();
-        executionThread.join(timeoutMs);
+        log.error("Job execution failed: jobId={}", job.getId(), error);
+        logProducer.sendLog(job.getId(), "ERROR", "Job failed: " + error.getMessage(), workerId);
+
+        return JobResult.builder()
+            .jobId(job.getId())
+            .status(JobStatus.FAILED)
+            .startedAt(startTime)
+            .completedAt(LocalDateTime.now())
+            .errorMessage(error.getMessage())
+            .workerId(workerId)
+            .build();
+    }
 
-        if (executionThread.isAlive()) {
-            executionThread.interrupt();
-            throw new TimeoutException("Task execution exceeded timeout");
+    private static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
         }
+        return error;
     }
 }
@@ -0,0 +1,55 @@
+package com.platform.worker.executor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Bounded pool of platform threads with a bounded wait queue.
+ * Submissions beyond the queue capacity are rejected rather than buffered.
+ */
+public class PlatformPoolEngine extends ExecutionEngine {
+
+    private final ThreadPoolExecutor pool;
+
+    public PlatformPoolEngine(String name, int poolSize, int queueCapacity, ScheduledExecutorService timer) {
+        super(name, timer);
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory(name),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    protected void dispatch(Runnable task, Consumer<Throwable> onAbort) {
+        pool.execute(task);
+    }
+
+    @Override
+    public int getActiveCount() {
+        return pool.getActiveCount();
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        return pool.getMaximumPoolSize();
+    }
+
+    @Override
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "job-exec-" + name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
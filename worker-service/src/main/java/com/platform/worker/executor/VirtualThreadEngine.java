@@ -0,0 +1,137 @@
+package com.platform.worker.executor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Thread-per-job engine for I/O-bound work, bounded by a concurrency limit.
+ * <p>
+ * On Java 21+ every job gets its own virtual thread, so hundreds of jobs blocked
+ * on I/O cost little more than their stacks; jobs above the limit wait for a
+ * permit on their own virtual thread. The project targets Java 17, so the
+ * virtual-thread executor is looked up reflectively; on older runtimes the engine
+ * falls back to a fixed pool of {@code maxConcurrency} platform threads.
+ * Either way at most {@code queueCapacity} jobs wait, further submissions are
+ * rejected.
+ */
+@Slf4j
+public class VirtualThreadEngine extends ExecutionEngine {
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final int maxAccepted;
+    // Jobs handed to the executor and not finished yet, running or waiting
+    private final AtomicInteger accepted = new AtomicInteger();
+
+    public VirtualThreadEngine(String name, int maxConcurrency, int queueCapacity, ScheduledExecutorService timer) {
+        this(name, maxConcurrency, queueCapacity, timer, isVirtualThreadSupported());
+    }
+
+    VirtualThreadEngine(String name, int maxConcurrency, int queueCapacity, ScheduledExecutorService timer,
+                        boolean useVirtualThreads) {
+        super(name, timer);
+        this.maxConcurrency = maxConcurrency;
+        this.maxAccepted = maxConcurrency + Math.max(0, queueCapacity);
+        this.permits = new Semaphore(maxConcurrency);
+        this.executor = useVirtualThreads
+            ? createVirtualExecutor(name, maxConcurrency, queueCapacity)
+            : createPlatformExecutor(name, maxConcurrency, queueCapacity);
+    }
+
+    @Override
+    protected void dispatch(Runnable task, Consumer<Throwable> onAbort) {
+        if (accepted.incrementAndGet() > maxAccepted) {
+            accepted.decrementAndGet();
+            throw new RejectedExecutionException("Execution lane full: lane=" + getName());
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    accepted.decrementAndGet();
+                    Thread.currentThread().interrupt();
+                    onAbort.accept(e);
+                    return;
+                }
+                try {
+                    task.run();
+                } finally {
+                    accepted.decrementAndGet();
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            accepted.decrementAndGet();
+            throw e;
+        }
+    }
+
+    @Override
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Whether this JVM supports virtual threads.
+     */
+    public static boolean isVirtualThreadSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static ExecutorService createVirtualExecutor(String name, int maxConcurrency, int queueCapacity) {
+        try {
+            return (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.warn("Failed to create virtual-thread executor, falling back to platform threads: lane={}",
+                name, e);
+            return createPlatformExecutor(name, maxConcurrency, queueCapacity);
+        }
+    }
+
+    private static ExecutorService createPlatformExecutor(String name, int maxConcurrency, int queueCapacity) {
+        log.info("Virtual threads not available, using a pool of {} platform threads: lane={}",
+            maxConcurrency, name);
+
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "job-exec-" + name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory,
+            new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
@@ -0,0 +1,57 @@
+package com.platform.worker.producer;
+
+import com.platform.common.model.JobStatus;
+import com.platform.common.wire.WireCodec;
+import com.platform.common.wire.WireReader;
+import com.platform.common.wire.WireSchema;
+import com.platform.common.wire.WireSchema.ResultFields;
+import com.platform.common.wire.WireWriter;
+import com.platform.worker.dto.JobResult;
+
+/**
+ * Wire codec for the {@link JobResult} messages sent to the orchestrator.
+ * Writes the success flag alongside the status, which is what the
+ * orchestrator reads.
+ */
+public class JobResultWireCodec implements WireCodec<JobResult> {
+
+    @Override
+    public int typeId() {
+        return WireSchema.JOB_RESULT;
+    }
+
+    @Override
+    public Class<JobResult> type() {
+        return JobResult.class;
+    }
+
+    @Override
+    public void encode(JobResult result, WireWriter out) {
+        out.writeUuid(ResultFields.JOB_ID, result.getJobId());
+        out.writeEnum(ResultFields.STATUS, result.getStatus());
+        out.writeBoolean(ResultFields.SUCCESS, result.getStatus() == JobStatus.COMPLETED);
+        out.writeString(ResultFields.ERROR_MESSAGE, result.getErrorMessage());
+        out.writeString(ResultFields.WORKER_ID, result.getWorkerId());
+        out.writeTimestamp(ResultFields.STARTED_AT, result.getStartedAt());
+        out.writeTimestamp(ResultFields.COMPLETED_AT, result.getCompletedAt());
+        out.writeInt(ResultFields.RETRY_COUNT, result.getRetryCount());
+    }
+
+    @Override
+    public JobResult decode(WireReader in, int version) {
+        JobResult result = new JobResult();
+        while (in.next()) {
+            switch (in.field()) {
+                case ResultFields.JOB_ID -> result.setJobId(in.readUuid());
+                case ResultFields.STATUS -> result.setStatus(in.readEnum(JobStatus.class));
+                case ResultFields.ERROR_MESSAGE -> result.setErrorMessage(in.readString());
+                case ResultFields.WORKER_ID -> result.setWorkerId(in.readString());
+                case ResultFields.STARTED_AT -> result.setStartedAt(in.readLocalDateTime());
+                case ResultFields.COMPLETED_AT -> result.setCompletedAt(in.readLocalDateTime());
+                case ResultFields.RETRY_COUNT -> result.setRetryCount(in.readInt());
+                default -> in.skip();
+            }
+        }
+        return result;
+    }
+}
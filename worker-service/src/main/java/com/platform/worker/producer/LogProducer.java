@@ -1,37 +1,180 @@
 package com.platform.worker.producer;
 
+import com.platform.common.concurrent.MpscRingBuffer;
 import com.platform.common.model.LogEntry;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Ships job logs to Kafka from a background thread.
+ * <p>
+ * {@link #sendLog} only stages the entry in a lock-free ring buffer and never
+ * waits on Kafka. Once the buffer is filling up, DEBUG logs are dropped and
+ * INFO logs are sampled; when it is full, everything but ERROR is dropped.
+ * ERROR logs that do not fit go to an overflow queue and are always shipped.
+ * The shipper thread hands entries to a dedicated producer that batches and
+ * compresses them (see {@code KafkaConfig#logKafkaTemplate}).
+ */
 @Component
 @Slf4j
-@RequiredArgsConstructor
 public class LogProducer {
 
-    private final KafkaTemplate kafkaTemplate;
+    private static final String SERVICE_NAME = "worker-service";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
 
     @Value("${worker.kafka.topics.job-logs}")
     private String logsTopic;
 
+    @Value("${worker.logs.buffer-capacity:8192}")
+    private int bufferCapacity;
+
+    @Value("${worker.logs.batch-size:500}")
+    private int batchSize;
+
+    @Value("${worker.logs.ship-interval:100}")
+    private long shipIntervalMs;
+
+    @Value("${worker.logs.sample-threshold:0.5}")
+    private double sampleThreshold;
+
+    @Value("${worker.logs.sample-rate:0.1}")
+    private double sampleRate;
+
+    private MpscRingBuffer<LogEntry> buffer;
+    private final Queue<LogEntry> errorOverflow = new ConcurrentLinkedQueue<>();
+    private int sampleFromSize;
+
+    private Thread shipper;
+    private volatile boolean running = true;
+    private volatile boolean shipperParked;
+
+    private Counter sampledOut;
+    private Counter droppedFull;
+
+    public LogProducer(@Qualifier("logKafkaTemplate") KafkaTemplate<String, Object> kafkaTemplate,
+                       MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        buffer = new MpscRingBuffer<>(bufferCapacity);
+        sampleFromSize = (int) (buffer.capacity() * sampleThreshold);
+
+        meterRegistry.gauge("worker_log_buffer_size", this, producer -> producer.buffer.size());
+        meterRegistry.gauge("worker_log_error_overflow", errorOverflow, Queue::size);
+        sampledOut = meterRegistry.counter("worker_logs_dropped", "reason", "sampled");
+        droppedFull = meterRegistry.counter("worker_logs_dropped", "reason", "buffer_full");
+
+        shipper = new Thread(this::shipLoop, "log-shipper");
+        shipper.setDaemon(true);
+        shipper.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(shipper);
+        shipper.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Stage a log for shipping. Never blocks.
+     */
     public void sendLog(UUID jobId, String level, String message, String workerId) {
+        boolean error = "ERROR".equals(level);
+        int size = buffer.size();
+        if (!error && size >= sampleFromSize && !keepUnderPressure(level)) {
+            sampledOut.increment();
+            return;
+        }
+
         LogEntry entry = LogEntry.builder()
             .timestamp(Instant.now())
             .jobId(jobId)
             .workerId(workerId)
             .level(level)
             .message(message)
-            .serviceName("worker-service")
+            .serviceName(SERVICE_NAME)
+            .threadName(Thread.currentThread().getName())
             .metadata(Map.of())
             .build();
 
-        kafkaTemplate.send(logsTopic, jobId.toString(), entry);
+        if (!buffer.offer(entry)) {
+            if (error) {
+                errorOverflow.add(entry);
+            } else {
+                droppedFull.increment();
+                return;
+            }
+        }
+
+        if (shipperParked && size + 1 >= batchSize) {
+            LockSupport.unpark(shipper);
+        }
+    }
+
+    /**
+     * Whether a non-error log survives while the buffer is under pressure.
+     */
+    private boolean keepUnderPressure(String level) {
+        return switch (level) {
+            case "DEBUG", "TRACE" -> false;
+            case "INFO" -> ThreadLocalRandom.current().nextDouble() < sampleRate;
+            default -> true;
+        };
+    }
+
+    private void shipLoop() {
+        long shipIntervalNanos = TimeUnit.MILLISECONDS.toNanos(shipIntervalMs);
+
+        while (running || !buffer.isEmpty() || !errorOverflow.isEmpty()) {
+            try {
+                int shipped = 0;
+                LogEntry overflow;
+                while ((overflow = errorOverflow.poll()) != null) {
+                    ship(overflow);
+                    shipped++;
+                }
+                shipped += buffer.drain(this::ship, batchSize);
+
+                if (shipped == 0) {
+                    shipperParked = true;
+                    if (running && buffer.isEmpty()) {
+                        LockSupport.parkNanos(shipIntervalNanos);
+                    }
+                    shipperParked = false;
+                }
+            } catch (Exception e) {
+                log.error("Error in log shipper", e);
+            }
+        }
+
+        kafkaTemplate.flush();
+        log.info("Log shipper stopped");
+    }
+
+    private void ship(LogEntry entry) {
+        String key = entry.getJobId() != null ? entry.getJobId().toString() : null;
+        kafkaTemplate.send(logsTopic, key, entry);
     }
 }
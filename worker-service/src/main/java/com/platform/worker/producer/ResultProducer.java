@@ -1,5 +1,6 @@
 package com.platform.worker.producer;
 
+import com.platform.common.model.JobAttempt;
 import com.platform.worker.dto.JobResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,10 +18,24 @@ public class ResultProducer {
     @Value("${worker.kafka.topics.job-results}")
     private String resultsTopic;
 
+    @Value("${worker.kafka.topics.job-attempts}")
+    private String attemptsTopic;
+
     public void sendResult(JobResult result) {
         log.info("Sending result to orchestrator: jobId={}, status={}",
             result.getJobId(), result.getStatus());
 
         kafkaTemplate.send(resultsTopic, result.getJobId().toString(), result);
     }
+
+    /**
+     * Tell the orchestrator about a failed attempt that is retried through the
+     * Kafka retry tiers. It only feeds the circuit breakers; no job row is written.
+     */
+    public void sendFailedAttempt(JobAttempt attempt) {
+        log.debug("Sending failed attempt to orchestrator: jobId={}, retryCount={}",
+            attempt.getJobId(), attempt.getRetryCount());
+
+        kafkaTemplate.send(attemptsTopic, attempt.getJobId().toString(), attempt);
+    }
 }
@@ -0,0 +1,98 @@
+package com.platform.worker.producer;
+
+import com.platform.common.model.Job;
+import com.platform.common.model.JobStatus;
+import com.platform.common.model.PriorityBand;
+import com.platform.worker.config.RetryTopicProperties;
+import com.platform.worker.config.RetryTopicProperties.Tier;
+import com.platform.worker.dto.JobResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends failed jobs to the Kafka retry tiers, or to the dead-letter topic once
+ * they are out of retries, without going through the orchestrator database.
+ * <p>
+ * The job is republished unchanged; the number of retries made through the
+ * tiers travels in the {@value #ATTEMPT_HEADER} header. Dead-lettered records
+ * carry the failure context in the standard Spring Kafka headers
+ * ({@code kafka_original-topic}, {@code kafka_exception-message}, ...).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RetryProducer {
+
+    public static final String ATTEMPT_HEADER = "x-retry-attempt";
+    public static final String BAND_HEADER = "x-priority-band";
+    public static final String WORKER_HEADER = "x-worker-id";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final RetryTopicProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${worker.kafka.topics.job-tasks-dlt}")
+    private String deadLetterTopic;
+
+    public boolean isEnabled() {
+        return properties.isEnabled() && !properties.getTiers().isEmpty();
+    }
+
+    /**
+     * Republish a failed job to the tier of its next retry, or dead-letter it.
+     *
+     * @param attempt retries already made through the tiers
+     * @param source  record the job was consumed from
+     * @return future completing with RETRYING or DEAD_LETTER once the broker has the record
+     */
+    public CompletableFuture<JobStatus> retryOrDeadLetter(Job job, PriorityBand band, int attempt,
+                                                          TopicPartition source, long offset, JobResult result) {
+        int retryCount = job.getRetryCount() + attempt;
+        if (retryCount < job.getMaxRetries()) {
+            Tier tier = properties.tierFor(attempt + 1);
+            Headers headers = new RecordHeaders()
+                .add(ATTEMPT_HEADER, utf8(String.valueOf(attempt + 1)))
+                .add(BAND_HEADER, utf8(band.name()));
+
+            log.info("Retrying job through Kafka: jobId={}, attempt={}, topic={}, delay={}",
+                job.getId(), attempt + 1, tier.getTopic(), tier.getDelay());
+            meterRegistry.counter("worker_job_retries", "topic", tier.getTopic()).increment();
+            return send(tier.getTopic(), job, headers).thenApply(sent -> JobStatus.RETRYING);
+        }
+
+        Headers headers = new RecordHeaders()
+            .add(ATTEMPT_HEADER, utf8(String.valueOf(attempt)))
+            .add(BAND_HEADER, utf8(band.name()))
+            .add(WORKER_HEADER, utf8(result.getWorkerId()))
+            .add(KafkaHeaders.ORIGINAL_TOPIC, utf8(source.topic()))
+            .add(KafkaHeaders.ORIGINAL_PARTITION, ByteBuffer.allocate(Integer.BYTES).putInt(source.partition()).array())
+            .add(KafkaHeaders.ORIGINAL_OFFSET, ByteBuffer.allocate(Long.BYTES).putLong(offset).array())
+            .add(KafkaHeaders.EXCEPTION_MESSAGE, utf8(result.getErrorMessage()));
+
+        log.warn("Job out of retries, dead-lettering: jobId={}, retryCount={}/{}, error={}",
+            job.getId(), retryCount, job.getMaxRetries(), result.getErrorMessage());
+        meterRegistry.counter("worker_jobs_dead_lettered").increment();
+        return send(deadLetterTopic, job, headers).thenApply(sent -> JobStatus.DEAD_LETTER);
+    }
+
+    private CompletableFuture<?> send(String topic, Job job, Headers headers) {
+        return kafkaTemplate.send(new ProducerRecord<>(topic, null, job.getId().toString(), job, headers));
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+}
@@ -0,0 +1,99 @@
+package com.platform.worker.config;
+
+import com.platform.common.wire.WireSerializer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KafkaConfigTest {
+
+    private KafkaConfig kafkaConfig;
+
+    @BeforeEach
+    void setUp() {
+        kafkaConfig = new KafkaConfig(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(kafkaConfig, "bootstrapServers", "localhost:9092");
+        ReflectionTestUtils.setField(kafkaConfig, "groupId", "worker-group");
+        ReflectionTestUtils.setField(kafkaConfig, "codec", "json");
+        ReflectionTestUtils.setField(kafkaConfig, "resultsCompressionType", "lz4");
+        ReflectionTestUtils.setField(kafkaConfig, "resultsLingerMs", 20);
+        ReflectionTestUtils.setField(kafkaConfig, "resultsBatchSize", 65536);
+        ReflectionTestUtils.setField(kafkaConfig, "logsCompressionType", "zstd");
+        ReflectionTestUtils.setField(kafkaConfig, "logsLingerMs", 100);
+        ReflectionTestUtils.setField(kafkaConfig, "logsBatchSize", 524288);
+    }
+
+    @Test
+    void kafkaTemplate_ResultsProfile_IdempotentWithAllAcksAndLz4() {
+        Map<String, Object> props = producerProperties(kafkaConfig.kafkaTemplate());
+
+        assertThat(props)
+            .containsEntry(ProducerConfig.CLIENT_ID_CONFIG, "worker-results")
+            .containsEntry(ProducerConfig.ACKS_CONFIG, "all")
+            .containsEntry(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true)
+            .containsEntry(ProducerConfig.RETRIES_CONFIG, 3)
+            .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4")
+            .containsEntry(ProducerConfig.LINGER_MS_CONFIG, 20)
+            .containsEntry(ProducerConfig.BATCH_SIZE_CONFIG, 65536);
+    }
+
+    @Test
+    void logKafkaTemplate_LogsProfile_LeaderAckWithoutIdempotenceAndZstd() {
+        Map<String, Object> props = producerProperties(kafkaConfig.logKafkaTemplate());
+
+        assertThat(props)
+            .containsEntry(ProducerConfig.CLIENT_ID_CONFIG, "worker-logs")
+            .containsEntry(ProducerConfig.ACKS_CONFIG, "1")
+            .containsEntry(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false)
+            .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "zstd")
+            .containsEntry(ProducerConfig.LINGER_MS_CONFIG, 100)
+            .containsEntry(ProducerConfig.BATCH_SIZE_CONFIG, 524288)
+            .doesNotContainKey(ProducerConfig.RETRIES_CONFIG);
+    }
+
+    @Test
+    void producerFactories_ProfileOverrides_AppliedOnlyToTheirTemplate() {
+        ReflectionTestUtils.setField(kafkaConfig, "resultsCompressionType", "snappy");
+        ReflectionTestUtils.setField(kafkaConfig, "logsLingerMs", 250);
+
+        Map<String, Object> results = producerProperties(kafkaConfig.kafkaTemplate());
+        Map<String, Object> logs = producerProperties(kafkaConfig.logKafkaTemplate());
+
+        assertThat(results)
+            .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "snappy")
+            .containsEntry(ProducerConfig.LINGER_MS_CONFIG, 20);
+        assertThat(logs)
+            .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "zstd")
+            .containsEntry(ProducerConfig.LINGER_MS_CONFIG, 250);
+    }
+
+    @Test
+    void producerFactory_JsonCodec_SerializesValuesAsJson() {
+        DefaultKafkaProducerFactory<String, Object> factory =
+            (DefaultKafkaProducerFactory<String, Object>) kafkaConfig.producerFactory();
+
+        assertThat(factory.getValueSerializerSupplier().get()).isInstanceOf(JsonSerializer.class);
+    }
+
+    @Test
+    void logProducerFactory_WireCodec_SerializesValuesInWireFormat() {
+        ReflectionTestUtils.setField(kafkaConfig, "codec", "wire");
+        DefaultKafkaProducerFactory<String, Object> factory =
+            (DefaultKafkaProducerFactory<String, Object>) kafkaConfig.logProducerFactory();
+
+        assertThat(factory.getValueSerializerSupplier().get()).isInstanceOf(WireSerializer.class);
+    }
+
+    private static Map<String, Object> producerProperties(KafkaTemplate<String, Object> template) {
+        return template.getProducerFactory().getConfigurationProperties();
+    }
+}
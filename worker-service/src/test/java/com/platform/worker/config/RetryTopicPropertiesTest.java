@@ -0,0 +1,42 @@
+package com.platform.worker.config;
+
+import com.platform.worker.config.RetryTopicProperties.Tier;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryTopicPropertiesTest {
+
+    private final RetryTopicProperties properties = new RetryTopicProperties();
+
+    @Test
+    void tierFor_AttemptWithinTiers_ReturnsTierOfThatAttempt() {
+        assertThat(properties.tierFor(1).getTopic()).isEqualTo("job.tasks.retry.1s");
+        assertThat(properties.tierFor(2).getTopic()).isEqualTo("job.tasks.retry.10s");
+        assertThat(properties.tierFor(4).getTopic()).isEqualTo("job.tasks.retry.10m");
+    }
+
+    @Test
+    void tierFor_AttemptBeyondLastTier_ReusesLastTier() {
+        assertThat(properties.tierFor(5).getTopic()).isEqualTo("job.tasks.retry.10m");
+        assertThat(properties.tierFor(100).getTopic()).isEqualTo("job.tasks.retry.10m");
+    }
+
+    @Test
+    void tierFor_AttemptBelowOne_ReturnsFirstTier() {
+        assertThat(properties.tierFor(0).getTopic()).isEqualTo("job.tasks.retry.1s");
+        assertThat(properties.tierFor(-3).getTopic()).isEqualTo("job.tasks.retry.1s");
+    }
+
+    @Test
+    void tierFor_SingleConfiguredTier_UsedForEveryAttempt() {
+        properties.setTiers(List.of(new Tier("retry.5s", Duration.ofSeconds(5))));
+
+        assertThat(properties.tierFor(1).getDelay()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(properties.tierFor(3).getTopic()).isEqualTo("retry.5s");
+        assertThat(properties.topics()).containsExactly("retry.5s");
+    }
+}
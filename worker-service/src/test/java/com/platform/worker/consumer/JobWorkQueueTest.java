@@ -0,0 +1,357 @@
+package com.platform.worker.consumer;
+
+import com.platform.common.model.Job;
+import com.platform.common.model.JobAttempt;
+import com.platform.common.model.JobStatus;
+import com.platform.common.model.PriorityBand;
+import com.platform.worker.dto.JobResult;
+import com.platform.worker.executor.JobExecutor;
+import com.platform.worker.producer.ResultProducer;
+import com.platform.worker.producer.RetryProducer;
+import com.platform.worker.service.LockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobWorkQueueTest {
+
+    @Mock
+    private JobExecutor jobExecutor;
+
+    @Mock
+    private ResultProducer resultProducer;
+
+    @Mock
+    private RetryProducer retryProducer;
+
+    @Mock
+    private LockService lockService;
+
+    @Mock
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    private final List<String> started = new CopyOnWriteArrayList<>();
+    private final Map<String, CompletableFuture<JobResult>> blocked = new ConcurrentHashMap<>();
+    private final Set<String> paused = ConcurrentHashMap.newKeySet();
+    private final Set<String> resumed = ConcurrentHashMap.newKeySet();
+    private final AtomicLong offsets = new AtomicLong();
+    private final List<JobWorkQueue> queues = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(lockService.acquireLock(any())).thenReturn(true);
+        lenient().when(jobExecutor.executeAsync(any(), any())).thenAnswer(invocation -> {
+            Job job = invocation.getArgument(0);
+            BooleanSupplier claim = invocation.getArgument(1);
+            if (!claim.getAsBoolean()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            started.add(job.getName());
+            if (job.getName().startsWith("block")) {
+                CompletableFuture<JobResult> future = new CompletableFuture<>();
+                blocked.put(job.getName(), future);
+                return future;
+            }
+            return CompletableFuture.completedFuture(job.getName().startsWith("fail") ? failed(job) : completed(job));
+        });
+        lenient().when(listenerRegistry.getListenerContainer(anyString()))
+            .thenAnswer(invocation -> container(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        queues.forEach(JobWorkQueue::stop);
+    }
+
+    @Test
+    void nextLane_AllBandsQueued_DispatchesBySmoothWeightedRoundRobin() throws Exception {
+        JobWorkQueue queue = queue(1, 0, 100);
+        submit(queue, PriorityBand.HIGH, "block");
+        await(() -> blocked.containsKey("block"));
+
+        for (int i = 0; i < 12; i++) {
+            submit(queue, PriorityBand.HIGH, "HIGH-" + i);
+            submit(queue, PriorityBand.NORMAL, "NORMAL-" + i);
+            submit(queue, PriorityBand.LOW, "LOW-" + i);
+        }
+        unblock("block");
+        await(() -> started.size() == 37);
+
+        // Weights 8:3:1, interleaved instead of eight HIGH jobs in a row
+        assertThat(started.subList(1, 13).stream().map(name -> name.substring(0, name.indexOf('-'))).toList())
+            .containsExactly("HIGH", "NORMAL", "HIGH", "HIGH", "LOW", "HIGH",
+                "NORMAL", "HIGH", "HIGH", "HIGH", "NORMAL", "HIGH");
+    }
+
+    @Test
+    void nextLane_SharedSlotsTaken_StartsHighJobInReservedSlot() throws Exception {
+        JobWorkQueue queue = queue(2, 1, 100);
+        submit(queue, PriorityBand.LOW, "block-low");
+        await(() -> blocked.containsKey("block-low"));
+
+        submit(queue, PriorityBand.LOW, "low");
+        submit(queue, PriorityBand.HIGH, "high");
+        await(() -> started.contains("high"));
+
+        assertThat(started).containsExactly("block-low", "high");
+
+        unblock("block-low");
+        await(() -> started.contains("low"));
+    }
+
+    @Test
+    void submit_BandQueueFull_PausesOnlyThatBandUntilDrained() throws Exception {
+        JobWorkQueue queue = queue(1, 0, 4);
+        submit(queue, PriorityBand.HIGH, "block");
+        await(() -> blocked.containsKey("block"));
+
+        for (int i = 0; i < 4; i++) {
+            submit(queue, PriorityBand.LOW, "low-" + i);
+        }
+        submit(queue, PriorityBand.HIGH, "high");
+
+        assertThat(paused).containsExactly(JobWorkQueue.LOW_LISTENER_ID);
+
+        unblock("block");
+        await(() -> started.size() == 6);
+
+        assertThat(paused).isEmpty();
+        assertThat(resumed).containsExactly(JobWorkQueue.LOW_LISTENER_ID);
+    }
+
+    @Test
+    void submit_RetryIntoFullBand_PausesRetryListenerUntilAllBandsDrained() throws Exception {
+        JobWorkQueue queue = queue(1, 0, 4);
+        submit(queue, PriorityBand.HIGH, "block");
+        await(() -> blocked.containsKey("block"));
+
+        for (int i = 0; i < 3; i++) {
+            submit(queue, PriorityBand.NORMAL, "normal-" + i);
+        }
+        submitRetry(queue, PriorityBand.NORMAL, "retry");
+
+        assertThat(paused).containsExactlyInAnyOrder(JobWorkQueue.LISTENER_ID, RetryConsumer.LISTENER_ID);
+
+        unblock("block");
+        await(() -> started.size() == 5);
+
+        assertThat(paused).isEmpty();
+        assertThat(resumed).containsExactlyInAnyOrder(JobWorkQueue.LISTENER_ID, RetryConsumer.LISTENER_ID);
+    }
+
+    @Test
+    void report_FailureRetriedThroughKafka_SendsOnlyFailedAttempt() throws Exception {
+        when(retryProducer.isEnabled()).thenReturn(true);
+        when(retryProducer.retryOrDeadLetter(any(), eq(PriorityBand.NORMAL), eq(1), any(), anyLong(), any()))
+            .thenReturn(CompletableFuture.completedFuture(JobStatus.RETRYING));
+        JobWorkQueue queue = queue(1, 0, 100);
+
+        submitRetry(queue, PriorityBand.NORMAL, "fail");
+
+        ArgumentCaptor<JobAttempt> attempt = ArgumentCaptor.forClass(JobAttempt.class);
+        verify(resultProducer, timeout(5000)).sendFailedAttempt(attempt.capture());
+        assertThat(attempt.getValue().getType()).isEqualTo("EMAIL");
+        assertThat(attempt.getValue().getErrorMessage()).isEqualTo("boom");
+        // Job retry count 0, one retry made through the tiers and the one just published
+        assertThat(attempt.getValue().getRetryCount()).isEqualTo(2);
+        verify(acknowledgment, timeout(5000)).acknowledge();
+        verify(resultProducer, never()).sendResult(any());
+    }
+
+    @Test
+    void report_RetriesExhausted_SendsDeadLetterResult() throws Exception {
+        when(retryProducer.isEnabled()).thenReturn(true);
+        when(retryProducer.retryOrDeadLetter(any(), eq(PriorityBand.NORMAL), eq(1), any(), anyLong(), any()))
+            .thenReturn(CompletableFuture.completedFuture(JobStatus.DEAD_LETTER));
+        JobWorkQueue queue = queue(1, 0, 100);
+
+        submitRetry(queue, PriorityBand.NORMAL, "fail");
+
+        ArgumentCaptor<JobResult> result = ArgumentCaptor.forClass(JobResult.class);
+        verify(resultProducer, timeout(5000)).sendResult(result.capture());
+        assertThat(result.getValue().getStatus()).isEqualTo(JobStatus.DEAD_LETTER);
+        verify(resultProducer, never()).sendFailedAttempt(any());
+    }
+
+    @Test
+    void report_RetryPublishFails_FallsBackToFailedResult() throws Exception {
+        when(retryProducer.isEnabled()).thenReturn(true);
+        when(retryProducer.retryOrDeadLetter(any(), eq(PriorityBand.NORMAL), eq(1), any(), anyLong(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        JobWorkQueue queue = queue(1, 0, 100);
+
+        submitRetry(queue, PriorityBand.NORMAL, "fail");
+
+        ArgumentCaptor<JobResult> result = ArgumentCaptor.forClass(JobResult.class);
+        verify(resultProducer, timeout(5000)).sendResult(result.capture());
+        assertThat(result.getValue().getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(result.getValue().getRetryCount()).isEqualTo(1);
+        verify(resultProducer, never()).sendFailedAttempt(any());
+    }
+
+    @Test
+    void process_LockNotAcquired_SkipsJobAndCommitsOffset() throws Exception {
+        when(lockService.acquireLock(any())).thenReturn(false);
+        JobWorkQueue queue = queue(1, 0, 100);
+
+        submit(queue, PriorityBand.NORMAL, "duplicate");
+
+        verify(acknowledgment, timeout(5000)).acknowledge();
+        assertThat(started).isEmpty();
+        verify(resultProducer, never()).sendResult(any());
+        verify(lockService, never()).releaseLock(any());
+    }
+
+    @Test
+    void process_LockAcquired_ReleasesItAfterReporting() throws Exception {
+        JobWorkQueue queue = queue(1, 0, 100);
+
+        submit(queue, PriorityBand.NORMAL, "job");
+
+        verify(lockService, timeout(5000)).releaseLock(any());
+        verify(resultProducer).sendResult(any());
+    }
+
+    @Test
+    void process_SlowLock_DoesNotHoldUpDispatcher() throws Exception {
+        CountDownLatch lockReleased = new CountDownLatch(1);
+        AtomicInteger lockCalls = new AtomicInteger();
+        Set<String> lockThreads = ConcurrentHashMap.newKeySet();
+        ExecutorService executionThreads = Executors.newCachedThreadPool();
+        try {
+            // Run the claim off the calling thread, the way the execution lanes do
+            doAnswer(invocation -> {
+                Job job = invocation.getArgument(0);
+                BooleanSupplier claim = invocation.getArgument(1);
+                return CompletableFuture.supplyAsync(() -> {
+                    if (!claim.getAsBoolean()) {
+                        return null;
+                    }
+                    started.add(job.getName());
+                    return completed(job);
+                }, executionThreads);
+            }).when(jobExecutor).executeAsync(any(), any());
+            doAnswer(invocation -> {
+                lockThreads.add(Thread.currentThread().getName());
+                if (lockCalls.getAndIncrement() == 0) {
+                    // The first lock round trip hangs until the second job has run
+                    lockReleased.await(5, TimeUnit.SECONDS);
+                }
+                return true;
+            }).when(lockService).acquireLock(any());
+            JobWorkQueue queue = queue(2, 0, 100);
+
+            submit(queue, PriorityBand.NORMAL, "slow-lock");
+            submit(queue, PriorityBand.NORMAL, "fast");
+            await(() -> started.contains("fast"));
+            lockReleased.countDown();
+            await(() -> started.contains("slow-lock"));
+
+            assertThat(started).containsExactly("fast", "slow-lock");
+            assertThat(lockThreads).doesNotContain("job-dispatcher");
+        } finally {
+            executionThreads.shutdownNow();
+        }
+    }
+
+    private JobWorkQueue queue(int maxInFlight, int highReserved, int capacity) {
+        JobWorkQueue queue = new JobWorkQueue(jobExecutor, resultProducer, retryProducer, lockService,
+            new OffsetCompletionTracker(), listenerRegistry, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(queue, "capacity", capacity);
+        ReflectionTestUtils.setField(queue, "maxInFlight", maxInFlight);
+        ReflectionTestUtils.setField(queue, "highReserved", highReserved);
+        ReflectionTestUtils.setField(queue, "rejectionBackoffMs", 100L);
+        ReflectionTestUtils.setField(queue, "highWeight", 8);
+        ReflectionTestUtils.setField(queue, "normalWeight", 3);
+        ReflectionTestUtils.setField(queue, "lowWeight", 1);
+        queue.start();
+        queues.add(queue);
+        return queue;
+    }
+
+    private void submit(JobWorkQueue queue, PriorityBand band, String name) {
+        Job job = Job.builder().id(UUID.randomUUID()).name(name).type("EMAIL").build();
+        TopicPartition partition = new TopicPartition("job.tasks." + band.name().toLowerCase(), 0);
+        queue.submit(job, band, partition, offsets.incrementAndGet(), acknowledgment);
+    }
+
+    private void submitRetry(JobWorkQueue queue, PriorityBand band, String name) {
+        Job job = Job.builder().id(UUID.randomUUID()).name(name).type("EMAIL").build();
+        queue.submit(job, band, 1, new TopicPartition("job.tasks.retry.1s", 0), offsets.incrementAndGet(),
+            acknowledgment);
+    }
+
+    private void unblock(String name) {
+        blocked.get(name).complete(JobResult.builder().status(JobStatus.COMPLETED).build());
+    }
+
+    private MessageListenerContainer container(String listenerId) {
+        MessageListenerContainer container = mock(MessageListenerContainer.class);
+        lenient().when(container.isPauseRequested()).thenAnswer(invocation -> paused.contains(listenerId));
+        lenient().doAnswer(invocation -> paused.add(listenerId)).when(container).pause();
+        lenient().doAnswer(invocation -> {
+            resumed.add(listenerId);
+            return paused.remove(listenerId);
+        }).when(container).resume();
+        return container;
+    }
+
+    private static JobResult completed(Job job) {
+        return JobResult.builder().jobId(job.getId()).status(JobStatus.COMPLETED).build();
+    }
+
+    private static JobResult failed(Job job) {
+        return JobResult.builder().jobId(job.getId()).status(JobStatus.FAILED).errorMessage("boom").build();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
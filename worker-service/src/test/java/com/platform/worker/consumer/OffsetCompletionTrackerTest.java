@@ -0,0 +1,109 @@
+package com.platform.worker.consumer;
+
+import com.platform.worker.consumer.OffsetCompletionTracker.Registration;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffsetCompletionTrackerTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("job.tasks", 0);
+
+    private final OffsetCompletionTracker tracker = new OffsetCompletionTracker();
+    private final List<Long> acknowledged = new ArrayList<>();
+
+    @Test
+    void complete_InOrder_AcknowledgesEachRecord() {
+        Registration first = register(10);
+        Registration second = register(11);
+
+        tracker.complete(first);
+        tracker.complete(second);
+
+        assertThat(acknowledged).containsExactly(10L, 11L);
+        assertThat(tracker.getPendingCount()).isZero();
+    }
+
+    @Test
+    void complete_GapBeforeRecord_WaitsForGapThenAcknowledgesHighest() {
+        Registration first = register(10);
+        Registration second = register(11);
+        Registration third = register(12);
+
+        tracker.complete(third);
+        tracker.complete(second);
+        assertThat(acknowledged).isEmpty();
+        assertThat(tracker.getPendingCount()).isEqualTo(3);
+
+        tracker.complete(first);
+
+        // One commit covers the whole contiguous prefix
+        assertThat(acknowledged).containsExactly(12L);
+        assertThat(tracker.getPendingCount()).isZero();
+    }
+
+    @Test
+    void complete_TwiceForSameRecord_AcknowledgesOnce() {
+        Registration first = register(10);
+
+        tracker.complete(first);
+        tracker.complete(first);
+
+        assertThat(acknowledged).containsExactly(10L);
+    }
+
+    @Test
+    void onPartitionsRevoked_PendingRecords_MarkedRevokedAndNeverAcknowledged() {
+        Registration running = register(10);
+        Registration queued = register(11);
+
+        tracker.onPartitionsRevokedBeforeCommit(null, Set.of(PARTITION));
+        tracker.complete(running);
+
+        assertThat(running.isRevoked()).isTrue();
+        assertThat(queued.isRevoked()).isTrue();
+        assertThat(acknowledged).isEmpty();
+        assertThat(tracker.getPendingCount()).isZero();
+    }
+
+    @Test
+    void complete_StaleRecordAfterPartitionReassigned_IgnoredByNewAssignment() {
+        Registration stale = register(10);
+        tracker.onPartitionsRevokedBeforeCommit(null, Set.of(PARTITION));
+
+        // Assigned back and the same record fetched again
+        Registration redelivered = register(10);
+        Registration next = register(11);
+        tracker.complete(stale);
+        tracker.complete(next);
+
+        assertThat(acknowledged).isEmpty();
+        assertThat(redelivered.isRevoked()).isFalse();
+
+        tracker.complete(redelivered);
+
+        assertThat(acknowledged).containsExactly(11L);
+    }
+
+    @Test
+    void onPartitionsLost_OtherPartition_KeepsTracking() {
+        TopicPartition other = new TopicPartition("job.tasks", 1);
+        Registration kept = register(10);
+        tracker.register(other, 5, () -> acknowledged.add(-5L));
+
+        tracker.onPartitionsLost(null, Set.of(other));
+        tracker.complete(kept);
+
+        assertThat(kept.isRevoked()).isFalse();
+        assertThat(acknowledged).containsExactly(10L);
+    }
+
+    private Registration register(long offset) {
+        return tracker.register(PARTITION, offset, () -> acknowledged.add(offset));
+    }
+}
@@ -0,0 +1,136 @@
+package com.platform.worker.consumer;
+
+import com.platform.common.model.Job;
+import com.platform.common.model.PriorityBand;
+import com.platform.worker.config.RetryTopicProperties;
+import com.platform.worker.producer.RetryProducer;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RetryConsumerTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("job.tasks.retry.10s", 0);
+    private static final long LONG_AGO = 0L;
+
+    @Mock
+    private JobWorkQueue workQueue;
+
+    @Mock
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    private MessageListenerContainer container;
+
+    @Mock
+    private OffsetCompletionTracker completionTracker;
+
+    @Mock
+    private Consumer<?, ?> consumer;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    private RetryConsumer retryConsumer;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(listenerRegistry.getListenerContainer(RetryConsumer.LISTENER_ID)).thenReturn(container);
+        retryConsumer = new RetryConsumer(workQueue, new RetryTopicProperties(), listenerRegistry, completionTracker);
+        retryConsumer.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        retryConsumer.shutdown();
+    }
+
+    @Test
+    void consumeRetry_Due_SubmitsToBandOfRecord() {
+        ConsumerRecord<String, Job> record = record(5, LONG_AGO);
+
+        retryConsumer.consumeRetry(record, acknowledgment, consumer);
+
+        verify(workQueue).submit(record.value(), PriorityBand.HIGH, 2, PARTITION, 5, acknowledgment);
+    }
+
+    @Test
+    void consumeRetry_NotDue_SeeksBackAndPausesPartition() {
+        retryConsumer.consumeRetry(record(5, System.currentTimeMillis()), acknowledgment, consumer);
+
+        verify(consumer).seek(PARTITION, 5);
+        verify(container).pausePartition(PARTITION);
+        verify(workQueue, never()).submit(any(), any(), anyInt(), any(), anyLong(), any());
+    }
+
+    @Test
+    void consumeRetry_RestOfPollBehindWaitingRecord_Skipped() {
+        retryConsumer.consumeRetry(record(5, System.currentTimeMillis()), acknowledgment, consumer);
+
+        retryConsumer.consumeRetry(record(6, LONG_AGO), acknowledgment, consumer);
+
+        verify(workQueue, never()).submit(any(), any(), anyInt(), any(), anyLong(), any());
+    }
+
+    @Test
+    void onPartitionsRevokedBeforeCommit_WaitingPartition_StopsWaitingAndResumes() {
+        retryConsumer.consumeRetry(record(5, System.currentTimeMillis()), acknowledgment, consumer);
+
+        retryConsumer.onPartitionsRevokedBeforeCommit(consumer, List.of(PARTITION));
+
+        verify(completionTracker).onPartitionsRevokedBeforeCommit(consumer, List.of(PARTITION));
+        verify(container).resumePartition(PARTITION);
+
+        // Assigned again: records from the committed offset are consumed, not skipped
+        ConsumerRecord<String, Job> redelivered = record(6, LONG_AGO);
+        retryConsumer.consumeRetry(redelivered, acknowledgment, consumer);
+
+        verify(workQueue).submit(eq(redelivered.value()), eq(PriorityBand.HIGH), eq(2), eq(PARTITION), eq(6L),
+            eq(acknowledgment));
+    }
+
+    @Test
+    void onPartitionsLost_WaitingPartition_StopsWaiting() {
+        retryConsumer.consumeRetry(record(5, System.currentTimeMillis()), acknowledgment, consumer);
+
+        retryConsumer.onPartitionsLost(consumer, List.of(PARTITION));
+
+        verify(completionTracker).onPartitionsLost(consumer, List.of(PARTITION));
+        verify(container).resumePartition(PARTITION);
+    }
+
+    private static ConsumerRecord<String, Job> record(long offset, long timestamp) {
+        Job job = Job.builder().id(UUID.randomUUID()).type("EMAIL").build();
+        Headers headers = new RecordHeaders()
+            .add(RetryProducer.ATTEMPT_HEADER, "2".getBytes(StandardCharsets.UTF_8))
+            .add(RetryProducer.BAND_HEADER, "HIGH".getBytes(StandardCharsets.UTF_8));
+        return new ConsumerRecord<>(PARTITION.topic(), PARTITION.partition(), offset, timestamp,
+            TimestampType.CREATE_TIME, 0, 0, job.getId().toString(), job, headers, Optional.empty());
+    }
+}
@@ -0,0 +1,190 @@
+package com.platform.worker.executor;
+
+import com.platform.worker.config.ExecutionProperties;
+import com.platform.worker.config.ExecutionProperties.LaneSettings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExecutionEnginesTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<ExecutionEngine> engines = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        engines.forEach(ExecutionEngine::shutdown);
+        timer.shutdownNow();
+    }
+
+    @Test
+    void engineFor_ConfiguredType_UsesItsOwnLane() {
+        ExecutionProperties properties = new ExecutionProperties();
+        properties.setDefaults(lane(ExecutionMode.PLATFORM, 2, 10));
+        LaneSettings email = new LaneSettings();
+        email.setMode(ExecutionMode.VIRTUAL);
+        email.setMaxConcurrency(50);
+        properties.getTypes().put("EMAIL", email);
+
+        ExecutionEngines lanes = new ExecutionEngines(properties, new SimpleMeterRegistry());
+        try {
+            assertThat(lanes.engineFor("EMAIL")).isInstanceOf(VirtualThreadEngine.class);
+            assertThat(lanes.engineFor("EMAIL").getName()).isEqualTo("EMAIL");
+            assertThat(lanes.engineFor("EMAIL").getMaxConcurrency()).isEqualTo(50);
+            assertThat(lanes.engineFor("REPORT")).isInstanceOf(PlatformPoolEngine.class);
+            assertThat(lanes.engineFor("REPORT").getName()).isEqualTo("default");
+            assertThat(lanes.engineFor("REPORT")).isSameAs(lanes.engineFor("DATA_SYNC"));
+            // Unset fields of a type fall back to the defaults
+            assertThat(lanes.settingsFor("EMAIL").getQueueCapacity()).isEqualTo(10);
+        } finally {
+            lanes.shutdown();
+        }
+    }
+
+    @Test
+    void submit_PlatformLaneFull_RejectsTask() throws Exception {
+        ExecutionEngine engine = track(new PlatformPoolEngine("cpu", 1, 1, timer));
+
+        CompletableFuture<Object> running = engine.submit(this::block, TIMEOUT);
+        CompletableFuture<Object> waiting = engine.submit(this::block, TIMEOUT);
+        CompletableFuture<Object> rejected = engine.submit(this::block, TIMEOUT);
+
+        assertRejected(rejected);
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+    }
+
+    @Test
+    void submit_VirtualLaneWithoutVirtualThreads_BoundedByConcurrencyAndQueue() throws Exception {
+        ExecutionEngine engine = track(new VirtualThreadEngine("io", 2, 3, timer, false));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CompletableFuture<Object>> accepted = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            accepted.add(engine.submit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    return block();
+                } finally {
+                    running.decrementAndGet();
+                }
+            }, TIMEOUT));
+        }
+        CompletableFuture<Object> rejected = engine.submit(this::block, TIMEOUT);
+
+        assertRejected(rejected);
+        await(() -> running.get() == 2);
+        assertThat(engine.getActiveCount()).isEqualTo(2);
+        release.countDown();
+        for (CompletableFuture<Object> future : accepted) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        }
+        assertThat(maxRunning.get()).isEqualTo(2);
+        await(() -> engine.getActiveCount() == 0);
+    }
+
+    @Test
+    void submit_VirtualLaneDrained_AcceptsAgain() throws Exception {
+        ExecutionEngine engine = track(new VirtualThreadEngine("io", 1, 0, timer, false));
+
+        CompletableFuture<Object> first = engine.submit(this::block, TIMEOUT);
+        assertRejected(engine.submit(this::block, TIMEOUT));
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        await(() -> engine.getActiveCount() == 0);
+
+        assertThat(engine.submit(() -> "again", TIMEOUT).get(5, TimeUnit.SECONDS)).isEqualTo("again");
+    }
+
+    @Test
+    void submit_TaskRunsTooLong_FailsWithTimeout() {
+        ExecutionEngine engine = track(new PlatformPoolEngine("cpu", 1, 1, timer));
+
+        CompletableFuture<Object> future = engine.submit(this::block, Duration.ofMillis(50));
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void submit_TaskFinishesAtTimeout_NextTaskOnLaneNotInterrupted() throws Exception {
+        ExecutionEngine engine = track(new PlatformPoolEngine("cpu", 1, 1, timer));
+        Duration timeout = Duration.ofMillis(2);
+
+        // Race the watchdog repeatedly: each task returns right as its timeout fires
+        for (int i = 0; i < 100; i++) {
+            CompletableFuture<Object> racing = engine.submit(() -> {
+                long end = System.nanoTime() + timeout.toNanos();
+                while (System.nanoTime() < end) {
+                    Thread.onSpinWait();
+                }
+                return "done";
+            }, timeout);
+            racing.handle((value, error) -> null).get(5, TimeUnit.SECONDS);
+
+            CompletableFuture<Object> next = engine.submit(() -> {
+                Thread.sleep(5);
+                return "next";
+            }, TIMEOUT);
+
+            assertThat(next.get(5, TimeUnit.SECONDS)).isEqualTo("next");
+        }
+    }
+
+    private Object block() throws InterruptedException {
+        release.await();
+        return "done";
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private ExecutionEngine track(ExecutionEngine engine) {
+        engines.add(engine);
+        return engine;
+    }
+
+    private static void assertRejected(CompletableFuture<?> future) {
+        assertThat(future).isCompletedExceptionally();
+        assertThatThrownBy(future::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(JobExecutor.isRejected(future.handle((ignored, error) -> error).join())).isTrue();
+    }
+
+    private static LaneSettings lane(ExecutionMode mode, int maxConcurrency, int queueCapacity) {
+        LaneSettings settings = new LaneSettings();
+        settings.setMode(mode);
+        settings.setMaxConcurrency(maxConcurrency);
+        settings.setQueueCapacity(queueCapacity);
+        settings.setTimeout(TIMEOUT);
+        return settings;
+    }
+}
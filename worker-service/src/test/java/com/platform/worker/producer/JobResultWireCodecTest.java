@@ -0,0 +1,84 @@
+package com.platform.worker.producer;
+
+import com.platform.common.model.JobStatus;
+import com.platform.common.wire.WireCodecRegistry;
+import com.platform.common.wire.WireDeserializer;
+import com.platform.common.wire.WireSerializer;
+import com.platform.worker.dto.JobResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the bytes the worker sends. The orchestrator's JobResultWireCodecTest
+ * decodes the same bytes, so a change on either side breaks one of the two.
+ */
+class JobResultWireCodecTest {
+
+    private static final String FAILED_RESULT =
+        "b7 01 02 0b 1a 7d 3e 7c b2 a4 90 01 01 00 00 00 00 00 00 9f 12 06 46 41 49 4c 45 44"
+        + " 18 00 2a 04 62 6f 6f 6d 32 08 77 6f 72 6b 65 72 2d 31 38 80 c0 c9 9d e7 d8 8b 06"
+        + " 40 c0 cd 80 9f e7 d8 8b 06 48 04";
+
+    private static final String COMPLETED_RESULT =
+        "b7 01 02 0b 1a 7d 3e 7c b2 a4 90 01 02 00 00 00 00 00 00 9f 12 09 43 4f 4d 50 4c"
+        + " 45 54 45 44 18 02 32 08 77 6f 72 6b 65 72 2d 31 38 80 c0 c9 9d e7 d8 8b 06"
+        + " 40 c0 cd 80 9f e7 d8 8b 06";
+
+    private final WireCodecRegistry registry = new WireCodecRegistry(new JobResultWireCodec());
+    private final WireSerializer serializer = new WireSerializer(registry, (topic, data) -> {
+        throw new AssertionError("JSON fallback used");
+    });
+    private final WireDeserializer deserializer = new WireDeserializer(registry, (topic, data) -> {
+        throw new AssertionError("JSON fallback used");
+    });
+
+    @Test
+    void encode_FailedResultWithRetries_MatchesOrchestratorFixture() {
+        byte[] bytes = serializer.serialize("job.results", failedResult());
+
+        assertThat(bytes).isEqualTo(hex(FAILED_RESULT));
+    }
+
+    @Test
+    void encode_CompletedResultWithoutRetryCount_MatchesOrchestratorFixture() {
+        JobResult result = JobResult.builder()
+            .jobId(UUID.fromString("0190a4b2-7c3e-7d1a-9f00-000000000002"))
+            .status(JobStatus.COMPLETED)
+            .startedAt(LocalDateTime.parse("2024-05-01T12:00:00"))
+            .completedAt(LocalDateTime.parse("2024-05-01T12:00:01.500"))
+            .workerId("worker-1")
+            .build();
+
+        assertThat(serializer.serialize("job.results", result)).isEqualTo(hex(COMPLETED_RESULT));
+    }
+
+    @Test
+    void decode_OwnEncoding_RoundTrips() {
+        JobResult result = failedResult();
+
+        Object decoded = deserializer.deserialize("job.results", serializer.serialize("job.results", result));
+
+        assertThat(decoded).isEqualTo(result);
+    }
+
+    private static JobResult failedResult() {
+        return JobResult.builder()
+            .jobId(UUID.fromString("0190a4b2-7c3e-7d1a-9f00-000000000001"))
+            .status(JobStatus.FAILED)
+            .startedAt(LocalDateTime.parse("2024-05-01T12:00:00"))
+            .completedAt(LocalDateTime.parse("2024-05-01T12:00:01.500"))
+            .errorMessage("boom")
+            .workerId("worker-1")
+            .retryCount(2)
+            .build();
+    }
+
+    private static byte[] hex(String bytes) {
+        return HexFormat.ofDelimiter(" ").parseHex(bytes);
+    }
+}
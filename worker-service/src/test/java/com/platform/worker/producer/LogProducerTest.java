@@ -0,0 +1,184 @@
+package com.platform.worker.producer;
+
+import com.platform.common.model.LogEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LogProducerTest {
+
+    private static final UUID JOB_ID = UUID.randomUUID();
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Captor
+    private ArgumentCaptor<Object> shipped;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch shipperReleased = new CountDownLatch(1);
+    private LogProducer logProducer;
+
+    @BeforeEach
+    void setUp() {
+        logProducer = new LogProducer(kafkaTemplate, meterRegistry);
+        ReflectionTestUtils.setField(logProducer, "logsTopic", "job.logs");
+        ReflectionTestUtils.setField(logProducer, "batchSize", 500);
+        ReflectionTestUtils.setField(logProducer, "shipIntervalMs", 10L);
+        ReflectionTestUtils.setField(logProducer, "sampleThreshold", 0.5);
+        when(kafkaTemplate.send(eq("job.logs"), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        shipperReleased.countDown();
+        logProducer.stop();
+    }
+
+    @Test
+    void sendLog_BufferBelowThreshold_ShipsEveryLevel() throws InterruptedException {
+        start(8, 0.0);
+
+        logProducer.sendLog(JOB_ID, "DEBUG", "d", "worker-1");
+        logProducer.sendLog(JOB_ID, "INFO", "i", "worker-1");
+        logProducer.sendLog(JOB_ID, "WARN", "w", "worker-1");
+        logProducer.sendLog(JOB_ID, "ERROR", "e", "worker-1");
+
+        assertThat(stopAndCollectMessages()).containsExactly("d", "i", "w", "e");
+        assertThat(dropped("sampled")).isZero();
+    }
+
+    @Test
+    void sendLog_AboveSampleThreshold_DropsDebugAndKeepsWarnAndError() throws InterruptedException {
+        start(8, 0.0);
+        blockShipper();
+        fill(4, "WARN");
+
+        logProducer.sendLog(JOB_ID, "DEBUG", "debug", "worker-1");
+        logProducer.sendLog(JOB_ID, "TRACE", "trace", "worker-1");
+        logProducer.sendLog(JOB_ID, "INFO", "info", "worker-1");
+        logProducer.sendLog(JOB_ID, "WARN", "warn", "worker-1");
+        logProducer.sendLog(JOB_ID, "ERROR", "error", "worker-1");
+
+        assertThat(stopAndCollectMessages()).contains("warn", "error").doesNotContain("debug", "trace", "info");
+        assertThat(dropped("sampled")).isEqualTo(3);
+    }
+
+    @Test
+    void sendLog_AboveSampleThreshold_SamplesInfoAtConfiguredRate() throws InterruptedException {
+        start(2048, 0.1);
+        ReflectionTestUtils.setField(logProducer, "sampleFromSize", 0);
+        blockShipper();
+
+        for (int i = 0; i < 1000; i++) {
+            logProducer.sendLog(JOB_ID, "INFO", "info-" + i, "worker-1");
+        }
+
+        // About 100 of 1000 kept; the bounds are more than five standard deviations out
+        List<String> messages = stopAndCollectMessages();
+        long kept = messages.stream().filter(message -> message.startsWith("info-")).count();
+        assertThat(kept).isBetween(50L, 150L);
+        assertThat(dropped("sampled")).isEqualTo(1000 - kept);
+    }
+
+    @Test
+    void sendLog_BufferFull_DropsEverythingButError() throws InterruptedException {
+        start(8, 1.0);
+        blockShipper();
+        fill(8, "WARN");
+
+        logProducer.sendLog(JOB_ID, "WARN", "warn", "worker-1");
+        logProducer.sendLog(JOB_ID, "INFO", "info", "worker-1");
+        logProducer.sendLog(JOB_ID, "ERROR", "error-1", "worker-1");
+        logProducer.sendLog(JOB_ID, "ERROR", "error-2", "worker-1");
+
+        assertThat(dropped("buffer_full")).isEqualTo(2);
+        assertThat(meterRegistry.get("worker_log_error_overflow").gauge().value()).isEqualTo(2);
+        List<String> messages = stopAndCollectMessages();
+        assertThat(messages).contains("error-1", "error-2").doesNotContain("warn", "info");
+        assertThat(messages).filteredOn(message -> message.startsWith("fill-")).hasSize(8);
+    }
+
+    @Test
+    void sendLog_FilledWithMixedLevels_OnlyErrorAndWarnSurvivePressure() throws InterruptedException {
+        start(8, 0.0);
+        blockShipper();
+
+        String[] levels = {"DEBUG", "INFO", "WARN", "ERROR"};
+        for (int i = 0; i < 40; i++) {
+            String level = levels[i % levels.length];
+            logProducer.sendLog(JOB_ID, level, level + "-" + i, "worker-1");
+        }
+
+        List<String> messages = stopAndCollectMessages();
+        // Below the threshold every level gets in; above it DEBUG and INFO are dropped,
+        // WARN fills the buffer and ERROR always survives via the overflow queue
+        assertThat(messages.subList(1, 5)).containsExactly("DEBUG-0", "INFO-1", "WARN-2", "ERROR-3");
+        assertThat(messages.subList(5, messages.size())).allMatch(message -> message.startsWith("WARN-")
+                || message.startsWith("ERROR-"));
+        assertThat(messages).filteredOn(message -> message.startsWith("ERROR-")).hasSize(10);
+        assertThat(dropped("sampled")).isEqualTo(18);
+        assertThat(dropped("buffer_full")).isEqualTo(7);
+    }
+
+    private void start(int capacity, double sampleRate) {
+        ReflectionTestUtils.setField(logProducer, "bufferCapacity", capacity);
+        ReflectionTestUtils.setField(logProducer, "sampleRate", sampleRate);
+        logProducer.start();
+    }
+
+    /**
+     * Park the shipper inside its first send so the buffer fills up behind it.
+     * The blocking entry has already left the buffer when this returns.
+     */
+    private void blockShipper() {
+        doAnswer(invocation -> {
+            shipperReleased.await(10, TimeUnit.SECONDS);
+            return CompletableFuture.completedFuture(null);
+        }).when(kafkaTemplate).send(eq("job.logs"), any(), argThat(entry -> "blocker".equals(((LogEntry) entry).getMessage())));
+        logProducer.sendLog(JOB_ID, "WARN", "blocker", "worker-1");
+        verify(kafkaTemplate, timeout(1000)).send(eq("job.logs"), any(), any());
+    }
+
+    private void fill(int count, String level) {
+        for (int i = 0; i < count; i++) {
+            logProducer.sendLog(JOB_ID, level, "fill-" + i, "worker-1");
+        }
+    }
+
+    private List<String> stopAndCollectMessages() throws InterruptedException {
+        shipperReleased.countDown();
+        logProducer.stop();
+        verify(kafkaTemplate, atLeast(0)).send(eq("job.logs"), eq(JOB_ID.toString()), shipped.capture());
+        return shipped.getAllValues().stream()
+                .map(entry -> ((LogEntry) entry).getMessage())
+                .toList();
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.counter("worker_logs_dropped", "reason", reason).count();
+    }
+}
@@ -0,0 +1,124 @@
+package com.platform.worker.producer;
+
+import com.platform.common.model.Job;
+import com.platform.common.model.JobStatus;
+import com.platform.common.model.PriorityBand;
+import com.platform.worker.config.RetryTopicProperties;
+import com.platform.worker.dto.JobResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RetryProducerTest {
+
+    private static final TopicPartition SOURCE = new TopicPartition("job.tasks.high", 2);
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Captor
+    private ArgumentCaptor<ProducerRecord<String, Object>> sent;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RetryProducer retryProducer;
+
+    @BeforeEach
+    void setUp() {
+        retryProducer = new RetryProducer(kafkaTemplate, new RetryTopicProperties(), meterRegistry);
+        ReflectionTestUtils.setField(retryProducer, "deadLetterTopic", "job.tasks.dlt");
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    void retryOrDeadLetter_RetriesLeft_SendsToTierOfNextAttempt() throws Exception {
+        Job job = job(1, 5);
+
+        JobStatus status = retryProducer.retryOrDeadLetter(job, PriorityBand.HIGH, 1, SOURCE, 42, failure()).get();
+
+        assertThat(status).isEqualTo(JobStatus.RETRYING);
+        verify(kafkaTemplate).send(sent.capture());
+        ProducerRecord<String, Object> record = sent.getValue();
+        assertThat(record.topic()).isEqualTo("job.tasks.retry.10s");
+        assertThat(record.key()).isEqualTo(job.getId().toString());
+        assertThat(record.value()).isSameAs(job);
+        assertThat(text(record.headers(), RetryProducer.ATTEMPT_HEADER)).isEqualTo("2");
+        assertThat(text(record.headers(), RetryProducer.BAND_HEADER)).isEqualTo("HIGH");
+        assertThat(record.headers().lastHeader(KafkaHeaders.ORIGINAL_TOPIC)).isNull();
+        assertThat(meterRegistry.counter("worker_job_retries", "topic", "job.tasks.retry.10s").count()).isEqualTo(1);
+    }
+
+    @Test
+    void retryOrDeadLetter_OutOfRetries_SendsToDeadLetterTopicWithFailureHeaders() throws Exception {
+        Job job = job(1, 3);
+
+        JobStatus status = retryProducer.retryOrDeadLetter(job, PriorityBand.LOW, 2, SOURCE, 42, failure()).get();
+
+        assertThat(status).isEqualTo(JobStatus.DEAD_LETTER);
+        verify(kafkaTemplate).send(sent.capture());
+        ProducerRecord<String, Object> record = sent.getValue();
+        Headers headers = record.headers();
+        assertThat(record.topic()).isEqualTo("job.tasks.dlt");
+        assertThat(text(headers, RetryProducer.ATTEMPT_HEADER)).isEqualTo("2");
+        assertThat(text(headers, RetryProducer.BAND_HEADER)).isEqualTo("LOW");
+        assertThat(text(headers, RetryProducer.WORKER_HEADER)).isEqualTo("worker-1");
+        assertThat(text(headers, KafkaHeaders.ORIGINAL_TOPIC)).isEqualTo("job.tasks.high");
+        assertThat(ByteBuffer.wrap(headers.lastHeader(KafkaHeaders.ORIGINAL_PARTITION).value()).getInt()).isEqualTo(2);
+        assertThat(ByteBuffer.wrap(headers.lastHeader(KafkaHeaders.ORIGINAL_OFFSET).value()).getLong()).isEqualTo(42L);
+        assertThat(text(headers, KafkaHeaders.EXCEPTION_MESSAGE)).isEqualTo("connection refused");
+        assertThat(meterRegistry.counter("worker_jobs_dead_lettered").count()).isEqualTo(1);
+    }
+
+    @Test
+    void retryOrDeadLetter_NoErrorMessage_WritesEmptyExceptionHeader() throws Exception {
+        JobResult result = failure();
+        result.setErrorMessage(null);
+
+        retryProducer.retryOrDeadLetter(job(3, 3), PriorityBand.NORMAL, 0, SOURCE, 7, result).get();
+
+        verify(kafkaTemplate).send(sent.capture());
+        assertThat(sent.getValue().headers().lastHeader(KafkaHeaders.EXCEPTION_MESSAGE).value()).isEmpty();
+    }
+
+    private static Job job(int retryCount, int maxRetries) {
+        return Job.builder()
+            .id(UUID.randomUUID())
+            .type("EMAIL")
+            .retryCount(retryCount)
+            .maxRetries(maxRetries)
+            .build();
+    }
+
+    private static JobResult failure() {
+        return JobResult.builder()
+            .status(JobStatus.FAILED)
+            .workerId("worker-1")
+            .errorMessage("connection refused")
+            .build();
+    }
+
+    private static String text(Headers headers, String name) {
+        return new String(headers.lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+}